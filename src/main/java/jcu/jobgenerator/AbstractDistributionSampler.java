@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+/**
+ * Base class of samplers of distributions, which can be truncated to
+ * an interval of values.
+ *
+ * Truncated distribution keeps the shape of the original one within
+ * the interval, no probability mass is moved onto the bounds. Subclasses
+ * draw truncated values directly, so the cost of a draw does not grow with
+ * the cut off probability mass.
+ *
+ * @author Michal Konopa
+ */
+abstract class AbstractDistributionSampler implements DistributionSampler {
+    private final double min;
+    private final double max;
+
+
+    /**
+     * Creates new sampler truncated to specified interval. Infinite bounds
+     * mean no truncation on the respective side.
+     *
+     * @param min the lowest value
+     * @param max the highest value
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    AbstractDistributionSampler(double min, double max) {
+        if ( !(min <= max) ) {
+            throw new IllegalArgumentException("Invalid bounds of distribution: [" + min + ", " + max + "]");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public double getMin() {
+        return min;
+    }
+
+    @Override
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @return <code>true</code> if the distribution is truncated at least
+     * on one side
+     */
+    boolean isTruncated() {
+        return min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+    }
+}
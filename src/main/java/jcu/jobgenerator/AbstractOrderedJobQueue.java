@@ -0,0 +1,269 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base of bounded blocking queues of jobs, which serve the jobs in other
+ * than FIFO order.
+ *
+ * Handles locking, capacity and blocking of producers and consumers. The
+ * ordering itself is implemented by subclasses, whose methods are always
+ * called under the lock of the queue.
+ *
+ * @author Michal Konopa
+ */
+abstract class AbstractOrderedJobQueue extends AbstractQueue<Job> implements BlockingQueue<Job> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final int capacity;
+
+    // number of jobs in the queue
+    private int count = 0;
+
+
+    /**
+     * Creates new queue of specified capacity.
+     *
+     * @param capacity capacity of the queue
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    AbstractOrderedJobQueue(int capacity) {
+        if ( capacity < 1 ) {
+            throw new IllegalArgumentException("Invalid capacity of queue: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Inserts specified job. There is always free space for the job.
+     *
+     * @param job job to insert
+     */
+    abstract void insert(Job job);
+
+    /**
+     * Removes and returns the first job. The queue is never empty.
+     *
+     * @return the first job
+     */
+    abstract Job extract();
+
+    /**
+     * Returns the first job without removing it. The queue is never empty.
+     *
+     * @return the first job
+     */
+    abstract Job first();
+
+    /**
+     * Returns all the jobs in the queue in arbitrary order.
+     *
+     * @return jobs in the queue
+     */
+    abstract List<Job> snapshot();
+
+    /**
+     * Removes all the jobs.
+     */
+    abstract void removeAll();
+
+    // inserts job and wakes up one consumer - must be called under the lock
+    private void enqueue(Job job) {
+        insert(job);
+        count++;
+        notEmpty.signal();
+    }
+
+    // extracts job and wakes up one producer - must be called under the lock
+    private Job dequeue() {
+        Job job = extract();
+        count--;
+        notFull.signal();
+        return job;
+    }
+
+    @Override
+    public boolean offer(Job job) {
+        Objects.requireNonNull(job);
+        lock.lock();
+        try {
+            if ( count == capacity ) {
+                return false;
+            }
+            enqueue(job);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Job job) throws InterruptedException {
+        Objects.requireNonNull(job);
+        lock.lockInterruptibly();
+        try {
+            while ( count == capacity ) {
+                notFull.await();
+            }
+            enqueue(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Job job, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(job);
+        long remainingTime = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while ( count == capacity ) {
+                if ( remainingTime <= 0 ) {
+                    return false;
+                }
+                remainingTime = notFull.awaitNanos(remainingTime);
+            }
+            enqueue(job);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Job poll() {
+        lock.lock();
+        try {
+            return (count == 0) ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Job take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while ( count == 0 ) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Job poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingTime = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while ( count == 0 ) {
+                if ( remainingTime <= 0 ) {
+                    return null;
+                }
+                remainingTime = notEmpty.awaitNanos(remainingTime);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Job peek() {
+        lock.lock();
+        try {
+            return (count == 0) ? null : first();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Job> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Job> collection, int maxElements) {
+        if ( collection == this ) {
+            throw new IllegalArgumentException("Cannot drain queue into itself.");
+        }
+
+        lock.lock();
+        try {
+            int drainedNum = 0;
+            while ( drainedNum < maxElements && count > 0 ) {
+                collection.add(dequeue());
+                drainedNum++;
+            }
+            return drainedNum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            removeAll();
+            count = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns iterator over snapshot of jobs in the queue. The jobs are
+     * returned in arbitrary order. The iterator does not support removal.
+     *
+     * @return iterator over snapshot of jobs in the queue
+     */
+    @Override
+    public Iterator<Job> iterator() {
+        lock.lock();
+        try {
+            return List.copyOf(snapshot()).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
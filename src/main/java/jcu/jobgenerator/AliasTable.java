@@ -0,0 +1,113 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.Random;
+
+/**
+ * Alias table for drawing of indexes with specified weights.
+ *
+ * The table is built by the Vose's alias method in linear time. Each draw
+ * takes constant time regardless of the number of weights - it consumes
+ * exactly one random double, whose integer part of the scaled value selects
+ * the column and whose fractional part decides between the column and its
+ * alias.
+ *
+ * @author Michal Konopa
+ */
+final class AliasTable {
+    // probability of keeping the drawn column, its alias is returned otherwise
+    private final double[] probabilities;
+    private final int[] aliases;
+
+
+    /**
+     * Creates new alias table for specified weights.
+     *
+     * @param weights non-negative weights of indexes, at least one of them
+     * must be positive
+     * @throws IllegalArgumentException if the weights are invalid
+     */
+    AliasTable(double[] weights) {
+        if ( weights.length == 0 ) {
+            throw new IllegalArgumentException("At least one weight must be specified.");
+        }
+
+        double weightsSum = 0;
+        for ( double weight : weights ) {
+            if ( !(weight >= 0) || Double.isInfinite(weight) ) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            weightsSum += weight;
+        }
+        if ( weightsSum == 0 ) {
+            throw new IllegalArgumentException("At least one weight must be positive.");
+        }
+
+        int size = weights.length;
+        probabilities = new double[size];
+        aliases = new int[size];
+
+        // weights scaled to the mean of 1 split into those below and above the mean
+        double[] scaledWeights = new double[size];
+        int[] smallIndexes = new int[size];
+        int[] largeIndexes = new int[size];
+        int smallIndexesNum = 0;
+        int largeIndexesNum = 0;
+        for ( int index = 0; index < size; index++ ) {
+            scaledWeights[index] = weights[index] * size / weightsSum;
+            if ( scaledWeights[index] < 1 ) {
+                smallIndexes[smallIndexesNum++] = index;
+            } else {
+                largeIndexes[largeIndexesNum++] = index;
+            }
+        }
+
+        // each small column is filled up by a part of a large one
+        while ( smallIndexesNum > 0 && largeIndexesNum > 0 ) {
+            int smallIndex = smallIndexes[--smallIndexesNum];
+            int largeIndex = largeIndexes[--largeIndexesNum];
+
+            probabilities[smallIndex] = scaledWeights[smallIndex];
+            aliases[smallIndex] = largeIndex;
+
+            scaledWeights[largeIndex] += scaledWeights[smallIndex] - 1;
+            if ( scaledWeights[largeIndex] < 1 ) {
+                smallIndexes[smallIndexesNum++] = largeIndex;
+            } else {
+                largeIndexes[largeIndexesNum++] = largeIndex;
+            }
+        }
+
+        // remaining columns are full up to rounding errors
+        while ( largeIndexesNum > 0 ) {
+            probabilities[largeIndexes[--largeIndexesNum]] = 1;
+        }
+        while ( smallIndexesNum > 0 ) {
+            probabilities[smallIndexes[--smallIndexesNum]] = 1;
+        }
+    }
+
+    /**
+     * Draws random index with probability proportional to its weight.
+     *
+     * @param randomizer random generator to use
+     * @return drawn index
+     */
+    int next(Random randomizer) {
+        double scaledRandom = randomizer.nextDouble() * probabilities.length;
+
+        // product may be rounded up to the number of columns
+        int index = Math.min((int) scaledRandom, probabilities.length - 1);
+        return (scaledRandom - index < probabilities[index]) ? index : aliases[index];
+    }
+
+    /**
+     * @return the number of indexes
+     */
+    int size() {
+        return probabilities.length;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Watcher of configuration file applying its job arrival settings to
+ * a running replay.
+ *
+ * Whenever the file changes, its job arrival settings and its optional time
+ * scale are applied by {@link ArrivalControl}. Bursts of changes (e.g. an
+ * editor truncating and writing the file) are coalesced into a single reload.
+ * Invalid content of the file is logged and the replay continues with
+ * the previous settings.
+ *
+ * @author Michal Konopa
+ */
+final class ArrivalConfigWatcher implements Runnable, Closeable {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(ArrivalConfigWatcher.class);
+
+    // time [in milliseconds] without further changes, after which the file is reloaded
+    private static final long QUIET_PERIOD = 100;
+
+    private final Path configFile;
+    private final ArrivalControl control;
+    private final WatchService watchService;
+
+
+    /**
+     * Creates new watcher of specified configuration file. The watcher starts
+     * watching, when it is run.
+     *
+     * @param configFile configuration file
+     * @param control control of the replay
+     * @throws IOException if the directory of the file cannot be watched
+     */
+    ArrivalConfigWatcher(Path configFile, ArrivalControl control) throws IOException {
+        this.configFile = configFile.toAbsolutePath();
+        this.control = control;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.configFile.getParent().register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+        );
+    }
+
+    // indicates, whether events of specified key concern the configuration file, resets the key
+    private boolean isConfigFileChanged(WatchKey key) {
+        boolean isChanged = false;
+        for ( WatchEvent<?> event : key.pollEvents() ) {
+            isChanged |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || configFile.getFileName().equals(event.context());
+        }
+        key.reset();
+        return isChanged;
+    }
+
+    // applies settings of the configuration file, keeps the previous ones, if the file is invalid
+    private void reload() {
+        try {
+            control.apply(new JSONObject(Files.readString(configFile)));
+        } catch (IOException | JSONException | IllegalArgumentException ex) {
+            logger.error("Invalid configuration file, previous job arrival settings kept: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Watches the configuration file, until the watcher is closed or
+     * interrupted.
+     */
+    @Override
+    public void run() {
+        try {
+            while ( true ) {
+                boolean isChanged = isConfigFileChanged(watchService.take());
+
+                WatchKey key;
+                while ( (key = watchService.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS)) != null ) {
+                    isChanged |= isConfigFileChanged(key);
+                }
+
+                if ( isChanged ) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            logger.info("Watching of configuration file finished.");
+        }
+    }
+
+    /**
+     * Stops watching of the configuration file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
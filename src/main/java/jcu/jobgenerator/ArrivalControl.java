@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+/**
+ * Control of job arrivals of a running replay fed by a live generator.
+ *
+ * Changes the arrival settings of the generator and the time scale of
+ * the producer, while the replay runs. Both changes take effect at the next
+ * release - the arrival of the job waiting for its release is drawn again
+ * by the new settings - and the stream of jobs is never paused. The control
+ * can be exposed as JMX MBean and driven by {@link ArrivalConfigWatcher} from
+ * a watched configuration file.
+ *
+ * @author Michal Konopa
+ */
+public final class ArrivalControl implements ArrivalControlMBean {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(ArrivalControl.class);
+
+    // constants for fields names in JSON configuration
+    private static final String JNAME_TIME_SCALE = "timeScale";
+
+    private final JobProducer producer;
+
+    private ObjectName mbeanName = null;
+
+
+    /**
+     * Creates new control of the replay of jobs of specified generator by
+     * specified producer. Must be created before the producer is started.
+     *
+     * @param generator generator used directly as the source of jobs of
+     * the producer
+     * @param producer producer of the replay
+     */
+    ArrivalControl(JobGenerator generator, JobProducer producer) {
+        this.producer = producer;
+        producer.setArrivalGenerator(generator);
+    }
+
+    @Override
+    public String getJobArrivalConfig() {
+        return ConfigSettingsFileWriter.toJson(producer.getJobArrivalConfigSettings()).toString();
+    }
+
+    @Override
+    public void changeJobArrivalConfig(String jobArrivalConfigJson) throws IOException {
+        producer.setJobArrivalConfigSettings(
+                ConfigSettingsFileReader.parseJobArrivalSettings(new JSONObject(jobArrivalConfigJson))
+        );
+        logger.info("Job arrival settings changed to: " + jobArrivalConfigJson);
+    }
+
+    @Override
+    public double getTimeScale() {
+        return producer.getTimeScale();
+    }
+
+    @Override
+    public void setTimeScale(double timeScale) {
+        producer.setTimeScale(timeScale);
+    }
+
+    /**
+     * Applies job arrival settings of specified configuration JSON object and
+     * its optional time scale, i.e. the number member "timeScale". Both are
+     * changed together, nothing is changed, if the configuration is invalid.
+     *
+     * @param configObjJson configuration JSON object
+     * @throws IOException if the file of empirical values cannot be read
+     */
+    void apply(JSONObject configObjJson) throws IOException {
+        ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings 
+                = ConfigSettingsFileReader.parseJobArrivalConfigSettings(configObjJson);
+        double timeScale = configObjJson.optDouble(JNAME_TIME_SCALE, producer.getTimeScale());
+        
+        producer.setArrivalSettings(jobArrivalConfigSettings, timeScale);
+        logger.info(
+                "Job arrival settings changed to: " + ConfigSettingsFileWriter.toJson(jobArrivalConfigSettings)
+                + ", time scale: " + timeScale
+        );
+    }
+
+    /**
+     * Registers the control into the platform MBean server under the name
+     * <code>jcu.jobgenerator:type=ArrivalControl,name=[name]</code>.
+     *
+     * @param name name of the replay
+     * @throws JMException if the registration fails
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("jcu.jobgenerator:type=ArrivalControl,name=" + ObjectName.quote(name));
+        mbeanServer.registerMBean(this, objectName);
+        mbeanName = objectName;
+    }
+
+    /**
+     * Unregisters the control from the platform MBean server, if it was
+     * registered.
+     *
+     * @throws JMException if the unregistration fails
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if ( mbeanName == null ) {
+            return;
+        }
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        mbeanName = null;
+    }
+}
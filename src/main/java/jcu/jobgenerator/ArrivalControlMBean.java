@@ -0,0 +1,42 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+
+/**
+ * JMX management interface of job arrivals of a running replay.
+ * 
+ * Job arrival settings are in the JSON format of the jobsArrivalConfigSettings
+ * member of the configuration file.
+ * 
+ * @author Michal Konopa
+ */
+public interface ArrivalControlMBean {
+    
+    /**
+     * @return JSON of the current job arrival settings
+     */
+    String getJobArrivalConfig();
+    
+    /**
+     * Changes job arrival settings, starting with the job waiting for its
+     * release.
+     * 
+     * @param jobArrivalConfigJson JSON of the new job arrival settings
+     * @throws IOException if the file of empirical values cannot be read
+     */
+    void changeJobArrivalConfig(String jobArrivalConfigJson) throws IOException;
+    
+    /**
+     * @return number of minutes of arrival times replayed per minute
+     */
+    double getTimeScale();
+    
+    /**
+     * @param timeScale number of minutes of arrival times replayed per minute
+     */
+    void setTimeScale(double timeScale);
+}
@@ -0,0 +1,250 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Closed-loop producer of jobs.
+ *
+ * Unlike {@link JobProducer}, which releases jobs according to their arrival
+ * times regardless of the state of the system, the closed-loop producer keeps
+ * at most the specified number of jobs outstanding. The next job is released
+ * only when a consumer acknowledges completion of an outstanding job - either
+ * by calling {@link #jobCompleted(Job)} or by placing the completed job into
+ * the completion queue. Arrival times of the jobs are ignored, only their
+ * order is kept.
+ *
+ * The producer measures the achieved throughput and the response time of each
+ * job (time from its release to the acknowledgement of its completion), so
+ * the saturation throughput of the consumers can be found using the same
+ * traces as for the open-loop replay.
+ *
+ * @author Michal Konopa
+ */
+public final class ClosedLoopJobProducer implements Runnable {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(ClosedLoopJobProducer.class);
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    // source of jobs
+    private final Iterator<Job> jobs;
+
+    // reference to shared queue of jobs
+    private final BlockingQueue<Job> blockingQueue;
+
+    // completed jobs acknowledged by consumers
+    private final BlockingQueue<Job> completionQueue;
+
+    // maximal number of outstanding jobs
+    private final int maxOutstandingJobsNum;
+
+    // release times [in nanoseconds] of outstanding jobs
+    private final Map<Job, Long> releaseTimes = new HashMap<>();
+
+    private final LatencyHistogram responseTimeHistogram = new LatencyHistogram();
+
+    private volatile long releasedJobsNum = 0;
+    private volatile long completedJobsNum = 0;
+
+    // start and end [in nanoseconds] of the replay
+    private volatile long startTime = 0;
+    private volatile long endTime = 0;
+
+
+    /**
+     * Creates new closed-loop producer with specified source of jobs and
+     * reference to blocking queue shared with job consumer(s). Completions
+     * are acknowledged by calling {@link #jobCompleted(Job)}.
+     *
+     * @param jobs source of jobs
+     * @param blockingQueue shared queue
+     * @param maxOutstandingJobsNum maximal number of outstanding jobs
+     */
+    public ClosedLoopJobProducer(
+            Iterator<Job> jobs,
+            BlockingQueue<Job> blockingQueue,
+            int maxOutstandingJobsNum
+    ) {
+        this(jobs, blockingQueue, new LinkedBlockingQueue<>(), maxOutstandingJobsNum);
+    }
+
+    /**
+     * Creates new closed-loop producer with specified source of jobs,
+     * reference to blocking queue shared with job consumer(s) and completion
+     * queue, which consumers place the completed jobs into.
+     *
+     * @param jobs source of jobs
+     * @param blockingQueue shared queue
+     * @param completionQueue queue of completed jobs
+     * @param maxOutstandingJobsNum maximal number of outstanding jobs
+     * @throws IllegalArgumentException if the maximal number of outstanding
+     * jobs is less than 1
+     */
+    public ClosedLoopJobProducer(
+            Iterator<Job> jobs,
+            BlockingQueue<Job> blockingQueue,
+            BlockingQueue<Job> completionQueue,
+            int maxOutstandingJobsNum
+    ) {
+        if ( maxOutstandingJobsNum < 1 ) {
+            throw new IllegalArgumentException(
+                    "Invalid maximal number of outstanding jobs: " + maxOutstandingJobsNum
+            );
+        }
+
+        this.jobs = jobs;
+        this.blockingQueue = blockingQueue;
+        this.completionQueue = completionQueue;
+        this.maxOutstandingJobsNum = maxOutstandingJobsNum;
+    }
+
+    // records completion of specified job
+    private void complete(Job job) {
+        Long releaseTime = releaseTimes.remove(job);
+        if ( releaseTime == null ) {
+            logger.error("Completion of unknown or already completed job acknowledged.");
+            return;
+        }
+
+        responseTimeHistogram.record(System.nanoTime() - releaseTime);
+        completedJobsNum++;
+    }
+
+    // records all the completions acknowledged so far
+    private void completeAcknowledged() {
+        Job job;
+        while ( (job = completionQueue.poll()) != null ) {
+            complete(job);
+        }
+    }
+
+    /*
+     * Releases all the jobs and waits for their completions. Returns false,
+     * if the producer was terminated prematurely.
+     */
+    private boolean releaseJobs() {
+        try {
+            while ( jobs.hasNext() ) {
+                while ( releaseTimes.size() >= maxOutstandingJobsNum ) {
+                    complete(completionQueue.take());
+                }
+                completeAcknowledged();
+
+                Job job = jobs.next();
+                releaseTimes.put(job, System.nanoTime());
+                blockingQueue.put(job);
+                releasedJobsNum++;
+            }
+
+            while ( !releaseTimes.isEmpty() ) {
+                complete(completionQueue.take());
+            }
+        } catch (InterruptedException ex) {
+            logger.error("Producer prematurely interrupted. Producer will be terminated.");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Acknowledges completion of specified released job. Can be called from
+     * any consumer thread.
+     *
+     * @param job completed job
+     */
+    public void jobCompleted(Job job) {
+        completionQueue.add(Objects.requireNonNull(job));
+    }
+
+    /**
+     * @return the number of jobs released so far
+     */
+    public long getReleasedJobsNum() {
+        return releasedJobsNum;
+    }
+
+    /**
+     * @return the number of jobs completed so far
+     */
+    public long getCompletedJobsNum() {
+        return completedJobsNum;
+    }
+
+    /**
+     * @return the throughput [in jobs per second] achieved so far
+     */
+    public double getThroughput() {
+        long currentStartTime = startTime;
+        if ( currentStartTime == 0 ) {
+            return 0;
+        }
+
+        long currentEndTime = (endTime != 0) ? endTime : System.nanoTime();
+        return completedJobsNum * NANOS_PER_SECOND / (currentEndTime - currentStartTime);
+    }
+
+    /**
+     * @return the mean response time [in nanoseconds]
+     */
+    public double getMeanResponseTime() {
+        return responseTimeHistogram.getMean();
+    }
+
+    /**
+     * Returns response time [in nanoseconds] at specified percentile.
+     *
+     * @param percentile percentile in the range of [0, 100]
+     * @return response time at the percentile
+     */
+    public long getResponseTimeAtPercentile(double percentile) {
+        return responseTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return the maximal response time [in nanoseconds]
+     */
+    public long getMaxResponseTime() {
+        return responseTimeHistogram.getMax();
+    }
+
+    /**
+     * @return the summary of the replay
+     */
+    public String getSummary() {
+        return String.format(
+                "Released jobs: %d, completed: %d, throughput [jobs/s]: %.1f, "
+                + "response time [ms] mean: %.3f, p50: %.3f, p99: %.3f, p99.9: %.3f, max: %.3f",
+                getReleasedJobsNum(), getCompletedJobsNum(), getThroughput(),
+                getMeanResponseTime() / NANOS_PER_MILLI,
+                getResponseTimeAtPercentile(50) / NANOS_PER_MILLI,
+                getResponseTimeAtPercentile(99) / NANOS_PER_MILLI,
+                getResponseTimeAtPercentile(99.9) / NANOS_PER_MILLI,
+                getMaxResponseTime() / NANOS_PER_MILLI
+        );
+    }
+
+
+    @Override
+    public void run() {
+        startTime = System.nanoTime();
+        boolean isComplete = releaseJobs();
+        endTime = System.nanoTime();
+
+        if ( isComplete ) {
+            logger.info("Closed-loop replay complete. " + getSummary());
+        }
+    }
+}
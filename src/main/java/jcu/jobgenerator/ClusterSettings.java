@@ -0,0 +1,140 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.List;
+
+/**
+ * Settings of simulated cluster of GPU nodes.
+ *
+ * @author Michal Konopa
+ */
+final class ClusterSettings {
+
+    /**
+     * Policy of scheduling of waiting jobs.
+     *
+     * Fifo - jobs are started in the order of their arrival
+     * Priority - jobs with higher priority value are started first
+     * EarliestDeadlineFirst - jobs with earlier absolute deadline are started
+     * first, jobs without deadline are started last
+     */
+    static enum SchedulingPolicy {
+        Fifo, Priority, EarliestDeadlineFirst
+    };
+
+    /**
+     * Settings of a group of identical nodes.
+     */
+    static final class NodeSettings {
+
+        private final int cudaCoresNumber;
+        private final int ram;
+        private final int count;
+
+        /**
+         * Creates new settings of a group of identical nodes.
+         *
+         * @param cudaCoresNumber number of CUDA cores of each node
+         * @param ram RAM of each node
+         * @param count number of nodes in the group
+         */
+        NodeSettings(int cudaCoresNumber, int ram, int count) {
+            if ( cudaCoresNumber < 1 || ram < 1 || count < 1 ) {
+                throw new IllegalArgumentException(
+                        "Invalid node settings: cores=" + cudaCoresNumber + ", ram=" + ram + ", count=" + count
+                );
+            }
+            this.cudaCoresNumber = cudaCoresNumber;
+            this.ram = ram;
+            this.count = count;
+        }
+
+        /**
+         * @return the number of CUDA cores of each node
+         */
+        int getCudaCoresNumber() {
+            return cudaCoresNumber;
+        }
+
+        /**
+         * @return the RAM of each node
+         */
+        int getRam() {
+            return ram;
+        }
+
+        /**
+         * @return the number of nodes in the group
+         */
+        int getCount() {
+            return count;
+        }
+    }
+
+
+    private final List<NodeSettings> nodesSettings;
+    private final SchedulingPolicy schedulingPolicy;
+    private final boolean isPreemptive;
+    private final double timesliceLength;
+
+
+    /**
+     * Creates new settings of simulated cluster.
+     *
+     * @param nodesSettings settings of groups of nodes
+     * @param schedulingPolicy scheduling policy
+     * @param isPreemptive indicates, whether running stoppable jobs can be
+     * preempted by waiting jobs with earlier deadline (EarliestDeadlineFirst
+     * policy only)
+     * @param timesliceLength length of one timeslice of jobs [in minutes]
+     */
+    ClusterSettings(
+            List<NodeSettings> nodesSettings,
+            SchedulingPolicy schedulingPolicy,
+            boolean isPreemptive,
+            double timesliceLength
+    ) {
+        if ( nodesSettings.isEmpty() ) {
+            throw new IllegalArgumentException("At least one node must be specified.");
+        }
+        if ( !(timesliceLength > 0) ) {
+            throw new IllegalArgumentException("Invalid timeslice length: " + timesliceLength);
+        }
+
+        this.nodesSettings = List.copyOf(nodesSettings);
+        this.schedulingPolicy = schedulingPolicy;
+        this.isPreemptive = isPreemptive;
+        this.timesliceLength = timesliceLength;
+    }
+
+    /**
+     * @return the settings of groups of nodes
+     */
+    List<NodeSettings> getNodesSettings() {
+        return nodesSettings;
+    }
+
+    /**
+     * @return the scheduling policy
+     */
+    SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    /**
+     * @return true, if running stoppable jobs can be preempted
+     */
+    boolean isPreemptive() {
+        return isPreemptive;
+    }
+
+    /**
+     * @return the length of one timeslice of jobs [in minutes]
+     */
+    double getTimesliceLength() {
+        return timesliceLength;
+    }
+}
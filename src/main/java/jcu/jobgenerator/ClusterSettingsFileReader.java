@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reader of the file with settings of simulated cluster.
+ *
+ * @author Michal Konopa
+ */
+final class ClusterSettingsFileReader {
+    // constants for fields names in JSON document
+    private static final String JNAME_NODES = "nodes";
+    private static final String JNAME_CORES_NUMBER = "coresNumber";
+    private static final String JNAME_RAM = "ram";
+    private static final String JNAME_COUNT = "count";
+
+    private static final String JNAME_SCHEDULING_POLICY = "schedulingPolicy";
+    private static final String JNAME_PREEMPTION = "preemption";
+    private static final String JNAME_TIMESLICE_LENGTH = "timesliceLength";
+
+    private static final String JNAME_POLICY_FIFO = "fifo";
+    private static final String JNAME_POLICY_PRIORITY = "priority";
+    private static final String JNAME_POLICY_EDF = "edf";
+
+    // default length of timeslice [in minutes]
+    private static final double DEFAULT_TIMESLICE_LENGTH = 1;
+
+
+    // reads scheduling policy from specified JSON object
+    private static ClusterSettings.SchedulingPolicy parseSchedulingPolicy(JSONObject clusterJson) {
+        String policyStr = clusterJson.getString(JNAME_SCHEDULING_POLICY);
+
+        switch ( policyStr.toLowerCase() ) {
+            case JNAME_POLICY_FIFO -> {
+                return ClusterSettings.SchedulingPolicy.Fifo;
+            }
+            case JNAME_POLICY_PRIORITY -> {
+                return ClusterSettings.SchedulingPolicy.Priority;
+            }
+            case JNAME_POLICY_EDF -> {
+                return ClusterSettings.SchedulingPolicy.EarliestDeadlineFirst;
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported scheduling policy: " + policyStr);
+        }
+    }
+
+    // reads settings of groups of nodes from specified JSON object
+    private static List<ClusterSettings.NodeSettings> parseNodesSettings(JSONObject clusterJson) {
+        JSONArray nodesJson = clusterJson.getJSONArray(JNAME_NODES);
+        List<ClusterSettings.NodeSettings> nodesSettings = new ArrayList<>();
+
+        for ( int nodeId = 0; nodeId < nodesJson.length(); nodeId++ ) {
+            JSONObject nodeJson = nodesJson.getJSONObject(nodeId);
+            nodesSettings.add(
+                    new ClusterSettings.NodeSettings(
+                            nodeJson.getInt(JNAME_CORES_NUMBER),
+                            nodeJson.getInt(JNAME_RAM),
+                            nodeJson.optInt(JNAME_COUNT, 1)
+                    )
+            );
+        }
+
+        return nodesSettings;
+    }
+
+    /**
+     * Reads cluster settings JSON file of specified name, parses it and returns
+     * object of corresponding cluster settings.
+     *
+     * @param fileName name of the cluster settings file
+     * @return object of cluster settings read from the file
+     */
+    static ClusterSettings read(String fileName) throws IOException {
+        String fileContentStr = Files.readString(Paths.get(fileName));
+        JSONObject clusterJson = new JSONObject(fileContentStr);
+
+        return new ClusterSettings(
+                parseNodesSettings(clusterJson),
+                parseSchedulingPolicy(clusterJson),
+                clusterJson.optBoolean(JNAME_PREEMPTION, true),
+                clusterJson.optDouble(JNAME_TIMESLICE_LENGTH, DEFAULT_TIMESLICE_LENGTH)
+        );
+    }
+}
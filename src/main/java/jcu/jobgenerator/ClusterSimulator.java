@@ -0,0 +1,402 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event simulator of a cluster of GPU nodes processing a trace of
+ * jobs.
+ *
+ * Jobs arrive according to their arrival times and wait in the queue of the
+ * cluster, until the scheduling policy starts them on a node with enough free
+ * CUDA cores and RAM. Each job occupies its CUDA cores and its peak RAM
+ * (maximum over its timeslices) for the whole run. The run of a job takes the
+ * number of its timeslices times the timeslice length. Waiting jobs are
+ * started strictly in the order given by the policy - if the first waiting
+ * job does not fit into any node, no other job is started. Under the EDF
+ * policy with preemption, running stoppable jobs with later deadlines are
+ * preempted to make room for the first waiting job. Preempted jobs keep
+ * their progress and return into the queue. Jobs, which do not fit even into
+ * an empty node, are rejected.
+ *
+ * The trace is read sequentially and only the jobs present in the cluster
+ * are held in memory. Completions of running jobs are kept in a primitive
+ * event heap, so very large traces can be simulated quickly.
+ *
+ * All times are in minutes. Deadlines of jobs are relative to their arrival.
+ *
+ * @author Michal Konopa
+ */
+final class ClusterSimulator {
+    private static final double MILLIS_PER_MINUTE = 60_000;
+
+    // job present in the cluster
+    private static final class SimulatedJob {
+        private final long sequenceNumber;
+        private final double arrivalTime;
+        private final double absoluteDeadline;
+        private final int priority;
+        private final boolean isStoppable;
+        private final int cudaCoresNumber;
+        private final int ram;
+        private final double duration;
+
+        private double remainingDuration;
+        private double startTime;
+        private int nodeId = -1;
+
+        // slot in the table of running jobs
+        private int slot = -1;
+
+        private SimulatedJob(Job job, long sequenceNumber, double timesliceLength) {
+            this.sequenceNumber = sequenceNumber;
+            this.arrivalTime = job.getArrivalTime();
+            this.absoluteDeadline = (job.getDeadline() == Job.NO_DEADLINE)
+                    ? Double.POSITIVE_INFINITY
+                    : job.getArrivalTime() + job.getDeadline();
+            this.priority = job.getPriority();
+            this.isStoppable = job.isStopable();
+            this.cudaCoresNumber = job.getCudaCoresNumber();
+
+            int peakRam = 0;
+            for ( int timesliceRam : job.getTimeslices() ) {
+                peakRam = Math.max(peakRam, timesliceRam);
+            }
+            this.ram = peakRam;
+            this.duration = job.getTimeslices().length * timesliceLength;
+            this.remainingDuration = duration;
+        }
+    }
+
+
+    private final ClusterSettings clusterSettings;
+
+    // free resources of individual nodes
+    private final int[] freeCudaCores;
+    private final int[] freeRam;
+
+    // jobs running on individual nodes
+    private final List<List<SimulatedJob>> nodesRunningJobs = new ArrayList<>();
+
+    private final long totalCudaCoresNumber;
+    private final long totalRam;
+
+    // waiting jobs ordered by the scheduling policy
+    private final PriorityQueue<SimulatedJob> waitingJobs;
+
+    // completions of running jobs
+    private final SimulationEventHeap completions = new SimulationEventHeap();
+
+    // table of running jobs referenced by completion events
+    private SimulatedJob[] runningJobs = new SimulatedJob[1024];
+
+    // generations of the slots - incremented, whenever the slot is released, so a completion event of
+    // a preempted run never matches another run in the same slot
+    private int[] slotGenerations = new int[1024];
+    private int[] freeSlots = new int[1024];
+    private int freeSlotsNum = 0;
+    private int usedSlotsNum = 0;
+
+    private double now = 0;
+
+    // metrics
+    private final LatencyHistogram waitTimeHistogram = new LatencyHistogram();
+    private long arrivedJobsNum = 0;
+    private long completedJobsNum = 0;
+    private long rejectedJobsNum = 0;
+    private long preemptionsNum = 0;
+    private long jobsWithDeadlineNum = 0;
+    private long deadlineMissesNum = 0;
+    private double firstArrivalTime = Double.NaN;
+    private double lastCompletionTime = Double.NaN;
+    private double busyCudaCoresTime = 0;
+    private double busyRamTime = 0;
+
+
+    /**
+     * Creates new simulator of cluster with specified settings.
+     *
+     * @param clusterSettings settings of the cluster
+     */
+    ClusterSimulator(ClusterSettings clusterSettings) {
+        this.clusterSettings = clusterSettings;
+
+        List<Integer> nodesCudaCores = new ArrayList<>();
+        List<Integer> nodesRam = new ArrayList<>();
+        for ( ClusterSettings.NodeSettings nodeSettings : clusterSettings.getNodesSettings() ) {
+            for ( int nodeId = 0; nodeId < nodeSettings.getCount(); nodeId++ ) {
+                nodesCudaCores.add(nodeSettings.getCudaCoresNumber());
+                nodesRam.add(nodeSettings.getRam());
+                nodesRunningJobs.add(new ArrayList<>());
+            }
+        }
+
+        this.freeCudaCores = nodesCudaCores.stream().mapToInt(Integer::intValue).toArray();
+        this.freeRam = nodesRam.stream().mapToInt(Integer::intValue).toArray();
+        this.totalCudaCoresNumber = nodesCudaCores.stream().mapToLong(Integer::longValue).sum();
+        this.totalRam = nodesRam.stream().mapToLong(Integer::longValue).sum();
+        this.waitingJobs = new PriorityQueue<>(getComparator(clusterSettings.getSchedulingPolicy()));
+    }
+
+    // returns order of waiting jobs for specified policy
+    private static Comparator<SimulatedJob> getComparator(ClusterSettings.SchedulingPolicy policy) {
+        Comparator<SimulatedJob> arrivalOrder = Comparator.comparingLong(job -> job.sequenceNumber);
+
+        switch ( policy ) {
+            case Fifo -> {
+                return arrivalOrder;
+            }
+            case Priority -> {
+                return Comparator.<SimulatedJob>comparingInt(job -> -job.priority).thenComparing(arrivalOrder);
+            }
+            case EarliestDeadlineFirst -> {
+                return Comparator.<SimulatedJob>comparingDouble(job -> job.absoluteDeadline).thenComparing(arrivalOrder);
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported scheduling policy: " + policy);
+        }
+    }
+
+    // indicates, whether specified job fits into some empty node
+    private boolean fitsIntoCluster(SimulatedJob job) {
+        for ( ClusterSettings.NodeSettings nodeSettings : clusterSettings.getNodesSettings() ) {
+            if ( job.cudaCoresNumber <= nodeSettings.getCudaCoresNumber() && job.ram <= nodeSettings.getRam() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // returns the first node with enough free resources for specified job, -1 if there is none
+    private int findNode(SimulatedJob job) {
+        for ( int nodeId = 0; nodeId < freeCudaCores.length; nodeId++ ) {
+            if ( job.cudaCoresNumber <= freeCudaCores[nodeId] && job.ram <= freeRam[nodeId] ) {
+                return nodeId;
+            }
+        }
+        return -1;
+    }
+
+    // returns free slot in the table of running jobs
+    private int allocateSlot() {
+        if ( freeSlotsNum > 0 ) {
+            return freeSlots[--freeSlotsNum];
+        }
+        if ( usedSlotsNum == runningJobs.length ) {
+            runningJobs = Arrays.copyOf(runningJobs, usedSlotsNum * 2);
+            slotGenerations = Arrays.copyOf(slotGenerations, usedSlotsNum * 2);
+            freeSlots = Arrays.copyOf(freeSlots, usedSlotsNum * 2);
+        }
+        return usedSlotsNum++;
+    }
+
+    // returns the slot of specified job into the table of free slots
+    private void releaseSlot(SimulatedJob job) {
+        runningJobs[job.slot] = null;
+        slotGenerations[job.slot]++;
+        freeSlots[freeSlotsNum++] = job.slot;
+        job.slot = -1;
+    }
+
+    // starts specified job on specified node
+    private void start(SimulatedJob job, int nodeId) {
+        freeCudaCores[nodeId] -= job.cudaCoresNumber;
+        freeRam[nodeId] -= job.ram;
+        nodesRunningJobs.get(nodeId).add(job);
+
+        job.nodeId = nodeId;
+        job.startTime = now;
+        job.slot = allocateSlot();
+        runningJobs[job.slot] = job;
+
+        // payload identifies the slot and its generation
+        long payload = ((long) job.slot << 32) | (slotGenerations[job.slot] & 0xFFFFFFFFL);
+        completions.add(now + job.remainingDuration, payload);
+    }
+
+    // stops specified running job and releases its resources
+    private void stop(SimulatedJob job) {
+        freeCudaCores[job.nodeId] += job.cudaCoresNumber;
+        freeRam[job.nodeId] += job.ram;
+        nodesRunningJobs.get(job.nodeId).remove(job);
+
+        job.nodeId = -1;
+        releaseSlot(job);
+    }
+
+    // preempts specified running job and returns it into the queue
+    private void preempt(SimulatedJob job) {
+        job.remainingDuration -= now - job.startTime;
+        stop(job);
+        waitingJobs.add(job);
+        preemptionsNum++;
+    }
+
+    /*
+     * Preempts running stoppable jobs with later deadline than specified job
+     * on the first node, where it makes enough room for the job. Returns false,
+     * if there is no such node.
+     */
+    private boolean preemptFor(SimulatedJob job) {
+        for ( int nodeId = 0; nodeId < freeCudaCores.length; nodeId++ ) {
+            List<SimulatedJob> victims = new ArrayList<>();
+            long availableCudaCores = freeCudaCores[nodeId];
+            long availableRam = freeRam[nodeId];
+
+            for ( SimulatedJob runningJob : nodesRunningJobs.get(nodeId) ) {
+                if ( runningJob.isStoppable && runningJob.absoluteDeadline > job.absoluteDeadline ) {
+                    victims.add(runningJob);
+                    availableCudaCores += runningJob.cudaCoresNumber;
+                    availableRam += runningJob.ram;
+                }
+            }
+            if ( job.cudaCoresNumber > availableCudaCores || job.ram > availableRam ) {
+                continue;
+            }
+
+            // jobs with the latest deadlines are preempted first
+            victims.sort(Comparator.comparingDouble((SimulatedJob victim) -> victim.absoluteDeadline).reversed());
+            for ( SimulatedJob victim : victims ) {
+                if ( job.cudaCoresNumber <= freeCudaCores[nodeId] && job.ram <= freeRam[nodeId] ) {
+                    break;
+                }
+                preempt(victim);
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    // starts waiting jobs in the order given by the policy, while they fit into the cluster
+    private void schedule() {
+        boolean canPreempt = clusterSettings.isPreemptive()
+                && clusterSettings.getSchedulingPolicy() == ClusterSettings.SchedulingPolicy.EarliestDeadlineFirst;
+
+        while ( !waitingJobs.isEmpty() ) {
+            SimulatedJob job = waitingJobs.peek();
+            int nodeId = findNode(job);
+            if ( nodeId == -1 ) {
+                if ( !canPreempt || job.absoluteDeadline == Double.POSITIVE_INFINITY || !preemptFor(job) ) {
+                    return;
+                }
+                nodeId = findNode(job);
+            }
+
+            waitingJobs.poll();
+            start(job, nodeId);
+        }
+    }
+
+    // handles arrival of specified job
+    private void arrive(SimulatedJob job) {
+        if ( arrivedJobsNum == 0 ) {
+            firstArrivalTime = job.arrivalTime;
+        }
+        arrivedJobsNum++;
+
+        if ( !fitsIntoCluster(job) ) {
+            rejectedJobsNum++;
+            return;
+        }
+        waitingJobs.add(job);
+    }
+
+    // handles completion event with specified payload
+    private void complete(long payload) {
+        int slot = (int) (payload >>> 32);
+
+        // completion of preempted run is obsolete - its slot was released since then
+        if ( slotGenerations[slot] != (int) payload ) {
+            return;
+        }
+        SimulatedJob job = runningJobs[slot];
+        stop(job);
+
+        double waitTime = now - job.arrivalTime - job.duration;
+        waitTimeHistogram.record(Math.round(waitTime * MILLIS_PER_MINUTE));
+
+        if ( job.absoluteDeadline != Double.POSITIVE_INFINITY ) {
+            jobsWithDeadlineNum++;
+            if ( now > job.absoluteDeadline ) {
+                deadlineMissesNum++;
+            }
+        }
+
+        busyCudaCoresTime += (double) job.cudaCoresNumber * job.duration;
+        busyRamTime += (double) job.ram * job.duration;
+        lastCompletionTime = now;
+        completedJobsNum++;
+    }
+
+    /**
+     * Simulates processing of specified jobs. Jobs must be ordered by their
+     * arrival times.
+     *
+     * @param jobs source of jobs
+     * @throws IllegalArgumentException if the jobs are not ordered by their
+     * arrival times
+     */
+    void simulate(Iterator<Job> jobs) {
+        long sequenceNumber = 0;
+        SimulatedJob nextJob = jobs.hasNext()
+                ? new SimulatedJob(jobs.next(), sequenceNumber++, clusterSettings.getTimesliceLength())
+                : null;
+
+        while ( nextJob != null || !completions.isEmpty() ) {
+            // completions are handled before arrivals at the same time
+            if ( !completions.isEmpty() && (nextJob == null || completions.peekTime() <= nextJob.arrivalTime) ) {
+                now = completions.peekTime();
+                complete(completions.poll());
+            } else {
+                if ( nextJob.arrivalTime < now ) {
+                    throw new IllegalArgumentException("Jobs are not ordered by arrival times.");
+                }
+                now = nextJob.arrivalTime;
+                arrive(nextJob);
+                nextJob = jobs.hasNext()
+                        ? new SimulatedJob(jobs.next(), sequenceNumber++, clusterSettings.getTimesliceLength())
+                        : null;
+            }
+
+            // all the events at the same time are handled before scheduling
+            boolean isNextEventNow = (!completions.isEmpty() && completions.peekTime() == now)
+                    || (nextJob != null && nextJob.arrivalTime == now);
+            if ( !isNextEventNow ) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * @return the summary of the simulation
+     */
+    String getSummary() {
+        double makespan = completedJobsNum > 0 ? lastCompletionTime - firstArrivalTime : 0;
+        double cudaCoresUtilization = makespan > 0 ? busyCudaCoresTime / (totalCudaCoresNumber * makespan) : 0;
+        double ramUtilization = makespan > 0 ? busyRamTime / (totalRam * makespan) : 0;
+        double deadlineMissRatio = jobsWithDeadlineNum > 0 ? (double) deadlineMissesNum / jobsWithDeadlineNum : 0;
+
+        return String.format(
+                "Jobs arrived: %d, completed: %d, rejected: %d, preemptions: %d%n"
+                + "makespan [min]: %.3f, utilization of CUDA cores: %.2f %%, utilization of RAM: %.2f %%%n"
+                + "wait time [min] mean: %.3f, p50: %.3f, p99: %.3f, max: %.3f%n"
+                + "deadline misses: %d of %d jobs with deadline (%.2f %%)",
+                arrivedJobsNum, completedJobsNum, rejectedJobsNum, preemptionsNum,
+                makespan, cudaCoresUtilization * 100, ramUtilization * 100,
+                waitTimeHistogram.getMean() / MILLIS_PER_MINUTE,
+                waitTimeHistogram.getValueAtPercentile(50) / MILLIS_PER_MINUTE,
+                waitTimeHistogram.getValueAtPercentile(99) / MILLIS_PER_MINUTE,
+                waitTimeHistogram.getMax() / MILLIS_PER_MINUTE,
+                deadlineMissesNum, jobsWithDeadlineNum, deadlineMissRatio * 100
+        );
+    }
+}
@@ -4,6 +4,10 @@
  */
 package jcu.jobgenerator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Configuration settings.
  *
@@ -15,99 +19,1386 @@ package jcu.jobgenerator;
 final class ConfigSettings {
 
     /**
-     * Parameters of uniform distribution.
+     * Parameters of uniform distribution of integers.
+     *
+     * Like all the other distributions of job properties, it can be truncated
+     * to an interval of values.
+     */
+    static final class UniformDistributionParams extends AbstractDistributionSampler {
+
+        private final int lowerBound;
+        private final int upperBound;
+
+        // bounds of drawn values narrowed by the truncation
+        private final int sampledLowerBound;
+        private final int sampledUpperBound;
+
+        /**
+         * Creates new instance of uniform distribution parameters.
+         *
+         * @param lowerBound lower bound
+         * @param upperBound upper bound
+         */
+        UniformDistributionParams(int lowerBound, int upperBound) {
+            this(lowerBound, upperBound, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of uniform distribution parameters truncated
+         * to specified interval.
+         *
+         * @param lowerBound lower bound
+         * @param upperBound upper bound
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if no value of the distribution
+         * lies within the interval
+         */
+        UniformDistributionParams(int lowerBound, int upperBound, double min, double max) {
+            super(min, max);
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.sampledLowerBound = (int) Math.max(lowerBound, Math.ceil(min));
+            this.sampledUpperBound = (int) Math.min(upperBound, Math.floor(max));
+
+            if ( isTruncated() && sampledLowerBound > sampledUpperBound ) {
+                throw new IllegalArgumentException(
+                        "No value of uniform distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+        }
+
+        /**
+         * @return the lower bound
+         */
+        int getLowerBound() {
+            return lowerBound;
+        }
+
+        /**
+         * @return the upper bound
+         */
+        int getUpperBound() {
+            return upperBound;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Uniform;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            return randomizer.nextInt(sampledLowerBound, sampledUpperBound + 1);
+        }
+
+        @Override
+        public double quantile(double probability) {
+            int valuesNum = sampledUpperBound - sampledLowerBound + 1;
+            return sampledLowerBound + Math.min((int) (probability * valuesNum), valuesNum - 1);
+        }
+
+        /**
+         * Draws the next value uniformly from the interval of the same length
+         * centered at the previous value. Values are never negative and
+         * the interval is narrowed to the bounds of truncation.
+         */
+        @Override
+        public double sampleNext(Random randomizer, double previousValue) {
+            int halfIntervalLen = (upperBound - lowerBound) / 2;
+            int previousIntValue = (int) previousValue;
+
+            int nextLowerBound = Math.max(0, previousIntValue - halfIntervalLen);
+            int nextUpperBound = previousIntValue + halfIntervalLen;
+            if ( isTruncated() ) {
+                nextLowerBound = Math.max(nextLowerBound, sampledLowerBound);
+                nextUpperBound = Math.max(nextLowerBound, Math.min(nextUpperBound, sampledUpperBound));
+            }
+            return randomizer.nextInt(nextLowerBound, nextUpperBound + 1);
+        }
+
+    }
+
+    /**
+     * Parameters of normal distribution.
+     */
+    static final class NormalDistributionParams extends AbstractDistributionSampler {
+
+        private final double mean;
+        private final double sd;
+
+        // bounds of truncation in units of standard deviations from the mean
+        private final double standardMin;
+        private final double standardMax;
+
+        /**
+         * Creates new instance of normal distribution parameters.
+         *
+         * @param mean mean
+         * @param sd standard deviation
+         */
+        NormalDistributionParams(double mean, double sd) {
+            this(mean, sd, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of normal distribution parameters truncated to
+         * specified interval.
+         *
+         * @param mean mean
+         * @param sd standard deviation, must be positive if the distribution
+         * is truncated
+         * @param min the lowest value
+         * @param max the highest value
+         */
+        NormalDistributionParams(double mean, double sd, double min, double max) {
+            super(min, max);
+            this.mean = mean;
+            this.sd = isTruncated() ? checkPositive(sd, "standard deviation") : sd;
+            this.standardMin = (min - mean) / sd;
+            this.standardMax = (max - mean) / sd;
+        }
+
+        /**
+         * @return the mean
+         */
+        double getMean() {
+            return mean;
+        }
+
+        /**
+         * @return the standard deviation
+         */
+        double getSd() {
+            return sd;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Normal;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            if ( !isTruncated() ) {
+                return randomizer.nextGaussian(mean, sd);
+            }
+            return mean + sd * TruncatedStandardNormal.sample(randomizer, standardMin, standardMax);
+        }
+
+        @Override
+        public double quantile(double probability) {
+            return mean + sd * TruncatedStandardNormal.quantile(probability, standardMin, standardMax);
+        }
+
+        /**
+         * Draws the next value from normal distribution with the same
+         * standard deviation and the mean equal to the previous value.
+         */
+        @Override
+        public double sampleNext(Random randomizer, double previousValue) {
+            if ( !isTruncated() ) {
+                return randomizer.nextGaussian(previousValue, sd);
+            }
+            return previousValue + sd * TruncatedStandardNormal.sample(
+                    randomizer, (getMin() - previousValue) / sd, (getMax() - previousValue) / sd
+            );
+        }
+
+    }
+
+    /**
+     * Parameters of Poisson distribution.
+     */
+    static final class PoissonDistributionParams {
+        // lambda parameter
+        private final int lambda;
+
+        /**
+         * Creates new instance of Poisson distribution parameters. Lambda
+         * parameter means number of arrival jobs per 1 munute.
+         *
+         * @param lambda lambda
+         */
+        PoissonDistributionParams(int lambda) {
+            this.lambda = lambda;
+        }
+
+        /**
+         * @return the lambda
+         */
+        int getLambda() {
+            return lambda;
+        }
+
+    }
+
+    /**
+     * Parameters of empirical distribution.
+     *
+     * The distribution is given by a histogram - distinct values with their
+     * weights. The alias table of the weights is built once, so each value
+     * is then drawn in constant time regardless of the number of values.
+     */
+    static final class EmpiricalDistributionParams extends AbstractDistributionSampler {
+        private final double[] values;
+        private final double[] weights;
+
+        // values within the bounds of truncation
+        private final double[] sampledValues;
+
+        // alias table of the weights of sampled values
+        private final AliasTable aliasTable;
+
+        // sampled values in ascending order and cumulative probabilities of them
+        private final double[] sortedValues;
+        private final double[] cumulativeProbabilities;
+
+        /**
+         * Creates new instance of empirical distribution parameters.
+         *
+         * @param values values of the histogram
+         * @param weights non-negative weights of the values, at least one of
+         * them must be positive
+         * @throws IllegalArgumentException if the histogram is invalid
+         */
+        EmpiricalDistributionParams(double[] values, double[] weights) {
+            this(values, weights, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of empirical distribution parameters truncated
+         * to specified interval. Only the values within the interval are
+         * drawn, the alias table is built just of their weights.
+         *
+         * @param values values of the histogram
+         * @param weights non-negative weights of the values, at least one of
+         * the values within the interval must have positive weight
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if the histogram is invalid
+         */
+        EmpiricalDistributionParams(double[] values, double[] weights, double min, double max) {
+            super(min, max);
+            if ( values.length != weights.length ) {
+                throw new IllegalArgumentException(
+                        "Numbers of values and weights of empirical distribution differ: "
+                        + values.length + ", " + weights.length
+                );
+            }
+            for ( double value : values ) {
+                if ( !Double.isFinite(value) ) {
+                    throw new IllegalArgumentException("Invalid value of empirical distribution: " + value);
+                }
+            }
+
+            this.values = values.clone();
+            this.weights = weights.clone();
+
+            int sampledValuesNum = 0;
+            for ( double value : values ) {
+                if ( value >= min && value <= max ) {
+                    sampledValuesNum++;
+                }
+            }
+            if ( sampledValuesNum == 0 ) {
+                throw new IllegalArgumentException(
+                        "No value of empirical distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+
+            this.sampledValues = new double[sampledValuesNum];
+            double[] sampledWeights = new double[sampledValuesNum];
+            int sampledValueId = 0;
+            for ( int valueId = 0; valueId < values.length; valueId++ ) {
+                if ( values[valueId] >= min && values[valueId] <= max ) {
+                    sampledValues[sampledValueId] = values[valueId];
+                    sampledWeights[sampledValueId] = weights[valueId];
+                    sampledValueId++;
+                }
+            }
+            this.aliasTable = new AliasTable(sampledWeights);
+
+            Integer[] sortedValueIds = new Integer[sampledValuesNum];
+            for ( int valueId = 0; valueId < sampledValuesNum; valueId++ ) {
+                sortedValueIds[valueId] = valueId;
+            }
+            Arrays.sort(sortedValueIds, (first, second) -> Double.compare(sampledValues[first], sampledValues[second]));
+
+            this.sortedValues = new double[sampledValuesNum];
+            this.cumulativeProbabilities = new double[sampledValuesNum];
+            double weightsSum = 0;
+            for ( int valueId = 0; valueId < sampledValuesNum; valueId++ ) {
+                sortedValues[valueId] = sampledValues[sortedValueIds[valueId]];
+                weightsSum += sampledWeights[sortedValueIds[valueId]];
+                cumulativeProbabilities[valueId] = weightsSum;
+            }
+            for ( int valueId = 0; valueId < sampledValuesNum; valueId++ ) {
+                cumulativeProbabilities[valueId] /= weightsSum;
+            }
+        }
+
+        /**
+         * @return the number of values
+         */
+        int getValuesNum() {
+            return values.length;
+        }
+
+        /**
+         * @param index index of the value
+         * @return the value
+         */
+        double getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * @param index index of the value
+         * @return the weight of the value
+         */
+        double getWeight(int index) {
+            return weights[index];
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Empirical;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            return sampledValues[aliasTable.next(randomizer)];
+        }
+
+        @Override
+        public double quantile(double probability) {
+            int valueId = Arrays.binarySearch(cumulativeProbabilities, probability);
+            if ( valueId < 0 ) {
+                valueId = -valueId - 1;
+            }
+            return sortedValues[Math.min(valueId, sortedValues.length - 1)];
+        }
+
+    }
+
+    /**
+     * Parameters of log-normal distribution.
+     *
+     * Logarithm of the values has normal distribution with the specified
+     * parameters.
+     */
+    static final class LogNormalDistributionParams extends AbstractDistributionSampler {
+        private final double mu;
+        private final double sigma;
+
+        // bounds of truncation of logarithm of the values in units of sigma
+        private final double standardLogMin;
+        private final double standardLogMax;
+
+        /**
+         * Creates new instance of log-normal distribution parameters.
+         *
+         * @param mu mean of logarithm of the values
+         * @param sigma standard deviation of logarithm of the values
+         * @throws IllegalArgumentException if sigma is negative
+         */
+        LogNormalDistributionParams(double mu, double sigma) {
+            this(mu, sigma, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of log-normal distribution parameters truncated
+         * to specified interval. Logarithm of the values is drawn from
+         * truncated normal distribution.
+         *
+         * @param mu mean of logarithm of the values
+         * @param sigma standard deviation of logarithm of the values, must be
+         * positive if the distribution is truncated
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if some parameter is invalid
+         */
+        LogNormalDistributionParams(double mu, double sigma, double min, double max) {
+            super(min, max);
+            if ( !(sigma >= 0) ) {
+                throw new IllegalArgumentException("Invalid value of sigma - must not be negative. Got: " + sigma);
+            }
+            if ( !(max > 0) ) {
+                throw new IllegalArgumentException(
+                        "No value of log-normal distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+            this.mu = mu;
+            this.sigma = isTruncated() ? checkPositive(sigma, "sigma") : sigma;
+            this.standardLogMin = (min > 0) ? (Math.log(min) - mu) / sigma : Double.NEGATIVE_INFINITY;
+            this.standardLogMax = (Math.log(max) - mu) / sigma;
+        }
+
+        /**
+         * @return the mean of logarithm of the values
+         */
+        double getMu() {
+            return mu;
+        }
+
+        /**
+         * @return the standard deviation of logarithm of the values
+         */
+        double getSigma() {
+            return sigma;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.LogNormal;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            if ( !isTruncated() ) {
+                return Math.exp(mu + sigma * randomizer.nextGaussian());
+            }
+            return Math.exp(mu + sigma * TruncatedStandardNormal.sample(randomizer, standardLogMin, standardLogMax));
+        }
+
+        @Override
+        public double quantile(double probability) {
+            return Math.exp(mu + sigma * TruncatedStandardNormal.quantile(probability, standardLogMin, standardLogMax));
+        }
+
+    }
+
+    /**
+     * Parameters of Pareto distribution.
+     *
+     * Values are drawn by inversion of the distribution function, i.e. for
+     * the cost of one random double.
+     */
+    static final class ParetoDistributionParams extends AbstractDistributionSampler {
+        // minimal value
+        private final double scale;
+
+        // tail index - the lower, the heavier the tail
+        private final double shape;
+
+        // exponent of the inverse distribution function
+        private final double inverseExponent;
+
+        // minimal value raised by the truncation
+        private final double sampledScale;
+
+        // probability of values above the highest value relative to the sampled scale
+        private final double cutTailProbability;
+
+        /**
+         * Creates new instance of Pareto distribution parameters.
+         *
+         * @param scale minimal value
+         * @param shape tail index
+         * @throws IllegalArgumentException if some parameter is not positive
+         */
+        ParetoDistributionParams(double scale, double shape) {
+            this(scale, shape, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of Pareto distribution parameters truncated to
+         * specified interval.
+         *
+         * @param scale minimal value
+         * @param shape tail index
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if some parameter is invalid
+         */
+        ParetoDistributionParams(double scale, double shape, double min, double max) {
+            super(min, max);
+            this.scale = checkPositive(scale, "scale");
+            this.shape = checkPositive(shape, "shape");
+            this.inverseExponent = -1 / shape;
+
+            // Pareto distribution truncated from below is Pareto distribution with higher scale
+            this.sampledScale = Math.max(scale, min);
+            if ( max < sampledScale ) {
+                throw new IllegalArgumentException(
+                        "No value of Pareto distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+            this.cutTailProbability = Math.pow(sampledScale / max, shape);
+        }
+
+        /**
+         * @return the minimal value
+         */
+        double getScale() {
+            return scale;
+        }
+
+        /**
+         * @return the tail index
+         */
+        double getShape() {
+            return shape;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Pareto;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            if ( !isTruncated() ) {
+                return scale * Math.pow(1.0 - randomizer.nextDouble(), inverseExponent);
+            }
+            return sampledScale * Math.pow(
+                    1.0 - randomizer.nextDouble() * (1.0 - cutTailProbability), inverseExponent
+            );
+        }
+
+        @Override
+        public double quantile(double probability) {
+            return sampledScale * Math.pow(1.0 - probability * (1.0 - cutTailProbability), inverseExponent);
+        }
+
+    }
+
+    /**
+     * Parameters of exponential distribution.
+     */
+    static final class ExponentialDistributionParams extends AbstractDistributionSampler {
+        // rate parameter, reciprocal of the mean
+        private final double lambda;
+
+        // the lowest value and the probability of values up to the highest one relative to it
+        private final double sampledMin;
+        private final double keptProbability;
+
+        /**
+         * Creates new instance of exponential distribution parameters.
+         *
+         * @param lambda rate, i.e. reciprocal of the mean
+         * @throws IllegalArgumentException if lambda is not positive
+         */
+        ExponentialDistributionParams(double lambda) {
+            this(lambda, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of exponential distribution parameters
+         * truncated to specified interval.
+         *
+         * @param lambda rate, i.e. reciprocal of the mean
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if some parameter is invalid
+         */
+        ExponentialDistributionParams(double lambda, double min, double max) {
+            super(min, max);
+            this.lambda = checkPositive(lambda, "lambda");
+
+            // memorylessness - the distribution truncated from below is just shifted
+            this.sampledMin = Math.max(0, min);
+            if ( max < sampledMin ) {
+                throw new IllegalArgumentException(
+                        "No value of exponential distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+            this.keptProbability = -Math.expm1(-lambda * (max - sampledMin));
+        }
+
+        /**
+         * @return the rate
+         */
+        double getLambda() {
+            return lambda;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Exponential;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            if ( !isTruncated() ) {
+                return -Math.log(1.0 - randomizer.nextDouble()) / lambda;
+            }
+            return sampledMin - Math.log1p(-randomizer.nextDouble() * keptProbability) / lambda;
+        }
+
+        @Override
+        public double quantile(double probability) {
+            return sampledMin - Math.log1p(-probability * keptProbability) / lambda;
+        }
+
+    }
+
+    /**
+     * Parameters of gamma distribution.
+     *
+     * Values are drawn by the Marsaglia-Tsang method, which needs about one
+     * normal and one uniform random value per draw for any shape. Shapes
+     * below 1 are boosted by one more uniform random value.
+     */
+    static final class GammaDistributionParams extends AbstractDistributionSampler {
+        // truncated values are drawn by rejection only if at least this part of probability is kept
+        private static final double MIN_REJECTION_KEPT_PROBABILITY = 0.5;
+
+        // relative precision and maximal number of iterations of numerical computations
+        private static final double PRECISION = 1e-14;
+        private static final double INVERSION_PRECISION = 1e-10;
+        private static final int MAX_ITERATIONS_NUM = 1000;
+
+        // coefficients of the Lanczos approximation of the gamma function
+        private static final double[] LANCZOS_COEFFICIENTS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+            771.32342877765313, -176.61502916214059, 12.507343278686905,
+            -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7
+        };
+
+        private final double shape;
+        private final double scale;
+
+        // constants of the Marsaglia-Tsang method for the shape at least 1
+        private final double d;
+        private final double c;
+
+        private final double logGammaOfShape;
+
+        // bounds of truncation in units of the scale
+        private final double standardMin;
+        private final double standardMax;
+
+        // truncated values in the upper tail are inverted by the upper incomplete gamma function
+        private final boolean isUpperTail;
+
+        // values of the inverted distribution function at the bounds of truncation
+        private final double lowerCdfValue;
+        private final double upperCdfValue;
+
+        /**
+         * Creates new instance of gamma distribution parameters.
+         *
+         * @param shape shape
+         * @param scale scale
+         * @throws IllegalArgumentException if some parameter is not positive
+         */
+        GammaDistributionParams(double shape, double scale) {
+            this(shape, scale, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Creates new instance of gamma distribution parameters truncated to
+         * specified interval.
+         *
+         * If most of the probability is kept, the values are drawn by
+         * rejection of the values outside the interval. Otherwise, they are
+         * drawn by numerical inversion of the distribution function, whose
+         * cost does not depend on the cut off probability.
+         *
+         * @param shape shape
+         * @param scale scale
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if some parameter is invalid
+         */
+        GammaDistributionParams(double shape, double scale, double min, double max) {
+            super(min, max);
+            this.shape = checkPositive(shape, "shape");
+            this.scale = checkPositive(scale, "scale");
+
+            this.d = ((shape < 1) ? shape + 1 : shape) - 1.0 / 3;
+            this.c = 1 / Math.sqrt(9 * d);
+
+            this.logGammaOfShape = logGamma(shape);
+            this.standardMin = Math.max(0, min) / scale;
+            this.standardMax = max / scale;
+            if ( !(standardMin < standardMax) ) {
+                throw new IllegalArgumentException(
+                        "No value of gamma distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+
+            this.isUpperTail = isTruncated() && lowerRegularizedGamma(standardMin) > 0.5;
+            if ( isUpperTail ) {
+                this.lowerCdfValue = upperRegularizedGamma(standardMax);
+                this.upperCdfValue = upperRegularizedGamma(standardMin);
+            } else {
+                this.lowerCdfValue = lowerRegularizedGamma(standardMin);
+                this.upperCdfValue = lowerRegularizedGamma(standardMax);
+            }
+            if ( isTruncated() && !(upperCdfValue > lowerCdfValue) ) {
+                throw new IllegalArgumentException(
+                        "Bounds of gamma distribution cut off all the probability: [" + min + ", " + max + "]"
+                );
+            }
+        }
+
+        /**
+         * @return the shape
+         */
+        double getShape() {
+            return shape;
+        }
+
+        /**
+         * @return the scale
+         */
+        double getScale() {
+            return scale;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Gamma;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            if ( !isTruncated() ) {
+                return sampleStandard(randomizer) * scale;
+            }
+
+            if ( upperCdfValue - lowerCdfValue >= MIN_REJECTION_KEPT_PROBABILITY ) {
+                while ( true ) {
+                    double value = sampleStandard(randomizer);
+                    if ( value >= standardMin && value <= standardMax ) {
+                        return value * scale;
+                    }
+                }
+            }
+
+            return invertCdf(randomizer.nextDouble()) * scale;
+        }
+
+        @Override
+        public double quantile(double probability) {
+            return invertCdf(probability) * scale;
+        }
+
+        // draws value of gamma distribution with scale 1 by the Marsaglia-Tsang method
+        private double sampleStandard(Random randomizer) {
+            double value;
+            while ( true ) {
+                double x = randomizer.nextGaussian();
+                double v = 1 + c * x;
+                if ( v <= 0 ) {
+                    continue;
+                }
+                v = v * v * v;
+
+                // squeeze test accepts most of the values without logarithms
+                double u = randomizer.nextDouble();
+                double x2 = x * x;
+                if ( u < 1 - 0.0331 * x2 * x2 || Math.log(u) < 0.5 * x2 + d * (1 - v + Math.log(v)) ) {
+                    value = d * v;
+                    break;
+                }
+            }
+
+            if ( shape < 1 ) {
+                value *= Math.pow(randomizer.nextDouble(), 1 / shape);
+            }
+            return value;
+        }
+
+        // returns value with scale 1 within the bounds, whose probability of lower values within the bounds is specified
+        private double invertCdf(double probability) {
+            // the upper incomplete gamma function decreases
+            double cdfValue = isUpperTail
+                    ? upperCdfValue - probability * (upperCdfValue - lowerCdfValue)
+                    : lowerCdfValue + probability * (upperCdfValue - lowerCdfValue);
+            double lowerBound = standardMin;
+            double upperBound = standardMax;
+            double value = initialInverseValue(probability, cdfValue);
+
+            // Halley's method safeguarded by bisection
+            for ( int iteration = 0; iteration < MAX_ITERATIONS_NUM; iteration++ ) {
+                double difference = cdfDifference(value, cdfValue);
+                if ( difference < 0 ) {
+                    lowerBound = value;
+                } else {
+                    upperBound = value;
+                }
+
+                double newtonStep = difference / density(value);
+                double nextValue = value - newtonStep / (1 - newtonStep * ((shape - 1) / value - 1) / 2);
+                if ( !(nextValue > lowerBound && nextValue < upperBound) ) {
+                    nextValue = (upperBound == Double.POSITIVE_INFINITY) ? 2 * value : (lowerBound + upperBound) / 2;
+                }
+                if ( Math.abs(nextValue - value) <= INVERSION_PRECISION * value
+                        || upperBound - lowerBound <= INVERSION_PRECISION * lowerBound ) {
+                    return nextValue;
+                }
+                value = nextValue;
+            }
+            return value;
+        }
+
+        /*
+         * Returns initial estimate of the inverted value - the density is
+         * approximated by the power function near 0 and by the exponential one
+         * beyond its mode, which makes Halley's method converge in a few
+         * iterations even far in the tails. The Wilson-Hilferty approximation
+         * is used for intervals containing the bulk of the distribution.
+         */
+        private double initialInverseValue(double probability, double cdfValue) {
+            double value;
+            double decayRate = 1 - (shape - 1) / standardMin;
+            if ( standardMin > 0 && decayRate > 0 ) {
+                value = standardMin - Math.log1p(-probability * -Math.expm1(-decayRate * (standardMax - standardMin))) / decayRate;
+            } else if ( standardMax < Double.POSITIVE_INFINITY ) {
+                double lowerPower = Math.pow(standardMin, shape);
+                value = Math.pow(lowerPower + probability * (Math.pow(standardMax, shape) - lowerPower), 1 / shape);
+            } else {
+                double cubeRoot = 1 - 1 / (9 * shape) + StandardNormal.quantile(cdfValue) / (3 * Math.sqrt(shape));
+                value = shape * cubeRoot * cubeRoot * cubeRoot;
+            }
+            return (value > standardMin && value < standardMax) ? value : standardMin + Math.min(1, (standardMax - standardMin) / 2);
+        }
+
+        // returns increasing difference of the inverted distribution function at specified value from the target one
+        private double cdfDifference(double value, double cdfValue) {
+            return isUpperTail
+                    ? cdfValue - upperRegularizedGamma(value)
+                    : lowerRegularizedGamma(value) - cdfValue;
+        }
+
+        // density of the distribution with scale 1
+        private double density(double value) {
+            return Math.exp((shape - 1) * Math.log(value) - value - logGammaOfShape);
+        }
+
+        // regularized lower incomplete gamma function P(shape, value)
+        private double lowerRegularizedGamma(double value) {
+            if ( value <= 0 ) {
+                return 0;
+            }
+            if ( value == Double.POSITIVE_INFINITY ) {
+                return 1;
+            }
+            if ( value < shape + 1 ) {
+                return gammaSeries(value);
+            }
+            return 1 - gammaContinuedFraction(value);
+        }
+
+        // regularized upper incomplete gamma function Q(shape, value)
+        private double upperRegularizedGamma(double value) {
+            if ( value <= 0 ) {
+                return 1;
+            }
+            if ( value == Double.POSITIVE_INFINITY ) {
+                return 0;
+            }
+            if ( value < shape + 1 ) {
+                return 1 - gammaSeries(value);
+            }
+            return gammaContinuedFraction(value);
+        }
+
+        // series of P(shape, value), converges quickly for values below shape + 1
+        private double gammaSeries(double value) {
+            double term = 1 / shape;
+            double sum = term;
+            for ( int n = 1; n < MAX_ITERATIONS_NUM && Math.abs(term) > Math.abs(sum) * PRECISION; n++ ) {
+                term *= value / (shape + n);
+                sum += term;
+            }
+            return sum * Math.exp(shape * Math.log(value) - value - logGammaOfShape);
+        }
+
+        // continued fraction of Q(shape, value) by the Lentz's method, converges quickly for values above shape + 1
+        private double gammaContinuedFraction(double value) {
+            double tiny = Double.MIN_NORMAL;
+            double b = value + 1 - shape;
+            double cTerm = 1 / tiny;
+            double dTerm = 1 / b;
+            double fraction = dTerm;
+            for ( int n = 1; n < MAX_ITERATIONS_NUM; n++ ) {
+                double a = -n * (n - shape);
+                b += 2;
+                dTerm = a * dTerm + b;
+                if ( Math.abs(dTerm) < tiny ) {
+                    dTerm = tiny;
+                }
+                cTerm = b + a / cTerm;
+                if ( Math.abs(cTerm) < tiny ) {
+                    cTerm = tiny;
+                }
+                dTerm = 1 / dTerm;
+                double delta = dTerm * cTerm;
+                fraction *= delta;
+                if ( Math.abs(delta - 1) <= PRECISION ) {
+                    break;
+                }
+            }
+            return fraction * Math.exp(shape * Math.log(value) - value - logGammaOfShape);
+        }
+
+        // logarithm of the gamma function of a positive argument by the Lanczos approximation
+        private static double logGamma(double x) {
+            if ( x < 0.5 ) {
+                return Math.log(Math.PI / Math.sin(Math.PI * x)) - logGamma(1 - x);
+            }
+            x -= 1;
+            double sum = LANCZOS_COEFFICIENTS[0];
+            for ( int i = 1; i < LANCZOS_COEFFICIENTS.length; i++ ) {
+                sum += LANCZOS_COEFFICIENTS[i] / (x + i);
+            }
+            double t = x + LANCZOS_COEFFICIENTS.length - 1.5;
+            return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+        }
+
+    }
+
+    /**
+     * Parameters of Zipf distribution of integers 1 to the number of
+     * elements.
+     *
+     * Values are drawn by the rejection-inversion method of Hormann and
+     * Derflinger in constant expected time regardless of the number of
+     * elements and without any table. Quantiles of the first elements are
+     * found in a table of their cumulative probabilities, quantiles of
+     * the elements beyond it by the inversion of the integral of the hat
+     * function, so the memory does not grow with the number of elements.
      */
-    static final class UniformDistributionParams {
+    static final class ZipfDistributionParams extends AbstractDistributionSampler {
+        // maximal number of the first elements, whose cumulative probabilities are held in the table
+        private static final int MAX_TABLE_SIZE = 4096;
 
-        private final int lowerBound;
-        private final int upperBound;
+        private final int elementsNum;
+        private final double exponent;
+
+        // range of drawn elements narrowed by the truncation
+        private final int minElement;
+        private final int maxElement;
+
+        // constants of the rejection-inversion method
+        private final double hIntegralMinElement;
+        private final double hIntegralMaxElement;
+        private final double s;
+
+        // cumulative probabilities of the first elements within the bounds
+        private final double[] cumulativeProbabilities;
+
+        // sum of weights of all the elements within the bounds
+        private final double weightsSum;
 
         /**
-         * Creates new instance of uniform distribution parameters.
+         * Creates new instance of Zipf distribution parameters.
          *
-         * @param lowerBound lower bound
-         * @param upperBound upper bound
+         * @param elementsNum number of elements
+         * @param exponent exponent
+         * @throws IllegalArgumentException if some parameter is not positive
          */
-        UniformDistributionParams(int lowerBound, int upperBound) {
-            this.lowerBound = lowerBound;
-            this.upperBound = upperBound;
+        ZipfDistributionParams(int elementsNum, double exponent) {
+            this(elementsNum, exponent, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
         }
 
         /**
-         * @return the lower bound
+         * Creates new instance of Zipf distribution parameters truncated to
+         * specified interval. Rejection-inversion is applied directly to
+         * the elements within the interval.
+         *
+         * @param elementsNum number of elements
+         * @param exponent exponent
+         * @param min the lowest value
+         * @param max the highest value
+         * @throws IllegalArgumentException if some parameter is invalid
+         */
+        ZipfDistributionParams(int elementsNum, double exponent, double min, double max) {
+            super(min, max);
+            if ( elementsNum <= 0 ) {
+                throw new IllegalArgumentException("Invalid value of elements number - must be positive number. Got: " + elementsNum);
+            }
+            this.elementsNum = elementsNum;
+            this.exponent = checkPositive(exponent, "exponent");
+
+            this.minElement = (int) Math.max(1, Math.ceil(min));
+            this.maxElement = (int) Math.min(elementsNum, Math.floor(max));
+            if ( minElement > maxElement ) {
+                throw new IllegalArgumentException(
+                        "No value of Zipf distribution lies within bounds: [" + min + ", " + max + "]"
+                );
+            }
+
+            this.hIntegralMinElement = hIntegral(minElement + 0.5) - h(minElement);
+            this.hIntegralMaxElement = hIntegral(maxElement + 0.5);
+            this.s = minElement + 1 - hIntegralInverse(hIntegral(minElement + 1.5) - h(minElement + 1));
+
+            int tableSize = (int) Math.min(MAX_TABLE_SIZE, (long) maxElement - minElement + 1);
+            this.cumulativeProbabilities = new double[tableSize];
+            double weightsSum = 0;
+            for ( int elementId = 0; elementId < tableSize; elementId++ ) {
+                weightsSum += h(minElement + elementId);
+                cumulativeProbabilities[elementId] = weightsSum;
+            }
+            int lastTableElement = minElement + tableSize - 1;
+            if ( lastTableElement < maxElement ) {
+                weightsSum += hIntegralMaxElement - hIntegral(lastTableElement + 0.5);
+            }
+            for ( int elementId = 0; elementId < tableSize; elementId++ ) {
+                cumulativeProbabilities[elementId] /= weightsSum;
+            }
+            this.weightsSum = weightsSum;
+        }
+
+        /**
+         * @return the number of elements
          */
-        int getLowerBound() {
-            return lowerBound;
+        int getElementsNum() {
+            return elementsNum;
         }
 
         /**
-         * @return the upper bound
+         * @return the exponent
          */
-        int getUpperBound() {
-            return upperBound;
+        double getExponent() {
+            return exponent;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Zipf;
+        }
+
+        @Override
+        public double sample(Random randomizer) {
+            while ( true ) {
+                double u = hIntegralMaxElement + randomizer.nextDouble() * (hIntegralMinElement - hIntegralMaxElement);
+                double x = hIntegralInverse(u);
+
+                int k = (int) (x + 0.5);
+                k = Math.max(minElement, Math.min(maxElement, k));
+
+                if ( k - x <= s || u >= hIntegral(k + 0.5) - h(k) ) {
+                    return k;
+                }
+            }
+        }
+
+        @Override
+        public double quantile(double probability) {
+            int elementId = Arrays.binarySearch(cumulativeProbabilities, probability);
+            if ( elementId < 0 ) {
+                elementId = -elementId - 1;
+            }
+            if ( elementId < cumulativeProbabilities.length ) {
+                return minElement + elementId;
+            }
+
+            int lastTableElement = minElement + cumulativeProbabilities.length - 1;
+            if ( lastTableElement == maxElement ) {
+                return maxElement;
+            }
+
+            /*
+             * Beyond the table, the sum of weights of the elements is taken as
+             * the integral of the hat function between their midpoints, which
+             * differs from the sum by far less than one weight for such large
+             * elements. The element is then given by the inverse of the integral.
+             */
+            double lastTableProbability = cumulativeProbabilities[cumulativeProbabilities.length - 1];
+            double tailWeight = (probability - lastTableProbability) * weightsSum;
+            double x = hIntegralInverse(hIntegral(lastTableElement + 0.5) + tailWeight);
+            double element = Math.ceil(x - 0.5);
+            return Math.max(lastTableElement + 1, Math.min(maxElement, element));
+        }
+
+        // integral of the hat function
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - exponent) * logX) * logX;
+        }
+
+        // the hat function
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        // inverse of the integral of the hat function
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log(1 + x) / x computed accurately also near 0
+        private static double helper1(double x) {
+            if ( Math.abs(x) > 1e-8 ) {
+                return Math.log1p(x) / x;
+            }
+            return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        // (exp(x) - 1) / x computed accurately also near 0
+        private static double helper2(double x) {
+            if ( Math.abs(x) > 1e-8 ) {
+                return Math.expm1(x) / x;
+            }
+            return 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
         }
 
     }
 
+    // checks, that specified distribution parameter is a positive number
+    private static double checkPositive(double value, String name) {
+        if ( value > 0 && Double.isFinite(value) ) {
+            return value;
+        }
+        throw new IllegalArgumentException("Invalid value of " + name + " - must be positive number. Got: " + value);
+    }
+
     /**
-     * Parameters of normal distribution.
+     * Parameters of Poisson arrival process with piecewise-constant rate.
+     *
+     * The rate changes at the start times of the segments. If the period is
+     * specified, the profile repeats with the period, e.g. daily, otherwise
+     * the rate of the last segment holds forever.
      */
-    static final class NormalDistributionParams {
+    static final class PiecewiseConstantRateParams {
+        // start times of segments [in minutes], ascending from 0
+        private final double[] startTimes;
 
-        private final double mean;
-        private final double sd;
+        // arrival rates of segments [jobs per minute]
+        private final double[] rates;
+
+        // period of the profile [in minutes], 0 for non-periodic profile
+        private final double period;
+
+        // expected number of arrivals during one period
+        private final double periodIntegral;
 
         /**
-         * Creates new instance of normal distribution parameters.
+         * Creates new instance of piecewise-constant rate parameters.
          *
-         * @param mean mean
-         * @param sd standard deviation
+         * @param startTimes start times of segments [in minutes], the first
+         * must be 0, the others ascending
+         * @param rates non-negative arrival rates of segments [jobs per minute]
+         * @param period period of the profile [in minutes], greater than
+         * the last start time, or 0 for non-periodic profile
+         * @throws IllegalArgumentException if the parameters are invalid
+         */
+        PiecewiseConstantRateParams(double[] startTimes, double[] rates, double period) {
+            if (startTimes.length == 0 || startTimes.length != rates.length || startTimes[0] != 0) {
+                throw new IllegalArgumentException("Invalid segments of rate profile - the first must start at 0.");
+            }
+            for (int segmentId = 0; segmentId < rates.length; segmentId++) {
+                if (!(rates[segmentId] >= 0) || Double.isInfinite(rates[segmentId])) {
+                    throw new IllegalArgumentException("Invalid value of arrival rate. Got: " + rates[segmentId]);
+                }
+                if (segmentId > 0 && !(startTimes[segmentId] > startTimes[segmentId - 1])) {
+                    throw new IllegalArgumentException("Start times of rate segments must be ascending.");
+                }
+            }
+            if (period != 0 && !(period > startTimes[startTimes.length - 1])) {
+                throw new IllegalArgumentException("Invalid value of rate profile period. Got: " + period);
+            }
+
+            this.startTimes = startTimes.clone();
+            this.rates = rates.clone();
+            this.period = period;
+
+            double integral = 0;
+            for (int segmentId = 0; segmentId < rates.length; segmentId++) {
+                integral += rates[segmentId] * (getSegmentEnd(segmentId) - startTimes[segmentId]);
+            }
+            this.periodIntegral = integral;
+
+            boolean hasArrivals = (period == 0) ? (rates[rates.length - 1] > 0) : (integral > 0);
+            if (!hasArrivals) {
+                throw new IllegalArgumentException("Rate profile must generate infinitely many arrivals.");
+            }
+        }
+
+        /**
+         * @return the number of segments
          */
-        NormalDistributionParams(double mean, double sd) {
-            this.mean = mean;
-            this.sd = sd;
+        int getSegmentsNum() {
+            return rates.length;
         }
 
         /**
-         * @return the mean
+         * @param segmentId segment index
+         * @return the start time of the segment within the period [in minutes]
          */
-        double getMean() {
-            return mean;
+        double getSegmentStart(int segmentId) {
+            return startTimes[segmentId];
         }
 
         /**
-         * @return the standard deviation
+         * @param segmentId segment index
+         * @return the end time of the segment within the period [in minutes],
+         * infinity for the last segment of non-periodic profile
          */
-        double getSd() {
-            return sd;
+        double getSegmentEnd(int segmentId) {
+            if (segmentId < rates.length - 1) {
+                return startTimes[segmentId + 1];
+            }
+            return (period == 0) ? Double.POSITIVE_INFINITY : period;
+        }
+
+        /**
+         * @param segmentId segment index
+         * @return the arrival rate of the segment [jobs per minute]
+         */
+        double getRate(int segmentId) {
+            return rates[segmentId];
+        }
+
+        /**
+         * Returns index of the segment containing specified time within
+         * the period.
+         *
+         * @param time time within the period [in minutes]
+         * @return the segment index
+         */
+        int getSegmentId(double time) {
+            int index = Arrays.binarySearch(startTimes, time);
+            return (index >= 0) ? index : -index - 2;
+        }
+
+        /**
+         * @return the period [in minutes], 0 for non-periodic profile
+         */
+        double getPeriod() {
+            return period;
         }
 
+        /**
+         * @return the expected number of arrivals during one period
+         */
+        double getPeriodIntegral() {
+            return periodIntegral;
+        }
     }
 
     /**
-     * Parameters of Poisson distribution.
+     * Parameters of Poisson arrival process with sinusoidal rate.
+     *
+     * rate(t) = baseRate * (1 + amplitude * sin(2 * PI * (t - phase) / period))
      */
-    static final class PoissonDistributionParams {
-        // lambda parameter
-        private final int lambda;
+    static final class PeriodicRateParams {
+        private final double baseRate;
+        private final double amplitude;
+        private final double period;
+        private final double phase;
 
         /**
-         * Creates new instance of Poisson distribution parameters. Lambda
-         * parameter means number of arrival jobs per 1 munute.
+         * Creates new instance of periodic rate parameters.
          *
-         * @param lambda lambda
+         * @param baseRate mean arrival rate [jobs per minute]
+         * @param amplitude relative amplitude of the rate, in [0, 1]
+         * @param period period [in minutes]
+         * @param phase time of the rising mean rate [in minutes]
+         * @throws IllegalArgumentException if the parameters are invalid
+         */
+        PeriodicRateParams(double baseRate, double amplitude, double period, double phase) {
+            if (!(baseRate > 0) || Double.isInfinite(baseRate)) {
+                throw new IllegalArgumentException("Invalid value of base arrival rate. Got: " + baseRate);
+            }
+            if (!(amplitude >= 0 && amplitude <= 1)) {
+                throw new IllegalArgumentException("Invalid value of rate amplitude - must be in [0, 1]. Got: " + amplitude);
+            }
+            if (!(period > 0)) {
+                throw new IllegalArgumentException("Invalid value of rate period. Got: " + period);
+            }
+            this.baseRate = baseRate;
+            this.amplitude = amplitude;
+            this.period = period;
+            this.phase = phase;
+        }
+
+        /**
+         * @return the mean arrival rate [jobs per minute]
          */
-        PoissonDistributionParams(int lambda) {
+        double getBaseRate() {
+            return baseRate;
+        }
+
+        /**
+         * @return the relative amplitude of the rate
+         */
+        double getAmplitude() {
+            return amplitude;
+        }
+
+        /**
+         * @return the period [in minutes]
+         */
+        double getPeriod() {
+            return period;
+        }
+
+        /**
+         * @return the phase [in minutes]
+         */
+        double getPhase() {
+            return phase;
+        }
+
+        /**
+         * @param time time [in minutes]
+         * @return the arrival rate at the time [jobs per minute]
+         */
+        double getRate(double time) {
+            return baseRate * (1 + amplitude * Math.sin(2 * Math.PI * (time - phase) / period));
+        }
+
+        /**
+         * @return the maximal arrival rate [jobs per minute]
+         */
+        double getMaxRate() {
+            return baseRate * (1 + amplitude);
+        }
+    }
+
+    /**
+     * Parameters of compound Poisson arrival process.
+     *
+     * Bursts of jobs arrive as Poisson process, all jobs of a burst arrive
+     * at the same time. Sizes of bursts are geometrically distributed.
+     */
+    static final class CompoundPoissonParams {
+        // arrival rate of bursts [bursts per minute]
+        private final double lambda;
+
+        // mean number of jobs in a burst
+        private final double meanBurstSize;
+
+        /**
+         * Creates new instance of compound Poisson parameters.
+         *
+         * @param lambda arrival rate of bursts [bursts per minute]
+         * @param meanBurstSize mean number of jobs in a burst, at least 1
+         * @throws IllegalArgumentException if the parameters are invalid
+         */
+        CompoundPoissonParams(double lambda, double meanBurstSize) {
+            if (!(lambda > 0) || Double.isInfinite(lambda)) {
+                throw new IllegalArgumentException("Invalid value of burst arrival rate. Got: " + lambda);
+            }
+            if (!(meanBurstSize >= 1) || Double.isInfinite(meanBurstSize)) {
+                throw new IllegalArgumentException("Invalid value of mean burst size - must be at least 1. Got: " + meanBurstSize);
+            }
             this.lambda = lambda;
+            this.meanBurstSize = meanBurstSize;
         }
 
         /**
-         * @return the lambda
+         * @return the arrival rate of bursts [bursts per minute]
          */
-        int getLambda() {
+        double getLambda() {
             return lambda;
         }
 
+        /**
+         * @return the mean number of jobs in a burst
+         */
+        double getMeanBurstSize() {
+            return meanBurstSize;
+        }
     }
 
     /**
@@ -125,21 +1416,10 @@ final class ConfigSettings {
             Fixed, Random
         };
 
-        /**
-         * Probability distribution type of priority.
-         *
-         * Makes sense only if the priority type equals to "Random".
-         */
-        static enum DistributionType {
-            Uniform, Normal
-        };
-
         private final Type type;
-        private final DistributionType distributionType;
 
-        // parameters of respective distibutions - if deadline type is Type.Random
-        private final UniformDistributionParams uniformDistributionParams;
-        private final NormalDistributionParams normalDistributionParams;
+        // distribution of random values - if the type is Type.Random
+        private final DistributionSampler sampler;
 
         // interval - for Fixed type
         private final int priority;
@@ -155,39 +1435,20 @@ final class ConfigSettings {
          */
         PriorityConfigSettings(int priority) {
             this.type = Type.Fixed;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.priority = checkPriority(priority);
         }
 
         /**
          * Creates new instance of priority settings with Type.Random type and
-         * uniform distribution type with specified parameters. Value of
-         * priority will be set to 0 - it should never be used.
-         *
-         * @param uniformDistrParams parameters of uniform distribution
-         */
-        PriorityConfigSettings(UniformDistributionParams uniformDistrParams) {
-            this.type = Type.Random;
-            this.distributionType = DistributionType.Uniform;
-            this.uniformDistributionParams = uniformDistrParams;
-            this.normalDistributionParams = null;
-            this.priority = 0;
-        }
-
-        /**
-         * Creates new instance of priority settings with Type.Random type and
-         * normal distribution type with specified parameters. Value of priority
-         * will be set to 0 - it should never be used.
+         * specified distribution of priority. Value of priority will be set to
+         * 0 - it should never be used.
          *
-         * @param normalDistrParams parameters of normal distribution
+         * @param sampler sampler of the distribution
          */
-        PriorityConfigSettings(NormalDistributionParams normalDistrParams) {
+        PriorityConfigSettings(DistributionSampler sampler) {
             this.type = Type.Random;
-            this.distributionType = DistributionType.Normal;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = normalDistrParams;
+            this.sampler = sampler;
             this.priority = 0;
         }
 
@@ -207,10 +1468,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the type of probability distribution function
+         * @return the type of probability distribution function,
+         * <code>null</code> if the type is not Type.Random
          */
-        DistributionType getDistributionType() {
-            return distributionType;
+        DistributionSampler.Type getDistributionType() {
+            return (sampler == null) ? null : sampler.getType();
         }
 
         /**
@@ -221,17 +1483,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the parameters of uniform distribution
-         */
-        UniformDistributionParams getUniformDistributionParams() {
-            return uniformDistributionParams;
-        }
-
-        /**
-         * @return the parameters of normal distribution
+         * @return the sampler of the distribution, <code>null</code> if
+         * the type is not Type.Random
          */
-        NormalDistributionParams getNormalDistributionParams() {
-            return normalDistributionParams;
+        DistributionSampler getSampler() {
+            return sampler;
         }
 
     }
@@ -252,21 +1508,10 @@ final class ConfigSettings {
             NotDefined, Fixed, Random
         };
 
-        /**
-         * Probability distribution type of deadline.
-         *
-         * Makes sense only of the deadline type equals to "Random".
-         */
-        static enum DistributionType {
-            Uniform, Normal
-        };
-
         private final DeadlineConfigSettings.Type type;
-        private final DeadlineConfigSettings.DistributionType distributionType;
 
-        // parameters of respective distibutions - if deadline type is Type.Random
-        private final UniformDistributionParams uniformDistributionParams;
-        private final NormalDistributionParams normalDistributionParams;
+        // distribution of random values - if the type is Type.Random
+        private final DistributionSampler sampler;
 
         private final int deadline;
 
@@ -278,9 +1523,7 @@ final class ConfigSettings {
          */
         DeadlineConfigSettings() {
             this.type = DeadlineConfigSettings.Type.NotDefined;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.deadline = 0;
         }
 
@@ -295,39 +1538,20 @@ final class ConfigSettings {
          */
         DeadlineConfigSettings(int deadline) {
             this.type = DeadlineConfigSettings.Type.Fixed;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.deadline = checkDeadline(deadline);
         }
 
         /**
          * Creates new instance of deadline settings with DeadlineType.Random
-         * type and uniform distribution type with specified parameters. Value
-         * of deadline will be set to 0 - it should never be used.
-         *
-         * @param uniformDistrParams parameters of uniform distribution
-         */
-        DeadlineConfigSettings(UniformDistributionParams uniformDistrParams) {
-            this.type = DeadlineConfigSettings.Type.Random;
-            this.distributionType = DeadlineConfigSettings.DistributionType.Uniform;
-            this.uniformDistributionParams = uniformDistrParams;
-            this.normalDistributionParams = null;
-            this.deadline = 0;
-        }
-
-        /**
-         * Creates new instance of deadline settings with DeadlineType.Random
-         * type and normal distribution type with specified parameters. Value of
-         * deadline will be set to 0 - it should never be used.
+         * type and specified distribution of deadline. Value of deadline will
+         * be set to 0 - it should never be used.
          *
-         * @param normalDistrParams parameters of normal distribution
+         * @param sampler sampler of the distribution
          */
-        DeadlineConfigSettings(NormalDistributionParams normalDistrParams) {
+        DeadlineConfigSettings(DistributionSampler sampler) {
             this.type = DeadlineConfigSettings.Type.Random;
-            this.distributionType = DeadlineConfigSettings.DistributionType.Normal;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = normalDistrParams;
+            this.sampler = sampler;
             this.deadline = 0;
         }
 
@@ -347,10 +1571,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the type of probability distribution function
+         * @return the type of probability distribution function,
+         * <code>null</code> if the type is not Type.Random
          */
-        DeadlineConfigSettings.DistributionType getDistributionType() {
-            return distributionType;
+        DistributionSampler.Type getDistributionType() {
+            return (sampler == null) ? null : sampler.getType();
         }
 
         /**
@@ -361,17 +1586,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the parameters of uniform distribution
-         */
-        UniformDistributionParams getUniformDistributionParams() {
-            return uniformDistributionParams;
-        }
-
-        /**
-         * @return the parameters of normal distribution
+         * @return the sampler of the distribution, <code>null</code> if
+         * the type is not Type.Random
          */
-        NormalDistributionParams getNormalDistributionParams() {
-            return normalDistributionParams;
+        DistributionSampler getSampler() {
+            return sampler;
         }
 
     }
@@ -393,23 +1612,11 @@ final class ConfigSettings {
             Fixed, Random_Independent, Random_DependentOnPrevious
         };
 
-        /**
-         * Probability distribution type of maximal usage of the RAM. Makes only
-         * sense for types other then Type.Fixed.
-         */
-        static enum DistributionType {
-            Uniform, Normal
-        };
-
         // type of RAM usage in each job's timeslot 
         private final Type type;
 
-        // probability distibution type for maximal RAM usage in each timeslot
-        private final DistributionType distributionType;
-
-        // parameters of respective distibutions - if deadline type is Type.Random
-        private final UniformDistributionParams uniformDistributionParams;
-        private final NormalDistributionParams normalDistributionParams;
+        // distribution of random values - if the type is other than Type.Fixed
+        private final DistributionSampler sampler;
 
         // maximal RAM usage
         private final int maxRamUsage;
@@ -422,61 +1629,28 @@ final class ConfigSettings {
          */
         MaxRamUsageConfigSettings(int maxRamUsage) {
             this.type = Type.Fixed;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.maxRamUsage = checkMaxRamValue(maxRamUsage);
         }
 
         /**
          * Creates new instance of maximal RAM usage config settings with
-         * specified MaxRamUsageConfigSettings.Random type and and uniform
-         * distribution type with specified parameters.
-         *
-         * Type type must NOT be Type.Fixed else an exception is thrown. Value
-         * of maxRamUsage will be set to 0 - it should never be used.
-         *
-         * @param uniformDistrParams parameters of uniform distribution
-         * @throws IllegalArgumentException if type equals to Type.Fixed
-         */
-        MaxRamUsageConfigSettings(
-                Type type,
-                UniformDistributionParams uniformDistrParams
-        ) {
-            if (type == Type.Fixed) {
-                throw new IllegalArgumentException("Invalid type of maximal RAM usage: " + type);
-            }
-
-            this.type = type;
-            this.distributionType = MaxRamUsageConfigSettings.DistributionType.Uniform;
-            this.uniformDistributionParams = uniformDistrParams;
-            this.normalDistributionParams = null;
-            this.maxRamUsage = 0;
-        }
-
-        /**
-         * Creates new instance of maximal RAM usage config settings with
-         * specified MaxRamUsageConfigSettings.Random type and and normal
-         * distribution type with specified parameters.
+         * specified MaxRamUsageConfigSettings.Random type and specified
+         * distribution of maximal RAM usage.
          *
          * Type type must NOT be Type.Fixed else an exception is thrown. Value
          * of maxRamUsage will be set to 0 - it should never be used.
          *
-         * @param normalDistributionParams parameters of normal distribution
+         * @param sampler sampler of the distribution
          * @throws IllegalArgumentException if type equals to Type.Fixed
          */
-        MaxRamUsageConfigSettings(
-                Type type,
-                NormalDistributionParams normalDistributionParams
-        ) {
+        MaxRamUsageConfigSettings(Type type, DistributionSampler sampler) {
             if (type == Type.Fixed) {
                 throw new IllegalArgumentException("Invalid type of maximal RAM usage: " + type);
             }
 
             this.type = type;
-            this.distributionType = MaxRamUsageConfigSettings.DistributionType.Normal;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = normalDistributionParams;
+            this.sampler = sampler;
             this.maxRamUsage = 0;
         }
 
@@ -496,10 +1670,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the type of probability distribution function
+         * @return the type of probability distribution function,
+         * <code>null</code> if the type is Type.Fixed
          */
-        MaxRamUsageConfigSettings.DistributionType getDistributionType() {
-            return distributionType;
+        DistributionSampler.Type getDistributionType() {
+            return (sampler == null) ? null : sampler.getType();
         }
 
         /**
@@ -510,17 +1685,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the parameters of uniform distribution
-         */
-        UniformDistributionParams getUniformDistributionParams() {
-            return uniformDistributionParams;
-        }
-
-        /**
-         * @return the parameters of normal distribution
+         * @return the sampler of the distribution, <code>null</code> if
+         * the type is Type.Fixed
          */
-        NormalDistributionParams getNormalDistributionParams() {
-            return normalDistributionParams;
+        DistributionSampler getSampler() {
+            return sampler;
         }
 
     }
@@ -539,23 +1708,11 @@ final class ConfigSettings {
             Fixed, Random
         };
 
-        /**
-         * Probability distribution type of maximal usage of the RAM. Makes only
-         * sense for types other than Type.Fixed.
-         */
-        static enum DistributionType {
-            Uniform, Normal
-        };
-
         // type of RAM usage in each job's timeslot 
         private final Type type;
 
-        // probability distibution type for maximal RAM usage in each timeslot
-        private final DistributionType distributionType;
-
-        // parameters of respective distibutions - if deadline type is Type.Random
-        private final UniformDistributionParams uniformDistributionParams;
-        private final NormalDistributionParams normalDistributionParams;
+        // distribution of random values - if the type is Type.Random
+        private final DistributionSampler sampler;
 
         // maximal timeslices number
         private final int maxTimeslicesNum;
@@ -570,43 +1727,22 @@ final class ConfigSettings {
          */
         MaxTimeslicesNumberConfigSettings(int maxTimeslicesNum) {
             this.type = Type.Fixed;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.maxTimeslicesNum = checkMaxTimeslicesNum(maxTimeslicesNum);
         }
 
         /**
          * Creates new instance of maximal timeslices number config settings
-         * with Random config type and and uniform distribution type with
-         * specified parameters.
+         * with Random config type and specified distribution of the number of
+         * timeslices.
          *
          * Value of maxTimeslicesNum will be set to 0 - it should never be used.
          *
-         * @param uniformDistrParams parameters of uniform distribution
-         */
-        MaxTimeslicesNumberConfigSettings(UniformDistributionParams uniformDistrParams) {
-            this.type = Type.Random;
-            this.distributionType = MaxTimeslicesNumberConfigSettings.DistributionType.Uniform;
-            this.uniformDistributionParams = uniformDistrParams;
-            this.normalDistributionParams = null;
-            this.maxTimeslicesNum = 0;
-        }
-
-        /**
-         * Creates new instance of maximal timeslices number config settings
-         * with Random config type and normal distribution type with specified
-         * parameters.
-         *
-         * Value of maxRamUsage will be set to 0 - it should never be used.
-         *
-         * @param normalDistributionParams parameters of normal distribution
+         * @param sampler sampler of the distribution
          */
-        MaxTimeslicesNumberConfigSettings(NormalDistributionParams normalDistributionParams) {
+        MaxTimeslicesNumberConfigSettings(DistributionSampler sampler) {
             this.type = Type.Random;
-            this.distributionType = MaxTimeslicesNumberConfigSettings.DistributionType.Normal;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = normalDistributionParams;
+            this.sampler = sampler;
             this.maxTimeslicesNum = 0;
         }
 
@@ -626,10 +1762,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the type of probability distribution function
+         * @return the type of probability distribution function,
+         * <code>null</code> if the type is not Type.Random
          */
-        MaxTimeslicesNumberConfigSettings.DistributionType getDistributionType() {
-            return distributionType;
+        DistributionSampler.Type getDistributionType() {
+            return (sampler == null) ? null : sampler.getType();
         }
 
         /**
@@ -640,17 +1777,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the parameters of uniform distribution
-         */
-        UniformDistributionParams getUniformDistributionParams() {
-            return uniformDistributionParams;
-        }
-
-        /**
-         * @return the parameters of normal distribution
+         * @return the sampler of the distribution, <code>null</code> if
+         * the type is not Type.Random
          */
-        NormalDistributionParams getNormalDistributionParams() {
-            return normalDistributionParams;
+        DistributionSampler getSampler() {
+            return sampler;
         }
     }
 
@@ -823,21 +1954,10 @@ final class ConfigSettings {
             Fixed, Random
         };
 
-        /**
-         * Probability distribution type of CUDA cores number.
-         *
-         * Makes sense only if the type equals to "Random".
-         */
-        static enum DistributionType {
-            Uniform, Normal
-        };
-
         private final Type type;
-        private final DistributionType distributionType;
 
-        // parameters of respective distibutions - if deadline type is Type.Random
-        private final UniformDistributionParams uniformDistributionParams;
-        private final NormalDistributionParams normalDistributionParams;
+        // distribution of random values - if the type is Type.Random
+        private final DistributionSampler sampler;
 
         // CUDA cores number - for Fixed type
         private final int coresNumber;
@@ -853,39 +1973,20 @@ final class ConfigSettings {
          */
         CudaCoresConfigSettings(int coresNumber) {
             this.type = Type.Fixed;
-            this.distributionType = null;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = null;
+            this.sampler = null;
             this.coresNumber = checkCoresNumber(coresNumber);
         }
 
         /**
          * Creates new instance of CUDA cores settings with Type.Random type and
-         * uniform distribution type with specified parameters. Value of
-         * coresNumber will be set to 0 - it should never be used.
+         * specified distribution of cores number. Value of coresNumber will be
+         * set to 0 - it should never be used.
          *
-         * @param uniformDistrParams parameters of uniform distribution
-         */
-        CudaCoresConfigSettings(UniformDistributionParams uniformDistrParams) {
-            this.type = Type.Random;
-            this.distributionType = DistributionType.Uniform;
-            this.uniformDistributionParams = uniformDistrParams;
-            this.normalDistributionParams = null;
-            this.coresNumber = 0;
-        }
-
-        /**
-         * Creates new instance of CUDA cores settings with Type.Random type and
-         * normal distribution type with specified parameters. Value of
-         * coresNumber will be set to 0 - it should never be used.
-         *
-         * @param normalDistrParams parameters of normal distribution
+         * @param sampler sampler of the distribution
          */
-        CudaCoresConfigSettings(NormalDistributionParams normalDistrParams) {
+        CudaCoresConfigSettings(DistributionSampler sampler) {
             this.type = Type.Random;
-            this.distributionType = DistributionType.Normal;
-            this.uniformDistributionParams = null;
-            this.normalDistributionParams = normalDistrParams;
+            this.sampler = sampler;
             this.coresNumber = 0;
         }
 
@@ -904,10 +2005,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the type of probability distribution function
+         * @return the type of probability distribution function,
+         * <code>null</code> if the type is not Type.Random
          */
-        DistributionType getDistributionType() {
-            return distributionType;
+        DistributionSampler.Type getDistributionType() {
+            return (sampler == null) ? null : sampler.getType();
         }
 
         /**
@@ -918,17 +2020,11 @@ final class ConfigSettings {
         }
 
         /**
-         * @return the parameters of uniform distribution
-         */
-        UniformDistributionParams getUniformDistributionParams() {
-            return uniformDistributionParams;
-        }
-
-        /**
-         * @return the parameters of normal distribution
+         * @return the sampler of the distribution, <code>null</code> if
+         * the type is not Type.Random
          */
-        NormalDistributionParams getNormalDistributionParams() {
-            return normalDistributionParams;
+        DistributionSampler getSampler() {
+            return sampler;
         }
     }
 
@@ -953,7 +2049,7 @@ final class ConfigSettings {
          * Makes sense only of the deadline type equals to "Random".
          */
         static enum DistributionType {
-            Uniform, Poisson
+            Uniform, Poisson, PiecewiseConstant, Periodic, CompoundPoisson, Empirical
         };
 
         private final Type type;
@@ -962,6 +2058,10 @@ final class ConfigSettings {
         // parameters of respective distibutions - if the Type is Random
         private final UniformDistributionParams uniformDistributionParams;
         private final PoissonDistributionParams poissonDistributionParams;
+        private final PiecewiseConstantRateParams piecewiseConstantRateParams;
+        private final PeriodicRateParams periodicRateParams;
+        private final CompoundPoissonParams compoundPoissonParams;
+        private final EmpiricalDistributionParams empiricalDistributionParams;
 
         // interval [in minutes] - for Fixed type
         private final int interval;
@@ -982,6 +2082,10 @@ final class ConfigSettings {
             this.distributionType = null;
             this.uniformDistributionParams = null;
             this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = null;
             this.interval = checkInterval(interval);
         }
 
@@ -997,6 +2101,10 @@ final class ConfigSettings {
             this.distributionType = DistributionType.Uniform;
             this.uniformDistributionParams = uniformDistrParams;
             this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = null;
             this.interval = 0;
         }
 
@@ -1012,6 +2120,87 @@ final class ConfigSettings {
             this.distributionType = DistributionType.Poisson;
             this.uniformDistributionParams = null;
             this.poissonDistributionParams = poissonDistrParams;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = null;
+            this.interval = 0;
+        }
+
+        /**
+         * Creates new instance of job arrival settings with Type.Random type
+         * and Poisson process with piecewise-constant rate. Value of interval
+         * will be set to 0 - it should never be used.
+         *
+         * @param piecewiseConstantRateParams parameters of the rate profile
+         */
+        JobArrivalConfigSettings(PiecewiseConstantRateParams piecewiseConstantRateParams) {
+            this.type = Type.Random;
+            this.distributionType = DistributionType.PiecewiseConstant;
+            this.uniformDistributionParams = null;
+            this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = piecewiseConstantRateParams;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = null;
+            this.interval = 0;
+        }
+
+        /**
+         * Creates new instance of job arrival settings with Type.Random type
+         * and Poisson process with sinusoidal rate. Value of interval will be
+         * set to 0 - it should never be used.
+         *
+         * @param periodicRateParams parameters of the rate
+         */
+        JobArrivalConfigSettings(PeriodicRateParams periodicRateParams) {
+            this.type = Type.Random;
+            this.distributionType = DistributionType.Periodic;
+            this.uniformDistributionParams = null;
+            this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = periodicRateParams;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = null;
+            this.interval = 0;
+        }
+
+        /**
+         * Creates new instance of job arrival settings with Type.Random type
+         * and compound Poisson process of bursts of jobs. Value of interval
+         * will be set to 0 - it should never be used.
+         *
+         * @param compoundPoissonParams parameters of the process
+         */
+        JobArrivalConfigSettings(CompoundPoissonParams compoundPoissonParams) {
+            this.type = Type.Random;
+            this.distributionType = DistributionType.CompoundPoisson;
+            this.uniformDistributionParams = null;
+            this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = compoundPoissonParams;
+            this.empiricalDistributionParams = null;
+            this.interval = 0;
+        }
+
+        /**
+         * Creates new instance of job arrival settings with Type.Random type
+         * and empirical distribution of gaps between arrivals of consecutive
+         * jobs. Value of interval will be set to 0 - it should never be used.
+         *
+         * @param empiricalDistrParams parameters of empirical distribution
+         * of the gaps [in minutes]
+         */
+        JobArrivalConfigSettings(EmpiricalDistributionParams empiricalDistrParams) {
+            this.type = Type.Random;
+            this.distributionType = DistributionType.Empirical;
+            this.uniformDistributionParams = null;
+            this.poissonDistributionParams = null;
+            this.piecewiseConstantRateParams = null;
+            this.periodicRateParams = null;
+            this.compoundPoissonParams = null;
+            this.empiricalDistributionParams = empiricalDistrParams;
             this.interval = 0;
         }
 
@@ -1057,6 +2246,214 @@ final class ConfigSettings {
             return poissonDistributionParams;
         }
 
+        /**
+         * @return the parameters of piecewise-constant rate
+         */
+        PiecewiseConstantRateParams getPiecewiseConstantRateParams() {
+            return piecewiseConstantRateParams;
+        }
+
+        /**
+         * @return the parameters of periodic rate
+         */
+        PeriodicRateParams getPeriodicRateParams() {
+            return periodicRateParams;
+        }
+
+        /**
+         * @return the parameters of compound Poisson process
+         */
+        CompoundPoissonParams getCompoundPoissonParams() {
+            return compoundPoissonParams;
+        }
+
+        /**
+         * @return the parameters of empirical distribution
+         */
+        EmpiricalDistributionParams getEmpiricalDistributionParams() {
+            return empiricalDistributionParams;
+        }
+
+    }
+
+    /**
+     * Config settings of correlation of random job properties.
+     *
+     * Probabilities of values of the correlated properties are drawn by
+     * Gaussian copula, each value is then given by the quantile function of
+     * the distribution of its property. The distributions of the properties
+     * are kept, only the dependence between them is introduced. Properties,
+     * whose settings are not random, are not affected.
+     */
+    static final class CorrelationConfigSettings {
+
+        /**
+         * Job property, which can be correlated with the others. RAM usage
+         * is correlated in the first timeslice, the next timeslices follow
+         * the type of the RAM usage settings.
+         */
+        static enum Attribute {
+            Priority, Deadline, MaxRamUsage, MaxTimeslicesNumber, CudaCores
+        };
+
+        private final List<Attribute> attributes;
+        private final GaussianCopula copula;
+
+        /**
+         * Creates new instance of correlation config settings.
+         *
+         * @param attributes correlated properties
+         * @param correlationMatrix correlation matrix of the properties in
+         * the order of the list
+         * @throws IllegalArgumentException if the properties are not distinct
+         * or the matrix is not a valid correlation matrix of them
+         */
+        CorrelationConfigSettings(List<Attribute> attributes, double[][] correlationMatrix) {
+            if ( attributes.stream().distinct().count() != attributes.size() ) {
+                throw new IllegalArgumentException("Correlated attributes must be distinct: " + attributes);
+            }
+            if ( correlationMatrix.length != attributes.size() ) {
+                throw new IllegalArgumentException(
+                        "Size of correlation matrix differs from the number of attributes: "
+                        + correlationMatrix.length + ", " + attributes.size()
+                );
+            }
+            this.attributes = List.copyOf(attributes);
+            this.copula = new GaussianCopula(correlationMatrix);
+        }
+
+        /**
+         * @return the correlated properties
+         */
+        List<Attribute> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * @return the copula of the properties in the order of the list of
+         * the properties
+         */
+        GaussianCopula getCopula() {
+            return copula;
+        }
+
+    }
+
+    /**
+     * Config settings of one class of jobs within a mixture of classes.
+     *
+     * Each generated job belongs to a class drawn randomly according to
+     * the weights of the classes. Properties of the job are then generated
+     * according to the settings of its class.
+     */
+    static final class JobClassConfigSettings {
+
+        private final String name;
+        private final double weight;
+
+        private final PriorityConfigSettings priorityConfigSettings;
+        private final DeadlineConfigSettings deadlineConfigSettings;
+        private final MaxRamUsageConfigSettings maxRamUsageConfigSettings;
+        private final MaxTimeslicesNumberConfigSettings maxTimeslicesNumberConfigSettings;
+        private final StoppabilityConfigSettings stoppabilityConfigSettings;
+        private final CudaCoresConfigSettings cudaCoresConfigSettings;
+
+        /**
+         * Creates new instance of settings of a class of jobs.
+         *
+         * @param name name of the class
+         * @param weight weight of the class, relative to the weights of
+         * other classes
+         * @param priorityConfigSettings
+         * @param deadlineConfigSettings
+         * @param maxRamUsageConfigSettings
+         * @param maxTimeslicesNumberConfigSettings
+         * @param stoppabilityConfigSettings
+         * @param cudaCoresConfigSettings
+         * @throws IllegalArgumentException if the weight is not positive
+         */
+        JobClassConfigSettings(
+                String name,
+                double weight,
+                PriorityConfigSettings priorityConfigSettings,
+                DeadlineConfigSettings deadlineConfigSettings,
+                MaxRamUsageConfigSettings maxRamUsageConfigSettings,
+                MaxTimeslicesNumberConfigSettings maxTimeslicesNumberConfigSettings,
+                StoppabilityConfigSettings stoppabilityConfigSettings,
+                CudaCoresConfigSettings cudaCoresConfigSettings
+        ) {
+            this.name = name;
+            this.weight = checkWeight(weight);
+            this.priorityConfigSettings = priorityConfigSettings;
+            this.deadlineConfigSettings = deadlineConfigSettings;
+            this.maxRamUsageConfigSettings = maxRamUsageConfigSettings;
+            this.maxTimeslicesNumberConfigSettings = maxTimeslicesNumberConfigSettings;
+            this.stoppabilityConfigSettings = stoppabilityConfigSettings;
+            this.cudaCoresConfigSettings = cudaCoresConfigSettings;
+        }
+
+        private double checkWeight(double weight) {
+            if (weight > 0 && !Double.isInfinite(weight)) {
+                return weight;
+            }
+            throw new IllegalArgumentException("Invalid value of job class weight - must be positive number. Got: " + weight);
+        }
+
+        /**
+         * @return the name of the class
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the weight of the class
+         */
+        double getWeight() {
+            return weight;
+        }
+
+        /**
+         * @return the priority config settings
+         */
+        PriorityConfigSettings getPriorityConfigSettings() {
+            return priorityConfigSettings;
+        }
+
+        /**
+         * @return the deadline config settings
+         */
+        DeadlineConfigSettings getDeadlineConfigSettings() {
+            return deadlineConfigSettings;
+        }
+
+        /**
+         * @return the maximum RAM usage config settings
+         */
+        MaxRamUsageConfigSettings getMaxRamUsageConfigSettings() {
+            return maxRamUsageConfigSettings;
+        }
+
+        /**
+         * @return the maximum timeslices number config settings
+         */
+        MaxTimeslicesNumberConfigSettings getMaxTimeslicesNumberConfigSettings() {
+            return maxTimeslicesNumberConfigSettings;
+        }
+
+        /**
+         * @return the stoppability config settings
+         */
+        StoppabilityConfigSettings getStoppabilityConfigSettings() {
+            return stoppabilityConfigSettings;
+        }
+
+        /**
+         * @return the CUDA cores config settings
+         */
+        CudaCoresConfigSettings getCudaCoresConfigSettings() {
+            return cudaCoresConfigSettings;
+        }
     }
 
     // interval config settings
@@ -1087,6 +2484,12 @@ final class ConfigSettings {
     // seed for internal randomizer
     private final long seed;
 
+    // classes of jobs - if empty, all jobs are generated by the settings above
+    private final List<JobClassConfigSettings> jobClassesConfigSettings;
+
+    // correlation of job properties - null if they are independent
+    private final CorrelationConfigSettings correlationConfigSettings;
+
     /**
      * Creates new instance of configuration settings.
      *
@@ -1110,6 +2513,95 @@ final class ConfigSettings {
             int numberOfTasks,
             JobArrivalConfigSettings jobArrivalConfigSettings,
             long seed
+    ) {
+        this(
+                priorityConfigSettings,
+                deadlineConfigSettings,
+                maxRamUsageConfigSettings,
+                maxTimeslicesNumberConfigSettings,
+                stoppabilityConfigSettings,
+                cudaCoresConfigSettings,
+                numberOfTasks,
+                jobArrivalConfigSettings,
+                seed,
+                List.of()
+        );
+    }
+
+    /**
+     * Creates new instance of configuration settings of a mixture of classes
+     * of jobs. If the list of classes is not empty, the job settings given
+     * directly are not used for generation and may be <code>null</code>.
+     *
+     * @param priorityConfigSettings
+     * @param deadlineConfigSettings
+     * @param maxRamUsageConfigSettings
+     * @param maxTimeslicesNumberConfigSettings
+     * @param stoppabilityConfigSettings
+     * @param cudaCoresConfigSettings 
+     * @param numberOfTasks
+     * @param jobArrivalConfigSettings
+     * @param seed
+     * @param jobClassesConfigSettings settings of classes of jobs
+     */
+    ConfigSettings(
+            PriorityConfigSettings priorityConfigSettings,
+            DeadlineConfigSettings deadlineConfigSettings,
+            MaxRamUsageConfigSettings maxRamUsageConfigSettings,
+            MaxTimeslicesNumberConfigSettings maxTimeslicesNumberConfigSettings,
+            StoppabilityConfigSettings stoppabilityConfigSettings,
+            CudaCoresConfigSettings cudaCoresConfigSettings,
+            int numberOfTasks,
+            JobArrivalConfigSettings jobArrivalConfigSettings,
+            long seed,
+            List<JobClassConfigSettings> jobClassesConfigSettings
+    ) {
+        this(
+                priorityConfigSettings,
+                deadlineConfigSettings,
+                maxRamUsageConfigSettings,
+                maxTimeslicesNumberConfigSettings,
+                stoppabilityConfigSettings,
+                cudaCoresConfigSettings,
+                numberOfTasks,
+                jobArrivalConfigSettings,
+                seed,
+                jobClassesConfigSettings,
+                null
+        );
+    }
+
+    /**
+     * Creates new instance of configuration settings of a mixture of classes
+     * of jobs with correlated properties. If the list of classes is not empty,
+     * the job settings given directly are not used for generation and may be
+     * <code>null</code>.
+     *
+     * @param priorityConfigSettings
+     * @param deadlineConfigSettings
+     * @param maxRamUsageConfigSettings
+     * @param maxTimeslicesNumberConfigSettings
+     * @param stoppabilityConfigSettings
+     * @param cudaCoresConfigSettings 
+     * @param numberOfTasks
+     * @param jobArrivalConfigSettings
+     * @param seed
+     * @param jobClassesConfigSettings settings of classes of jobs
+     * @param correlationConfigSettings settings of correlation of job
+     * properties, <code>null</code> for independent properties
+     */
+    ConfigSettings(
+            PriorityConfigSettings priorityConfigSettings,
+            DeadlineConfigSettings deadlineConfigSettings,
+            MaxRamUsageConfigSettings maxRamUsageConfigSettings,
+            MaxTimeslicesNumberConfigSettings maxTimeslicesNumberConfigSettings,
+            StoppabilityConfigSettings stoppabilityConfigSettings,
+            CudaCoresConfigSettings cudaCoresConfigSettings,
+            int numberOfTasks,
+            JobArrivalConfigSettings jobArrivalConfigSettings,
+            long seed,
+            List<JobClassConfigSettings> jobClassesConfigSettings,
+            CorrelationConfigSettings correlationConfigSettings
     ) {
         this.priorityConfigSettings = priorityConfigSettings;
         this.deadlineConfigSettings = deadlineConfigSettings;
@@ -1120,6 +2612,8 @@ final class ConfigSettings {
         this.numberOfTasks = numberOfTasks;
         this.jobArrivalConfigSettings = jobArrivalConfigSettings;
         this.seed = seed;
+        this.jobClassesConfigSettings = List.copyOf(jobClassesConfigSettings);
+        this.correlationConfigSettings = correlationConfigSettings;
     }
 
     /**
@@ -1185,4 +2679,20 @@ final class ConfigSettings {
         return cudaCoresConfigSettings;
     }
 
+    /**
+     * @return the settings of classes of jobs, empty if all jobs are
+     * generated by the job settings of these settings
+     */
+    List<JobClassConfigSettings> getJobClassesConfigSettings() {
+        return jobClassesConfigSettings;
+    }
+
+    /**
+     * @return the settings of correlation of job properties,
+     * <code>null</code> if the properties are independent
+     */
+    CorrelationConfigSettings getCorrelationConfigSettings() {
+        return correlationConfigSettings;
+    }
+
 }
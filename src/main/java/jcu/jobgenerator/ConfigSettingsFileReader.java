@@ -7,6 +7,11 @@ package jcu.jobgenerator;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 /**
@@ -51,12 +56,50 @@ final class ConfigSettingsFileReader {
     private static final String JNAME_UNIFORM_DISTR = "uniform";
     private static final String JNAME_NORMAL_DISTR = "normal";
     private static final String JNAME_POISSON_DISTR = "poisson";
+    private static final String JNAME_PIECEWISE_CONSTANT_DISTR = "piecewiseconstant";
+    private static final String JNAME_PERIODIC_DISTR = "periodic";
+    private static final String JNAME_COMPOUND_POISSON_DISTR = "compoundpoisson";
+    private static final String JNAME_EMPIRICAL_DISTR = "empirical";
+    private static final String JNAME_LOGNORMAL_DISTR = "lognormal";
+    private static final String JNAME_PARETO_DISTR = "pareto";
+    private static final String JNAME_EXPONENTIAL_DISTR = "exponential";
+    private static final String JNAME_GAMMA_DISTR = "gamma";
+    private static final String JNAME_ZIPF_DISTR = "zipf";
     
     private static final String JNAME_MEAN = "mean";
     private static final String JNAME_STANDARD_DEVIATION = "sd";
     
     private static final String JNAME_POISSON_LAMBDA = "lambda";
     
+    private static final String JNAME_MU = "mu";
+    private static final String JNAME_SIGMA = "sigma";
+    private static final String JNAME_SCALE = "scale";
+    private static final String JNAME_SHAPE = "shape";
+    private static final String JNAME_ELEMENTS_NUMBER = "elementsNumber";
+    private static final String JNAME_EXPONENT = "exponent";
+    
+    private static final String JNAME_MIN = "min";
+    private static final String JNAME_MAX = "max";
+    
+    private static final String JNAME_RATE_SEGMENTS = "segments";
+    private static final String JNAME_SEGMENT_START_TIME = "startTime";
+    private static final String JNAME_RATE = "rate";
+    private static final String JNAME_PERIOD = "period";
+    private static final String JNAME_BASE_RATE = "baseRate";
+    private static final String JNAME_AMPLITUDE = "amplitude";
+    private static final String JNAME_PHASE = "phase";
+    private static final String JNAME_MEAN_BURST_SIZE = "meanBurstSize";
+    
+    private static final String JNAME_EMPIRICAL_VALUES = "values";
+    private static final String JNAME_EMPIRICAL_WEIGHTS = "weights";
+    private static final String JNAME_EMPIRICAL_VALUES_FILE = "valuesFile";
+    
+    // separator of a value and its count on a line of a values file
+    private static final String VALUES_FILE_SEPARATOR_REGEX = "[\\s,;]+";
+    
+    // prefix of comment lines in a values file
+    private static final String VALUES_FILE_COMMENT_PREFIX = "#";
+    
     private static final String JNAME_NUMBER_OF_JOBS = "numberOfJobs";
     
     private static final String JNAME_JOBS_ARRIVAL_CONFIG_SETTINGS = "jobsArrivalConfigSettings";
@@ -64,12 +107,47 @@ final class ConfigSettingsFileReader {
     
     private static final String JNAME_SEED = "seed";
     
+    private static final String JNAME_JOB_CLASSES = "jobClasses";
+    private static final String JNAME_JOB_CLASS_NAME = "name";
+    private static final String JNAME_JOB_CLASS_WEIGHT = "weight";
+    
+    private static final String JNAME_CORRELATION_CONFIG_SETTINGS = "correlationConfigSettings";
+    private static final String JNAME_CORRELATED_ATTRIBUTES = "attributes";
+    private static final String JNAME_CORRELATION_MATRIX = "correlationMatrix";
+    private static final String JNAME_ATTRIBUTE_PRIORITY = "priority";
+    private static final String JNAME_ATTRIBUTE_DEADLINE = "deadline";
+    private static final String JNAME_ATTRIBUTE_MAXRAMUSAGE = "maxramusage";
+    private static final String JNAME_ATTRIBUTE_MAXTIMESLICESNUMBER = "maxtimeslicesnumber";
+    private static final String JNAME_ATTRIBUTE_CUDACORES = "cudacores";
+    
+    // names of job settings, which can be specified for each class of jobs
+    private static final String[] JNAMES_JOB_CLASS_SETTINGS = {
+        JNAME_PRIORITY_CONFIG_SETTINGS,
+        JNAME_DEADLINE_CONFIG_SETTINGS,
+        JNAME_MAXRUMUSAGE_CONFIG_SETTINGS,
+        JNAME_MAXTIMESLICESNUMBER_CONFIG_SETTINGS,
+        JNAME_STOPPABILITY_CONFIG_SETTINGS,
+        JNAME_CUDACORES_CONFIG_SETTINGS
+    };
+    
+    
+    // reads the lowest value of truncated distribution, negative infinity if not bounded from below
+    private static double readMin(JSONObject jsonObj) {
+        return jsonObj.optDouble(JNAME_MIN, Double.NEGATIVE_INFINITY);
+    }
+    
+    // reads the highest value of truncated distribution, positive infinity if not bounded from above
+    private static double readMax(JSONObject jsonObj) {
+        return jsonObj.optDouble(JNAME_MAX, Double.POSITIVE_INFINITY);
+    }
     
     // reads parameters of Uniform distribution from specified JSON objects 
     private static ConfigSettings.UniformDistributionParams readUniformDistributionParams(JSONObject jsonObj) {
         return new ConfigSettings.UniformDistributionParams(
                 jsonObj.getInt(JNAME_LOWER_BOUND), 
-                jsonObj.getInt(JNAME_UPPER_BOUND)
+                jsonObj.getInt(JNAME_UPPER_BOUND), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
         );
     }
     
@@ -77,7 +155,9 @@ final class ConfigSettingsFileReader {
     private static ConfigSettings.NormalDistributionParams readNormalDistributionParams(JSONObject jsonObj) {
         return new ConfigSettings.NormalDistributionParams(
                 jsonObj.getDouble(JNAME_MEAN), 
-                jsonObj.getDouble(JNAME_STANDARD_DEVIATION)
+                jsonObj.getDouble(JNAME_STANDARD_DEVIATION), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
         );
     }
     
@@ -88,8 +168,184 @@ final class ConfigSettingsFileReader {
         );
     }
     
+    // reads parameters of piecewise-constant arrival rate from specified JSON objects 
+    private static ConfigSettings.PiecewiseConstantRateParams readPiecewiseConstantRateParams(JSONObject jsonObj) {
+        JSONArray segmentsJson = jsonObj.getJSONArray(JNAME_RATE_SEGMENTS);
+        double[] startTimes = new double[segmentsJson.length()];
+        double[] rates = new double[segmentsJson.length()];
+        
+        for ( int segmentId = 0; segmentId < segmentsJson.length(); segmentId++ ) {
+            JSONObject segmentJson = segmentsJson.getJSONObject(segmentId);
+            startTimes[segmentId] = segmentJson.getDouble(JNAME_SEGMENT_START_TIME);
+            rates[segmentId] = segmentJson.getDouble(JNAME_RATE);
+        }
+        
+        return new ConfigSettings.PiecewiseConstantRateParams(
+                startTimes, rates, jsonObj.optDouble(JNAME_PERIOD, 0)
+        );
+    }
+    
+    // reads parameters of periodic arrival rate from specified JSON objects 
+    private static ConfigSettings.PeriodicRateParams readPeriodicRateParams(JSONObject jsonObj) {
+        return new ConfigSettings.PeriodicRateParams(
+                jsonObj.getDouble(JNAME_BASE_RATE),
+                jsonObj.getDouble(JNAME_AMPLITUDE),
+                jsonObj.getDouble(JNAME_PERIOD),
+                jsonObj.optDouble(JNAME_PHASE, 0)
+        );
+    }
+    
+    // reads parameters of compound Poisson arrivals from specified JSON objects 
+    private static ConfigSettings.CompoundPoissonParams readCompoundPoissonParams(JSONObject jsonObj) {
+        return new ConfigSettings.CompoundPoissonParams(
+                jsonObj.getDouble(JNAME_POISSON_LAMBDA),
+                jsonObj.optDouble(JNAME_MEAN_BURST_SIZE, 1)
+        );
+    }
+    
+    // reads histogram of observed values from specified file - each line holds one value optionally followed by its count
+    private static ConfigSettings.EmpiricalDistributionParams readEmpiricalValuesFile(
+            String fileName, double min, double max
+    ) throws IOException {
+        Map<Double, Double> histogram = new TreeMap<>();
+        for ( String line : Files.readAllLines(Paths.get(fileName)) ) {
+            line = line.strip();
+            if ( line.isEmpty() || line.startsWith(VALUES_FILE_COMMENT_PREFIX) ) {
+                continue;
+            }
+            
+            String[] items = line.split(VALUES_FILE_SEPARATOR_REGEX);
+            if ( items.length > 2 ) {
+                throw new IllegalArgumentException("Invalid line of values file " + fileName + ": " + line);
+            }
+            double count = (items.length == 2) ? Double.parseDouble(items[1]) : 1;
+            histogram.merge(Double.parseDouble(items[0]), count, Double::sum);
+        }
+        
+        double[] values = new double[histogram.size()];
+        double[] weights = new double[histogram.size()];
+        int valueId = 0;
+        for ( Map.Entry<Double, Double> valueEntry : histogram.entrySet() ) {
+            values[valueId] = valueEntry.getKey();
+            weights[valueId] = valueEntry.getValue();
+            valueId++;
+        }
+        return new ConfigSettings.EmpiricalDistributionParams(values, weights, min, max);
+    }
+    
+    // reads parameters of empirical distribution from specified JSON objects 
+    private static ConfigSettings.EmpiricalDistributionParams readEmpiricalDistributionParams(JSONObject jsonObj) throws IOException {
+        if ( jsonObj.has(JNAME_EMPIRICAL_VALUES_FILE) ) {
+            return readEmpiricalValuesFile(
+                    jsonObj.getString(JNAME_EMPIRICAL_VALUES_FILE), readMin(jsonObj), readMax(jsonObj)
+            );
+        }
+        
+        JSONArray valuesJson = jsonObj.getJSONArray(JNAME_EMPIRICAL_VALUES);
+        JSONArray weightsJson = jsonObj.optJSONArray(JNAME_EMPIRICAL_WEIGHTS);
+        
+        // values without weights are equally likely
+        double[] values = new double[valuesJson.length()];
+        double[] weights = new double[valuesJson.length()];
+        for ( int valueId = 0; valueId < values.length; valueId++ ) {
+            values[valueId] = valuesJson.getDouble(valueId);
+            weights[valueId] = (weightsJson == null) ? 1 : weightsJson.getDouble(valueId);
+        }
+        if ( weightsJson != null && weightsJson.length() != values.length ) {
+            throw new IllegalArgumentException(
+                    "Numbers of values and weights of empirical distribution differ: " 
+                    + values.length + ", " + weightsJson.length()
+            );
+        }
+        
+        return new ConfigSettings.EmpiricalDistributionParams(values, weights, readMin(jsonObj), readMax(jsonObj));
+    }
+    
+    // reads parameters of log-normal distribution from specified JSON objects 
+    private static ConfigSettings.LogNormalDistributionParams readLogNormalDistributionParams(JSONObject jsonObj) {
+        return new ConfigSettings.LogNormalDistributionParams(
+                jsonObj.getDouble(JNAME_MU), 
+                jsonObj.getDouble(JNAME_SIGMA), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
+        );
+    }
+    
+    // reads parameters of Pareto distribution from specified JSON objects 
+    private static ConfigSettings.ParetoDistributionParams readParetoDistributionParams(JSONObject jsonObj) {
+        return new ConfigSettings.ParetoDistributionParams(
+                jsonObj.getDouble(JNAME_SCALE), 
+                jsonObj.getDouble(JNAME_SHAPE), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
+        );
+    }
+    
+    // reads parameters of exponential distribution from specified JSON objects 
+    private static ConfigSettings.ExponentialDistributionParams readExponentialDistributionParams(JSONObject jsonObj) {
+        return new ConfigSettings.ExponentialDistributionParams(
+                jsonObj.getDouble(JNAME_POISSON_LAMBDA), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
+        );
+    }
+    
+    // reads parameters of gamma distribution from specified JSON objects 
+    private static ConfigSettings.GammaDistributionParams readGammaDistributionParams(JSONObject jsonObj) {
+        return new ConfigSettings.GammaDistributionParams(
+                jsonObj.getDouble(JNAME_SHAPE), 
+                jsonObj.getDouble(JNAME_SCALE), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
+        );
+    }
+    
+    // reads parameters of Zipf distribution from specified JSON objects 
+    private static ConfigSettings.ZipfDistributionParams readZipfDistributionParams(JSONObject jsonObj) {
+        return new ConfigSettings.ZipfDistributionParams(
+                jsonObj.getInt(JNAME_ELEMENTS_NUMBER), 
+                jsonObj.getDouble(JNAME_EXPONENT), 
+                readMin(jsonObj), 
+                readMax(jsonObj)
+        );
+    }
+    
+    // reads distribution of random values of a job property from JSON object of its settings
+    private static DistributionSampler readDistribution(JSONObject settingsJson) throws IOException {
+        String distrTypeStr = settingsJson.getString(JNAME_DISTRIBUTION_TYPE);
+        JSONObject distribParamsJson = settingsJson.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
+        switch (distrTypeStr.toLowerCase()) {
+            case JNAME_UNIFORM_DISTR -> {
+                return readUniformDistributionParams(distribParamsJson);
+            }
+            case JNAME_NORMAL_DISTR -> {
+                return readNormalDistributionParams(distribParamsJson);
+            }
+            case JNAME_EMPIRICAL_DISTR -> {
+                return readEmpiricalDistributionParams(distribParamsJson);
+            }
+            case JNAME_LOGNORMAL_DISTR -> {
+                return readLogNormalDistributionParams(distribParamsJson);
+            }
+            case JNAME_PARETO_DISTR -> {
+                return readParetoDistributionParams(distribParamsJson);
+            }
+            case JNAME_EXPONENTIAL_DISTR -> {
+                return readExponentialDistributionParams(distribParamsJson);
+            }
+            case JNAME_GAMMA_DISTR -> {
+                return readGammaDistributionParams(distribParamsJson);
+            }
+            case JNAME_ZIPF_DISTR -> {
+                return readZipfDistributionParams(distribParamsJson);
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
+        }
+    }
+    
     // parses priority config settings
-    private static ConfigSettings.PriorityConfigSettings parsePriorityConfigSettings(JSONObject configObjJson) {
+    private static ConfigSettings.PriorityConfigSettings parsePriorityConfigSettings(JSONObject configObjJson) throws IOException {
         JSONObject prioritySettingJson = configObjJson.getJSONObject(JNAME_PRIORITY_CONFIG_SETTINGS);
         String configTypeStr = prioritySettingJson.getString(JNAME_CONFIG_TYPE);
 
@@ -98,22 +354,7 @@ final class ConfigSettingsFileReader {
                 return new ConfigSettings.PriorityConfigSettings(prioritySettingJson.getInt(JNAME_PRIORITY));
             }
             case JNAME_CONFIG_TYPE_RANDOM -> {
-                String distrTypeStr = prioritySettingJson.getString(JNAME_DISTRIBUTION_TYPE);
-                JSONObject distribParamsJson = prioritySettingJson.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
-                switch (distrTypeStr.toLowerCase()) {
-                    case JNAME_UNIFORM_DISTR -> {
-                        return new ConfigSettings.PriorityConfigSettings(
-                                readUniformDistributionParams(distribParamsJson)
-                        );
-                    }
-                    case JNAME_NORMAL_DISTR -> {
-                        return new ConfigSettings.PriorityConfigSettings(
-                                readNormalDistributionParams(distribParamsJson)
-                        );
-                    }
-                    default ->
-                        throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
-                }
+                return new ConfigSettings.PriorityConfigSettings(readDistribution(prioritySettingJson));
             }
             default ->
                 throw new IllegalArgumentException("Unsupported config type: " + configTypeStr);
@@ -121,7 +362,7 @@ final class ConfigSettingsFileReader {
     }
     
     // parses deadline config settings
-    private static ConfigSettings.DeadlineConfigSettings parseDeadlineConfigSettings(JSONObject configObjJson) {
+    private static ConfigSettings.DeadlineConfigSettings parseDeadlineConfigSettings(JSONObject configObjJson) throws IOException {
         JSONObject deadlineSettingJson = configObjJson.getJSONObject(JNAME_DEADLINE_CONFIG_SETTINGS);
         String configTypeStr = deadlineSettingJson.getString(JNAME_CONFIG_TYPE);
 
@@ -133,22 +374,7 @@ final class ConfigSettingsFileReader {
                 return new ConfigSettings.DeadlineConfigSettings(deadlineSettingJson.getInt(JNAME_DEADLINE));
             }
             case JNAME_CONFIG_TYPE_RANDOM -> {
-                String distrTypeStr = deadlineSettingJson.getString(JNAME_DISTRIBUTION_TYPE);
-                JSONObject distribParamsJson = deadlineSettingJson.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
-                switch (distrTypeStr.toLowerCase()) {
-                    case JNAME_UNIFORM_DISTR -> {
-                        return new ConfigSettings.DeadlineConfigSettings(
-                                readUniformDistributionParams(distribParamsJson)
-                        );
-                    }
-                    case JNAME_NORMAL_DISTR -> {
-                        return new ConfigSettings.DeadlineConfigSettings(
-                                readNormalDistributionParams(distribParamsJson)
-                        );
-                    }
-                    default ->
-                        throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
-                }
+                return new ConfigSettings.DeadlineConfigSettings(readDistribution(deadlineSettingJson));
             }
             default ->
                 throw new IllegalArgumentException("Unsupported config type: " + configTypeStr);
@@ -156,7 +382,7 @@ final class ConfigSettingsFileReader {
     }
     
     // parses max RAM usage config settings
-    private static ConfigSettings.MaxRamUsageConfigSettings parseMaxRamUsageConfigSettings(JSONObject configObjJson) {
+    private static ConfigSettings.MaxRamUsageConfigSettings parseMaxRamUsageConfigSettings(JSONObject configObjJson) throws IOException {
         JSONObject maxRamUsageSettingJson = configObjJson.getJSONObject(JNAME_MAXRUMUSAGE_CONFIG_SETTINGS);
         String configTypeStr = maxRamUsageSettingJson.getString(JNAME_CONFIG_TYPE);
 
@@ -170,24 +396,7 @@ final class ConfigSettingsFileReader {
                         ? ConfigSettings.MaxRamUsageConfigSettings.Type.Random_Independent
                         : ConfigSettings.MaxRamUsageConfigSettings.Type.Random_DependentOnPrevious);
                 
-                String distrTypeStr = maxRamUsageSettingJson.getString(JNAME_DISTRIBUTION_TYPE);
-                JSONObject distribParamsJson = maxRamUsageSettingJson.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
-                switch (distrTypeStr.toLowerCase()) {
-                    case JNAME_UNIFORM_DISTR -> {
-                        return new ConfigSettings.MaxRamUsageConfigSettings(
-                                configType,
-                                readUniformDistributionParams(distribParamsJson)
-                        );
-                    }
-                    case JNAME_NORMAL_DISTR -> {
-                        return new ConfigSettings.MaxRamUsageConfigSettings(
-                                configType,
-                                readNormalDistributionParams(distribParamsJson)
-                        );
-                    }
-                    default ->
-                        throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
-                }
+                return new ConfigSettings.MaxRamUsageConfigSettings(configType, readDistribution(maxRamUsageSettingJson));
             }
             default ->
                 throw new IllegalArgumentException("Unsupported config type: " + configTypeStr);
@@ -195,7 +404,7 @@ final class ConfigSettingsFileReader {
     }
     
     // parses max number of timeslices config settings
-    private static ConfigSettings.MaxTimeslicesNumberConfigSettings parseMaxSlicesNumberConfigSettings(JSONObject configObjJson) {
+    private static ConfigSettings.MaxTimeslicesNumberConfigSettings parseMaxSlicesNumberConfigSettings(JSONObject configObjJson) throws IOException {
         JSONObject maxSlicesNumberSettingJson = configObjJson.getJSONObject(JNAME_MAXTIMESLICESNUMBER_CONFIG_SETTINGS);
         String configTypeStr = maxSlicesNumberSettingJson.getString(JNAME_CONFIG_TYPE);
 
@@ -204,22 +413,7 @@ final class ConfigSettingsFileReader {
                 return new ConfigSettings.MaxTimeslicesNumberConfigSettings(maxSlicesNumberSettingJson.getInt(JNAME_MAXTIMESLICES_NUMBER));
             }
             case JNAME_CONFIG_TYPE_RANDOM -> {
-                String distrTypeStr = maxSlicesNumberSettingJson.getString(JNAME_DISTRIBUTION_TYPE);
-                JSONObject distribParamsJson = maxSlicesNumberSettingJson.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
-                switch (distrTypeStr.toLowerCase()) {
-                    case JNAME_UNIFORM_DISTR -> {
-                        return new ConfigSettings.MaxTimeslicesNumberConfigSettings(
-                                readUniformDistributionParams(distribParamsJson)
-                        );
-                    }
-                    case JNAME_NORMAL_DISTR -> {
-                        return new ConfigSettings.MaxTimeslicesNumberConfigSettings(
-                                readNormalDistributionParams(distribParamsJson)
-                        );
-                    }
-                    default ->
-                        throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
-                }
+                return new ConfigSettings.MaxTimeslicesNumberConfigSettings(readDistribution(maxSlicesNumberSettingJson));
             }
             default ->
                 throw new IllegalArgumentException("Unsupported config type: " + configTypeStr);
@@ -244,7 +438,7 @@ final class ConfigSettingsFileReader {
     }
     
     // parses CUDA cores
-    private static ConfigSettings.CudaCoresConfigSettings parseCudaCoresConfigSettings(JSONObject configObjJson) {
+    private static ConfigSettings.CudaCoresConfigSettings parseCudaCoresConfigSettings(JSONObject configObjJson) throws IOException {
         JSONObject cudaCoresConfigSettings = configObjJson.getJSONObject(JNAME_CUDACORES_CONFIG_SETTINGS);
         String configTypeStr = cudaCoresConfigSettings.getString(JNAME_CONFIG_TYPE);
 
@@ -253,31 +447,34 @@ final class ConfigSettingsFileReader {
                 return new ConfigSettings.CudaCoresConfigSettings(cudaCoresConfigSettings.getInt(JNAME_CORES_NUMBER));
             }
             case JNAME_CONFIG_TYPE_RANDOM -> {
-                String distrTypeStr = cudaCoresConfigSettings.getString(JNAME_DISTRIBUTION_TYPE);
-                JSONObject distribParamsJson = cudaCoresConfigSettings.getJSONObject(JNAME_DISTRIBUTION_PARAMS);
-                switch (distrTypeStr.toLowerCase()) {
-                    case JNAME_UNIFORM_DISTR -> {
-                        return new ConfigSettings.CudaCoresConfigSettings(
-                                readUniformDistributionParams(distribParamsJson)
-                        );
-                    }
-                    case JNAME_NORMAL_DISTR -> {
-                        return new ConfigSettings.CudaCoresConfigSettings(
-                                readNormalDistributionParams(distribParamsJson)
-                        );
-                    }
-                    default ->
-                        throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
-                }
+                return new ConfigSettings.CudaCoresConfigSettings(readDistribution(cudaCoresConfigSettings));
             }
             default ->
                 throw new IllegalArgumentException("Unsupported config type: " + configTypeStr);
         }
     }
     
-    // parses job arrival config settings
-    private static ConfigSettings.JobArrivalConfigSettings parseJobArrivalConfigSettings(JSONObject configObjJson) {
-        JSONObject jobArrivalSettingJson = configObjJson.getJSONObject(JNAME_JOBS_ARRIVAL_CONFIG_SETTINGS);
+    /**
+     * Parses job arrival config settings of specified configuration JSON
+     * object.
+     * 
+     * @param configObjJson configuration JSON object
+     * @return job arrival config settings
+     * @throws IOException if the file of empirical values cannot be read
+     */
+    static ConfigSettings.JobArrivalConfigSettings parseJobArrivalConfigSettings(JSONObject configObjJson) throws IOException {
+        return parseJobArrivalSettings(configObjJson.getJSONObject(JNAME_JOBS_ARRIVAL_CONFIG_SETTINGS));
+    }
+    
+    /**
+     * Parses job arrival config settings from their own JSON object, i.e.
+     * the jobsArrivalConfigSettings member of configuration.
+     * 
+     * @param jobArrivalSettingJson JSON object of job arrival config settings
+     * @return job arrival config settings
+     * @throws IOException if the file of empirical values cannot be read
+     */
+    static ConfigSettings.JobArrivalConfigSettings parseJobArrivalSettings(JSONObject jobArrivalSettingJson) throws IOException {
         String configTypeStr = jobArrivalSettingJson.getString(JNAME_CONFIG_TYPE);
 
         switch (configTypeStr.toLowerCase()) {
@@ -298,6 +495,26 @@ final class ConfigSettingsFileReader {
                                 readPoissonDistributionParams(distribParamsJson)
                         );
                     }
+                    case JNAME_PIECEWISE_CONSTANT_DISTR -> {
+                        return new ConfigSettings.JobArrivalConfigSettings(
+                                readPiecewiseConstantRateParams(distribParamsJson)
+                        );
+                    }
+                    case JNAME_PERIODIC_DISTR -> {
+                        return new ConfigSettings.JobArrivalConfigSettings(
+                                readPeriodicRateParams(distribParamsJson)
+                        );
+                    }
+                    case JNAME_COMPOUND_POISSON_DISTR -> {
+                        return new ConfigSettings.JobArrivalConfigSettings(
+                                readCompoundPoissonParams(distribParamsJson)
+                        );
+                    }
+                    case JNAME_EMPIRICAL_DISTR -> {
+                        return new ConfigSettings.JobArrivalConfigSettings(
+                                readEmpiricalDistributionParams(distribParamsJson)
+                        );
+                    }
                     default ->
                         throw new IllegalArgumentException("Unsupported distribution type: " + distrTypeStr);
                 }
@@ -307,6 +524,101 @@ final class ConfigSettingsFileReader {
         }
     }
     
+    // returns job settings of specified class, missing settings are taken from the top level
+    private static JSONObject getJobClassSettingsJson(JSONObject configObjJson, JSONObject jobClassJson) {
+        JSONObject jobClassSettingsJson = new JSONObject();
+        for ( String settingsName : JNAMES_JOB_CLASS_SETTINGS ) {
+            JSONObject settingsJson = jobClassJson.optJSONObject(settingsName);
+            if ( settingsJson == null ) {
+                settingsJson = configObjJson.optJSONObject(settingsName);
+            }
+            if ( settingsJson != null ) {
+                jobClassSettingsJson.put(settingsName, settingsJson);
+            }
+        }
+        return jobClassSettingsJson;
+    }
+    
+    // parses config settings of classes of jobs
+    private static List<ConfigSettings.JobClassConfigSettings> parseJobClassesConfigSettings(
+            JSONObject configObjJson
+    ) throws IOException {
+        JSONArray jobClassesJson = configObjJson.getJSONArray(JNAME_JOB_CLASSES);
+        if ( jobClassesJson.isEmpty() ) {
+            throw new IllegalArgumentException("At least one job class must be specified.");
+        }
+        
+        List<ConfigSettings.JobClassConfigSettings> jobClassesConfigSettings = new ArrayList<>();
+        for ( int classId = 0; classId < jobClassesJson.length(); classId++ ) {
+            JSONObject jobClassJson = jobClassesJson.getJSONObject(classId);
+            JSONObject settingsJson = getJobClassSettingsJson(configObjJson, jobClassJson);
+            
+            jobClassesConfigSettings.add(
+                    new ConfigSettings.JobClassConfigSettings(
+                            jobClassJson.optString(JNAME_JOB_CLASS_NAME, String.valueOf(classId)),
+                            jobClassJson.getDouble(JNAME_JOB_CLASS_WEIGHT),
+                            parsePriorityConfigSettings(settingsJson),
+                            parseDeadlineConfigSettings(settingsJson),
+                            parseMaxRamUsageConfigSettings(settingsJson),
+                            parseMaxSlicesNumberConfigSettings(settingsJson),
+                            parseStoppabilityConfigSettings(settingsJson),
+                            parseCudaCoresConfigSettings(settingsJson)
+                    )
+            );
+        }
+        
+        return jobClassesConfigSettings;
+    }
+    
+    // parses name of correlated job property
+    private static ConfigSettings.CorrelationConfigSettings.Attribute parseCorrelatedAttribute(String attributeStr) {
+        switch (attributeStr.toLowerCase()) {
+            case JNAME_ATTRIBUTE_PRIORITY -> {
+                return ConfigSettings.CorrelationConfigSettings.Attribute.Priority;
+            }
+            case JNAME_ATTRIBUTE_DEADLINE -> {
+                return ConfigSettings.CorrelationConfigSettings.Attribute.Deadline;
+            }
+            case JNAME_ATTRIBUTE_MAXRAMUSAGE -> {
+                return ConfigSettings.CorrelationConfigSettings.Attribute.MaxRamUsage;
+            }
+            case JNAME_ATTRIBUTE_MAXTIMESLICESNUMBER -> {
+                return ConfigSettings.CorrelationConfigSettings.Attribute.MaxTimeslicesNumber;
+            }
+            case JNAME_ATTRIBUTE_CUDACORES -> {
+                return ConfigSettings.CorrelationConfigSettings.Attribute.CudaCores;
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported correlated attribute: " + attributeStr);
+        }
+    }
+    
+    // parses correlation config settings - null if not specified
+    private static ConfigSettings.CorrelationConfigSettings parseCorrelationConfigSettings(JSONObject configObjJson) {
+        JSONObject correlationSettingsJson = configObjJson.optJSONObject(JNAME_CORRELATION_CONFIG_SETTINGS);
+        if ( correlationSettingsJson == null ) {
+            return null;
+        }
+        
+        JSONArray attributesJson = correlationSettingsJson.getJSONArray(JNAME_CORRELATED_ATTRIBUTES);
+        List<ConfigSettings.CorrelationConfigSettings.Attribute> attributes = new ArrayList<>();
+        for ( int attributeId = 0; attributeId < attributesJson.length(); attributeId++ ) {
+            attributes.add(parseCorrelatedAttribute(attributesJson.getString(attributeId)));
+        }
+        
+        JSONArray matrixJson = correlationSettingsJson.getJSONArray(JNAME_CORRELATION_MATRIX);
+        double[][] correlationMatrix = new double[matrixJson.length()][];
+        for ( int row = 0; row < correlationMatrix.length; row++ ) {
+            JSONArray rowJson = matrixJson.getJSONArray(row);
+            correlationMatrix[row] = new double[rowJson.length()];
+            for ( int column = 0; column < correlationMatrix[row].length; column++ ) {
+                correlationMatrix[row][column] = rowJson.getDouble(column);
+            }
+        }
+        
+        return new ConfigSettings.CorrelationConfigSettings(attributes, correlationMatrix);
+    }
+    
     /**
      * Reads configuration JSON file of specified name from current directory,
      * parses it and returns object of corresponding configuration settings.
@@ -318,7 +630,34 @@ final class ConfigSettingsFileReader {
         String fileContentStr = Files.readString(Paths.get(fileName));
         
         // parsing JSON string
-        JSONObject configObjJson = new JSONObject(fileContentStr);
+        return parse(new JSONObject(fileContentStr));
+    }
+    
+    /**
+     * Parses specified JSON object of configuration and returns object of
+     * corresponding configuration settings.
+     * 
+     * @param configObjJson JSON object of the configuration
+     * @return object of configuration settings
+     * @throws IOException if a file referenced by the configuration cannot be read
+     */
+    static ConfigSettings parse(JSONObject configObjJson) throws IOException {
+        long seed = configObjJson.getLong(JNAME_SEED);
+        int numberOfJobs = configObjJson.getInt(JNAME_NUMBER_OF_JOBS);
+        ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings = parseJobArrivalConfigSettings(configObjJson);
+        ConfigSettings.CorrelationConfigSettings correlationConfigSettings = parseCorrelationConfigSettings(configObjJson);
+        
+        // job settings at the top level serve only as defaults of the job classes
+        if ( configObjJson.has(JNAME_JOB_CLASSES) ) {
+            return new ConfigSettings(
+                    null, null, null, null, null, null,
+                    numberOfJobs,
+                    jobArrivalConfigSettings,
+                    seed,
+                    parseJobClassesConfigSettings(configObjJson),
+                    correlationConfigSettings
+            );
+        }
         
         ConfigSettings.PriorityConfigSettings priorityConfigSettings = parsePriorityConfigSettings(configObjJson);
         ConfigSettings.DeadlineConfigSettings deadlineConfigSettings = parseDeadlineConfigSettings(configObjJson);
@@ -327,10 +666,6 @@ final class ConfigSettingsFileReader {
         ConfigSettings.StoppabilityConfigSettings stoppabilityConfigSettings = parseStoppabilityConfigSettings(configObjJson);
         ConfigSettings.CudaCoresConfigSettings cudaCoresConfigSettings = parseCudaCoresConfigSettings(configObjJson);
         
-        long seed = configObjJson.getLong(JNAME_SEED);
-        int numberOfJobs = configObjJson.getInt(JNAME_NUMBER_OF_JOBS);
-        ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings = parseJobArrivalConfigSettings(configObjJson);
-        
         return new ConfigSettings(
                 priorityConfigSettings, 
                 deadlineConfigSettings, 
@@ -340,7 +675,9 @@ final class ConfigSettingsFileReader {
                 cudaCoresConfigSettings,
                 numberOfJobs,
                 jobArrivalConfigSettings,
-                seed
+                seed,
+                List.of(),
+                correlationConfigSettings
         );
     }
     
@@ -0,0 +1,510 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Writer of the configuration file.
+ *
+ * Written file has the format read by {@link ConfigSettingsFileReader}.
+ *
+ * @author Michal Konopa
+ */
+final class ConfigSettingsFileWriter {
+    // constants for fields names in JSON document
+    private static final String JNAME_CONFIG_TYPE = "type";
+    private static final String JNAME_DISTRIBUTION_TYPE = "distributionType";
+    private static final String JNAME_DISTRIBUTION_PARAMS = "distributionParams";
+
+    private static final String JNAME_PRIORITY_CONFIG_SETTINGS = "priorityConfigSettings";
+    private static final String JNAME_PRIORITY = "priority";
+
+    private static final String JNAME_DEADLINE_CONFIG_SETTINGS = "deadlineConfigSettings";
+    private static final String JNAME_DEADLINE = "deadline";
+
+    private static final String JNAME_MAXRUMUSAGE_CONFIG_SETTINGS = "maxRamUsageConfigSettings";
+    private static final String JNAME_MAXRUMUSAGE = "maxRamUsage";
+
+    private static final String JNAME_MAXTIMESLICESNUMBER_CONFIG_SETTINGS = "maxTimeslicesNumberConfigSettings";
+    private static final String JNAME_MAXTIMESLICES_NUMBER = "maxTimeslicesNumber";
+
+    private static final String JNAME_STOPPABILITY_CONFIG_SETTINGS = "stoppabilityConfigSettings";
+    private static final String JNAME_IS_STOPPABLE = "isStoppable";
+    private static final String JNAME_STOPPABLE_PROBABILITY = "stoppableProbability";
+
+    private static final String JNAME_CUDACORES_CONFIG_SETTINGS = "cudaCoresConfigSettings";
+    private static final String JNAME_CORES_NUMBER = "coresNumber";
+
+    private static final String JNAME_LOWER_BOUND = "lowerBound";
+    private static final String JNAME_UPPER_BOUND = "upperBound";
+
+    private static final String JNAME_CONFIG_TYPE_FIXED = "Fixed";
+    private static final String JNAME_CONFIG_TYPE_RANDOM = "Random";
+    private static final String JNAME_CONFIG_TYPE_NOTDEFINED = "NotDefined";
+    private static final String JNAME_CONFIG_TYPE_RANDOM_INDEPENDENT = "RandomIndependent";
+    private static final String JNAME_CONFIG_TYPE_RANDOM_DEPENDENT_ON_PREVIOUS = "RandomDependentOnPrevious";
+
+    private static final String JNAME_UNIFORM_DISTR = "Uniform";
+    private static final String JNAME_POISSON_DISTR = "Poisson";
+    private static final String JNAME_PIECEWISE_CONSTANT_DISTR = "PiecewiseConstant";
+    private static final String JNAME_PERIODIC_DISTR = "Periodic";
+    private static final String JNAME_COMPOUND_POISSON_DISTR = "CompoundPoisson";
+    private static final String JNAME_EMPIRICAL_DISTR = "Empirical";
+
+    private static final String JNAME_MEAN = "mean";
+    private static final String JNAME_STANDARD_DEVIATION = "sd";
+
+    private static final String JNAME_POISSON_LAMBDA = "lambda";
+
+    private static final String JNAME_MU = "mu";
+    private static final String JNAME_SIGMA = "sigma";
+    private static final String JNAME_SCALE = "scale";
+    private static final String JNAME_SHAPE = "shape";
+    private static final String JNAME_ELEMENTS_NUMBER = "elementsNumber";
+    private static final String JNAME_EXPONENT = "exponent";
+
+    private static final String JNAME_MIN = "min";
+    private static final String JNAME_MAX = "max";
+
+    private static final String JNAME_RATE_SEGMENTS = "segments";
+    private static final String JNAME_SEGMENT_START_TIME = "startTime";
+    private static final String JNAME_RATE = "rate";
+    private static final String JNAME_PERIOD = "period";
+    private static final String JNAME_BASE_RATE = "baseRate";
+    private static final String JNAME_AMPLITUDE = "amplitude";
+    private static final String JNAME_PHASE = "phase";
+    private static final String JNAME_MEAN_BURST_SIZE = "meanBurstSize";
+
+    private static final String JNAME_EMPIRICAL_VALUES = "values";
+    private static final String JNAME_EMPIRICAL_WEIGHTS = "weights";
+
+    private static final String JNAME_NUMBER_OF_JOBS = "numberOfJobs";
+
+    private static final String JNAME_JOBS_ARRIVAL_CONFIG_SETTINGS = "jobsArrivalConfigSettings";
+    private static final String JNAME_ARRIVAL_INTERVAL = "interval";
+
+    private static final String JNAME_SEED = "seed";
+
+    private static final String JNAME_JOB_CLASSES = "jobClasses";
+    private static final String JNAME_JOB_CLASS_NAME = "name";
+    private static final String JNAME_JOB_CLASS_WEIGHT = "weight";
+
+    private static final String JNAME_CORRELATION_CONFIG_SETTINGS = "correlationConfigSettings";
+    private static final String JNAME_CORRELATED_ATTRIBUTES = "attributes";
+    private static final String JNAME_CORRELATION_MATRIX = "correlationMatrix";
+
+
+    // puts finite bounds of truncation of specified distribution into the JSON object of its parameters
+    private static void putBounds(JSONObject paramsJson, DistributionSampler sampler) {
+        if ( Double.isFinite(sampler.getMin()) ) {
+            paramsJson.put(JNAME_MIN, sampler.getMin());
+        }
+        if ( Double.isFinite(sampler.getMax()) ) {
+            paramsJson.put(JNAME_MAX, sampler.getMax());
+        }
+    }
+
+    // returns JSON object of parameters of Uniform distribution
+    private static JSONObject toJson(ConfigSettings.UniformDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_LOWER_BOUND, params.getLowerBound());
+        paramsJson.put(JNAME_UPPER_BOUND, params.getUpperBound());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of Normal distribution
+    private static JSONObject toJson(ConfigSettings.NormalDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_MEAN, params.getMean());
+        paramsJson.put(JNAME_STANDARD_DEVIATION, params.getSd());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of Poisson distribution
+    private static JSONObject toJson(ConfigSettings.PoissonDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_POISSON_LAMBDA, params.getLambda());
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of piecewise-constant arrival rate
+    private static JSONObject toJson(ConfigSettings.PiecewiseConstantRateParams params) {
+        JSONArray segmentsJson = new JSONArray();
+        for ( int segmentId = 0; segmentId < params.getSegmentsNum(); segmentId++ ) {
+            JSONObject segmentJson = new JSONObject();
+            segmentJson.put(JNAME_SEGMENT_START_TIME, params.getSegmentStart(segmentId));
+            segmentJson.put(JNAME_RATE, params.getRate(segmentId));
+            segmentsJson.put(segmentJson);
+        }
+
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_RATE_SEGMENTS, segmentsJson);
+        if ( params.getPeriod() > 0 ) {
+            paramsJson.put(JNAME_PERIOD, params.getPeriod());
+        }
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of periodic arrival rate
+    private static JSONObject toJson(ConfigSettings.PeriodicRateParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_BASE_RATE, params.getBaseRate());
+        paramsJson.put(JNAME_AMPLITUDE, params.getAmplitude());
+        paramsJson.put(JNAME_PERIOD, params.getPeriod());
+        paramsJson.put(JNAME_PHASE, params.getPhase());
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of compound Poisson arrivals
+    private static JSONObject toJson(ConfigSettings.CompoundPoissonParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_POISSON_LAMBDA, params.getLambda());
+        paramsJson.put(JNAME_MEAN_BURST_SIZE, params.getMeanBurstSize());
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of empirical distribution - histogram read from a values file is written inline
+    private static JSONObject toJson(ConfigSettings.EmpiricalDistributionParams params) {
+        JSONArray valuesJson = new JSONArray();
+        JSONArray weightsJson = new JSONArray();
+        for ( int valueId = 0; valueId < params.getValuesNum(); valueId++ ) {
+            valuesJson.put(params.getValue(valueId));
+            weightsJson.put(params.getWeight(valueId));
+        }
+
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_EMPIRICAL_VALUES, valuesJson);
+        paramsJson.put(JNAME_EMPIRICAL_WEIGHTS, weightsJson);
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of log-normal distribution
+    private static JSONObject toJson(ConfigSettings.LogNormalDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_MU, params.getMu());
+        paramsJson.put(JNAME_SIGMA, params.getSigma());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of Pareto distribution
+    private static JSONObject toJson(ConfigSettings.ParetoDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_SCALE, params.getScale());
+        paramsJson.put(JNAME_SHAPE, params.getShape());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of exponential distribution
+    private static JSONObject toJson(ConfigSettings.ExponentialDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_POISSON_LAMBDA, params.getLambda());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of gamma distribution
+    private static JSONObject toJson(ConfigSettings.GammaDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_SHAPE, params.getShape());
+        paramsJson.put(JNAME_SCALE, params.getScale());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of Zipf distribution
+    private static JSONObject toJson(ConfigSettings.ZipfDistributionParams params) {
+        JSONObject paramsJson = new JSONObject();
+        paramsJson.put(JNAME_ELEMENTS_NUMBER, params.getElementsNum());
+        paramsJson.put(JNAME_EXPONENT, params.getExponent());
+        putBounds(paramsJson, params);
+        return paramsJson;
+    }
+
+    // returns JSON object of parameters of specified distribution
+    private static JSONObject toJson(DistributionSampler sampler) {
+        return switch ( sampler ) {
+            case ConfigSettings.UniformDistributionParams params -> toJson(params);
+            case ConfigSettings.NormalDistributionParams params -> toJson(params);
+            case ConfigSettings.EmpiricalDistributionParams params -> toJson(params);
+            case ConfigSettings.LogNormalDistributionParams params -> toJson(params);
+            case ConfigSettings.ParetoDistributionParams params -> toJson(params);
+            case ConfigSettings.ExponentialDistributionParams params -> toJson(params);
+            case ConfigSettings.GammaDistributionParams params -> toJson(params);
+            case ConfigSettings.ZipfDistributionParams params -> toJson(params);
+            default ->
+                throw new IllegalArgumentException("Unsupported distribution type: " + sampler.getType());
+        };
+    }
+
+    // puts specified distribution into the JSON object of settings
+    private static void putDistribution(JSONObject settingsJson, DistributionSampler sampler) {
+        settingsJson.put(JNAME_DISTRIBUTION_TYPE, sampler.getType().name());
+        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(sampler));
+    }
+
+    // returns JSON object of priority config settings
+    private static JSONObject toJson(ConfigSettings.PriorityConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_PRIORITY, settings.getPriority());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                putDistribution(settingsJson, settings.getSampler());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of deadline config settings
+    private static JSONObject toJson(ConfigSettings.DeadlineConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case NotDefined ->
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_NOTDEFINED);
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_DEADLINE, settings.getDeadline());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                putDistribution(settingsJson, settings.getSampler());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of max RAM usage config settings
+    private static JSONObject toJson(ConfigSettings.MaxRamUsageConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_MAXRUMUSAGE, settings.getMaxRamUsage());
+            }
+            case Random_Independent, Random_DependentOnPrevious -> {
+                settingsJson.put(
+                        JNAME_CONFIG_TYPE,
+                        (settings.getType() == ConfigSettings.MaxRamUsageConfigSettings.Type.Random_Independent)
+                        ? JNAME_CONFIG_TYPE_RANDOM_INDEPENDENT
+                        : JNAME_CONFIG_TYPE_RANDOM_DEPENDENT_ON_PREVIOUS
+                );
+                putDistribution(settingsJson, settings.getSampler());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of max number of timeslices config settings
+    private static JSONObject toJson(ConfigSettings.MaxTimeslicesNumberConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_MAXTIMESLICES_NUMBER, settings.getMaxTimeslicesNum());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                putDistribution(settingsJson, settings.getSampler());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of stoppability config settings
+    private static JSONObject toJson(ConfigSettings.StoppabilityConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_IS_STOPPABLE, settings.isStoppable());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                settingsJson.put(JNAME_STOPPABLE_PROBABILITY, settings.getStoppableProbability());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of CUDA cores config settings
+    private static JSONObject toJson(ConfigSettings.CudaCoresConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_CORES_NUMBER, settings.getCoresNumber());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                putDistribution(settingsJson, settings.getSampler());
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    /**
+     * Returns JSON object of job arrival config settings, i.e. the
+     * jobsArrivalConfigSettings member of configuration.
+     *
+     * @param settings job arrival config settings
+     * @return JSON object of the settings
+     */
+    static JSONObject toJson(ConfigSettings.JobArrivalConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        switch ( settings.getType() ) {
+            case Fixed -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_FIXED);
+                settingsJson.put(JNAME_ARRIVAL_INTERVAL, settings.getInterval());
+            }
+            case Random -> {
+                settingsJson.put(JNAME_CONFIG_TYPE, JNAME_CONFIG_TYPE_RANDOM);
+                switch ( settings.getDistributionType() ) {
+                    case Uniform -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_UNIFORM_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getUniformDistributionParams()));
+                    }
+                    case Poisson -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_POISSON_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getPoissonDistributionParams()));
+                    }
+                    case PiecewiseConstant -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_PIECEWISE_CONSTANT_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getPiecewiseConstantRateParams()));
+                    }
+                    case Periodic -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_PERIODIC_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getPeriodicRateParams()));
+                    }
+                    case CompoundPoisson -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_COMPOUND_POISSON_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getCompoundPoissonParams()));
+                    }
+                    case Empirical -> {
+                        settingsJson.put(JNAME_DISTRIBUTION_TYPE, JNAME_EMPIRICAL_DISTR);
+                        settingsJson.put(JNAME_DISTRIBUTION_PARAMS, toJson(settings.getEmpiricalDistributionParams()));
+                    }
+                    default ->
+                        throw new IllegalArgumentException(
+                                "Unsupported distribution type: " + settings.getDistributionType()
+                        );
+                }
+            }
+            default ->
+                throw new IllegalArgumentException("Unsupported config type: " + settings.getType());
+        }
+        return settingsJson;
+    }
+
+    // returns JSON object of config settings of a class of jobs
+    private static JSONObject toJson(ConfigSettings.JobClassConfigSettings settings) {
+        JSONObject settingsJson = new JSONObject();
+        settingsJson.put(JNAME_JOB_CLASS_NAME, settings.getName());
+        settingsJson.put(JNAME_JOB_CLASS_WEIGHT, settings.getWeight());
+        settingsJson.put(JNAME_PRIORITY_CONFIG_SETTINGS, toJson(settings.getPriorityConfigSettings()));
+        settingsJson.put(JNAME_DEADLINE_CONFIG_SETTINGS, toJson(settings.getDeadlineConfigSettings()));
+        settingsJson.put(JNAME_MAXRUMUSAGE_CONFIG_SETTINGS, toJson(settings.getMaxRamUsageConfigSettings()));
+        settingsJson.put(
+                JNAME_MAXTIMESLICESNUMBER_CONFIG_SETTINGS,
+                toJson(settings.getMaxTimeslicesNumberConfigSettings())
+        );
+        settingsJson.put(JNAME_STOPPABILITY_CONFIG_SETTINGS, toJson(settings.getStoppabilityConfigSettings()));
+        settingsJson.put(JNAME_CUDACORES_CONFIG_SETTINGS, toJson(settings.getCudaCoresConfigSettings()));
+        return settingsJson;
+    }
+
+    // returns JSON object of correlation config settings
+    private static JSONObject toJson(ConfigSettings.CorrelationConfigSettings settings) {
+        JSONArray attributesJson = new JSONArray();
+        for ( ConfigSettings.CorrelationConfigSettings.Attribute attribute : settings.getAttributes() ) {
+            attributesJson.put(attribute.name());
+        }
+
+        GaussianCopula copula = settings.getCopula();
+        JSONArray matrixJson = new JSONArray();
+        for ( int row = 0; row < copula.getDimension(); row++ ) {
+            JSONArray rowJson = new JSONArray();
+            for ( int column = 0; column < copula.getDimension(); column++ ) {
+                rowJson.put(copula.getCorrelation(row, column));
+            }
+            matrixJson.put(rowJson);
+        }
+
+        JSONObject settingsJson = new JSONObject();
+        settingsJson.put(JNAME_CORRELATED_ATTRIBUTES, attributesJson);
+        settingsJson.put(JNAME_CORRELATION_MATRIX, matrixJson);
+        return settingsJson;
+    }
+
+    /**
+     * Returns JSON representation of specified configuration settings.
+     *
+     * @param configSettings configuration settings
+     * @return JSON object of the configuration settings
+     */
+    static JSONObject toJson(ConfigSettings configSettings) {
+        JSONObject configObjJson = new JSONObject();
+        if ( configSettings.getJobClassesConfigSettings().isEmpty() ) {
+            configObjJson.put(JNAME_PRIORITY_CONFIG_SETTINGS, toJson(configSettings.getPriorityConfigSettings()));
+            configObjJson.put(JNAME_DEADLINE_CONFIG_SETTINGS, toJson(configSettings.getDeadlineConfigSettings()));
+            configObjJson.put(JNAME_MAXRUMUSAGE_CONFIG_SETTINGS, toJson(configSettings.getMaxRamUsageConfigSettings()));
+            configObjJson.put(
+                    JNAME_MAXTIMESLICESNUMBER_CONFIG_SETTINGS,
+                    toJson(configSettings.getMaxTimeslicesNumberConfigSettings())
+            );
+            configObjJson.put(JNAME_STOPPABILITY_CONFIG_SETTINGS, toJson(configSettings.getStoppabilityConfigSettings()));
+            configObjJson.put(JNAME_CUDACORES_CONFIG_SETTINGS, toJson(configSettings.getCudaCoresConfigSettings()));
+        } else {
+            JSONArray jobClassesJson = new JSONArray();
+            for ( ConfigSettings.JobClassConfigSettings jobClass : configSettings.getJobClassesConfigSettings() ) {
+                jobClassesJson.put(toJson(jobClass));
+            }
+            configObjJson.put(JNAME_JOB_CLASSES, jobClassesJson);
+        }
+        if ( configSettings.getCorrelationConfigSettings() != null ) {
+            configObjJson.put(JNAME_CORRELATION_CONFIG_SETTINGS, toJson(configSettings.getCorrelationConfigSettings()));
+        }
+        configObjJson.put(JNAME_JOBS_ARRIVAL_CONFIG_SETTINGS, toJson(configSettings.getJobArrivalConfigSettings()));
+        configObjJson.put(JNAME_NUMBER_OF_JOBS, configSettings.getNumberOfJobs());
+        configObjJson.put(JNAME_SEED, configSettings.getSeed());
+        return configObjJson;
+    }
+
+    /**
+     * Writes specified configuration settings into specified file.
+     *
+     * @param configSettings configuration settings
+     * @param file configuration file
+     * @throws IOException if the file cannot be written
+     */
+    static void write(ConfigSettings configSettings, Path file) throws IOException {
+        Files.writeString(file, toJson(configSettings).toString(4), StandardCharsets.UTF_8);
+    }
+}
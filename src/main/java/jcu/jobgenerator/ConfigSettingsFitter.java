@@ -0,0 +1,426 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fitter of configuration settings to an existing trace of jobs.
+ *
+ * The trace is split into chunks, which are streamed in parallel. Each chunk
+ * collects mergeable moments of the job attributes, so the memory needed
+ * does not depend on the size of the trace. Then the settings of each
+ * attribute are fitted to the merged moments:
+ *
+ * - attribute with a single value gets Fixed settings
+ * - otherwise Uniform distribution is chosen for flat values (excess
+ *   kurtosis below KURTOSIS_THRESHOLD) and Normal distribution for the rest
+ * - Normal parameters compensate rounding of generated values down to integers
+ * - RAM usage is DependentOnPrevious, if RAM usages of consecutive timeslices
+ *   of jobs are correlated, its spread is then fitted to the steps between
+ *   the timeslices
+ * - arrivals are Poisson, if the coefficient of variation of inter-arrival
+ *   gaps is near 1, Fixed for regular gaps and Uniform otherwise; Poisson
+ *   arrivals are fitted as a single segment of piecewise-constant rate, as
+ *   the rate of Poisson settings is limited to integers
+ * - inter-arrival gaps are measured between the jobs only, the arrival time
+ *   of the first job is not a gap
+ *
+ * Settings which cannot express the trace exactly, e.g. a trace where only
+ * some jobs have deadline, are fitted as closely as the settings allow.
+ *
+ * @author Michal Konopa
+ */
+final class ConfigSettingsFitter {
+    // excess kurtosis between uniform (-1.2) and normal (0) distribution
+    private static final double KURTOSIS_THRESHOLD = -0.6;
+
+    // minimal lag-1 correlation of RAM usages of consecutive timeslices of dependent model
+    private static final double DEPENDENCE_THRESHOLD = 0.5;
+
+    // maximal distance of coefficient of variation of gaps from 1 for Poisson arrivals
+    private static final double POISSON_CV_TOLERANCE = 0.25;
+
+    // maximal coefficient of variation of gaps for Fixed arrivals
+    private static final double FIXED_CV_TOLERANCE = 0.01;
+
+    // variance of rounding error of integer values generated by truncation
+    private static final double TRUNCATION_VARIANCE = 1.0 / 12;
+
+    /**
+     * Correlation of pairs of values, which can be merged.
+     */
+    private static final class PairCorrelation {
+        private long count = 0;
+        private double meanX = 0;
+        private double meanY = 0;
+
+        // sums of squares and of products of differences from the means
+        private double m2X = 0;
+        private double m2Y = 0;
+        private double coMoment = 0;
+
+        private void add(double x, double y) {
+            count++;
+            double deltaX = x - meanX;
+            double deltaY = y - meanY;
+            meanX += deltaX / count;
+            meanY += deltaY / count;
+            m2X += deltaX * (x - meanX);
+            m2Y += deltaY * (y - meanY);
+            coMoment += deltaX * (y - meanY);
+        }
+
+        private void merge(PairCorrelation correlation) {
+            if ( correlation.count == 0 ) {
+                return;
+            }
+
+            double countA = count;
+            double countB = correlation.count;
+            double totalCount = countA + countB;
+            double deltaX = correlation.meanX - meanX;
+            double deltaY = correlation.meanY - meanY;
+
+            m2X += correlation.m2X + deltaX * deltaX * countA * countB / totalCount;
+            m2Y += correlation.m2Y + deltaY * deltaY * countA * countB / totalCount;
+            coMoment += correlation.coMoment + deltaX * deltaY * countA * countB / totalCount;
+            meanX += deltaX * countB / totalCount;
+            meanY += deltaY * countB / totalCount;
+            count += correlation.count;
+        }
+
+        // returns the correlation coefficient, 0 if it is not defined
+        private double getCorrelation() {
+            if ( m2X == 0 || m2Y == 0 ) {
+                return 0;
+            }
+            return coMoment / Math.sqrt(m2X * m2Y);
+        }
+    }
+
+    /**
+     * Statistics of attributes of jobs of a part of the trace.
+     */
+    private static final class TraceStatistics {
+        private long jobsNum = 0;
+        private long stoppableJobsNum = 0;
+        private long noDeadlineJobsNum = 0;
+
+        private final StreamingMoments priority = new StreamingMoments();
+        private final StreamingMoments deadline = new StreamingMoments();
+        private final StreamingMoments timeslicesNum = new StreamingMoments();
+        private final StreamingMoments cudaCoresNum = new StreamingMoments();
+
+        // RAM usages of all timeslices, of first timeslices and steps between consecutive ones
+        private final StreamingMoments ram = new StreamingMoments();
+        private final StreamingMoments firstRam = new StreamingMoments();
+        private final StreamingMoments ramStep = new StreamingMoments();
+        private final PairCorrelation consecutiveRam = new PairCorrelation();
+
+        // gaps between arrivals of consecutive jobs of this part
+        private final StreamingMoments interArrivalGap = new StreamingMoments();
+        private double firstArrivalTime = Double.NaN;
+        private double lastArrivalTime = Double.NaN;
+
+        private void add(Job job) {
+            jobsNum++;
+            if ( job.isStopable() ) {
+                stoppableJobsNum++;
+            }
+
+            priority.add(job.getPriority());
+            if ( job.getDeadline() == Job.NO_DEADLINE ) {
+                noDeadlineJobsNum++;
+            } else {
+                deadline.add(job.getDeadline());
+            }
+            cudaCoresNum.add(job.getCudaCoresNumber());
+
+            int[] timeslices = job.getTimeslices();
+            timeslicesNum.add(timeslices.length);
+            for ( int timesliceId = 0; timesliceId < timeslices.length; timesliceId++ ) {
+                ram.add(timeslices[timesliceId]);
+                if ( timesliceId == 0 ) {
+                    firstRam.add(timeslices[0]);
+                } else {
+                    ramStep.add(timeslices[timesliceId] - timeslices[timesliceId - 1]);
+                    consecutiveRam.add(timeslices[timesliceId - 1], timeslices[timesliceId]);
+                }
+            }
+
+            if ( jobsNum == 1 ) {
+                firstArrivalTime = job.getArrivalTime();
+            } else {
+                interArrivalGap.add(Math.max(0, job.getArrivalTime() - lastArrivalTime));
+            }
+            lastArrivalTime = job.getArrivalTime();
+        }
+
+        // adds statistics of the part of the trace immediately following this part
+        private void merge(TraceStatistics statistics) {
+            if ( statistics.jobsNum == 0 ) {
+                return;
+            }
+
+            if ( jobsNum == 0 ) {
+                firstArrivalTime = statistics.firstArrivalTime;
+            } else {
+                interArrivalGap.add(Math.max(0, statistics.firstArrivalTime - lastArrivalTime));
+            }
+            lastArrivalTime = statistics.lastArrivalTime;
+            interArrivalGap.merge(statistics.interArrivalGap);
+
+            jobsNum += statistics.jobsNum;
+            stoppableJobsNum += statistics.stoppableJobsNum;
+            noDeadlineJobsNum += statistics.noDeadlineJobsNum;
+            priority.merge(statistics.priority);
+            deadline.merge(statistics.deadline);
+            timeslicesNum.merge(statistics.timeslicesNum);
+            cudaCoresNum.merge(statistics.cudaCoresNum);
+            ram.merge(statistics.ram);
+            firstRam.merge(statistics.firstRam);
+            ramStep.merge(statistics.ramStep);
+            consecutiveRam.merge(statistics.consecutiveRam);
+        }
+    }
+
+
+    private final int threadsNum;
+
+
+    /**
+     * Creates new fitter.
+     *
+     * @param threadsNum number of threads reading chunks of the trace
+     */
+    ConfigSettingsFitter(int threadsNum) {
+        if ( threadsNum < 1 ) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threadsNum);
+        }
+        this.threadsNum = threadsNum;
+    }
+
+    // collects statistics of jobs of specified chunk of the trace
+    private static TraceStatistics analyzeChunk(Path traceFile, long startPosition, long endPosition)
+            throws IOException {
+        TraceStatistics statistics = new TraceStatistics();
+        try ( DatasetJsonStreamReader jobs
+                = new DatasetJsonStreamReader(traceFile, startPosition, endPosition) ) {
+            while ( jobs.hasNext() ) {
+                statistics.add(jobs.next());
+            }
+        }
+        return statistics;
+    }
+
+    // collects statistics of all jobs of the trace
+    private TraceStatistics analyze(Path traceFile) throws IOException, InterruptedException {
+        long[] boundaries = DatasetJsonStreamReader.split(traceFile, threadsNum);
+
+        TraceStatistics statistics = new TraceStatistics();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsNum);
+        try {
+            List<Future<TraceStatistics>> futures = new ArrayList<>();
+            for ( int chunkId = 0; chunkId < boundaries.length - 1; chunkId++ ) {
+                long startPosition = boundaries[chunkId];
+                long endPosition = boundaries[chunkId + 1];
+                futures.add(executor.submit(() -> analyzeChunk(traceFile, startPosition, endPosition)));
+            }
+
+            // chunks must be merged in their order because of inter-arrival gaps
+            for ( Future<TraceStatistics> future : futures ) {
+                statistics.merge(future.get());
+            }
+        } catch (ExecutionException ex) {
+            if ( ex.getCause() instanceof IOException ioException ) {
+                throw ioException;
+            }
+            if ( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Analysis of trace chunk failed.", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return statistics;
+    }
+
+    // indicates, whether the values are rather uniformly distributed than normally
+    private static boolean isUniform(StreamingMoments moments) {
+        return moments.getExcessKurtosis() < KURTOSIS_THRESHOLD;
+    }
+
+    // returns parameters of uniform distribution of integers within [min, max]
+    private static ConfigSettings.UniformDistributionParams fitUniform(StreamingMoments moments) {
+        return new ConfigSettings.UniformDistributionParams(
+                (int) Math.floor(moments.getMin()), (int) Math.ceil(moments.getMax())
+        );
+    }
+
+    // returns parameters of normal distribution, whose values truncated to integers match the moments
+    private static ConfigSettings.NormalDistributionParams fitNormal(StreamingMoments moments) {
+        return new ConfigSettings.NormalDistributionParams(
+                moments.getMean() + 0.5,
+                Math.sqrt(Math.max(0, moments.getVariance() - TRUNCATION_VARIANCE))
+        );
+    }
+
+    // returns value of fixed settings, which must be positive
+    private static int fitFixed(StreamingMoments moments) {
+        return Math.max(1, (int) Math.round(moments.getMean()));
+    }
+
+    // indicates, whether all the values are the same
+    private static boolean isFixed(StreamingMoments moments) {
+        return moments.getMin() == moments.getMax();
+    }
+
+    private static ConfigSettings.PriorityConfigSettings fitPriority(StreamingMoments moments) {
+        if ( isFixed(moments) ) {
+            return new ConfigSettings.PriorityConfigSettings(fitFixed(moments));
+        }
+        if ( isUniform(moments) ) {
+            return new ConfigSettings.PriorityConfigSettings(fitUniform(moments));
+        }
+        return new ConfigSettings.PriorityConfigSettings(fitNormal(moments));
+    }
+
+    private static ConfigSettings.DeadlineConfigSettings fitDeadline(StreamingMoments moments) {
+        if ( moments.getCount() == 0 ) {
+            return new ConfigSettings.DeadlineConfigSettings();
+        }
+        if ( isFixed(moments) ) {
+            return new ConfigSettings.DeadlineConfigSettings(fitFixed(moments));
+        }
+        if ( isUniform(moments) ) {
+            return new ConfigSettings.DeadlineConfigSettings(fitUniform(moments));
+        }
+        return new ConfigSettings.DeadlineConfigSettings(fitNormal(moments));
+    }
+
+    private static ConfigSettings.MaxTimeslicesNumberConfigSettings fitTimeslicesNum(StreamingMoments moments) {
+        if ( isFixed(moments) ) {
+            return new ConfigSettings.MaxTimeslicesNumberConfigSettings(fitFixed(moments));
+        }
+        if ( isUniform(moments) ) {
+            return new ConfigSettings.MaxTimeslicesNumberConfigSettings(fitUniform(moments));
+        }
+        return new ConfigSettings.MaxTimeslicesNumberConfigSettings(fitNormal(moments));
+    }
+
+    private static ConfigSettings.CudaCoresConfigSettings fitCudaCoresNum(StreamingMoments moments) {
+        if ( isFixed(moments) ) {
+            return new ConfigSettings.CudaCoresConfigSettings(fitFixed(moments));
+        }
+        if ( isUniform(moments) ) {
+            return new ConfigSettings.CudaCoresConfigSettings(fitUniform(moments));
+        }
+        return new ConfigSettings.CudaCoresConfigSettings(fitNormal(moments));
+    }
+
+    private static ConfigSettings.StoppabilityConfigSettings fitStoppability(TraceStatistics statistics) {
+        if ( statistics.stoppableJobsNum == 0 || statistics.stoppableJobsNum == statistics.jobsNum ) {
+            return new ConfigSettings.StoppabilityConfigSettings(statistics.stoppableJobsNum > 0);
+        }
+        return new ConfigSettings.StoppabilityConfigSettings(
+                (double) statistics.stoppableJobsNum / statistics.jobsNum
+        );
+    }
+
+    // fits RAM usage, where each timeslice depends on the previous one
+    private static ConfigSettings.MaxRamUsageConfigSettings fitDependentRam(TraceStatistics statistics) {
+        ConfigSettings.MaxRamUsageConfigSettings.Type type
+                = ConfigSettings.MaxRamUsageConfigSettings.Type.Random_DependentOnPrevious;
+
+        // the first timeslice is drawn from the distribution, the next ones around the previous one
+        if ( isUniform(statistics.ramStep) ) {
+            int intervalLen = Math.max(2, (int) Math.round(statistics.ramStep.getSd() * Math.sqrt(12)));
+            int lowerBound = Math.max(0, (int) Math.round(statistics.firstRam.getMean() - intervalLen / 2.0));
+            return new ConfigSettings.MaxRamUsageConfigSettings(
+                    type, new ConfigSettings.UniformDistributionParams(lowerBound, lowerBound + intervalLen)
+            );
+        }
+        return new ConfigSettings.MaxRamUsageConfigSettings(
+                type,
+                new ConfigSettings.NormalDistributionParams(
+                        statistics.firstRam.getMean() + 0.5, statistics.ramStep.getSd()
+                )
+        );
+    }
+
+    private static ConfigSettings.MaxRamUsageConfigSettings fitRam(TraceStatistics statistics) {
+        if ( isFixed(statistics.ram) ) {
+            return new ConfigSettings.MaxRamUsageConfigSettings(fitFixed(statistics.ram));
+        }
+        if ( statistics.consecutiveRam.getCorrelation() >= DEPENDENCE_THRESHOLD ) {
+            return fitDependentRam(statistics);
+        }
+
+        ConfigSettings.MaxRamUsageConfigSettings.Type type
+                = ConfigSettings.MaxRamUsageConfigSettings.Type.Random_Independent;
+        if ( isUniform(statistics.ram) ) {
+            return new ConfigSettings.MaxRamUsageConfigSettings(type, fitUniform(statistics.ram));
+        }
+        return new ConfigSettings.MaxRamUsageConfigSettings(type, fitNormal(statistics.ram));
+    }
+
+    private static ConfigSettings.JobArrivalConfigSettings fitJobArrival(StreamingMoments gaps) {
+        double mean = gaps.getMean();
+        double cv = (mean > 0) ? gaps.getSd() / mean : 0;
+
+        if ( cv <= FIXED_CV_TOLERANCE ) {
+            return new ConfigSettings.JobArrivalConfigSettings(Math.max(1, (int) Math.round(mean)));
+        }
+        if ( Math.abs(cv - 1) <= POISSON_CV_TOLERANCE ) {
+            // constant real-valued rate [jobs per minute] - a rate rounded to integer would miss slow arrivals
+            return new ConfigSettings.JobArrivalConfigSettings(
+                    new ConfigSettings.PiecewiseConstantRateParams(new double[] {0}, new double[] {1 / mean}, 0)
+            );
+        }
+        return new ConfigSettings.JobArrivalConfigSettings(
+                new ConfigSettings.UniformDistributionParams(
+                        (int) Math.round(gaps.getMin()), (int) Math.round(gaps.getMax())
+                )
+        );
+    }
+
+    /**
+     * Fits configuration settings to the jobs of specified trace.
+     *
+     * @param traceFile file with the trace of jobs sorted by arrival time
+     * @param seed seed of the fitted settings
+     * @return configuration settings generating jobs similar to the trace
+     * @throws IOException if the trace cannot be read
+     * @throws InterruptedException if interrupted while waiting for the chunks
+     * @throws IllegalArgumentException if the trace contains no job
+     */
+    ConfigSettings fit(Path traceFile, long seed) throws IOException, InterruptedException {
+        TraceStatistics statistics = analyze(traceFile);
+        if ( statistics.jobsNum == 0 ) {
+            throw new IllegalArgumentException("No job in the trace: " + traceFile);
+        }
+
+        return new ConfigSettings(
+                fitPriority(statistics.priority),
+                fitDeadline(statistics.deadline),
+                fitRam(statistics),
+                fitTimeslicesNum(statistics.timeslicesNum),
+                fitStoppability(statistics),
+                fitCudaCoresNum(statistics.cudaCoresNum),
+                (int) Math.min(statistics.jobsNum, Integer.MAX_VALUE),
+                fitJobArrival(statistics.interArrivalGap),
+                seed
+        );
+    }
+}
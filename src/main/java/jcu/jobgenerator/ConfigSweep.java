@@ -0,0 +1,260 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Generator of jobs of all points of a sweep over values of configuration
+ * parameters.
+ *
+ * Points are generated concurrently by a fixed pool of threads, so all of
+ * them share one warmed up JVM. Configurations of all points are parsed
+ * before the generation starts, so an invalid combination of values does
+ * not waste the work done for the other points. Each point is written into
+ * its own directory inside the output directory - its effective
+ * configuration, the jobs, their summary and the state of the generator.
+ * Index of the points with values of their parameters is written into
+ * the output directory too.
+ *
+ * Unless the seed is swept, all the points use the seed of the base
+ * configuration, so they differ only by the effects of the parameters.
+ *
+ * @author Michal Konopa
+ */
+final class ConfigSweep {
+    // logger
+    private static final Logger logger = LogManager.getLogger(ConfigSweep.class);
+
+    // names of files written by the sweep
+    private static final String POINT_DIRECTORY_PREFIX = "point-";
+    private static final String CONFIG_FILE_NAME = "config.json";
+    private static final String JOBS_FILE_NAME = "jobs.json";
+    private static final String INDEX_FILE_NAME = "sweep.json";
+
+    // constants for fields names in JSON index of points
+    private static final String JNAME_POINT = "point";
+    private static final String JNAME_PARAMETERS = "parameters";
+
+    // separator of names in paths of parameters
+    private static final String PATH_SEPARATOR_REGEX = "\\.";
+
+
+    private final SweepSettings settings;
+    private final int threadsNum;
+    private final int pointsNum;
+
+
+    /**
+     * Creates new sweep.
+     *
+     * @param settings settings of the sweep
+     * @param threadsNum number of points generated concurrently
+     * @throws IllegalArgumentException if the number of threads is not
+     * positive or there are too many points
+     */
+    ConfigSweep(SweepSettings settings, int threadsNum) {
+        if ( threadsNum < 1 ) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threadsNum);
+        }
+        this.settings = settings;
+        this.threadsNum = threadsNum;
+
+        int pointsNum = 1;
+        for ( SweepSettings.ParameterSettings parameterSettings : settings.getParametersSettings() ) {
+            pointsNum = Math.multiplyExact(pointsNum, parameterSettings.getValues().size());
+        }
+        this.pointsNum = pointsNum;
+    }
+
+    /**
+     * @return the number of points of the sweep
+     */
+    int getPointsNum() {
+        return pointsNum;
+    }
+
+    // returns indexes of values of parameters of specified point - values of the last parameter change the fastest
+    private int[] getValueIds(int pointId) {
+        List<SweepSettings.ParameterSettings> parametersSettings = settings.getParametersSettings();
+        int[] valueIds = new int[parametersSettings.size()];
+        for ( int parameterId = valueIds.length - 1; parameterId >= 0; parameterId-- ) {
+            int valuesNum = parametersSettings.get(parameterId).getValues().size();
+            valueIds[parameterId] = pointId % valuesNum;
+            pointId /= valuesNum;
+        }
+        return valueIds;
+    }
+
+    // returns index of array element of specified name in specified path
+    private static int parseIndex(String name, String path) {
+        if ( !name.matches("\\d+") ) {
+            throw new IllegalArgumentException("Invalid path of swept parameter: " + path);
+        }
+        return Integer.parseInt(name);
+    }
+
+    // returns member of specified name of JSON object or array
+    private static Object getMember(Object container, String name, String path) {
+        Object member = switch ( container ) {
+            case JSONObject object -> object.opt(name);
+            case JSONArray array -> array.opt(parseIndex(name, path));
+            default -> null;
+        };
+        if ( member == null ) {
+            throw new IllegalArgumentException("Invalid path of swept parameter: " + path);
+        }
+        return member;
+    }
+
+    // returns copy of JSON value, so values shared by points are never modified by paths of other parameters
+    private static Object copyValue(Object value) {
+        return switch ( value ) {
+            case JSONObject object -> new JSONObject(object.toString());
+            case JSONArray array -> new JSONArray(array.toString());
+            default -> value;
+        };
+    }
+
+    // sets value at specified path of JSON configuration
+    private static void setValue(JSONObject configJson, String path, Object value) {
+        String[] names = path.split(PATH_SEPARATOR_REGEX);
+        Object container = configJson;
+        for ( int nameId = 0; nameId < names.length - 1; nameId++ ) {
+            container = getMember(container, names[nameId], path);
+        }
+
+        String lastName = names[names.length - 1];
+        switch ( container ) {
+            case JSONObject object -> object.put(lastName, copyValue(value));
+            case JSONArray array -> array.put(parseIndex(lastName, path), copyValue(value));
+            default -> throw new IllegalArgumentException("Invalid path of swept parameter: " + path);
+        }
+    }
+
+    /**
+     * Returns JSON object of configuration of specified point, i.e. the base
+     * configuration with the parameters set to values of the point.
+     *
+     * @param pointId index of the point
+     * @return JSON object of the configuration
+     * @throws IllegalArgumentException if a path of a parameter does not
+     * exist in the base configuration
+     */
+    JSONObject getPointConfigJson(int pointId) {
+        JSONObject configJson = settings.getBaseConfigJson();
+        int[] valueIds = getValueIds(pointId);
+        for ( int parameterId = 0; parameterId < valueIds.length; parameterId++ ) {
+            SweepSettings.ParameterSettings parameterSettings = settings.getParametersSettings().get(parameterId);
+            setValue(configJson, parameterSettings.getPath(), parameterSettings.getValues().get(valueIds[parameterId]));
+        }
+        return configJson;
+    }
+
+    // returns name of directory of specified point - indexes are padded, so the directories sort by them
+    private String getPointDirectoryName(int pointId) {
+        int digitsNum = String.valueOf(pointsNum - 1).length();
+        return POINT_DIRECTORY_PREFIX + String.format("%0" + digitsNum + "d", pointId);
+    }
+
+    // returns JSON index of the points with values of their parameters
+    private JSONArray getIndexJson() {
+        JSONArray indexJson = new JSONArray();
+        for ( int pointId = 0; pointId < pointsNum; pointId++ ) {
+            JSONObject parametersJson = new JSONObject();
+            int[] valueIds = getValueIds(pointId);
+            for ( int parameterId = 0; parameterId < valueIds.length; parameterId++ ) {
+                SweepSettings.ParameterSettings parameterSettings = settings.getParametersSettings().get(parameterId);
+                parametersJson.put(parameterSettings.getPath(), parameterSettings.getValues().get(valueIds[parameterId]));
+            }
+
+            JSONObject pointJson = new JSONObject();
+            pointJson.put(JNAME_POINT, getPointDirectoryName(pointId));
+            pointJson.put(JNAME_PARAMETERS, parametersJson);
+            indexJson.put(pointJson);
+        }
+        return indexJson;
+    }
+
+    // generates jobs of specified point into its directory
+    private void generatePoint(int pointId, ConfigSettings configSettings, Path outputDirectory) throws IOException {
+        Path pointDirectory = outputDirectory.resolve(getPointDirectoryName(pointId));
+        Files.createDirectories(pointDirectory);
+        ConfigSettingsFileWriter.write(configSettings, pointDirectory.resolve(CONFIG_FILE_NAME));
+
+        JobGenerator generator = new JobGenerator(configSettings);
+        Path jobsFile = pointDirectory.resolve(JOBS_FILE_NAME);
+        JobsJsonWriter.writeJobs(generator, jobsFile);
+        JobsJsonWriter.writeSummary(generator.getSummary(), jobsFile);
+        generator.getState().write(jobsFile);
+        logger.info("Jobs of " + pointDirectory.getFileName() + " written.");
+    }
+
+    /**
+     * Generates jobs of all points of the sweep into specified directory.
+     *
+     * @param outputDirectory directory to write the points into, it is
+     * created if it does not exist
+     * @throws IOException if some file cannot be read or written
+     * @throws InterruptedException if interrupted while waiting for
+     * the points
+     * @throws IllegalArgumentException if configuration of some point is
+     * invalid
+     */
+    void run(Path outputDirectory) throws IOException, InterruptedException {
+        List<ConfigSettings> pointsConfigSettings = new ArrayList<>(pointsNum);
+        for ( int pointId = 0; pointId < pointsNum; pointId++ ) {
+            try {
+                pointsConfigSettings.add(ConfigSettingsFileReader.parse(getPointConfigJson(pointId)));
+            } catch ( RuntimeException ex ) {
+                throw new IllegalArgumentException(
+                        "Invalid configuration of " + getPointDirectoryName(pointId) + ": " + ex.getMessage(), ex
+                );
+            }
+        }
+
+        Files.createDirectories(outputDirectory);
+        Files.writeString(outputDirectory.resolve(INDEX_FILE_NAME), getIndexJson().toString(4), StandardCharsets.UTF_8);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadsNum);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int pointId = 0; pointId < pointsNum; pointId++ ) {
+                int currentPointId = pointId;
+                futures.add(executor.submit(() -> {
+                    generatePoint(currentPointId, pointsConfigSettings.get(currentPointId), outputDirectory);
+                    return null;
+                }));
+            }
+
+            for ( Future<?> future : futures ) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            if ( ex.getCause() instanceof IOException ioException ) {
+                throw ioException;
+            }
+            if ( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Generation of sweep point failed.", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
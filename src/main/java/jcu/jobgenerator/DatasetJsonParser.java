@@ -33,6 +33,51 @@ final class DatasetJsonParser {
     }
     
     
+    /**
+     * Creates job from specified JSON job object.
+     * 
+     * @param jsonJob JSON job object
+     * @return job
+     */
+    static Job parseJob(JSONObject jsonJob) {
+        return new Job(
+                jsonJob.getInt("priority"),
+                jsonJob.getBoolean("isStoppable"),
+                jsonJob.getInt("deadline"),
+                getTimeslices(jsonJob),
+                jsonJob.getInt("cudaCoresNumber"),
+                jsonJob.getDouble("arrivalTime")
+        );
+    }
+    
+    /**
+     * Opens source file of jobs dataset as specified by its name for lazy 
+     * reading. Jobs are parsed one by one as they are read from the returned
+     * reader, so the whole dataset is never held in memory.
+     * 
+     * @param fileName name of source dataset file
+     * @return reader of jobs contained in the source dataset file
+     * @throws IOException if the file cannot be opened
+     */
+    static DatasetJsonStreamReader streamJsonDataset(String fileName) throws IOException {
+        return new DatasetJsonStreamReader(Paths.get(fileName));
+    }
+    
+    /**
+     * Opens source file of jobs dataset as specified by its name for lazy 
+     * reading from specified position, e.g. the trace position stored in 
+     * a replay checkpoint.
+     * 
+     * @param fileName name of source dataset file
+     * @param startPosition position in the file to start reading from
+     * @return reader of jobs contained in the source dataset file
+     * @throws IOException if the file cannot be opened
+     */
+    static DatasetJsonStreamReader streamJsonDataset(String fileName, long startPosition) 
+            throws IOException {
+        return new DatasetJsonStreamReader(Paths.get(fileName), startPosition);
+    }
+    
     /**
      * Parses source file of jobs dataset as specified by it name and returns
      * queue of jobs contained in the dataset.
@@ -48,17 +93,7 @@ final class DatasetJsonParser {
         
         for ( int jobId = 0; jobId < jsonFileContent.length(); jobId++ ) {
             JSONObject jsonJob = jsonFileContent.getJSONObject(jobId);
-            
-            
-            Job job = new Job(
-                    jsonJob.getInt("priority"),
-                    jsonJob.getBoolean("isStoppable"),
-                    jsonJob.getInt("deadline"),
-                    getTimeslices(jsonJob),
-                    jsonJob.getInt("cudaCoresNumber"),
-                    jsonJob.getDouble("arrivalTime")
-            );
-            jobs.add(job);
+            jobs.add(parseJob(jsonJob));
         }
         
         return jobs;
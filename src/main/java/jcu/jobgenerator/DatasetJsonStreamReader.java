@@ -0,0 +1,340 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.json.JSONObject;
+
+/**
+ * Lazy reader of JSON source files containing jobs dataset.
+ *
+ * The dataset file is read sequentially in blocks. Only the bytes of the job
+ * currently being parsed are held in memory, so datasets much larger than
+ * the heap can be read. Jobs are returned in the order of their presence
+ * in the file.
+ *
+ * The reader reports its position in the file after each returned job, so
+ * reading of the dataset can be later resumed directly at that position
+ * without parsing the preceding jobs.
+ *
+ * The dataset can be also split into chunks, which can be read in parallel
+ * by independent readers - see {@link #split(Path, int)}.
+ *
+ * @author Michal Konopa
+ */
+final class DatasetJsonStreamReader implements Iterator<Job>, Closeable {
+    // size of the read buffer
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream inputStream;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPosition = 0;
+    private int bufferLength = 0;
+
+    // position in the file of the next byte to read
+    private long position = 0;
+
+    // jobs starting at this position or later are not read
+    private final long endPosition;
+
+    // bytes of the job object being read
+    private byte[] jobBytes = new byte[1024];
+
+    // indicates, whether the opening bracket of the array of jobs was read
+    private boolean isArrayStarted = false;
+
+    // indicates, whether the end of the array of jobs was reached
+    private boolean isEnd = false;
+
+    // job read ahead by hasNext()
+    private Job nextJob = null;
+
+    // position in the file just after the job read ahead by hasNext()
+    private long nextJobEndPosition;
+
+    // position in the file just after the last returned job
+    private long lastJobEndPosition;
+
+    // summary of attributes of jobs returned so far
+    private final JobAttributeSummary summary = new JobAttributeSummary();
+
+
+    /**
+     * Opens specified dataset file for reading.
+     *
+     * @param file dataset file
+     * @throws IOException if the file cannot be opened
+     */
+    DatasetJsonStreamReader(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * Opens specified dataset file for reading from specified position.
+     * The position must be either 0 or a position previously returned by
+     * {@link #getPosition()} for the same file.
+     *
+     * @param file dataset file
+     * @param startPosition position in the file to start reading from
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the position is negative
+     */
+    DatasetJsonStreamReader(Path file, long startPosition) throws IOException {
+        this(file, startPosition, Long.MAX_VALUE);
+    }
+
+    /**
+     * Opens specified chunk of dataset file for reading. Only jobs starting
+     * within the chunk are read. The start position must be either 0, 
+     * a position previously returned by {@link #getPosition()} or a boundary
+     * returned by {@link #split(Path, int)}.
+     *
+     * @param file dataset file
+     * @param startPosition position in the file to start reading from
+     * @param endPosition position in the file, where the chunk ends
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the positions are invalid
+     */
+    DatasetJsonStreamReader(Path file, long startPosition, long endPosition) throws IOException {
+        if ( startPosition < 0 || endPosition < startPosition ) {
+            throw new IllegalArgumentException(
+                    "Invalid chunk of dataset: [" + startPosition + ", " + endPosition + ")"
+            );
+        }
+        this.endPosition = endPosition;
+
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+        fileChannel.position(startPosition);
+        this.inputStream = Channels.newInputStream(fileChannel);
+        this.position = startPosition;
+        this.lastJobEndPosition = startPosition;
+
+        // positions after a job lie inside the array of jobs
+        this.isArrayStarted = (startPosition > 0);
+    }
+
+    // returns next byte of the file or -1 at the end of the file
+    private int read() throws IOException {
+        if ( bufferPosition == bufferLength ) {
+            bufferLength = Math.max(0, inputStream.read(buffer, 0, buffer.length));
+            bufferPosition = 0;
+            if ( bufferLength == 0 ) {
+                return -1;
+            }
+        }
+
+        position++;
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    // returns next non-whitespace byte of the file or -1 at the end of the file
+    private int readNonWhitespace() throws IOException {
+        int character;
+        do {
+            character = read();
+        } while ( character == ' ' || character == '\n' || character == '\r' || character == '\t' );
+        return character;
+    }
+
+    // appends specified byte to the bytes of the job being read
+    private void appendJobByte(int jobByteId, int character) {
+        if ( jobByteId == jobBytes.length ) {
+            jobBytes = Arrays.copyOf(jobBytes, jobBytes.length * 2);
+        }
+        jobBytes[jobByteId] = (byte) character;
+    }
+
+    // reads the bytes of the job object, whose opening brace was already read
+    private int readJobBytes() throws IOException {
+        int length = 0;
+        appendJobByte(length++, '{');
+
+        int depth = 1;
+        boolean isInString = false;
+        boolean isEscaped = false;
+        while ( depth > 0 ) {
+            int character = read();
+            if ( character == -1 ) {
+                throw new EOFException("Unterminated job object at the end of the dataset.");
+            }
+            appendJobByte(length++, character);
+
+            if ( isInString ) {
+                if ( isEscaped ) {
+                    isEscaped = false;
+                } else if ( character == '\\' ) {
+                    isEscaped = true;
+                } else if ( character == '"' ) {
+                    isInString = false;
+                }
+            } else if ( character == '"' ) {
+                isInString = true;
+            } else if ( character == '{' || character == '[' ) {
+                depth++;
+            } else if ( character == '}' || character == ']' ) {
+                depth--;
+            }
+        }
+
+        return length;
+    }
+
+    // reads next job from the file, returns null at the end of the array of jobs
+    private Job readJob() throws IOException {
+        if ( !isArrayStarted ) {
+            int character = readNonWhitespace();
+            if ( character != '[' ) {
+                throw new IOException("Dataset must be JSON array of jobs.");
+            }
+            isArrayStarted = true;
+        }
+
+        int character = readNonWhitespace();
+        if ( character == ',' ) {
+            character = readNonWhitespace();
+        }
+        if ( character == ']' ) {
+            return null;
+        }
+        if ( character != '{' ) {
+            throw new IOException("Unexpected character in dataset at position: " + (position - 1));
+        }
+        if ( position - 1 >= endPosition ) {
+            return null;
+        }
+
+        int length = readJobBytes();
+        nextJobEndPosition = position;
+        JSONObject jsonJob = new JSONObject(new String(jobBytes, 0, length, StandardCharsets.UTF_8));
+        return DatasetJsonParser.parseJob(jsonJob);
+    }
+
+    /**
+     * Splits specified dataset file into chunks of approximately the same
+     * size. Each chunk boundary lies at the start of a job object, so each job
+     * belongs to exactly one chunk. Jobs of the dataset must not contain
+     * nested objects, which is true for all datasets written by this program.
+     *
+     * @param file dataset file
+     * @param chunksNum requested number of chunks
+     * @return positions of chunk boundaries - the i-th chunk spans from 
+     * the i-th to the (i+1)-th position, there may be fewer chunks than 
+     * requested for small files
+     * @throws IOException if the file cannot be read
+     */
+    static long[] split(Path file, int chunksNum) throws IOException {
+        if ( chunksNum < 1 ) {
+            throw new IllegalArgumentException("Invalid number of chunks: " + chunksNum);
+        }
+
+        long[] boundaries = new long[chunksNum + 1];
+        int boundariesNum = 1;
+
+        try ( FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ) ) {
+            long fileSize = fileChannel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            for ( int chunkId = 1; chunkId < chunksNum; chunkId++ ) {
+                long boundary = findJobStart(fileChannel, buffer, fileSize * chunkId / chunksNum);
+                if ( boundary > boundaries[boundariesNum - 1] && boundary < fileSize ) {
+                    boundaries[boundariesNum++] = boundary;
+                }
+            }
+            boundaries[boundariesNum++] = fileSize;
+        }
+
+        return Arrays.copyOf(boundaries, boundariesNum);
+    }
+
+    // returns position of the first opening brace at or after specified position
+    private static long findJobStart(FileChannel fileChannel, ByteBuffer buffer, long position) 
+            throws IOException {
+        while ( true ) {
+            buffer.clear();
+            int readBytesNum = fileChannel.read(buffer, position);
+            if ( readBytesNum <= 0 ) {
+                return fileChannel.size();
+            }
+
+            for ( int byteId = 0; byteId < readBytesNum; byteId++ ) {
+                if ( buffer.get(byteId) == '{' ) {
+                    return position + byteId;
+                }
+            }
+            position += readBytesNum;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if ( nextJob != null ) {
+            return true;
+        }
+        if ( isEnd ) {
+            return false;
+        }
+
+        try {
+            nextJob = readJob();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if ( nextJob == null ) {
+            isEnd = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Job next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException("No more jobs in the dataset.");
+        }
+
+        Job job = nextJob;
+        nextJob = null;
+        lastJobEndPosition = nextJobEndPosition;
+        summary.add(job);
+        return job;
+    }
+
+    /**
+     * @return the summary of attributes of jobs returned so far
+     */
+    JobAttributeSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Returns position in the file just after the last job returned by
+     * {@link #next()}. Reading of the dataset can be resumed at this position.
+     *
+     * @return position in the file just after the last returned job
+     */
+    long getPosition() {
+        return lastJobEndPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
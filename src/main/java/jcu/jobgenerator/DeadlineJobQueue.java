@@ -0,0 +1,149 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded blocking queue of jobs, which serves the jobs in the order of their
+ * absolute deadlines (earliest deadline first).
+ *
+ * Absolute deadline of a job is its arrival time plus its deadline. Jobs
+ * without deadline are served after all jobs with deadline. Jobs with the
+ * same absolute deadline are served in the order of their insertion.
+ *
+ * Jobs are kept in a binary heap pre-allocated to the capacity of the queue,
+ * so insertion and removal take O(log n) time without any allocation.
+ *
+ * Can be used as the shared queue of job producer, so consumers get released
+ * jobs already ordered by deadline.
+ *
+ * @author Michal Konopa
+ */
+public final class DeadlineJobQueue extends AbstractOrderedJobQueue {
+
+    // heap of jobs together with their keys
+    private final Job[] heapJobs;
+    private final double[] heapDeadlines;
+    private final long[] heapSequenceNumbers;
+
+    private int heapSize = 0;
+
+    // sequence number of the next inserted job - keeps FIFO order of equal deadlines
+    private long nextSequenceNumber = 0;
+
+
+    /**
+     * Creates new queue of specified capacity.
+     *
+     * @param capacity capacity of the queue
+     */
+    public DeadlineJobQueue(int capacity) {
+        super(capacity);
+        this.heapJobs = new Job[capacity];
+        this.heapDeadlines = new double[capacity];
+        this.heapSequenceNumbers = new long[capacity];
+    }
+
+    // returns absolute deadline of specified job
+    private static double getAbsoluteDeadline(Job job) {
+        if ( job.getDeadline() == Job.NO_DEADLINE ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return job.getArrivalTime() + job.getDeadline();
+    }
+
+    // indicates, whether the item at index1 precedes the item at index2
+    private boolean precedes(int index1, int index2) {
+        int deadlineComparison = Double.compare(heapDeadlines[index1], heapDeadlines[index2]);
+        if ( deadlineComparison != 0 ) {
+            return deadlineComparison < 0;
+        }
+        return heapSequenceNumbers[index1] < heapSequenceNumbers[index2];
+    }
+
+    private void swap(int index1, int index2) {
+        Job job = heapJobs[index1];
+        heapJobs[index1] = heapJobs[index2];
+        heapJobs[index2] = job;
+
+        double deadline = heapDeadlines[index1];
+        heapDeadlines[index1] = heapDeadlines[index2];
+        heapDeadlines[index2] = deadline;
+
+        long sequenceNumber = heapSequenceNumbers[index1];
+        heapSequenceNumbers[index1] = heapSequenceNumbers[index2];
+        heapSequenceNumbers[index2] = sequenceNumber;
+    }
+
+    private void siftUp(int index) {
+        while ( index > 0 ) {
+            int parentIndex = (index - 1) >>> 1;
+            if ( !precedes(index, parentIndex) ) {
+                return;
+            }
+            swap(index, parentIndex);
+            index = parentIndex;
+        }
+    }
+
+    private void siftDown(int index) {
+        while ( true ) {
+            int firstIndex = index;
+            int leftIndex = 2 * index + 1;
+            int rightIndex = leftIndex + 1;
+
+            if ( leftIndex < heapSize && precedes(leftIndex, firstIndex) ) {
+                firstIndex = leftIndex;
+            }
+            if ( rightIndex < heapSize && precedes(rightIndex, firstIndex) ) {
+                firstIndex = rightIndex;
+            }
+            if ( firstIndex == index ) {
+                return;
+            }
+            swap(index, firstIndex);
+            index = firstIndex;
+        }
+    }
+
+    @Override
+    void insert(Job job) {
+        heapJobs[heapSize] = job;
+        heapDeadlines[heapSize] = getAbsoluteDeadline(job);
+        heapSequenceNumbers[heapSize] = nextSequenceNumber++;
+        siftUp(heapSize++);
+    }
+
+    @Override
+    Job extract() {
+        Job job = heapJobs[0];
+        heapSize--;
+        if ( heapSize > 0 ) {
+            swap(0, heapSize);
+            siftDown(0);
+        }
+        heapJobs[heapSize] = null;
+        return job;
+    }
+
+    @Override
+    Job first() {
+        return heapJobs[0];
+    }
+
+    @Override
+    List<Job> snapshot() {
+        return new ArrayList<>(Arrays.asList(heapJobs).subList(0, heapSize));
+    }
+
+    @Override
+    void removeAll() {
+        Arrays.fill(heapJobs, 0, heapSize, null);
+        heapSize = 0;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.Random;
+
+/**
+ * Sampler of probability distribution of random values of job properties.
+ *
+ * Parameters of all the distributions, which can be used for priority,
+ * deadline, maximal RAM usage, number of timeslices and number of CUDA cores,
+ * implement this interface, so the generator draws values of all
+ * the properties in the same way regardless of the distribution type.
+ *
+ * @author Michal Konopa
+ */
+interface DistributionSampler {
+
+    /**
+     * Type of probability distribution.
+     */
+    static enum Type {
+        Uniform, Normal, Empirical, LogNormal, Pareto, Exponential, Gamma, Zipf
+    };
+
+    /**
+     * @return the type of the distribution
+     */
+    Type getType();
+
+    /**
+     * @return the lowest value of the distribution, negative infinity if it
+     * is not bounded from below
+     */
+    double getMin();
+
+    /**
+     * @return the highest value of the distribution, positive infinity if it
+     * is not bounded from above
+     */
+    double getMax();
+
+    /**
+     * Draws random value of the distribution.
+     *
+     * @param randomizer random generator to use
+     * @return drawn value
+     */
+    double sample(Random randomizer);
+
+    /**
+     * Returns value of the quantile function, i.e. the lowest value, whose
+     * probability of not greater values is at least the specified one.
+     * Values of truncated distribution stay within its bounds.
+     *
+     * Values of uniformly distributed probabilities have the same
+     * distribution as the drawn ones, so this allows drawing values of
+     * several distributions with dependent probabilities.
+     *
+     * @param probability the probability from interval [0, 1]
+     * @return the value
+     */
+    double quantile(double probability);
+
+    /**
+     * Draws random value of a sequence, where each value depends on
+     * the previous one, e.g. RAM usage in consecutive timeslices. By default,
+     * it is the average of the previous value and a value drawn from
+     * the distribution.
+     *
+     * @param randomizer random generator to use
+     * @param previousValue previous value of the sequence
+     * @return drawn value
+     */
+    default double sampleNext(Random randomizer, double previousValue) {
+        return (previousValue + sample(randomizer)) / 2;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.Random;
+
+/**
+ * Gaussian copula for drawing of correlated probabilities.
+ *
+ * Vector of independent standard normal values is multiplied by the lower
+ * triangular Cholesky factor of the correlation matrix, which is computed
+ * once when the copula is created, and transformed into probabilities by
+ * the standard normal distribution function. Passing the probabilities to
+ * quantile functions of arbitrary distributions yields values, which keep
+ * their distributions, but are correlated according to the matrix.
+ *
+ * @author Michal Konopa
+ */
+final class GaussianCopula {
+    // tolerance of rounding errors of elements of correlation matrix
+    private static final double TOLERANCE = 1e-9;
+
+    private final double[][] correlationMatrix;
+
+    // elements of the lower triangular Cholesky factor stored by rows
+    private final double[] choleskyFactor;
+
+
+    /**
+     * Creates new copula of specified correlation matrix.
+     *
+     * @param correlationMatrix symmetric positive definite matrix with ones
+     * on the diagonal
+     * @throws IllegalArgumentException if the matrix is not a valid
+     * correlation matrix
+     */
+    GaussianCopula(double[][] correlationMatrix) {
+        int dimension = correlationMatrix.length;
+        if ( dimension == 0 ) {
+            throw new IllegalArgumentException("Correlation matrix must not be empty.");
+        }
+
+        this.correlationMatrix = new double[dimension][];
+        for ( int row = 0; row < dimension; row++ ) {
+            if ( correlationMatrix[row].length != dimension ) {
+                throw new IllegalArgumentException("Correlation matrix must be square. Invalid row: " + row);
+            }
+            this.correlationMatrix[row] = correlationMatrix[row].clone();
+        }
+
+        for ( int row = 0; row < dimension; row++ ) {
+            if ( Math.abs(correlationMatrix[row][row] - 1) > TOLERANCE ) {
+                throw new IllegalArgumentException(
+                        "Diagonal elements of correlation matrix must be 1. Got: " + correlationMatrix[row][row]
+                );
+            }
+            for ( int column = 0; column < row; column++ ) {
+                double correlation = correlationMatrix[row][column];
+                if ( !(Math.abs(correlation) <= 1) ) {
+                    throw new IllegalArgumentException("Invalid correlation: " + correlation);
+                }
+                if ( Math.abs(correlation - correlationMatrix[column][row]) > TOLERANCE ) {
+                    throw new IllegalArgumentException(
+                            "Correlation matrix must be symmetric. Invalid element: [" + row + ", " + column + "]"
+                    );
+                }
+            }
+        }
+
+        this.choleskyFactor = decompose(this.correlationMatrix);
+    }
+
+    // returns index of element of lower triangular matrix stored by rows
+    private static int index(int row, int column) {
+        return row * (row + 1) / 2 + column;
+    }
+
+    // returns the lower triangular Cholesky factor of specified matrix
+    private static double[] decompose(double[][] matrix) {
+        int dimension = matrix.length;
+        double[] factor = new double[dimension * (dimension + 1) / 2];
+        for ( int row = 0; row < dimension; row++ ) {
+            for ( int column = 0; column <= row; column++ ) {
+                double sum = matrix[row][column];
+                for ( int k = 0; k < column; k++ ) {
+                    sum -= factor[index(row, k)] * factor[index(column, k)];
+                }
+
+                if ( row == column ) {
+                    if ( !(sum > 0) ) {
+                        throw new IllegalArgumentException("Correlation matrix is not positive definite.");
+                    }
+                    factor[index(row, row)] = Math.sqrt(sum);
+                } else {
+                    factor[index(row, column)] = sum / factor[index(column, column)];
+                }
+            }
+        }
+        return factor;
+    }
+
+    /**
+     * @return the number of correlated probabilities
+     */
+    int getDimension() {
+        return correlationMatrix.length;
+    }
+
+    /**
+     * @param row row of the correlation matrix
+     * @param column column of the correlation matrix
+     * @return the correlation
+     */
+    double getCorrelation(int row, int column) {
+        return correlationMatrix[row][column];
+    }
+
+    /**
+     * Draws random vector of correlated probabilities. Each of them is
+     * uniformly distributed on interval [0, 1].
+     *
+     * @param randomizer random generator to use
+     * @param probabilities array to fill with the probabilities, its length
+     * must be at least the dimension
+     */
+    void sample(Random randomizer, double[] probabilities) {
+        int dimension = correlationMatrix.length;
+        for ( int row = 0; row < dimension; row++ ) {
+            probabilities[row] = randomizer.nextGaussian();
+        }
+
+        // multiplication by the factor from the last row uses only the independent values above it
+        for ( int row = dimension - 1; row >= 0; row-- ) {
+            int rowStart = index(row, 0);
+            double value = 0;
+            for ( int column = 0; column <= row; column++ ) {
+                value += choleskyFactor[rowStart + column] * probabilities[column];
+            }
+            probabilities[row] = StandardNormal.cdf(value);
+        }
+    }
+}
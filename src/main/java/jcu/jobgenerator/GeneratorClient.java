@@ -0,0 +1,121 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import org.json.JSONObject;
+
+/**
+ * Client of the resident generator served by {@link GeneratorServer}.
+ *
+ * The client holds one connection, so it can send any number of requests
+ * without connecting again. Requests are sent one after another - each of
+ * them returns after the whole response is received.
+ *
+ * @author Michal Konopa
+ */
+final class GeneratorClient implements Closeable {
+    private final SocketChannel channel;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+
+
+    /**
+     * Connects to the generator server at specified address.
+     *
+     * @param address TCP address or Unix domain socket address of the server
+     * @throws IOException if the connection fails
+     */
+    GeneratorClient(SocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    // sends specified request
+    private void send(JSONObject requestJson) throws IOException {
+        requestJson.write(writer);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    // reads the next line of the response
+    private JSONObject receive() throws IOException {
+        String responseLine = reader.readLine();
+        if ( responseLine == null ) {
+            throw new EOFException("Connection closed before the end of the response.");
+        }
+        return new JSONObject(responseLine);
+    }
+
+    // returns summary of the status line of the response
+    private static JobAttributeSummary getSummary(JSONObject statusJson) throws IOException {
+        if ( !statusJson.getString(GeneratorServer.JNAME_STATUS).equals(GeneratorServer.STATUS_OK) ) {
+            throw new IOException(statusJson.optString(GeneratorServer.JNAME_MESSAGE));
+        }
+        return JobAttributeSummary.fromJson(statusJson.getJSONObject(GeneratorServer.JNAME_SUMMARY));
+    }
+
+    /**
+     * Generates jobs according to specified configuration into specified file
+     * on the side of the server. The summary of the jobs is written next
+     * to the file.
+     *
+     * @param configJson JSON object of the configuration
+     * @param jobsFile the jobs file, absolute, unless the server runs in
+     * the same working directory
+     * @return summary of the generated jobs
+     * @throws IOException if the communication fails, or if the server
+     * reports an error
+     */
+    JobAttributeSummary generate(JSONObject configJson, Path jobsFile) throws IOException {
+        JSONObject requestJson = new JSONObject();
+        requestJson.put(GeneratorServer.JNAME_CONFIG, configJson);
+        requestJson.put(GeneratorServer.JNAME_JOBS_FILE, jobsFile.toString());
+        send(requestJson);
+
+        return getSummary(receive());
+    }
+
+    /**
+     * Generates jobs according to specified configuration and passes them
+     * to specified consumer in the order of their generation, as they are
+     * streamed from the server.
+     *
+     * @param configJson JSON object of the configuration
+     * @param jobConsumer consumer of the jobs
+     * @return summary of the generated jobs
+     * @throws IOException if the communication fails, or if the server
+     * reports an error
+     */
+    JobAttributeSummary generate(JSONObject configJson, Consumer<Job> jobConsumer) throws IOException {
+        JSONObject requestJson = new JSONObject();
+        requestJson.put(GeneratorServer.JNAME_CONFIG, configJson);
+        send(requestJson);
+
+        while ( true ) {
+            JSONObject responseJson = receive();
+            if ( !responseJson.has(GeneratorServer.JNAME_JOB) ) {
+                return getSummary(responseJson);
+            }
+            jobConsumer.accept(DatasetJsonParser.parseJob(responseJson.getJSONObject(GeneratorServer.JNAME_JOB)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Resident server generating jobs on requests of local clients.
+ *
+ * The server listens on local TCP or Unix domain socket, so each generation
+ * runs in an already warmed up JVM instead of paying its startup. Requests
+ * and responses are JSON objects, one per line, so any tool able to write
+ * a line into a socket can be a client - see {@link GeneratorClient}.
+ * Each connection is served by a worker of a fixed pool and can send any
+ * number of requests one after another; connections beyond the size of
+ * the pool wait for a free worker.
+ *
+ * Request contains the configuration and optionally the path of the jobs
+ * file:
+ * {"config": {...}, "jobsFile": "/path/jobs.json"}
+ * If the file is given, the jobs are written into it and their summary and
+ * the state of the generator next to it. Otherwise each job is streamed back
+ * as a separate line:
+ * {"job": {...}}
+ * The response ends with the status line, which contains the summary of the
+ * jobs, or the message of the error:
+ * {"status": "ok", "summary": {...}}
+ * {"status": "error", "message": "..."}
+ * Relative paths, including the paths inside the configuration, are resolved
+ * against the working directory of the server.
+ *
+ * @author Michal Konopa
+ */
+final class GeneratorServer implements Runnable, Closeable {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(GeneratorServer.class);
+
+    // constants for fields names in JSON requests and responses
+    static final String JNAME_CONFIG = "config";
+    static final String JNAME_JOBS_FILE = "jobsFile";
+    static final String JNAME_JOB = "job";
+    static final String JNAME_STATUS = "status";
+    static final String JNAME_SUMMARY = "summary";
+    static final String JNAME_MESSAGE = "message";
+
+    // values of status of response
+    static final String STATUS_OK = "ok";
+    static final String STATUS_ERROR = "error";
+
+
+    private final SocketAddress address;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService workers;
+
+    private final AtomicLong servedRequestsNum = new AtomicLong();
+
+
+    /**
+     * Creates new server and binds it to specified address. The server starts
+     * accepting requests, when it is run.
+     *
+     * @param address TCP address (e.g. loopback) or Unix domain socket address
+     * @param workersNum number of connections served concurrently
+     * @throws IOException if the server cannot be bound
+     * @throws IllegalArgumentException if the number of workers is less than 1
+     */
+    GeneratorServer(SocketAddress address, int workersNum) throws IOException {
+        if ( workersNum < 1 ) {
+            throw new IllegalArgumentException("Invalid number of workers: " + workersNum);
+        }
+
+        this.serverChannel = (address instanceof UnixDomainSocketAddress)
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.address = serverChannel.getLocalAddress();
+        this.workers = Executors.newFixedThreadPool(workersNum);
+    }
+
+    // writes specified JSON object as one line
+    private static void writeLine(Writer writer, JSONObject lineJson) throws IOException {
+        lineJson.write(writer);
+        writer.write('\n');
+    }
+
+    // streams jobs of specified generator, each job on its own line
+    private static void streamJobs(JobGenerator generator, Writer writer) throws IOException {
+        while ( generator.hasNext() ) {
+            writer.write("{\"" + JNAME_JOB + "\":");
+            JobsJsonWriter.toJson(generator.next()).write(writer);
+            writer.write("}\n");
+        }
+    }
+
+    // generates jobs according to specified request and writes the response
+    private void handle(String requestLine, Writer writer) throws IOException {
+        JSONObject statusJson = new JSONObject();
+        try {
+            JSONObject requestJson = new JSONObject(requestLine);
+            ConfigSettings configSettings = ConfigSettingsFileReader.parse(requestJson.getJSONObject(JNAME_CONFIG));
+            JobGenerator generator = new JobGenerator(configSettings);
+
+            if ( requestJson.has(JNAME_JOBS_FILE) ) {
+                Path jobsFile = Paths.get(requestJson.getString(JNAME_JOBS_FILE));
+                JobsJsonWriter.writeJobs(generator, jobsFile);
+                JobsJsonWriter.writeSummary(generator.getSummary(), jobsFile);
+                generator.getState().write(jobsFile);
+            } else {
+                streamJobs(generator, writer);
+            }
+
+            statusJson.put(JNAME_STATUS, STATUS_OK);
+            statusJson.put(JNAME_SUMMARY, generator.getSummary().toJson());
+        } catch (JSONException | IllegalArgumentException | IllegalStateException ex) {
+            statusJson.put(JNAME_STATUS, STATUS_ERROR);
+            statusJson.put(JNAME_MESSAGE, "Invalid request: " + ex.getMessage());
+        } catch (IOException ex) {
+            statusJson.put(JNAME_STATUS, STATUS_ERROR);
+            statusJson.put(JNAME_MESSAGE, "Generation failed: " + ex.getMessage());
+        } catch (RuntimeException ex) {
+            // the client must always get the status line, otherwise it waits for it forever
+            logger.error("Unexpected error while generating jobs.", ex);
+            statusJson.put(JNAME_STATUS, STATUS_ERROR);
+            statusJson.put(JNAME_MESSAGE, "Generation failed: " + ex);
+        }
+
+        writeLine(writer, statusJson);
+        writer.flush();
+        servedRequestsNum.incrementAndGet();
+    }
+
+    // serves requests of specified connection, until the client closes it
+    private void serve(SocketChannel channel) {
+        try (
+                channel;
+                BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))
+        ) {
+            String requestLine;
+            while ( (requestLine = reader.readLine()) != null ) {
+                if ( !requestLine.isBlank() ) {
+                    handle(requestLine, writer);
+                }
+            }
+        } catch (AsynchronousCloseException ex) {
+            logger.info("Client connection closed by closing of the server.");
+        } catch (IOException ex) {
+            logger.error("Error while communicating with client.", ex);
+        }
+    }
+
+    /**
+     * @return the address, which the server is bound to
+     */
+    SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * @return the number of requests served so far
+     */
+    long getServedRequestsNum() {
+        return servedRequestsNum.get();
+    }
+
+    /**
+     * Accepts connections and passes them to the workers, until the server
+     * is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while ( true ) {
+                SocketChannel channel = serverChannel.accept();
+                workers.execute(() -> serve(channel));
+            }
+        } catch (AsynchronousCloseException ex) {
+            logger.info("Generator server closed. Served requests: " + servedRequestsNum.get());
+        } catch (IOException ex) {
+            logger.error("Error while accepting clients. Server will be terminated.", ex);
+        }
+    }
+
+    /**
+     * Stops accepting connections, interrupts the workers and closes
+     * the server.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        workers.shutdownNow();
+
+        if ( address instanceof UnixDomainSocketAddress unixAddress ) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.Random;
+import org.json.JSONObject;
+
+/**
+ * Saved state of job generator.
+ *
+ * Holds everything needed to continue the generation exactly as if it had
+ * never stopped - the configuration, the state of the random generator,
+ * the arrival time of the last job, the remaining jobs of the current burst,
+ * the number of generated jobs and the summary of their attributes. A trace
+ * extended by a generator restored from the state is the same as the trace
+ * generated by a single longer run.
+ *
+ * The state is stored as a small JSON file next to the jobs file, e.g.
+ * jobs.state.json for jobs.json. State of the random generator is stored
+ * in its serialized form encoded by Base64.
+ *
+ * The jobs file is always written before its state, so the state never
+ * refers to jobs missing in the file. But if the writing is interrupted
+ * between them (e.g. by a crash during an extension), the state does not
+ * include the jobs already appended and continuing from it would repeat
+ * them. Therefore the state holds the size of the jobs file it was saved
+ * with and a state of a jobs file of other size is refused.
+ *
+ * @author Michal Konopa
+ */
+final class GeneratorState {
+    // suffix of dataset files and of their state files
+    private static final String DATASET_FILE_SUFFIX = ".json";
+    private static final String STATE_FILE_SUFFIX = ".state.json";
+
+    // names of JSON fields
+    private static final String JNAME_CONFIG = "config";
+    private static final String JNAME_RANDOMIZER = "randomizer";
+    private static final String JNAME_LAST_JOB_ARRIVAL_TIME = "lastJobArrivalTime";
+    private static final String JNAME_REMAINING_BURST_JOBS_NUMBER = "remainingBurstJobsNumber";
+    private static final String JNAME_GENERATED_JOBS_NUMBER = "generatedJobsNumber";
+    private static final String JNAME_SUMMARY = "summary";
+    private static final String JNAME_JOBS_FILE_SIZE = "jobsFileSize";
+
+    // only the random generator may be deserialized from the state file
+    private static final ObjectInputFilter RANDOMIZER_FILTER = ObjectInputFilter.Config.createFilter(
+            Random.class.getName() + ";!*"
+    );
+
+    private final ConfigSettings configSettings;
+    private final byte[] randomizerState;
+    private final double lastJobArrivalTime;
+    private final long remainingBurstJobsNum;
+    private final long generatedJobsNum;
+    private final JSONObject summaryJson;
+
+
+    /**
+     * Creates new state. The random generator and the summary are copied, so
+     * the state does not change with further generation.
+     *
+     * @param configSettings configuration of the generator
+     * @param randomizer random generator of the generator
+     * @param lastJobArrivalTime arrival time of the last generated job
+     * @param remainingBurstJobsNum number of jobs of the current burst still
+     * to arrive
+     * @param generatedJobsNum number of generated jobs
+     * @param summary summary of attributes of the generated jobs
+     */
+    GeneratorState(
+            ConfigSettings configSettings,
+            Random randomizer,
+            double lastJobArrivalTime,
+            long remainingBurstJobsNum,
+            long generatedJobsNum,
+            JobAttributeSummary summary
+    ) {
+        this(
+                configSettings, serialize(randomizer), lastJobArrivalTime, remainingBurstJobsNum,
+                generatedJobsNum, summary.toJson()
+        );
+    }
+
+    private GeneratorState(
+            ConfigSettings configSettings,
+            byte[] randomizerState,
+            double lastJobArrivalTime,
+            long remainingBurstJobsNum,
+            long generatedJobsNum,
+            JSONObject summaryJson
+    ) {
+        this.configSettings = configSettings;
+        this.randomizerState = randomizerState;
+        this.lastJobArrivalTime = lastJobArrivalTime;
+        this.remainingBurstJobsNum = remainingBurstJobsNum;
+        this.generatedJobsNum = generatedJobsNum;
+        this.summaryJson = summaryJson;
+    }
+
+    // returns serialized form of specified random generator
+    private static byte[] serialize(Random randomizer) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try ( ObjectOutputStream objectStream = new ObjectOutputStream(byteStream) ) {
+            objectStream.writeObject(randomizer);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Serialization of random generator failed.", ex);
+        }
+        return byteStream.toByteArray();
+    }
+
+    // returns random generator of specified serialized form
+    private static Random deserialize(byte[] randomizerState) {
+        try ( ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(randomizerState)) ) {
+            objectStream.setObjectInputFilter(RANDOMIZER_FILTER);
+            return (Random) objectStream.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new IllegalArgumentException("Invalid state of random generator.", ex);
+        }
+    }
+
+    /**
+     * Reads state of specified jobs file from its state file.
+     *
+     * @param jobsFile jobs file
+     * @return state stored in the state file of the jobs file
+     * @throws IOException if the state file cannot be read, or if the jobs
+     * file was changed after the state was saved
+     */
+    static GeneratorState read(Path jobsFile) throws IOException {
+        JSONObject stateJson = new JSONObject(Files.readString(getStateFile(jobsFile), StandardCharsets.UTF_8));
+        if ( stateJson.getLong(JNAME_JOBS_FILE_SIZE) != Files.size(jobsFile) ) {
+            throw new IOException(
+                    "Jobs file was changed after its state was saved, e.g. by an interrupted extension: " + jobsFile
+            );
+        }
+        
+        return new GeneratorState(
+                ConfigSettingsFileReader.parse(stateJson.getJSONObject(JNAME_CONFIG)),
+                Base64.getDecoder().decode(stateJson.getString(JNAME_RANDOMIZER)),
+                stateJson.getDouble(JNAME_LAST_JOB_ARRIVAL_TIME),
+                stateJson.getLong(JNAME_REMAINING_BURST_JOBS_NUMBER),
+                stateJson.getLong(JNAME_GENERATED_JOBS_NUMBER),
+                stateJson.getJSONObject(JNAME_SUMMARY)
+        );
+    }
+
+    /**
+     * Writes the state of specified jobs file into its state file. Must be
+     * called after all the jobs are written into the jobs file. The state is
+     * first written into a temporary file, which then replaces the state
+     * file, so the state file always contains a complete state.
+     *
+     * @param jobsFile jobs file
+     * @throws IOException if the state file cannot be written
+     */
+    void write(Path jobsFile) throws IOException {
+        JSONObject stateJson = new JSONObject();
+        stateJson.put(JNAME_CONFIG, ConfigSettingsFileWriter.toJson(configSettings));
+        stateJson.put(JNAME_RANDOMIZER, Base64.getEncoder().encodeToString(randomizerState));
+        stateJson.put(JNAME_LAST_JOB_ARRIVAL_TIME, lastJobArrivalTime);
+        stateJson.put(JNAME_REMAINING_BURST_JOBS_NUMBER, remainingBurstJobsNum);
+        stateJson.put(JNAME_GENERATED_JOBS_NUMBER, generatedJobsNum);
+        stateJson.put(JNAME_SUMMARY, summaryJson);
+        stateJson.put(JNAME_JOBS_FILE_SIZE, Files.size(jobsFile));
+
+        Path file = getStateFile(jobsFile);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tempFile, stateJson.toString(), StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the state file belonging to specified dataset file, e.g.
+     * jobs.state.json for jobs.json.
+     *
+     * @param datasetFile dataset file
+     * @return state file lying next to the dataset file
+     */
+    static Path getStateFile(Path datasetFile) {
+        String fileName = datasetFile.getFileName().toString();
+        if ( fileName.endsWith(DATASET_FILE_SUFFIX) ) {
+            fileName = fileName.substring(0, fileName.length() - DATASET_FILE_SUFFIX.length());
+        }
+        return datasetFile.resolveSibling(fileName + STATE_FILE_SUFFIX);
+    }
+
+    /**
+     * @return the configuration of the generator
+     */
+    ConfigSettings getConfigSettings() {
+        return configSettings;
+    }
+
+    /**
+     * @return new random generator in the saved state
+     */
+    Random getRandomizer() {
+        return deserialize(randomizerState);
+    }
+
+    /**
+     * @return the arrival time of the last generated job
+     */
+    double getLastJobArrivalTime() {
+        return lastJobArrivalTime;
+    }
+
+    /**
+     * @return the number of jobs of the current burst still to arrive
+     */
+    long getRemainingBurstJobsNum() {
+        return remainingBurstJobsNum;
+    }
+
+    /**
+     * @return the number of generated jobs
+     */
+    long getGeneratedJobsNum() {
+        return generatedJobsNum;
+    }
+
+    /**
+     * @return new summary of attributes of the generated jobs
+     */
+    JobAttributeSummary getSummary() {
+        return JobAttributeSummary.fromJson(summaryJson);
+    }
+}
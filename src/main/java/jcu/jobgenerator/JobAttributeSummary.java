@@ -0,0 +1,264 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.json.JSONObject;
+
+/**
+ * Summary of attributes of a stream of jobs.
+ *
+ * The summary is maintained while the jobs pass through a generator or
+ * a reader of a dataset, so the statistics of a trace are known without
+ * rescanning it. Each numeric attribute is kept in a quantile sketch, jobs
+ * without deadline are only counted. The inter-arrival gap of the first
+ * job is measured from time 0, the start of each trace.
+ *
+ * Summaries of independent shards of a workload, e.g. written by parallel
+ * runs of the generator, can be merged. Merging of the job attributes is
+ * exact - the merged summary holds the same values as the summary of all
+ * the jobs. Inter-arrival gaps are not interleaved, the merged gaps are
+ * the union of the gaps within each shard, the first of them measured from
+ * time 0, and the last arrival time is the latest one of the shards.
+ *
+ * @author Michal Konopa
+ */
+final class JobAttributeSummary {
+    // suffix of dataset files and of their summary files
+    private static final String DATASET_FILE_SUFFIX = ".json";
+    private static final String SUMMARY_FILE_SUFFIX = ".summary.json";
+
+    // constants for fields names in JSON document
+    private static final String JNAME_JOBS_NUMBER = "jobsNumber";
+    private static final String JNAME_STOPPABLE_JOBS_NUMBER = "stoppableJobsNumber";
+    private static final String JNAME_NO_DEADLINE_JOBS_NUMBER = "noDeadlineJobsNumber";
+    private static final String JNAME_LAST_ARRIVAL_TIME = "lastArrivalTime";
+    private static final String JNAME_PRIORITY = "priority";
+    private static final String JNAME_DEADLINE = "deadline";
+    private static final String JNAME_TIMESLICES_NUMBER = "timeslicesNumber";
+    private static final String JNAME_RAM_PER_TIMESLICE = "ramPerTimeslice";
+    private static final String JNAME_CUDA_CORES_NUMBER = "cudaCoresNumber";
+    private static final String JNAME_INTER_ARRIVAL_GAP = "interArrivalGap";
+
+    private long jobsNum = 0;
+    private long stoppableJobsNum = 0;
+    private long noDeadlineJobsNum = 0;
+
+    // arrival time of the last added job
+    private double lastArrivalTime = 0;
+
+    private QuantileSketch priority = new QuantileSketch();
+    private QuantileSketch deadline = new QuantileSketch();
+    private QuantileSketch timeslicesNum = new QuantileSketch();
+    private QuantileSketch ramPerTimeslice = new QuantileSketch();
+    private QuantileSketch cudaCoresNum = new QuantileSketch();
+    private QuantileSketch interArrivalGap = new QuantileSketch();
+
+
+    /**
+     * Adds attributes of specified job. Jobs are expected in the order of
+     * their arrival, negative gaps of unsorted jobs are added as 0.
+     *
+     * @param job job to add
+     */
+    void add(Job job) {
+        jobsNum++;
+        if ( job.isStopable() ) {
+            stoppableJobsNum++;
+        }
+
+        priority.add(Math.max(0, job.getPriority()));
+        if ( job.getDeadline() == Job.NO_DEADLINE ) {
+            noDeadlineJobsNum++;
+        } else {
+            deadline.add(Math.max(0, job.getDeadline()));
+        }
+
+        int[] timeslices = job.getTimeslices();
+        timeslicesNum.add(timeslices.length);
+        for ( int timeslice : timeslices ) {
+            ramPerTimeslice.add(Math.max(0, timeslice));
+        }
+        cudaCoresNum.add(Math.max(0, job.getCudaCoresNumber()));
+
+        interArrivalGap.add(Math.max(0, job.getArrivalTime() - lastArrivalTime));
+        lastArrivalTime = job.getArrivalTime();
+    }
+
+    /**
+     * Adds all jobs of specified summary into this summary. Inter-arrival
+     * gaps of the summary are added as they are, they are not recomputed
+     * between jobs of both summaries.
+     *
+     * @param summary summary to add
+     */
+    void merge(JobAttributeSummary summary) {
+        jobsNum += summary.jobsNum;
+        stoppableJobsNum += summary.stoppableJobsNum;
+        noDeadlineJobsNum += summary.noDeadlineJobsNum;
+        lastArrivalTime = Math.max(lastArrivalTime, summary.lastArrivalTime);
+
+        priority.merge(summary.priority);
+        deadline.merge(summary.deadline);
+        timeslicesNum.merge(summary.timeslicesNum);
+        ramPerTimeslice.merge(summary.ramPerTimeslice);
+        cudaCoresNum.merge(summary.cudaCoresNum);
+        interArrivalGap.merge(summary.interArrivalGap);
+    }
+
+    /**
+     * @return the number of added jobs
+     */
+    long getJobsNum() {
+        return jobsNum;
+    }
+
+    /**
+     * @return the number of added stoppable jobs
+     */
+    long getStoppableJobsNum() {
+        return stoppableJobsNum;
+    }
+
+    /**
+     * @return the number of added jobs without deadline
+     */
+    long getNoDeadlineJobsNum() {
+        return noDeadlineJobsNum;
+    }
+
+    /**
+     * @return the sketch of priorities
+     */
+    QuantileSketch getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the sketch of deadlines of jobs with deadline
+     */
+    QuantileSketch getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return the sketch of numbers of timeslices
+     */
+    QuantileSketch getTimeslicesNum() {
+        return timeslicesNum;
+    }
+
+    /**
+     * @return the sketch of RAM usages of all timeslices
+     */
+    QuantileSketch getRamPerTimeslice() {
+        return ramPerTimeslice;
+    }
+
+    /**
+     * @return the sketch of numbers of CUDA cores
+     */
+    QuantileSketch getCudaCoresNum() {
+        return cudaCoresNum;
+    }
+
+    /**
+     * @return the sketch of gaps between arrivals of consecutive jobs
+     */
+    QuantileSketch getInterArrivalGap() {
+        return interArrivalGap;
+    }
+
+    /**
+     * @return JSON representation of the summary
+     */
+    JSONObject toJson() {
+        JSONObject summaryJson = new JSONObject();
+        summaryJson.put(JNAME_JOBS_NUMBER, jobsNum);
+        summaryJson.put(JNAME_STOPPABLE_JOBS_NUMBER, stoppableJobsNum);
+        summaryJson.put(JNAME_NO_DEADLINE_JOBS_NUMBER, noDeadlineJobsNum);
+        summaryJson.put(JNAME_LAST_ARRIVAL_TIME, lastArrivalTime);
+        summaryJson.put(JNAME_PRIORITY, priority.toJson());
+        summaryJson.put(JNAME_DEADLINE, deadline.toJson());
+        summaryJson.put(JNAME_TIMESLICES_NUMBER, timeslicesNum.toJson());
+        summaryJson.put(JNAME_RAM_PER_TIMESLICE, ramPerTimeslice.toJson());
+        summaryJson.put(JNAME_CUDA_CORES_NUMBER, cudaCoresNum.toJson());
+        summaryJson.put(JNAME_INTER_ARRIVAL_GAP, interArrivalGap.toJson());
+        return summaryJson;
+    }
+
+    /**
+     * Creates summary from its JSON representation.
+     *
+     * @param summaryJson JSON representation of the summary
+     * @return the summary
+     */
+    static JobAttributeSummary fromJson(JSONObject summaryJson) {
+        JobAttributeSummary summary = new JobAttributeSummary();
+        summary.jobsNum = summaryJson.getLong(JNAME_JOBS_NUMBER);
+        summary.stoppableJobsNum = summaryJson.getLong(JNAME_STOPPABLE_JOBS_NUMBER);
+        summary.noDeadlineJobsNum = summaryJson.getLong(JNAME_NO_DEADLINE_JOBS_NUMBER);
+        summary.lastArrivalTime = summaryJson.getDouble(JNAME_LAST_ARRIVAL_TIME);
+        summary.priority = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_PRIORITY));
+        summary.deadline = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_DEADLINE));
+        summary.timeslicesNum = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_TIMESLICES_NUMBER));
+        summary.ramPerTimeslice = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_RAM_PER_TIMESLICE));
+        summary.cudaCoresNum = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_CUDA_CORES_NUMBER));
+        summary.interArrivalGap = QuantileSketch.fromJson(summaryJson.getJSONObject(JNAME_INTER_ARRIVAL_GAP));
+        return summary;
+    }
+
+    /**
+     * Reads summary from specified file.
+     *
+     * @param file summary file
+     * @return the summary
+     * @throws IOException if the file cannot be read
+     */
+    static JobAttributeSummary read(Path file) throws IOException {
+        return fromJson(new JSONObject(Files.readString(file, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Writes the summary into specified file.
+     *
+     * @param file summary file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Files.writeString(file, toJson().toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the summary file belonging to specified dataset file, e.g.
+     * jobs.summary.json for jobs.json.
+     *
+     * @param datasetFile dataset file
+     * @return summary file lying next to the dataset file
+     */
+    static Path getSummaryFile(Path datasetFile) {
+        String fileName = datasetFile.getFileName().toString();
+        if ( fileName.endsWith(DATASET_FILE_SUFFIX) ) {
+            fileName = fileName.substring(0, fileName.length() - DATASET_FILE_SUFFIX.length());
+        }
+        return datasetFile.resolveSibling(fileName + SUMMARY_FILE_SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return "jobs: " + jobsNum
+                + "\nstoppable jobs: " + stoppableJobsNum
+                + "\njobs without deadline: " + noDeadlineJobsNum
+                + "\npriority: " + priority
+                + "\ndeadline: " + deadline
+                + "\ntimeslices number: " + timeslicesNum
+                + "\nRAM per timeslice: " + ramPerTimeslice
+                + "\nCUDA cores number: " + cudaCoresNum
+                + "\ninter-arrival gap: " + interArrivalGap;
+    }
+}
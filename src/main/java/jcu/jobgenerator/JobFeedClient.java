@@ -0,0 +1,172 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Subscriber of the job feed served by {@link JobFeedServer}.
+ *
+ * Jobs received from the feed are returned in the order of their receiving.
+ * The client grants the server credits for the specified window of jobs and
+ * replenishes them, as the jobs are taken from the client, so at most
+ * the window of jobs is in flight at any time. Iteration ends, when
+ * the server sends the end of the feed.
+ *
+ * @author Michal Konopa
+ */
+public final class JobFeedClient implements Iterator<Job>, Closeable {
+    // initial size of input buffer
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final SocketChannel channel;
+
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ByteBuffer creditBuffer = ByteBuffer.allocate(JobFeedCodec.CREDIT_FRAME_SIZE);
+
+    // number of jobs in flight
+    private final int creditWindow;
+
+    // number of jobs taken since the last replenishment of credits
+    private int takenJobsNum = 0;
+
+    // job read ahead by hasNext()
+    private Job nextJob = null;
+
+    // indicates, whether the end of the feed was received
+    private boolean isEnd = false;
+
+
+    /**
+     * Connects to the job feed server at specified address.
+     *
+     * @param address TCP address or Unix domain socket address of the server
+     * @param creditWindow maximal number of jobs in flight
+     * @throws IOException if the connection fails
+     * @throws IllegalArgumentException if the credit window is less than 1
+     */
+    public JobFeedClient(SocketAddress address, int creditWindow) throws IOException {
+        if ( creditWindow < 1 ) {
+            throw new IllegalArgumentException("Invalid credit window: " + creditWindow);
+        }
+
+        this.creditWindow = creditWindow;
+        this.channel = SocketChannel.open(address);
+        this.readBuffer.flip();
+
+        grantCredits(creditWindow);
+    }
+
+    // grants specified number of credits to the server
+    private void grantCredits(int credits) throws IOException {
+        creditBuffer.clear();
+        JobFeedCodec.writeCredit(creditBuffer, credits);
+        creditBuffer.flip();
+        while ( creditBuffer.hasRemaining() ) {
+            channel.write(creditBuffer);
+        }
+    }
+
+    // reads from the server, until at least specified number of bytes is available
+    private void fill(int length) throws IOException {
+        if ( length > readBuffer.capacity() ) {
+            ByteBuffer largerBuffer = ByteBuffer.allocate(length);
+            largerBuffer.put(readBuffer);
+            largerBuffer.flip();
+            readBuffer = largerBuffer;
+        }
+
+        while ( readBuffer.remaining() < length ) {
+            readBuffer.compact();
+            int readBytesNum = channel.read(readBuffer);
+            readBuffer.flip();
+            if ( readBytesNum == -1 ) {
+                throw new EOFException("Job feed closed before its end.");
+            }
+        }
+    }
+
+    // reads next job from the feed, returns null at the end of the feed
+    private Job readJob() throws IOException {
+        fill(JobFeedCodec.LENGTH_SIZE);
+        int length = readBuffer.getInt();
+        fill(length);
+
+        byte type = readBuffer.get();
+        switch (type) {
+            case JobFeedCodec.JOB_FRAME -> {
+                // payload is limited, so a malformed frame cannot read the next one
+                int limit = readBuffer.limit();
+                readBuffer.limit(readBuffer.position() + length - 1);
+                Job job = JobFeedCodec.readJob(readBuffer);
+                readBuffer.limit(limit);
+                return job;
+            }
+            case JobFeedCodec.END_FRAME -> {
+                return null;
+            }
+            default ->
+                throw new IOException("Unexpected frame from server: " + type);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if ( nextJob != null ) {
+            return true;
+        }
+        if ( isEnd ) {
+            return false;
+        }
+
+        try {
+            nextJob = readJob();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if ( nextJob == null ) {
+            isEnd = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Job next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException("No more jobs in the feed.");
+        }
+
+        Job job = nextJob;
+        nextJob = null;
+
+        // credits are replenished in batches to save round trips
+        takenJobsNum++;
+        if ( takenJobsNum >= Math.max(1, creditWindow / 2) ) {
+            try {
+                grantCredits(takenJobsNum);
+            } catch (IOException ex) {
+                // server may already have ended the feed, broken feed is detected by the next read
+            }
+            takenJobsNum = 0;
+        }
+
+        return job;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of frames of the job feed.
+ *
+ * Each frame starts with its length [int] (without the length itself)
+ * followed by the frame type [byte] and the payload of the frame:
+ * - JOB (server to subscriber): arrival time [double], priority [int],
+ *   stoppability [byte], deadline [int], number of CUDA cores [int],
+ *   number of timeslices [int] and the timeslices [int each]
+ * - CREDIT (subscriber to server): positive number of granted jobs [int]
+ * - END (server to subscriber): no payload, no more jobs will be sent
+ *
+ * All values are big-endian.
+ *
+ * @author Michal Konopa
+ */
+final class JobFeedCodec {
+
+    // types of frames
+    static final byte JOB_FRAME = 1;
+    static final byte CREDIT_FRAME = 2;
+    static final byte END_FRAME = 3;
+
+    // size of the length of frame
+    static final int LENGTH_SIZE = Integer.BYTES;
+
+    // size of the job payload without the timeslices
+    private static final int JOB_FIXED_SIZE = Double.BYTES + 4 * Integer.BYTES + 1;
+
+    // size of the whole frame of job without timeslices
+    static final int MIN_JOB_FRAME_SIZE = LENGTH_SIZE + 1 + JOB_FIXED_SIZE;
+
+    // size of the whole credit frame
+    static final int CREDIT_FRAME_SIZE = LENGTH_SIZE + 1 + Integer.BYTES;
+
+    // size of the whole end frame
+    static final int END_FRAME_SIZE = LENGTH_SIZE + 1;
+
+
+    private JobFeedCodec() {
+    }
+
+    /**
+     * Returns size of the whole frame of specified job.
+     *
+     * @param job job
+     * @return size of the frame [in bytes]
+     */
+    static int getJobFrameSize(Job job) {
+        return MIN_JOB_FRAME_SIZE + job.getTimeslices().length * Integer.BYTES;
+    }
+
+    /**
+     * Writes frame of specified job into the buffer. There must be enough
+     * space in the buffer.
+     *
+     * @param buffer target buffer
+     * @param job job to write
+     */
+    static void writeJob(ByteBuffer buffer, Job job) {
+        int[] timeslices = job.getTimeslices();
+
+        buffer.putInt(getJobFrameSize(job) - LENGTH_SIZE);
+        buffer.put(JOB_FRAME);
+        buffer.putDouble(job.getArrivalTime());
+        buffer.putInt(job.getPriority());
+        buffer.put((byte) (job.isStopable() ? 1 : 0));
+        buffer.putInt(job.getDeadline());
+        buffer.putInt(job.getCudaCoresNumber());
+        buffer.putInt(timeslices.length);
+        for ( int timeslice : timeslices ) {
+            buffer.putInt(timeslice);
+        }
+    }
+
+    /**
+     * Writes credit frame into the buffer. There must be enough space in
+     * the buffer.
+     *
+     * @param buffer target buffer
+     * @param credits positive number of granted jobs
+     */
+    static void writeCredit(ByteBuffer buffer, int credits) {
+        buffer.putInt(CREDIT_FRAME_SIZE - LENGTH_SIZE);
+        buffer.put(CREDIT_FRAME);
+        buffer.putInt(credits);
+    }
+
+    /**
+     * Writes end frame into the buffer. There must be enough space in
+     * the buffer.
+     *
+     * @param buffer target buffer
+     */
+    static void writeEnd(ByteBuffer buffer) {
+        buffer.putInt(END_FRAME_SIZE - LENGTH_SIZE);
+        buffer.put(END_FRAME);
+    }
+
+    /**
+     * Reads payload of job frame, whose type was already read.
+     *
+     * @param buffer source buffer positioned at the payload
+     * @return job
+     * @throws IOException if the payload is malformed
+     */
+    static Job readJob(ByteBuffer buffer) throws IOException {
+        double arrivalTime = buffer.getDouble();
+        int priority = buffer.getInt();
+        boolean isStopable = (buffer.get() != 0);
+        int deadline = buffer.getInt();
+        int cudaCoresNumber = buffer.getInt();
+
+        int timeslicesNum = buffer.getInt();
+        if ( timeslicesNum < 0 || timeslicesNum > buffer.remaining() / Integer.BYTES ) {
+            throw new IOException("Invalid number of timeslices in job frame: " + timeslicesNum);
+        }
+        int[] timeslices = new int[timeslicesNum];
+        for ( int tmId = 0; tmId < timeslicesNum; tmId++ ) {
+            timeslices[tmId] = buffer.getInt();
+        }
+
+        return new Job(priority, isStopable, deadline, timeslices, cudaCoresNumber, arrivalTime);
+    }
+}
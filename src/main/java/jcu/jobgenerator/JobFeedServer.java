@@ -0,0 +1,403 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Server streaming released jobs to out-of-process consumers.
+ *
+ * The server takes jobs from the shared queue of job producer and sends them
+ * over local TCP or Unix domain socket to the connected subscribers - see
+ * {@link JobFeedClient}. Each job is sent to exactly one subscriber, so
+ * the subscribers share the feed in the same way as in-process consumers
+ * share the queue.
+ *
+ * Flow control is credit-based: each subscriber grants the server credits
+ * for the number of jobs it is able to accept and the server sends jobs only
+ * to subscribers with remaining credits (in round-robin order). If no
+ * subscriber has credits, jobs stay in the shared queue, so slow subscribers
+ * slow down the producer in the same way as slow in-process consumers.
+ *
+ * All sockets are handled by a single thread using non-blocking NIO. Jobs
+ * are encoded by {@link JobFeedCodec}.
+ *
+ * @author Michal Konopa
+ */
+public final class JobFeedServer implements Runnable, Closeable {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(JobFeedServer.class);
+
+    // initial size of output buffer of each subscriber
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    // size of input buffer of each subscriber
+    private static final int READ_BUFFER_SIZE = JobFeedCodec.CREDIT_FRAME_SIZE * 64;
+
+    // timeout [in milliseconds] of waiting for sockets, when no job can be sent
+    private static final long SELECT_TIMEOUT = 100;
+
+    // timeout [in nanoseconds] of waiting for jobs, when some job can be sent
+    private static final long POLL_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // connected subscriber
+    private static final class Subscriber {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private long credits = 0;
+
+        private Subscriber(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+
+
+    // source of jobs
+    private final BlockingQueue<Job> source;
+
+    private final SocketAddress address;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    // index of subscriber, which the next job will be offered to
+    private int nextSubscriberId = 0;
+
+    // job taken from the source, which could not be sent yet
+    private Job pendingJob = null;
+
+    // indicates, that the source will receive no more jobs
+    private volatile boolean isFinishing = false;
+
+    private volatile long sentJobsNum = 0;
+
+
+    /**
+     * Creates new server feeding jobs from specified shared queue and binds
+     * it to specified address. The server starts serving, when it is run.
+     *
+     * @param source shared queue of jobs
+     * @param address TCP address (e.g. loopback) or Unix domain socket address
+     * @throws IOException if the server cannot be bound
+     */
+    public JobFeedServer(BlockingQueue<Job> source, SocketAddress address) throws IOException {
+        this.source = source;
+        this.selector = Selector.open();
+        this.serverChannel = (address instanceof UnixDomainSocketAddress)
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.address = serverChannel.getLocalAddress();
+    }
+
+    // accepts new subscriber
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if ( channel == null ) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        Subscriber subscriber = new Subscriber(channel, key);
+        key.attach(subscriber);
+        subscribers.add(subscriber);
+
+        logger.info("Subscriber connected: " + channel.getRemoteAddress());
+    }
+
+    // disconnects specified subscriber
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.key.cancel();
+        try {
+            subscriber.channel.close();
+        } catch (IOException ex) {
+            logger.error("Error while closing subscriber connection.", ex);
+        }
+
+        logger.info("Subscriber disconnected.");
+    }
+
+    // reads credits granted by specified subscriber
+    private void readCredits(Subscriber subscriber) throws IOException {
+        ByteBuffer readBuffer = subscriber.readBuffer;
+        if ( subscriber.channel.read(readBuffer) == -1 ) {
+            disconnect(subscriber);
+            return;
+        }
+
+        readBuffer.flip();
+        while ( readBuffer.remaining() >= JobFeedCodec.CREDIT_FRAME_SIZE ) {
+            int length = readBuffer.getInt();
+            byte type = readBuffer.get();
+            if ( type != JobFeedCodec.CREDIT_FRAME
+                    || length != JobFeedCodec.CREDIT_FRAME_SIZE - JobFeedCodec.LENGTH_SIZE ) {
+                logger.error("Unexpected frame from subscriber: " + type);
+                disconnect(subscriber);
+                return;
+            }
+            int credits = readBuffer.getInt();
+            if ( credits <= 0 ) {
+                logger.error("Invalid number of credits from subscriber: " + credits);
+                disconnect(subscriber);
+                return;
+            }
+            subscriber.credits += credits;
+        }
+        readBuffer.compact();
+    }
+
+    // writes as much of pending output of specified subscriber as possible
+    private void flush(Subscriber subscriber) throws IOException {
+        ByteBuffer writeBuffer = subscriber.writeBuffer;
+        writeBuffer.flip();
+        subscriber.channel.write(writeBuffer);
+        boolean isFlushed = !writeBuffer.hasRemaining();
+        writeBuffer.compact();
+
+        int interestOps = SelectionKey.OP_READ | (isFlushed ? 0 : SelectionKey.OP_WRITE);
+        if ( subscriber.key.interestOps() != interestOps ) {
+            subscriber.key.interestOps(interestOps);
+        }
+    }
+
+    // handles all the ready sockets
+    private void processSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+        while ( keyIterator.hasNext() ) {
+            SelectionKey key = keyIterator.next();
+            keyIterator.remove();
+
+            if ( !key.isValid() ) {
+                continue;
+            }
+            if ( key.isAcceptable() ) {
+                accept();
+                continue;
+            }
+
+            Subscriber subscriber = (Subscriber) key.attachment();
+            try {
+                if ( key.isReadable() ) {
+                    readCredits(subscriber);
+                }
+                if ( key.isValid() && key.isWritable() ) {
+                    flush(subscriber);
+                }
+            } catch (IOException ex) {
+                logger.error("Error while communicating with subscriber.", ex);
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    // indicates, whether specified subscriber can accept job frame of specified size
+    private static boolean canAccept(Subscriber subscriber, int frameSize) {
+        if ( subscriber.credits <= 0 ) {
+            return false;
+        }
+        // frame larger than the whole buffer is accepted by empty buffer
+        return subscriber.writeBuffer.remaining() >= frameSize || subscriber.writeBuffer.position() == 0;
+    }
+
+    // indicates, whether some subscriber can accept the next job
+    private boolean canSendJob() {
+        int frameSize = (pendingJob != null)
+                ? JobFeedCodec.getJobFrameSize(pendingJob)
+                : JobFeedCodec.MIN_JOB_FRAME_SIZE;
+
+        for ( Subscriber subscriber : subscribers ) {
+            if ( canAccept(subscriber, frameSize) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Sends specified job to the next subscriber with credits and free space
+     * in its output buffer. Returns false, if there is no such subscriber.
+     */
+    private boolean send(Job job) {
+        int frameSize = JobFeedCodec.getJobFrameSize(job);
+
+        for ( int attemptId = 0; attemptId < subscribers.size(); attemptId++ ) {
+            Subscriber subscriber = subscribers.get(nextSubscriberId++ % subscribers.size());
+            if ( !canAccept(subscriber, frameSize) ) {
+                continue;
+            }
+
+            if ( subscriber.writeBuffer.remaining() < frameSize ) {
+                subscriber.writeBuffer = ByteBuffer.allocate(frameSize);
+            }
+
+            JobFeedCodec.writeJob(subscriber.writeBuffer, job);
+            subscriber.credits--;
+            sentJobsNum++;
+            return true;
+        }
+
+        return false;
+    }
+
+    // sends jobs from the source, while some subscriber can accept them
+    private void sendJobs() throws IOException, InterruptedException {
+        if ( pendingJob == null ) {
+            pendingJob = source.poll(POLL_TIMEOUT, TimeUnit.NANOSECONDS);
+        }
+
+        while ( pendingJob != null && send(pendingJob) ) {
+            pendingJob = null;
+            if ( canSendJob() ) {
+                pendingJob = source.poll();
+            }
+        }
+
+        for ( Subscriber subscriber : List.copyOf(subscribers) ) {
+            if ( subscriber.writeBuffer.position() == 0 ) {
+                continue;
+            }
+            try {
+                flush(subscriber);
+            } catch (IOException ex) {
+                logger.error("Error while sending jobs to subscriber.", ex);
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    // sends end of the feed to all subscribers and waits, until it is delivered
+    private void endFeed() throws IOException {
+        for ( Subscriber subscriber : subscribers ) {
+            if ( subscriber.writeBuffer.remaining() < JobFeedCodec.END_FRAME_SIZE ) {
+                ByteBuffer writeBuffer = ByteBuffer.allocate(
+                        subscriber.writeBuffer.position() + JobFeedCodec.END_FRAME_SIZE
+                );
+                subscriber.writeBuffer.flip();
+                writeBuffer.put(subscriber.writeBuffer);
+                subscriber.writeBuffer = writeBuffer;
+            }
+            JobFeedCodec.writeEnd(subscriber.writeBuffer);
+        }
+
+        while ( true ) {
+            boolean isDelivered = true;
+            for ( Subscriber subscriber : List.copyOf(subscribers) ) {
+                try {
+                    flush(subscriber);
+                    isDelivered &= (subscriber.writeBuffer.position() == 0);
+                } catch (IOException ex) {
+                    logger.error("Error while sending end of feed to subscriber.", ex);
+                    disconnect(subscriber);
+                }
+            }
+            if ( isDelivered ) {
+                return;
+            }
+
+            selector.select(SELECT_TIMEOUT);
+            processSelectedKeys();
+        }
+    }
+
+    // serves the subscribers until the feed is finished
+    private void serve() throws IOException, InterruptedException {
+        while ( true ) {
+            if ( pendingJob == null && isFinishing && source.isEmpty() ) {
+                endFeed();
+                logger.info("Job feed complete. Sent jobs: " + sentJobsNum);
+                return;
+            }
+
+            if ( canSendJob() ) {
+                selector.selectNow();
+            } else {
+                selector.select(SELECT_TIMEOUT);
+            }
+            processSelectedKeys();
+
+            if ( canSendJob() ) {
+                sendJobs();
+            }
+        }
+    }
+
+    /**
+     * Indicates, that no more jobs will be placed into the shared queue.
+     * The server sends the remaining jobs from the queue, then sends the end
+     * of the feed to all subscribers and stops.
+     */
+    public void finish() {
+        isFinishing = true;
+        selector.wakeup();
+    }
+
+    /**
+     * @return the address, which the server is bound to
+     */
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * @return the number of jobs sent so far
+     */
+    public long getSentJobsNum() {
+        return sentJobsNum;
+    }
+
+    @Override
+    public void run() {
+        try {
+            serve();
+        } catch (InterruptedException ex) {
+            logger.error("Job feed server interrupted. Server will be terminated.");
+        } catch (IOException ex) {
+            logger.error("Error while serving job feed. Server will be terminated.", ex);
+        }
+    }
+
+    /**
+     * Disconnects all subscribers and closes the server.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        for ( Subscriber subscriber : List.copyOf(subscribers) ) {
+            disconnect(subscriber);
+        }
+        selector.close();
+        serverChannel.close();
+
+        if ( address instanceof UnixDomainSocketAddress unixAddress ) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+}
@@ -4,9 +4,13 @@
  */
 package jcu.jobgenerator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Random;
 
 /**
@@ -15,65 +19,237 @@ import java.util.Random;
  * Jobs are generated according to specified configuration settings by the
  * usage of Java standard classes.
  *
+ * Generator is an iterator producing jobs lazily one by one, so it can be
+ * used directly as a source of jobs of the job producer without holding
+ * the whole workload in memory. Each instance holds its own state, so
+ * several generators can run concurrently. Summary of attributes of
+ * the generated jobs is maintained during the generation.
+ *
+ * If the settings specify several classes of jobs, the class of each job
+ * is drawn from an alias table in constant time, so the mixture of classes
+ * is generated in a single pass with no merging of separate workloads.
+ *
+ * If the settings specify correlation of job properties, probabilities of
+ * values of the correlated properties are drawn together by Gaussian copula
+ * for each job and the values are given by the quantile functions of their
+ * distributions.
+ *
+ * State of the generator can be saved and a new generator restored from it
+ * continues the generation exactly - see {@link GeneratorState}.
+ *
+ * Settings of job arrivals can be changed during the generation, e.g. to ramp
+ * the load of a running replay up and down. The arrival of the last generated
+ * job is then drawn again by the new settings from the arrival of the job
+ * before it, so the change applies to the job, which is just waiting for its
+ * release. The last generated job is therefore added into the summary only
+ * with the next job or when the summary is requested.
+ *
  * @author Michal Konopa
  */
-final class JobGenerator {
-
+final class JobGenerator implements Iterator<Job> {
+    
+    /**
+     * Number of jobs meaning unlimited generation.
+     */
+    static final long UNLIMITED_JOBS_NUM = Long.MAX_VALUE;
+    
+    // config settings
+    private final ConfigSettings configSettings;
+    
+    // number of jobs to generate
+    private final long jobsNum;
+    
     // randomizer
-    private static Random randomizer;
+    private final Random randomizer;
+    
+    // last job arrival time and the arrival time of the job before it
+    private double lastJobArrivalTime = 0;
+    private double previousJobArrivalTime = 0;
+    
+    // settings of job arrivals in effect
+    private ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings;
+    
+    // number of jobs of the current burst still to arrive - compound Poisson arrivals only
+    private long remainingBurstJobsNum = 0;
+    
+    // number of jobs generated so far
+    private long generatedJobsNum = 0;
+    
+    // summary of attributes of jobs generated so far
+    private final JobAttributeSummary summary;
+    
+    // the last generated job, whose arrival can still be drawn again - null if it is already in the summary
+    private Job unsummarizedJob = null;
+    
+    // classes of generated jobs
+    private final ConfigSettings.JobClassConfigSettings[] jobClasses;
+    
+    // table for drawing of job classes - null if there is only one class
+    private final AliasTable jobClassesTable;
+    
+    // copula of correlated job properties - null if the properties are independent
+    private final GaussianCopula copula;
+    
+    // correlated job properties in the order of the copula
+    private final ConfigSettings.CorrelationConfigSettings.Attribute[] correlatedAttributes;
+    
+    // probabilities drawn by the copula for the current job
+    private final double[] copulaProbabilities;
+    
+    // probabilities of values of the current job's properties indexed by the properties - NaN for independent ones
+    private final double[] attributeProbabilities;
+    
+    
+    /**
+     * Creates new generator of jobs according to the specified configuration
+     * settings. Number of generated jobs is given by the settings.
+     * 
+     * @param configSettings config settings to use for jobs generation
+     */
+    JobGenerator(ConfigSettings configSettings) {
+        this(configSettings, configSettings.getNumberOfJobs());
+    }
+    
+    /**
+     * Creates new generator of jobs according to the specified configuration
+     * settings, which generates specified number of jobs.
+     * 
+     * @param configSettings config settings to use for jobs generation
+     * @param jobsNum number of jobs to generate, UNLIMITED_JOBS_NUM for 
+     * unlimited generation
+     */
+    JobGenerator(ConfigSettings configSettings, long jobsNum) {
+        this(configSettings, jobsNum, new Random(configSettings.getSeed()), new JobAttributeSummary());
+    }
+    
+    /**
+     * Creates new generator restored from specified saved state, which 
+     * generates specified number of further jobs. The jobs continue 
+     * the sequence of jobs generated before the state was saved.
+     * 
+     * @param state saved state of a generator
+     * @param jobsNum number of further jobs to generate
+     */
+    JobGenerator(GeneratorState state, long jobsNum) {
+        this(
+                state.getConfigSettings(), 
+                Math.addExact(state.getGeneratedJobsNum(), jobsNum), 
+                state.getRandomizer(), 
+                state.getSummary()
+        );
+        this.lastJobArrivalTime = state.getLastJobArrivalTime();
+        this.remainingBurstJobsNum = state.getRemainingBurstJobsNum();
+        this.generatedJobsNum = state.getGeneratedJobsNum();
+    }
+    
+    private JobGenerator(
+            ConfigSettings configSettings, 
+            long jobsNum, 
+            Random randomizer, 
+            JobAttributeSummary summary
+    ) {
+        this.configSettings = configSettings;
+        this.jobsNum = jobsNum;
+        this.randomizer = randomizer;
+        this.summary = summary;
+        this.jobArrivalConfigSettings = configSettings.getJobArrivalConfigSettings();
+        this.jobClasses = getJobClasses(configSettings);
+        this.jobClassesTable = (jobClasses.length > 1) ? createJobClassesTable(jobClasses) : null;
+        
+        ConfigSettings.CorrelationConfigSettings correlationSettings = configSettings.getCorrelationConfigSettings();
+        this.copula = (correlationSettings == null) ? null : correlationSettings.getCopula();
+        this.correlatedAttributes = (correlationSettings == null) 
+                ? new ConfigSettings.CorrelationConfigSettings.Attribute[0]
+                : correlationSettings.getAttributes().toArray(ConfigSettings.CorrelationConfigSettings.Attribute[]::new);
+        this.copulaProbabilities = new double[correlatedAttributes.length];
+        this.attributeProbabilities = new double[ConfigSettings.CorrelationConfigSettings.Attribute.values().length];
+        Arrays.fill(attributeProbabilities, Double.NaN);
+    }
     
-    // last job arrival time
-    private static double lastJobArrivalTime = 0;
+    // returns classes of jobs, the only class of the job settings, if no classes are specified
+    private static ConfigSettings.JobClassConfigSettings[] getJobClasses(ConfigSettings configSettings) {
+        if ( !configSettings.getJobClassesConfigSettings().isEmpty() ) {
+            return configSettings.getJobClassesConfigSettings().toArray(ConfigSettings.JobClassConfigSettings[]::new);
+        }
+        
+        ConfigSettings.JobClassConfigSettings jobClass = new ConfigSettings.JobClassConfigSettings(
+                "default", 1,
+                configSettings.getPriorityConfigSettings(),
+                configSettings.getDeadlineConfigSettings(),
+                configSettings.getMaxRamUsageConfigSettings(),
+                configSettings.getMaxTimeslicesNumberConfigSettings(),
+                configSettings.getStoppabilityConfigSettings(),
+                configSettings.getCudaCoresConfigSettings()
+        );
+        return new ConfigSettings.JobClassConfigSettings[] { jobClass };
+    }
+    
+    // returns table for drawing of the classes according to their weights
+    private static AliasTable createJobClassesTable(ConfigSettings.JobClassConfigSettings[] jobClasses) {
+        double[] weights = new double[jobClasses.length];
+        for ( int classId = 0; classId < jobClasses.length; classId++ ) {
+            weights[classId] = jobClasses[classId].getWeight();
+        }
+        return new AliasTable(weights);
+    }
+    
+    // draws probabilities of values of the correlated properties of the next job
+    private void sampleAttributeProbabilities() {
+        copula.sample(randomizer, copulaProbabilities);
+        for ( int attributeId = 0; attributeId < correlatedAttributes.length; attributeId++ ) {
+            attributeProbabilities[correlatedAttributes[attributeId].ordinal()] = copulaProbabilities[attributeId];
+        }
+    }
     
+    // returns random value of specified property of specified distribution
+    private double sampleAttribute(
+            ConfigSettings.CorrelationConfigSettings.Attribute attribute, 
+            DistributionSampler sampler
+    ) {
+        double probability = attributeProbabilities[attribute.ordinal()];
+        return Double.isNaN(probability) ? sampler.sample(randomizer) : sampler.quantile(probability);
+    }
+    
+    // returns random positive integer of specified property of specified distribution, lower values are raised to 1 -
+    // distributions truncated to positive values avoid piling the probability onto 1
+    private int samplePositiveInt(
+            ConfigSettings.CorrelationConfigSettings.Attribute attribute, 
+            DistributionSampler sampler
+    ) {
+        return Math.max(1, (int) sampleAttribute(attribute, sampler));
+    }
+
     // returns the job's priority
-    private static int getPriority(ConfigSettings.PriorityConfigSettings prioritySettings) {
+    private int getPriority(ConfigSettings.PriorityConfigSettings prioritySettings) {
         switch (prioritySettings.getType()) {
             case Fixed -> {
                 return prioritySettings.getPriority();
             }
             case Random -> {
-                ConfigSettings.PriorityConfigSettings.DistributionType distribType = prioritySettings.getDistributionType();
-                switch (distribType) {
-                    case Uniform -> {
-                        ConfigSettings.UniformDistributionParams uniformParams = prioritySettings.getUniformDistributionParams();
-                        return randomizer.nextInt(uniformParams.getLowerBound(), uniformParams.getUpperBound() + 1);
-                    }
-                    case Normal -> {
-                        ConfigSettings.NormalDistributionParams normalDistributionParams
-                                = prioritySettings.getNormalDistributionParams();
-                        return Math.max(1,
-                                Math.round(
-                                        (int) randomizer.nextGaussian(
-                                                normalDistributionParams.getMean(),
-                                                normalDistributionParams.getSd()
-                                        )
-                                )
-                        );
-                    }
-                    default ->
-                        throw new IllegalStateException("Unsupported type of priority distribution type: " + distribType);
-                }
+                return samplePositiveInt(
+                        ConfigSettings.CorrelationConfigSettings.Attribute.Priority, prioritySettings.getSampler()
+                );
             }
             default ->
                 throw new IllegalStateException("Unsupported type of priority config type: " + prioritySettings.getType());
         }
     }
 
-    private static boolean getStoppable(ConfigSettings.StoppabilityConfigSettings stoppabilityConfigSettings) {
+    private boolean getStoppable(ConfigSettings.StoppabilityConfigSettings stoppabilityConfigSettings) {
         if (stoppabilityConfigSettings.getType() == ConfigSettings.StoppabilityConfigSettings.Type.Fixed) {
             return stoppabilityConfigSettings.isStoppable();
         }
         return randomizer.nextFloat() < stoppabilityConfigSettings.getStoppableProbability();
     }
 
-    private static boolean getMigrable(ConfigSettings.MigrabilityConfigSettings migrabilityConfigSettings) {
+    private boolean getMigrable(ConfigSettings.MigrabilityConfigSettings migrabilityConfigSettings) {
         if (migrabilityConfigSettings.getType() == ConfigSettings.MigrabilityConfigSettings.Type.Fixed) {
             return migrabilityConfigSettings.isMigrable();
         }
         return randomizer.nextFloat() < migrabilityConfigSettings.getMigrableProbability();
     }
 
-    private static int getDeadline(ConfigSettings.DeadlineConfigSettings deadlineSettings) {
+    private int getDeadline(ConfigSettings.DeadlineConfigSettings deadlineSettings) {
         int deadline = 0;
 
         ConfigSettings.DeadlineConfigSettings.Type deadlineType = deadlineSettings.getType();
@@ -82,35 +258,10 @@ final class JobGenerator {
                 deadline = deadlineSettings.getDeadline();
             case NotDefined ->
                 deadline = Job.NO_DEADLINE;
-            case Random -> {
-                ConfigSettings.DeadlineConfigSettings.DistributionType deadlineDistributionType
-                        = deadlineSettings.getDistributionType();
-                switch (deadlineDistributionType) {
-                    case Uniform -> {
-                        ConfigSettings.UniformDistributionParams uniformDistributionParams
-                                = deadlineSettings.getUniformDistributionParams();
-                        deadline = randomizer.nextInt(
-                                uniformDistributionParams.getLowerBound(),
-                                uniformDistributionParams.getUpperBound() + 1
-                        );
-                    }
-                    case Normal -> {
-                        ConfigSettings.NormalDistributionParams normalDistributionParams
-                                = deadlineSettings.getNormalDistributionParams();
-                        Math.max(1,
-                                Math.round(
-                                        (int) randomizer.nextGaussian(
-                                                normalDistributionParams.getMean(),
-                                                normalDistributionParams.getSd()
-                                        )
-                                )
-                        );
-                    }
-                    default -> {
-                        throw new IllegalStateException("Unsupported type of deadline distribution type: " + deadlineDistributionType);
-                    }
-                }
-            }
+            case Random ->
+                deadline = samplePositiveInt(
+                        ConfigSettings.CorrelationConfigSettings.Attribute.Deadline, deadlineSettings.getSampler()
+                );
             default -> {
                 throw new IllegalStateException("Unsupported type of deadline type: " + deadlineType);
             }
@@ -121,139 +272,54 @@ final class JobGenerator {
     }
 
     // returns number of timeslices
-    private static int getTimeslicesNum(
+    private int getTimeslicesNum(
             ConfigSettings.MaxTimeslicesNumberConfigSettings maxTimeslicesNumberSettings
     ) {
         if (maxTimeslicesNumberSettings.getType() == ConfigSettings.MaxTimeslicesNumberConfigSettings.Type.Fixed) {
             return maxTimeslicesNumberSettings.getMaxTimeslicesNum();
         }
-
-        switch (maxTimeslicesNumberSettings.getDistributionType()) {
-            case Uniform -> {
-                ConfigSettings.UniformDistributionParams uniformParams = maxTimeslicesNumberSettings.getUniformDistributionParams();
-                return randomizer.nextInt(
-                        uniformParams.getLowerBound(), uniformParams.getUpperBound() + 1
-                );
-            }
-            case Normal -> {
-                ConfigSettings.NormalDistributionParams normalParams = maxTimeslicesNumberSettings.getNormalDistributionParams();
-                return Math.max(1,
-                        Math.round((int) randomizer.nextGaussian(
-                                normalParams.getMean(),
-                                normalParams.getSd()
-                        )
-                        )
-                );
-            }
-            default ->
-                throw new IllegalStateException(
-                        "Unsupported type of maximal timeslices number distribution: "
-                        + maxTimeslicesNumberSettings.getDistributionType()
-                );
-        }
+        return samplePositiveInt(
+                ConfigSettings.CorrelationConfigSettings.Attribute.MaxTimeslicesNumber, 
+                maxTimeslicesNumberSettings.getSampler()
+        );
     }
 
-    private static void fillFixedValueTimeslaces(int[] timeslaces, int ramUsage) {
+    private void fillFixedValueTimeslaces(int[] timeslaces, int ramUsage) {
         for (int tsId = 0; tsId < timeslaces.length; tsId++) {
             timeslaces[tsId] = ramUsage;
         }
     }
 
-    private static void fillRandomIndependentTimeslaces(
+    private void fillRandomIndependentTimeslaces(
             int[] timeslaces,
             ConfigSettings.MaxRamUsageConfigSettings maxRamUsageConfigSettings
     ) {
-        switch (maxRamUsageConfigSettings.getDistributionType()) {
-            case Uniform -> {
-                ConfigSettings.UniformDistributionParams uniformParams = maxRamUsageConfigSettings.getUniformDistributionParams();
-                for (int tsId = 0; tsId < timeslaces.length; tsId++) {
-                    timeslaces[tsId] = randomizer.nextInt(
-                            uniformParams.getLowerBound(),
-                            uniformParams.getUpperBound()
-                    );
-                }
-            }
-            case Normal -> {
-                ConfigSettings.NormalDistributionParams normalParams = maxRamUsageConfigSettings.getNormalDistributionParams();
-                for (int tsId = 0; tsId < timeslaces.length; tsId++) {
-                    timeslaces[tsId] = Math.abs(
-                            Math.round(
-                                    (int) randomizer.nextGaussian(
-                                            normalParams.getMean(),
-                                            normalParams.getSd()
-                                    )
-                            )
-                    );
-                }
-            }
-            default ->
-                throw new IllegalArgumentException("Unsupported distribution type of maximal RAM usage: " + maxRamUsageConfigSettings.getDistributionType());
+        DistributionSampler sampler = maxRamUsageConfigSettings.getSampler();
+        for (int tsId = 0; tsId < timeslaces.length; tsId++) {
+            // only the first timeslice is correlated with the other properties
+            double ramUsage = (tsId == 0)
+                    ? sampleAttribute(ConfigSettings.CorrelationConfigSettings.Attribute.MaxRamUsage, sampler)
+                    : sampler.sample(randomizer);
+            timeslaces[tsId] = Math.abs((int) ramUsage);
         }
     }
 
-    private static void fillRandomDependentOnPreviousTimeslaces(
+    private void fillRandomDependentOnPreviousTimeslaces(
             int[] timeslices,
             ConfigSettings.MaxRamUsageConfigSettings maxRamUsageConfigSettings
     ) {
+        DistributionSampler sampler = maxRamUsageConfigSettings.getSampler();
+
         // filling the first timeslice
-        ConfigSettings.MaxRamUsageConfigSettings.DistributionType distrType = maxRamUsageConfigSettings.getDistributionType();
-        switch (distrType) {
-            case Uniform -> {
-                ConfigSettings.UniformDistributionParams uniformParams = maxRamUsageConfigSettings.getUniformDistributionParams();
-                timeslices[0] = randomizer.nextInt(
-                        uniformParams.getLowerBound(),
-                        uniformParams.getUpperBound()
-                );
-            }
-            case Normal -> {
-                ConfigSettings.NormalDistributionParams normalParams = maxRamUsageConfigSettings.getNormalDistributionParams();
-                timeslices[0] = Math.abs(
-                        Math.round(
-                                (int) randomizer.nextGaussian(
-                                        normalParams.getMean(),
-                                        normalParams.getSd()
-                                )
-                        )
-                );
-            }
-            default ->
-                throw new IllegalArgumentException("Unsupported distribution type of maximal RAM usage: " + distrType);
-        }
+        timeslices[0] = Math.abs((int) sampleAttribute(ConfigSettings.CorrelationConfigSettings.Attribute.MaxRamUsage, sampler));
 
         // filling the next timeslices
         for (int tmId = 1; tmId < timeslices.length; tmId++) {
-            switch (distrType) {
-                case Uniform -> {
-                    ConfigSettings.UniformDistributionParams uniformParams = maxRamUsageConfigSettings.getUniformDistributionParams();
-                    int intervalLen = uniformParams.getUpperBound() - uniformParams.getLowerBound();
-                    int lowerBound = timeslices[tmId - 1] - intervalLen/2;
-                    int upperBound = timeslices[tmId - 1] + intervalLen/2;
-                    
-                    timeslices[tmId] = randomizer.nextInt(
-                            Math.max(0,lowerBound),
-                            upperBound
-                    );
-                }
-                case Normal -> {
-                    ConfigSettings.NormalDistributionParams normalParams = maxRamUsageConfigSettings.getNormalDistributionParams();
-                    
-                    timeslices[tmId] = Math.max(0,
-                            Math.round(
-                                    (int) randomizer.nextGaussian(
-                                            timeslices[tmId - 1],
-                                            normalParams.getSd()
-                                    )
-                            )
-                    );
-                    
-                }
-                default ->
-                    throw new IllegalArgumentException("Unsupported distribution type of maximal RAM usage: " + distrType);
-            }
+            timeslices[tmId] = Math.max(0, (int) sampler.sampleNext(randomizer, timeslices[tmId - 1]));
         }
     }
 
-    private static int[] getTimeslices(
+    private int[] getTimeslices(
             ConfigSettings.MaxTimeslicesNumberConfigSettings maxTimeslicesNumberSettings,
             ConfigSettings.MaxRamUsageConfigSettings maxRamUsageConfigSettings
     ) {
@@ -280,40 +346,99 @@ final class JobGenerator {
         return timeslices;
     }
     
-    private static int getCudaCoresNumber(ConfigSettings.CudaCoresConfigSettings cudaCoresConfigSettings) {
+    private int getCudaCoresNumber(ConfigSettings.CudaCoresConfigSettings cudaCoresConfigSettings) {
         switch (cudaCoresConfigSettings.getType()) {
             case Fixed -> {
                 return cudaCoresConfigSettings.getCoresNumber();
             }
             case Random -> {
-                ConfigSettings.CudaCoresConfigSettings.DistributionType distribType = cudaCoresConfigSettings.getDistributionType();
-                switch (distribType) {
-                    case Uniform -> {
-                        ConfigSettings.UniformDistributionParams uniformParams = cudaCoresConfigSettings.getUniformDistributionParams();
-                        return randomizer.nextInt(uniformParams.getLowerBound(), uniformParams.getUpperBound() + 1);
-                    }
-                    case Normal -> {
-                        ConfigSettings.NormalDistributionParams normalDistributionParams
-                                = cudaCoresConfigSettings.getNormalDistributionParams();
-                        return Math.max(1,
-                                Math.round(
-                                        (int) randomizer.nextGaussian(
-                                                normalDistributionParams.getMean(),
-                                                normalDistributionParams.getSd()
-                                        )
-                                )
-                        );
-                    }
-                    default ->
-                        throw new IllegalStateException("Unsupported type of priority distribution type: " + distribType);
-                }
+                return samplePositiveInt(
+                        ConfigSettings.CorrelationConfigSettings.Attribute.CudaCores, cudaCoresConfigSettings.getSampler()
+                );
             }
             default ->
                 throw new IllegalStateException("Unsupported type of priority config type: " + cudaCoresConfigSettings.getType());
         }
     }
     
-    private static double getJobArrival(ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings) {
+    // returns random value of exponential distribution with rate 1
+    private double nextStandardExponential() {
+        return -Math.log(1.0 - randomizer.nextDouble(1.0));
+    }
+    
+    // returns next arrival time of Poisson process with piecewise-constant rate by time-rescaling
+    private double getPiecewiseConstantArrival(ConfigSettings.PiecewiseConstantRateParams rateParams) {
+        // expected number of arrivals until the next arrival
+        double remainingIntegral = nextStandardExponential();
+        double period = rateParams.getPeriod();
+        
+        double periodStart = 0;
+        double timeInPeriod = lastJobArrivalTime;
+        if ( period > 0 ) {
+            periodStart = Math.floor(lastJobArrivalTime / period) * period;
+            timeInPeriod = lastJobArrivalTime - periodStart;
+            
+            // rounding can put the time slightly outside the period - it lies then at the boundary of periods
+            if ( timeInPeriod < 0 ) {
+                timeInPeriod = 0;
+            } else if ( timeInPeriod >= period ) {
+                periodStart += period;
+                timeInPeriod = 0;
+            }
+        }
+        int segmentId = rateParams.getSegmentId(timeInPeriod);
+        
+        while ( true ) {
+            double rate = rateParams.getRate(segmentId);
+            double segmentEnd = rateParams.getSegmentEnd(segmentId);
+            
+            double segmentIntegral = rate * (segmentEnd - timeInPeriod);
+            if ( rate > 0 && segmentIntegral >= remainingIntegral ) {
+                return periodStart + timeInPeriod + remainingIntegral / rate;
+            }
+            remainingIntegral -= segmentIntegral;
+            
+            segmentId++;
+            if ( segmentId == rateParams.getSegmentsNum() ) {
+                // whole periods without the arrival are skipped at once
+                periodStart += period;
+                long skippedPeriodsNum = (long) (remainingIntegral / rateParams.getPeriodIntegral());
+                periodStart += skippedPeriodsNum * period;
+                remainingIntegral -= skippedPeriodsNum * rateParams.getPeriodIntegral();
+                segmentId = 0;
+            }
+            timeInPeriod = rateParams.getSegmentStart(segmentId);
+        }
+    }
+    
+    // returns next arrival time of Poisson process with periodic rate by thinning
+    private double getPeriodicArrival(ConfigSettings.PeriodicRateParams rateParams) {
+        double maxRate = rateParams.getMaxRate();
+        double time = lastJobArrivalTime;
+        while ( true ) {
+            time += nextStandardExponential() / maxRate;
+            if ( randomizer.nextDouble() * maxRate < rateParams.getRate(time) ) {
+                return time;
+            }
+        }
+    }
+    
+    // returns next arrival time of compound Poisson process with geometric sizes of bursts
+    private double getCompoundPoissonArrival(ConfigSettings.CompoundPoissonParams compoundPoissonParams) {
+        if ( remainingBurstJobsNum > 0 ) {
+            remainingBurstJobsNum--;
+            return lastJobArrivalTime;
+        }
+        
+        double meanBurstSize = compoundPoissonParams.getMeanBurstSize();
+        if ( meanBurstSize > 1 ) {
+            double continuationProbability = 1 - 1 / meanBurstSize;
+            remainingBurstJobsNum = (long) (nextStandardExponential() / -Math.log(continuationProbability));
+        }
+        return lastJobArrivalTime + nextStandardExponential() / compoundPoissonParams.getLambda();
+    }
+    
+    private double getJobArrival(ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings) {
         switch (jobArrivalConfigSettings.getType()) {
             case Fixed -> {
                 lastJobArrivalTime += jobArrivalConfigSettings.getInterval();
@@ -322,14 +447,29 @@ final class JobGenerator {
                 ConfigSettings.JobArrivalConfigSettings.DistributionType distribType = jobArrivalConfigSettings.getDistributionType();
                 switch (distribType) {
                     case Uniform -> {
-                        ConfigSettings.UniformDistributionParams uniformParams = jobArrivalConfigSettings.getUniformDistributionParams();
-                        lastJobArrivalTime += randomizer.nextInt(uniformParams.getLowerBound(), uniformParams.getUpperBound() + 1);
+                        lastJobArrivalTime += jobArrivalConfigSettings.getUniformDistributionParams().sample(randomizer);
                     }
                     case Poisson -> {
                         ConfigSettings.PoissonDistributionParams poissonDistributionParams
                                 = jobArrivalConfigSettings.getPoissonDistributionParams();
                         lastJobArrivalTime += (-Math.log(1.0 - randomizer.nextDouble(1.0)) / ((double) poissonDistributionParams.getLambda()));
                     }
+                    case PiecewiseConstant -> {
+                        lastJobArrivalTime = getPiecewiseConstantArrival(
+                                jobArrivalConfigSettings.getPiecewiseConstantRateParams()
+                        );
+                    }
+                    case Periodic -> {
+                        lastJobArrivalTime = getPeriodicArrival(jobArrivalConfigSettings.getPeriodicRateParams());
+                    }
+                    case CompoundPoisson -> {
+                        lastJobArrivalTime = getCompoundPoissonArrival(
+                                jobArrivalConfigSettings.getCompoundPoissonParams()
+                        );
+                    }
+                    case Empirical -> {
+                        lastJobArrivalTime += jobArrivalConfigSettings.getEmpiricalDistributionParams().sample(randomizer);
+                    }
                     default ->
                         throw new IllegalStateException("Unsupported type of priority distribution type: " + distribType);
                 }
@@ -342,20 +482,112 @@ final class JobGenerator {
     }
 
     // generates new job according to the specified settings
-    private static Job generateJob(ConfigSettings configSettings) {
-        int priority = getPriority(configSettings.getPriorityConfigSettings());
-        boolean isStoppable = getStoppable(configSettings.getStoppabilityConfigSettings());
-        int deadline = getDeadline(configSettings.getDeadlineConfigSettings());
+    private Job generateJob() {
+        // the class is drawn only for mixtures, so jobs of a single class are not affected
+        ConfigSettings.JobClassConfigSettings jobClass
+                = (jobClassesTable == null) ? jobClasses[0] : jobClasses[jobClassesTable.next(randomizer)];
+        if ( copula != null ) {
+            sampleAttributeProbabilities();
+        }
+        
+        int priority = getPriority(jobClass.getPriorityConfigSettings());
+        boolean isStoppable = getStoppable(jobClass.getStoppabilityConfigSettings());
+        int deadline = getDeadline(jobClass.getDeadlineConfigSettings());
         int[] timeslices = getTimeslices(
-                configSettings.getMaxTimeslicesNumberConfigSettings(),
-                configSettings.getMaxRamUsageConfigSettings()
+                jobClass.getMaxTimeslicesNumberConfigSettings(),
+                jobClass.getMaxRamUsageConfigSettings()
         );
-        int cudaCoresNumber = getCudaCoresNumber(configSettings.getCudaCoresConfigSettings());
-        double jobArrival = getJobArrival(configSettings.getJobArrivalConfigSettings());
+        int cudaCoresNumber = getCudaCoresNumber(jobClass.getCudaCoresConfigSettings());
+        
+        previousJobArrivalTime = lastJobArrivalTime;
+        double jobArrival = getJobArrival(jobArrivalConfigSettings);
 
         return new Job(priority, isStoppable, deadline, timeslices, cudaCoresNumber, jobArrival);
     }
 
+    @Override
+    public boolean hasNext() {
+        return generatedJobsNum < jobsNum;
+    }
+    
+    @Override
+    public Job next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException("All the jobs already generated.");
+        }
+        
+        summarizeLastJob();
+        generatedJobsNum++;
+        unsummarizedJob = generateJob();
+        return unsummarizedJob;
+    }
+    
+    // adds the last generated job into the summary, its arrival cannot be drawn again then
+    private void summarizeLastJob() {
+        if ( unsummarizedJob != null ) {
+            summary.add(unsummarizedJob);
+            unsummarizedJob = null;
+        }
+    }
+    
+    /**
+     * Changes settings of job arrivals and draws again the arrival of the last
+     * generated job by them, i.e. from the arrival of the job before it. Other
+     * attributes of the job are kept. Changed settings start a new arrival
+     * process, so a burst of the previous one does not continue.
+     * 
+     * @param job the last generated job
+     * @param jobArrivalConfigSettings new settings of job arrivals
+     * @return the job with the new arrival
+     * @throws IllegalStateException if the job is not the last generated job
+     * or the job is already in the summary
+     */
+    Job redrawArrival(Job job, ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings) {
+        if ( job != unsummarizedJob ) {
+            throw new IllegalStateException("Arrival of only the last generated job can be drawn again.");
+        }
+        
+        this.jobArrivalConfigSettings = Objects.requireNonNull(jobArrivalConfigSettings);
+        remainingBurstJobsNum = 0;
+        lastJobArrivalTime = previousJobArrivalTime;
+        double jobArrival = getJobArrival(jobArrivalConfigSettings);
+        
+        unsummarizedJob = new Job(
+                job.getPriority(), job.isStopable(), job.getDeadline(), job.getTimeslices(), 
+                job.getCudaCoresNumber(), jobArrival
+        );
+        return unsummarizedJob;
+    }
+    
+    /**
+     * @return the settings of job arrivals in effect
+     */
+    ConfigSettings.JobArrivalConfigSettings getJobArrivalConfigSettings() {
+        return jobArrivalConfigSettings;
+    }
+    
+    /**
+     * Returns the current state of the generator, which allows to continue
+     * the generation later. Settings of job arrivals changed during 
+     * the generation are not part of the state.
+     * 
+     * @return the state of the generator
+     */
+    GeneratorState getState() {
+        summarizeLastJob();
+        return new GeneratorState(
+                configSettings, randomizer, lastJobArrivalTime, remainingBurstJobsNum, generatedJobsNum, summary
+        );
+    }
+    
+    /**
+     * @return the summary of attributes of jobs generated so far
+     */
+    JobAttributeSummary getSummary() {
+        summarizeLastJob();
+        return summary;
+    }
+
     /**
      * Generates and returns collection of jobs according to the specified
      * configuration settings.
@@ -364,11 +596,11 @@ final class JobGenerator {
      * @return collection of generated jobs
      */
     static Collection<Job> generate(ConfigSettings configSettings) {
-        randomizer = new Random(configSettings.getSeed());
-        List<Job> jobs = new LinkedList();
-
-        for (int jobId = 0; jobId < configSettings.getNumberOfJobs(); jobId++) {
-            jobs.add(generateJob(configSettings));
+        JobGenerator generator = new JobGenerator(configSettings);
+        List<Job> jobs = new ArrayList<>(configSettings.getNumberOfJobs());
+        
+        while ( generator.hasNext() ) {
+            jobs.add(generator.next());
         }
 
         return jobs;
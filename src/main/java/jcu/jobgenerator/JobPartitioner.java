@@ -0,0 +1,128 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package jcu.jobgenerator;
+
+/**
+ * Routes jobs released by job producer into one of partitioned shared queues.
+ *
+ * Partitioner is always called from the producer thread only, so its
+ * implementations need not to be thread safe.
+ *
+ * @author Michal Konopa
+ */
+@FunctionalInterface
+public interface JobPartitioner {
+
+    /**
+     * Returns index of partition, which the specified job will be put into.
+     *
+     * @param job job to route
+     * @param partitionsNum number of partitions
+     * @return index of partition in the range of [0, partitionsNum)
+     */
+    int getPartition(Job job, int partitionsNum);
+
+    /**
+     * Returns partitioner, which places jobs into partitions in round-robin
+     * manner.
+     *
+     * @return round-robin partitioner
+     */
+    static JobPartitioner roundRobin() {
+        return new JobPartitioner() {
+            private int nextPartition = 0;
+
+            @Override
+            public int getPartition(Job job, int partitionsNum) {
+                int partition = nextPartition % partitionsNum;
+                nextPartition = partition + 1;
+                return partition;
+            }
+        };
+    }
+
+    /**
+     * Returns partitioner, which splits specified range of priorities into
+     * contiguous subranges of (nearly) the same size - one subrange for each
+     * partition. Jobs with the lowest priorities are placed into the first
+     * partition. Priorities out of the range are placed into the border
+     * partitions.
+     *
+     * @param minPriority minimal priority of jobs
+     * @param maxPriority maximal priority of jobs
+     * @return partitioner by job priority
+     * @throws IllegalArgumentException if minPriority is greater than maxPriority
+     */
+    static JobPartitioner byPriority(int minPriority, int maxPriority) {
+        if ( minPriority > maxPriority ) {
+            throw new IllegalArgumentException(
+                    "Invalid range of priorities: [" + minPriority + ", " + maxPriority + "]"
+            );
+        }
+
+        long prioritiesNum = (long) maxPriority - minPriority + 1;
+        return (job, partitionsNum) -> {
+            long priorityOffset = Math.min(Math.max(0L, (long) job.getPriority() - minPriority), prioritiesNum - 1);
+            return (int) (priorityOffset * partitionsNum / prioritiesNum);
+        };
+    }
+
+    /**
+     * Returns partitioner by demanded number of CUDA cores. Job is placed
+     * into the first partition, whose upper bound is greater than or equal
+     * to the job's number of CUDA cores. Jobs exceeding all the bounds are
+     * placed into the last partition.
+     *
+     * @param coresUpperBounds ascending upper bounds of CUDA cores number for
+     * the partitions except the last one
+     * @return partitioner by CUDA cores demand
+     * @throws IllegalArgumentException if the bounds are not ascending
+     */
+    static JobPartitioner byCudaCores(int... coresUpperBounds) {
+        int[] upperBounds = coresUpperBounds.clone();
+        for ( int boundId = 1; boundId < upperBounds.length; boundId++ ) {
+            if ( upperBounds[boundId] <= upperBounds[boundId - 1] ) {
+                throw new IllegalArgumentException("CUDA cores upper bounds must be ascending.");
+            }
+        }
+
+        return (job, partitionsNum) -> {
+            int coresNumber = job.getCudaCoresNumber();
+            int partition = 0;
+            while ( partition < upperBounds.length && coresNumber > upperBounds[partition] ) {
+                partition++;
+            }
+            return Math.min(partition, partitionsNum - 1);
+        };
+    }
+
+    /**
+     * Returns partitioner, which places jobs according to the hash of their
+     * properties. Jobs with the same properties end up in the same partition.
+     *
+     * @return partitioner by hash of job properties
+     */
+    static JobPartitioner byHash() {
+        return (job, partitionsNum) -> {
+            long hash = job.getPriority();
+            hash = 31 * hash + job.getDeadline();
+            hash = 31 * hash + job.getCudaCoresNumber();
+            hash = 31 * hash + (job.isStopable() ? 1 : 0);
+            hash = 31 * hash + Double.hashCode(job.getArrivalTime());
+            for ( int ramUsage : job.getTimeslices() ) {
+                hash = 31 * hash + ramUsage;
+            }
+
+            // final mixing of bits (MurmurHash3 finalizer)
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+
+            return (int) Math.floorMod(hash, (long) partitionsNum);
+        };
+    }
+}
@@ -4,8 +4,21 @@
  */
 package jcu.jobgenerator;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,8 +26,60 @@ import org.apache.logging.log4j.Logger;
  * Producer of jobs that will be processed by GPUs.
  * 
  * The producer continuously places jobs from his internal queue into a 
- * shared queue according to the arrival time specified for each job. 
- * 
+ * shared queue according to the arrival time specified for each job.
+ *
+ * Instead of fully populated internal queue, the producer can take its jobs
+ * from any lazy source of jobs - e.g. directly from the job generator or
+ * from a streaming dataset reader, optionally wrapped into 
+ * {@link ReadAheadJobIterator}. Jobs of the source must be ordered by their 
+ * arrival times.
+ *
+ * Any blocking queue can be used as the shared queue. For high release rates
+ * (e.g. accelerated replay) the pre-allocated lock-free {@link JobRingBuffer}
+ * is recommended instead of <code>LinkedBlockingQueue</code>. If consumers
+ * should take the released jobs in the order of their priorities or deadlines
+ * rather than in the order of their arrival, {@link PriorityBucketJobQueue}
+ * or {@link DeadlineJobQueue} can be used.
+ *
+ * The producer can also feed several partitioned shared queues (e.g. one for
+ * each consumer group). Each job is routed into exactly one partition by
+ * the specified {@link JobPartitioner}. Jobs are still released according
+ * to the single global timeline, so each partition receives its jobs in the
+ * order of their arrival.
+ *
+ * Release times follow the absolute schedule given by the arrival times.
+ * When the producer falls behind the schedule (e.g. because consumers are too
+ * slow and the shared queue is full), the behaviour is given by the overload
+ * policy. The producer continuously tracks its lag behind the schedule and
+ * the time spent blocked on the full shared queue.
+ *
+ * Long replays can be periodically checkpointed. The checkpoint holds the
+ * position in the trace, the logical replay clock and the index of the last
+ * released job, so the replay can be later resumed directly from that point 
+ * - see {@link ReplayCheckpoint}.
+ *
+ * Actual releases of all the jobs can be recorded into a memory-mapped
+ * binary {@link JobReleaseJournal} for post-mortem analysis.
+ *
+ * The replay can be accelerated or slowed down by the time scale, which can
+ * be changed at any time during the replay - e.g. by {@link ArrivalControl}.
+ * If the jobs are taken directly from the job generator, settings of its job
+ * arrivals can be changed too. Both are published together as one immutable
+ * object, so the producer never applies one of them without the other.
+ * The schedule is then re-anchored at the current position of the replay
+ * and the arrival of the job waiting for its release is drawn again by
+ * the new settings, so the change applies at the next release without any
+ * jump or pause of the stream.
+ *
+ * Time of the replay is given by the {@link ReplayClock} shared with 
+ * consumers. By default the wall clock is used. With 
+ * {@link VirtualReplayClock} the producer does not sleep at all and the time
+ * advances instantly, whenever the producer and all the consumers are idle.
+ *
+ * The producer is open-loop - jobs are released regardless of the state of
+ * the consumers. For closed-loop replay driven by completions of the jobs
+ * see {@link ClosedLoopJobProducer}.
+ *
  * IMPORTANT NOTE: The time unit of arrivals of individual jobs to the shared 
  * queue is 1 minute.
  * 
@@ -24,11 +89,100 @@ public final class JobProducer implements Runnable {
     // for logging class events
     private static final Logger logger = LogManager.getLogger(JobProducer.class);
     
+    private static final double NANOS_PER_MINUTE = 60 * 1e9;
+    
+    // maximal period [in nanoseconds] of sleeping of the producer on the wall clock without checking the time scale
+    private static final long TIME_SCALE_CHECK_PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+    
+    // default period [in seconds] of writing metrics summary into the log
+    private static final long DEFAULT_SUMMARY_PERIOD = 10;
+    
+    /**
+     * Time scale of the replay and settings of job arrivals of the generator.
+     * Immutable, so both of them are changed by a single write.
+     */
+    private static final class ArrivalSettings {
+        // null if the arrivals of the source cannot be changed
+        private final ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings;
+        private final double timeScale;
+        
+        private ArrivalSettings(ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings, double timeScale) {
+            if ( !(timeScale > 0) || Double.isInfinite(timeScale) ) {
+                throw new IllegalArgumentException("Invalid time scale: " + timeScale);
+            }
+            this.jobArrivalConfigSettings = jobArrivalConfigSettings;
+            this.timeScale = timeScale;
+        }
+    }
+    
+    /**
+     * Policy applied, when the shared queue is full.
+     * 
+     * BlockAndCatchUp - producer blocks until there is space in the queue and
+     * then releases all overdue jobs immediately to catch up the schedule
+     * Drop - job is dropped and counted
+     * SpillToDisk - job is written into the spill file and counted
+     */
+    public static enum OverloadPolicy {
+        BlockAndCatchUp, Drop, SpillToDisk
+    };
+    
     
-    private final Queue<Job> jobs;
+    // source of jobs
+    private final Iterator<Job> jobs;
     
-    // reference to shared queue of jobs
-    private final BlockingQueue<Job> blockingQueue;
+    // references to shared (partitioned) queues of jobs
+    private final List<BlockingQueue<Job>> blockingQueues;
+    
+    // routes jobs into the shared queues
+    private final JobPartitioner partitioner;
+    
+    private OverloadPolicy overloadPolicy = OverloadPolicy.BlockAndCatchUp;
+    
+    // file for spilled jobs
+    private Path spillFile = Paths.get("spilled_jobs.json");
+    private BufferedWriter spillWriter = null;
+    
+    // anchor of the schedule - time [in nanoseconds] and the arrival time corresponding to it, i.e. start of the 
+    // replay and arrival time of the first job until the time scale is changed
+    private long startTime;
+    private double firstArrivalTime;
+    
+    // time scale and settings of job arrivals - requested by the last change and in effect
+    private volatile ArrivalSettings requestedArrivalSettings = new ArrivalSettings(null, 1);
+    private ArrivalSettings arrivalSettings = requestedArrivalSettings;
+    
+    // generator used as the source of jobs, whose arrivals can be changed - null if not used
+    private JobGenerator arrivalGenerator = null;
+    
+    // metrics of the replay
+    private final JobProducerMetrics metrics;
+    
+    // period [in seconds] of writing metrics summary into the log, 0 means never
+    private long summaryPeriod = DEFAULT_SUMMARY_PERIOD;
+    
+    // file, period [in nanoseconds] and trace position supplier of checkpointing
+    private Path checkpointFile = null;
+    private long checkpointPeriod;
+    private LongSupplier tracePositionSupplier;
+    private long lastCheckpointTime;
+    
+    // position in the trace just after the last released job - a job taken from the source, but not released 
+    // (e.g. on interruption), must not be skipped by the resumed replay
+    private long releasedTracePosition;
+    
+    // checkpoint, which the replay is resumed from
+    private ReplayCheckpoint resumeCheckpoint = null;
+    
+    // index and arrival time of the last released job
+    private long lastReleasedIndex = -1;
+    private double replayClock;
+    
+    // journal of actual releases, null if not used
+    private JobReleaseJournal releaseJournal = null;
+    
+    // clock shared with consumers
+    private ReplayClock clock = new SystemReplayClock();
     
     
     /**
@@ -41,43 +195,591 @@ public final class JobProducer implements Runnable {
      * @param blockingQueue 
      */
     public JobProducer(Queue<Job> jobs, BlockingQueue<Job> blockingQueue) {
+        this(drainingIterator(jobs), blockingQueue);
+    }
+    
+    /**
+     * Creates new instance of job producer with specified internal queue of jobs
+     * and references to partitioned blocking queues, which are shared with job 
+     * consumer(s). Each job is placed into the partition selected by specified
+     * partitioner.
+     * 
+     * @param jobs producer internal source queue of jobs
+     * @param blockingQueues partitioned shared queues
+     * @param partitioner selects partition for each job
+     * @throws IllegalArgumentException if there is no shared queue specified
+     */
+    public JobProducer(
+            Queue<Job> jobs, 
+            List<? extends BlockingQueue<Job>> blockingQueues, 
+            JobPartitioner partitioner
+    ) {
+        this(drainingIterator(jobs), blockingQueues, partitioner);
+    }
+    
+    /**
+     * Creates new instance of job producer with specified lazy source of jobs
+     * and reference to blocking queue, which is shared with job consumer(s).
+     * 
+     * @param jobs source of jobs ordered by their arrival times
+     * @param blockingQueue shared queue
+     */
+    public JobProducer(Iterator<Job> jobs, BlockingQueue<Job> blockingQueue) {
+        this(jobs, List.of(blockingQueue), (job, partitionsNum) -> 0);
+    }
+    
+    /**
+     * Creates new instance of job producer with specified lazy source of jobs
+     * and references to partitioned blocking queues, which are shared with job 
+     * consumer(s). Each job is placed into the partition selected by specified
+     * partitioner.
+     * 
+     * @param jobs source of jobs ordered by their arrival times
+     * @param blockingQueues partitioned shared queues
+     * @param partitioner selects partition for each job
+     * @throws IllegalArgumentException if there is no shared queue specified
+     */
+    public JobProducer(
+            Iterator<Job> jobs, 
+            List<? extends BlockingQueue<Job>> blockingQueues, 
+            JobPartitioner partitioner
+    ) {
+        if ( blockingQueues.isEmpty() ) {
+            throw new IllegalArgumentException("At least one shared queue must be specified.");
+        }
+        
         this.jobs = jobs;
-        this.blockingQueue = blockingQueue;
+        this.blockingQueues = List.copyOf(blockingQueues);
+        this.partitioner = partitioner;
+        this.metrics = new JobProducerMetrics(this::getQueuesSize);
+    }
+    
+    // returns iterator, which takes the jobs out of the specified queue
+    private static Iterator<Job> drainingIterator(Queue<Job> jobs) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !jobs.isEmpty();
+            }
+
+            @Override
+            public Job next() {
+                Job job = jobs.poll();
+                if ( job == null ) {
+                    throw new NoSuchElementException("No more jobs in the queue.");
+                }
+                return job;
+            }
+        };
+    }
+    
+    // returns total number of jobs in all the shared queues
+    private int getQueuesSize() {
+        int size = 0;
+        for ( BlockingQueue<Job> blockingQueue : blockingQueues ) {
+            size += blockingQueue.size();
+        }
+        return size;
+    }
+    
+    // returns shared queue, which the specified job will be put into
+    private BlockingQueue<Job> getTargetQueue(Job job) {
+        int partition = partitioner.getPartition(job, blockingQueues.size());
+        if ( partition < 0 || partition >= blockingQueues.size() ) {
+            throw new IllegalStateException("Invalid partition of job: " + partition);
+        }
+        return blockingQueues.get(partition);
+    }
+    
+    // returns the time [in nanoseconds], when the specified job is to be released
+    private long getReleaseTime(Job job) {
+        return startTime + Math.round(
+                (job.getArrivalTime() - firstArrivalTime) * NANOS_PER_MINUTE / arrivalSettings.timeScale
+        );
+    }
+    
+    /*
+     * Applies the requested arrival settings to specified job waiting for its
+     * release and returns the job. If the settings of job arrivals changed,
+     * the arrival of the job is drawn again by the generator.
+     */
+    private Job applyArrivalSettings(Job job) {
+        ArrivalSettings requestedSettings = requestedArrivalSettings;
+        if ( requestedSettings.jobArrivalConfigSettings != arrivalSettings.jobArrivalConfigSettings ) {
+            job = arrivalGenerator.redrawArrival(job, requestedSettings.jobArrivalConfigSettings);
+        }
+        arrivalSettings = requestedSettings;
+        return job;
+    }
+    
+    // re-anchors the schedule at the current position of the replay and applies the requested arrival settings
+    private Job reanchorSchedule(Job job) {
+        long currentTime = clock.nanoTime();
+        firstArrivalTime += (currentTime - startTime) * arrivalSettings.timeScale / NANOS_PER_MINUTE;
+        startTime = currentTime;
+        job = applyArrivalSettings(job);
+        logger.info("Arrival settings of the replay changed, time scale: " + arrivalSettings.timeScale);
+        return job;
+    }
+    
+    /*
+     * Waits until the release time of specified job and returns the job, 
+     * whose arrival may be drawn again. Change of the arrival settings during 
+     * the waiting is applied immediately.
+     */
+    private Job waitForRelease(Job job) throws InterruptedException {
+        while ( true ) {
+            if ( requestedArrivalSettings != arrivalSettings ) {
+                job = reanchorSchedule(job);
+            }
+            long releaseTime = getReleaseTime(job);
+            
+            // virtual clock skips the waiting at once, so only the wall clock needs to check the settings
+            if ( !(clock instanceof SystemReplayClock) ) {
+                clock.sleepUntil(releaseTime);
+                return job;
+            }
+            
+            long wakeUpTime = Math.min(releaseTime, clock.nanoTime() + TIME_SCALE_CHECK_PERIOD);
+            clock.sleepUntil(wakeUpTime);
+            if ( wakeUpTime == releaseTime ) {
+                return job;
+            }
+        }
+    }
+    
+    // writes specified job into the spill file
+    private void spill(Job job) throws IOException {
+        if ( spillWriter == null ) {
+            spillWriter = Files.newBufferedWriter(
+                    spillFile, 
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, 
+                    StandardOpenOption.APPEND
+            );
+        }
+        
+        JobsJsonWriter.toJson(job).write(spillWriter);
+        spillWriter.newLine();
+        spillWriter.flush();
+    }
+    
+    // writes checkpoint of the current state of the replay
+    private void writeCheckpoint() {
+        ReplayCheckpoint checkpoint = new ReplayCheckpoint(releasedTracePosition, replayClock, lastReleasedIndex);
+        
+        try {
+            checkpoint.write(checkpointFile);
+        } catch (IOException ex) {
+            logger.error("Error while writing checkpoint.", ex);
+        }
+        lastCheckpointTime = System.nanoTime();
+    }
+    
+    /*
+     * Places the job into the shared queue according to the overload policy.
+     * Returns the time [in nanoseconds] spent blocked on the full queue.
+     */
+    private long release(Job job) throws InterruptedException, IOException {
+        BlockingQueue<Job> targetQueue = getTargetQueue(job);
+        
+        switch (overloadPolicy) {
+            case BlockAndCatchUp -> {
+                if ( clock.offer(targetQueue, job) ) {
+                    return 0;
+                }
+                
+                long blockingStartTime = clock.nanoTime();
+                clock.put(targetQueue, job);
+                return clock.nanoTime() - blockingStartTime;
+            }
+            case Drop -> {
+                if ( !clock.offer(targetQueue, job) ) {
+                    metrics.recordDrop();
+                }
+            }
+            case SpillToDisk -> {
+                if ( !clock.offer(targetQueue, job) ) {
+                    spill(job);
+                    metrics.recordSpill();
+                }
+            }
+            default ->
+                throw new IllegalStateException("Unsupported overload policy: " + overloadPolicy);
+        }
+        
+        return 0;
     }
     
     /**
      * Produces job object and puts it into the shared queue.
-     * @return 
      */
     private void produce() {
-        while (!jobs.isEmpty()) {
-            Job job = jobs.poll();
-            double jobArrivalTime = job.getArrivalTime();
-            
-            try {
-                blockingQueue.put(job);
-            } catch (InterruptedException e) {
-                logger.error("Error while putting job into queue. Producer will be terminated.");
-                return;
+        if ( summaryPeriod > 0 ) {
+            metrics.startSummaryLogging(summaryPeriod, TimeUnit.SECONDS);
+        }
+        
+        if ( resumeCheckpoint != null ) {
+            lastReleasedIndex = resumeCheckpoint.getLastReleasedIndex();
+            replayClock = resumeCheckpoint.getReplayClock();
+        }
+        lastCheckpointTime = System.nanoTime();
+        if ( checkpointFile != null ) {
+            releasedTracePosition = tracePositionSupplier.getAsLong();
+        }
+        
+        boolean isComplete;
+        try {
+            isComplete = releaseJobs();
+        } finally {
+            metrics.stopSummaryLogging();
+            closeSpillWriter();
+            if ( checkpointFile != null ) {
+                writeCheckpoint();
             }
-            
-            if ( jobs.isEmpty() ) {
-                logger.info("Generation of jobs complete.");
-                return;
+            clock.unregister();
+        }
+        
+        if ( isComplete ) {
+            logger.info("Generation of jobs complete. " + metrics.getSummary());
+        }
+    }
+    
+    /*
+     * Releases all the jobs according to their arrival times. Returns false,
+     * if the producer was terminated prematurely.
+     */
+    private boolean releaseJobs() {
+        boolean isFirstJob = true;
+        
+        while ( true ) {
+            // time spent waiting for the source shows, whether the source is too slow
+            long sourceWaitStartTime = System.nanoTime();
+            if ( !jobs.hasNext() ) {
+                break;
             }
+            Job job = jobs.next();
+            metrics.recordSourceWait(System.nanoTime() - sourceWaitStartTime);
             
-            double sleepTime = jobs.peek().getArrivalTime() - jobArrivalTime;
-            logger.info("Producer sleeping time [in seconds]: " + (sleepTime * 60));
+            // resumed replay continues the timeline of the checkpointed one
+            if ( isFirstJob ) {
+                job = applyArrivalSettings(job);
+                firstArrivalTime = (resumeCheckpoint != null) ? replayClock : job.getArrivalTime();
+                startTime = clock.nanoTime();
+                isFirstJob = false;
+            }
             
+            // overdue jobs are released immediately - producer catches up the schedule
             try {
-                Thread.sleep(Math.round(sleepTime * 60 * 1000));
+                job = waitForRelease(job);
             } catch (InterruptedException ex) {
                 logger.error("Producer prematurely interrupted. Producer will be terminated.");
-                return;
+                return false;
+            }
+            long releaseTime = getReleaseTime(job);
+            
+            long blockedTime;
+            try {
+                blockedTime = release(job);
+            } catch (InterruptedException e) {
+                logger.error("Error while putting job into queue. Producer will be terminated.");
+                return false;
+            } catch (IOException ex) {
+                logger.error("Error while spilling job to disk. Producer will be terminated.", ex);
+                return false;
             }
+            
+            long actualReleaseTime = clock.nanoTime();
+            metrics.recordRelease(actualReleaseTime - releaseTime, blockedTime);
+            
+            lastReleasedIndex++;
+            replayClock = job.getArrivalTime();
+            if ( checkpointFile != null ) {
+                releasedTracePosition = tracePositionSupplier.getAsLong();
+            }
+            if ( releaseJournal != null ) {
+                releaseJournal.record(
+                        lastReleasedIndex, replayClock, releaseTime, actualReleaseTime, 
+                        blockedTime, getQueuesSize()
+                );
+            }
+            if ( checkpointFile != null && System.nanoTime() - lastCheckpointTime >= checkpointPeriod ) {
+                writeCheckpoint();
+            }
+        }
+        
+        if ( Thread.currentThread().isInterrupted() ) {
+            logger.error("Producer prematurely interrupted. Producer will be terminated.");
+            return false;
         }
         
-        logger.info("Generation of jobs complete.");
+        return true;
+    }
+    
+    // closes the spill file, if it was opened
+    private void closeSpillWriter() {
+        if ( spillWriter == null ) {
+            return;
+        }
+        
+        try {
+            spillWriter.close();
+        } catch (IOException ex) {
+            logger.error("Error while closing spill file.", ex);
+        }
+    }
+    
+    /**
+     * Sets policy applied, when the shared queue is full. Must be called 
+     * before the producer is started. Default policy is 
+     * OverloadPolicy.BlockAndCatchUp.
+     * 
+     * @param overloadPolicy overload policy
+     */
+    public void setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        this.overloadPolicy = Objects.requireNonNull(overloadPolicy);
+    }
+    
+    /**
+     * Sets file, which jobs are spilled into under the OverloadPolicy.SpillToDisk
+     * policy. Must be called before the producer is started. Jobs are appended
+     * to the file, one JSON object per line.
+     * 
+     * @param spillFileName name of the spill file
+     */
+    public void setSpillFile(String spillFileName) {
+        this.spillFile = Paths.get(spillFileName);
+    }
+    
+    /**
+     * @return the current lag [in nanoseconds] behind the schedule, i.e. 
+     * difference between the actual and the intended release time of the last
+     * released job
+     */
+    public long getLagTime() {
+        return metrics.getLagTimeNanos();
+    }
+    
+    /**
+     * @return the maximal lag [in nanoseconds] behind the schedule so far
+     */
+    public long getMaxLagTime() {
+        return metrics.getMaxLagTimeNanos();
+    }
+    
+    /**
+     * @return the total time [in nanoseconds] spent blocked on full shared queue.
+     * High blocked time indicates, that consumers are too slow. High lag 
+     * with low blocked time indicates, that the producer itself is too slow.
+     */
+    public long getBlockedTime() {
+        return metrics.getBlockedTimeNanos();
+    }
+    
+    /**
+     * @return the total time [in nanoseconds] spent waiting for the jobs from 
+     * the source. High source wait time indicates, that the source of jobs 
+     * (e.g. generator or dataset reader) is too slow.
+     */
+    public long getSourceWaitTime() {
+        return metrics.getSourceWaitTimeNanos();
+    }
+    
+    /**
+     * @return the number of jobs released so far (including dropped and 
+     * spilled ones)
+     */
+    public long getReleasedJobsNum() {
+        return metrics.getReleasedJobsNum();
+    }
+    
+    /**
+     * @return the number of jobs dropped due to full shared queue
+     */
+    public long getDroppedJobsNum() {
+        return metrics.getDroppedJobsNum();
+    }
+    
+    /**
+     * @return the number of jobs spilled to disk due to full shared queue
+     */
+    public long getSpilledJobsNum() {
+        return metrics.getSpilledJobsNum();
+    }
+    
+    /**
+     * Sets period of writing metrics summary into the log. Must be called 
+     * before the producer is started. Default period is 10 seconds.
+     * 
+     * @param summaryPeriod period [in seconds], 0 disables the summary
+     */
+    public void setSummaryPeriod(long summaryPeriod) {
+        if ( summaryPeriod < 0 ) {
+            throw new IllegalArgumentException("Invalid summary period: " + summaryPeriod);
+        }
+        this.summaryPeriod = summaryPeriod;
+    }
+    
+    /**
+     * Enables periodic checkpointing of the replay. Must be called before 
+     * the producer is started. The checkpoint is also written, when 
+     * the producer terminates.
+     * 
+     * The trace position supplier must return the position in the trace 
+     * just after the last job taken from the source of jobs, e.g. 
+     * <code>reader::getPosition</code> of the dataset stream reader used 
+     * directly as the source.
+     * 
+     * @param checkpointFileName name of the checkpoint file
+     * @param checkpointPeriod period [in seconds] of checkpointing
+     * @param tracePositionSupplier supplier of the position in the trace
+     */
+    public void setCheckpointing(
+            String checkpointFileName, 
+            long checkpointPeriod, 
+            LongSupplier tracePositionSupplier
+    ) {
+        if ( checkpointPeriod <= 0 ) {
+            throw new IllegalArgumentException("Invalid checkpoint period: " + checkpointPeriod);
+        }
+        this.checkpointFile = Paths.get(checkpointFileName);
+        this.checkpointPeriod = TimeUnit.SECONDS.toNanos(checkpointPeriod);
+        this.tracePositionSupplier = Objects.requireNonNull(tracePositionSupplier);
+    }
+    
+    /**
+     * Resumes the replay from specified checkpoint. Must be called before 
+     * the producer is started. The source of jobs must continue just after
+     * the last job released before the checkpoint, e.g. the dataset opened
+     * at the trace position of the checkpoint. Released jobs keep their 
+     * distances from the replay clock of the checkpoint and indices of the
+     * released jobs continue after the index stored in the checkpoint.
+     * 
+     * @param checkpoint checkpoint to resume from
+     */
+    public void resumeFrom(ReplayCheckpoint checkpoint) {
+        this.resumeCheckpoint = Objects.requireNonNull(checkpoint);
+    }
+    
+    /**
+     * Sets journal, which actual releases of all the jobs are recorded into.
+     * Must be called before the producer is started. The journal is not 
+     * closed by the producer.
+     * 
+     * @param releaseJournal journal of releases
+     */
+    public void setReleaseJournal(JobReleaseJournal releaseJournal) {
+        this.releaseJournal = Objects.requireNonNull(releaseJournal);
+    }
+    
+    /**
+     * Sets clock of the replay shared with consumers and registers the producer
+     * as its participant. Must be called before the producer and consumers 
+     * are started. The producer unregisters itself, when it finishes. Default
+     * clock is the wall clock.
+     * 
+     * @param clock clock of the replay
+     */
+    public void setReplayClock(ReplayClock clock) {
+        this.clock = Objects.requireNonNull(clock);
+        clock.register();
+    }
+    
+    /**
+     * Sets time scale of the replay, i.e. the number of minutes of arrival 
+     * times replayed per minute. Can be called at any time, also during 
+     * the replay from another thread. Default time scale is 1.
+     * 
+     * @param timeScale time scale, values above 1 accelerate the replay
+     * @throws IllegalArgumentException if the time scale is not positive 
+     * and finite
+     */
+    public synchronized void setTimeScale(double timeScale) {
+        this.requestedArrivalSettings = new ArrivalSettings(
+                requestedArrivalSettings.jobArrivalConfigSettings, timeScale
+        );
+    }
+    
+    /**
+     * @return the time scale of the replay, including the last change, which 
+     * may not be applied yet
+     */
+    public double getTimeScale() {
+        return requestedArrivalSettings.timeScale;
+    }
+    
+    /**
+     * Sets generator, whose settings of job arrivals can be changed during 
+     * the replay. Must be called before the producer is started. 
+     * The generator must be the source of jobs of the producer - not wrapped 
+     * e.g. into a read-ahead iterator, so the arrival of the job waiting for 
+     * its release can be drawn again.
+     * 
+     * @param generator generator used as the source of jobs
+     */
+    void setArrivalGenerator(JobGenerator generator) {
+        this.arrivalGenerator = Objects.requireNonNull(generator);
+        this.requestedArrivalSettings = new ArrivalSettings(
+                generator.getJobArrivalConfigSettings(), requestedArrivalSettings.timeScale
+        );
+        this.arrivalSettings = requestedArrivalSettings;
+    }
+    
+    /**
+     * Changes settings of job arrivals of the generator and the time scale 
+     * of the replay together. Can be called at any time, also during 
+     * the replay from another thread. The arrival of the job waiting for its 
+     * release is drawn again by the new settings.
+     * 
+     * @param jobArrivalConfigSettings new settings of job arrivals
+     * @param timeScale new time scale
+     * @throws IllegalArgumentException if the time scale is not positive 
+     * and finite
+     * @throws IllegalStateException if the generator is not set
+     */
+    synchronized void setArrivalSettings(
+            ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings, 
+            double timeScale
+    ) {
+        if ( arrivalGenerator == null ) {
+            throw new IllegalStateException("Generator of changeable arrivals not set.");
+        }
+        this.requestedArrivalSettings = new ArrivalSettings(Objects.requireNonNull(jobArrivalConfigSettings), timeScale);
+    }
+    
+    /**
+     * Changes settings of job arrivals of the generator, the time scale 
+     * is kept.
+     * 
+     * @param jobArrivalConfigSettings new settings of job arrivals
+     * @throws IllegalStateException if the generator is not set
+     */
+    synchronized void setJobArrivalConfigSettings(ConfigSettings.JobArrivalConfigSettings jobArrivalConfigSettings) {
+        setArrivalSettings(jobArrivalConfigSettings, requestedArrivalSettings.timeScale);
+    }
+    
+    /**
+     * @return the settings of job arrivals of the generator, including the last
+     * change, which may not be applied yet - null if the generator is not set
+     */
+    ConfigSettings.JobArrivalConfigSettings getJobArrivalConfigSettings() {
+        return requestedArrivalSettings.jobArrivalConfigSettings;
+    }
+    
+    /**
+     * @return the index of the last released job, -1 if no job was released yet
+     */
+    public long getLastReleasedIndex() {
+        return lastReleasedIndex;
+    }
+    
+    /**
+     * Returns metrics of the replay. Metrics can be registered as JMX MBean.
+     * 
+     * @return metrics of the replay
+     */
+    public JobProducerMetrics getMetrics() {
+        return metrics;
     }
     
     
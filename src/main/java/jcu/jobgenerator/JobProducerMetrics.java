@@ -0,0 +1,300 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Metrics of job producer.
+ *
+ * Measures fidelity of the replay: lateness of each release (actual minus
+ * intended release time), time spent blocked on full shared queue, release
+ * rate and size of the shared queue(s). Values are recorded by the producer
+ * thread without any allocation. Metrics can be exposed as JMX MBean and
+ * their summary can be periodically written into the log.
+ *
+ * @author Michal Konopa
+ */
+public final class JobProducerMetrics implements JobProducerMetricsMBean {
+    // for logging class events
+    private static final Logger logger = LogManager.getLogger(JobProducerMetrics.class);
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    // minimal period [in nanoseconds] of release rate measurement
+    private static final long RATE_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    private final LatencyHistogram latenessHistogram = new LatencyHistogram();
+    private final LatencyHistogram blockedTimeHistogram = new LatencyHistogram();
+
+    // returns actual size of the shared queue(s)
+    private final IntSupplier queueSizeSupplier;
+
+    private volatile long releasedJobsNum = 0;
+    private volatile long droppedJobsNum = 0;
+    private volatile long spilledJobsNum = 0;
+    private volatile long lagTime = 0;
+    private volatile long maxLagTime = 0;
+    private volatile long sourceWaitTime = 0;
+
+    // state of release rate measurement
+    private long ratePeriodStart = System.nanoTime();
+    private long ratePeriodReleasedJobsNum = 0;
+    private double releaseRate = 0;
+
+    private ObjectName mbeanName = null;
+    private ScheduledExecutorService summaryExecutor = null;
+
+
+    /**
+     * Creates new metrics.
+     *
+     * @param queueSizeSupplier supplier of actual size of the shared queue(s)
+     */
+    JobProducerMetrics(IntSupplier queueSizeSupplier) {
+        this.queueSizeSupplier = queueSizeSupplier;
+    }
+
+    /**
+     * Records release of a job.
+     *
+     * @param lateness difference between actual and intended release time [in nanoseconds]
+     * @param blockedTime time spent blocked on full shared queue [in nanoseconds]
+     */
+    void recordRelease(long lateness, long blockedTime) {
+        latenessHistogram.record(lateness);
+        blockedTimeHistogram.record(blockedTime);
+
+        lagTime = lateness;
+        if ( lateness > maxLagTime ) {
+            maxLagTime = lateness;
+        }
+        releasedJobsNum++;
+    }
+
+    /**
+     * Records time spent waiting for the next job from the source of jobs.
+     *
+     * @param waitTime waiting time [in nanoseconds]
+     */
+    void recordSourceWait(long waitTime) {
+        sourceWaitTime += waitTime;
+    }
+
+    /**
+     * Records job dropped due to full shared queue.
+     */
+    void recordDrop() {
+        droppedJobsNum++;
+    }
+
+    /**
+     * Records job spilled to disk due to full shared queue.
+     */
+    void recordSpill() {
+        spilledJobsNum++;
+    }
+
+    /**
+     * @return the lag [in nanoseconds] of the last released job
+     */
+    long getLagTimeNanos() {
+        return lagTime;
+    }
+
+    /**
+     * @return the maximal lag [in nanoseconds]
+     */
+    long getMaxLagTimeNanos() {
+        return maxLagTime;
+    }
+
+    /**
+     * @return the total time [in nanoseconds] spent blocked on full shared queue
+     */
+    long getBlockedTimeNanos() {
+        return blockedTimeHistogram.getSum();
+    }
+
+    /**
+     * @return the total time [in nanoseconds] spent waiting for the source of jobs
+     */
+    long getSourceWaitTimeNanos() {
+        return sourceWaitTime;
+    }
+
+    /**
+     * Registers the metrics into the platform MBean server under the name
+     * <code>jcu.jobgenerator:type=JobProducer,name=[name]</code>.
+     *
+     * @param name name of the producer
+     * @throws JMException if the registration fails
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("jcu.jobgenerator:type=JobProducer,name=" + ObjectName.quote(name));
+        mbeanServer.registerMBean(this, objectName);
+        mbeanName = objectName;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if they were
+     * registered.
+     *
+     * @throws JMException if the unregistration fails
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if ( mbeanName == null ) {
+            return;
+        }
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        mbeanName = null;
+    }
+
+    /**
+     * Starts periodic writing of metrics summary into the log.
+     *
+     * @param period period of writing
+     * @param unit time unit of the period
+     */
+    synchronized void startSummaryLogging(long period, TimeUnit unit) {
+        if ( summaryExecutor != null ) {
+            return;
+        }
+
+        summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-producer-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        summaryExecutor.scheduleAtFixedRate(
+                () -> logger.info(getSummary()), period, period, unit
+        );
+    }
+
+    /**
+     * Stops periodic writing of metrics summary into the log.
+     */
+    synchronized void stopSummaryLogging() {
+        if ( summaryExecutor == null ) {
+            return;
+        }
+        summaryExecutor.shutdownNow();
+        summaryExecutor = null;
+    }
+
+    /**
+     * @return the summary of the metrics
+     */
+    String getSummary() {
+        return String.format(
+                "Released jobs: %d, dropped: %d, spilled: %d, rate [jobs/s]: %.1f, queue size: %d, "
+                + "lateness [ms] mean: %.3f, p50: %.3f, p99: %.3f, p99.9: %.3f, max: %.3f, "
+                + "blocked time [ms] total: %.3f, p99: %.3f, max: %.3f, source wait time [ms]: %.3f",
+                getReleasedJobsNum(), getDroppedJobsNum(), getSpilledJobsNum(),
+                getReleaseRate(), getQueueSize(),
+                getLatenessMean(), getLatenessP50(), getLatenessP99(), getLatenessP999(), getLatenessMax(),
+                getBlockedTimeTotal(), getBlockedTimeP99(), getBlockedTimeMax(),
+                getSourceWaitTimeTotal()
+        );
+    }
+
+    @Override
+    public long getReleasedJobsNum() {
+        return releasedJobsNum;
+    }
+
+    @Override
+    public long getDroppedJobsNum() {
+        return droppedJobsNum;
+    }
+
+    @Override
+    public long getSpilledJobsNum() {
+        return spilledJobsNum;
+    }
+
+    @Override
+    public synchronized double getReleaseRate() {
+        long now = System.nanoTime();
+        long periodLength = now - ratePeriodStart;
+        if ( periodLength >= RATE_PERIOD ) {
+            long released = releasedJobsNum;
+            releaseRate = (released - ratePeriodReleasedJobsNum) * 1e9 / periodLength;
+            ratePeriodReleasedJobsNum = released;
+            ratePeriodStart = now;
+        }
+        return releaseRate;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queueSizeSupplier.getAsInt();
+    }
+
+    @Override
+    public double getLagTime() {
+        return lagTime / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxLagTime() {
+        return maxLagTime / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatenessMean() {
+        return latenessHistogram.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatenessP50() {
+        return latenessHistogram.getValueAtPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatenessP99() {
+        return latenessHistogram.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatenessP999() {
+        return latenessHistogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatenessMax() {
+        return latenessHistogram.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getBlockedTimeTotal() {
+        return blockedTimeHistogram.getSum() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getBlockedTimeP99() {
+        return blockedTimeHistogram.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getBlockedTimeMax() {
+        return blockedTimeHistogram.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSourceWaitTimeTotal() {
+        return sourceWaitTime / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package jcu.jobgenerator;
+
+/**
+ * JMX management interface of job producer metrics.
+ * 
+ * All times are in milliseconds.
+ * 
+ * @author Michal Konopa
+ */
+public interface JobProducerMetricsMBean {
+    
+    long getReleasedJobsNum();
+    
+    long getDroppedJobsNum();
+    
+    long getSpilledJobsNum();
+    
+    /**
+     * @return number of released jobs per second measured over the last 
+     * (at least 1 second long) period
+     */
+    double getReleaseRate();
+    
+    /**
+     * @return actual number of jobs in all the shared queues 
+     */
+    int getQueueSize();
+    
+    double getLagTime();
+    
+    double getMaxLagTime();
+    
+    double getLatenessMean();
+    
+    double getLatenessP50();
+    
+    double getLatenessP99();
+    
+    double getLatenessP999();
+    
+    double getLatenessMax();
+    
+    double getBlockedTimeTotal();
+    
+    double getBlockedTimeP99();
+    
+    double getBlockedTimeMax();
+    
+    double getSourceWaitTimeTotal();
+}
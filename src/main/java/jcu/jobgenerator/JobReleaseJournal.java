@@ -0,0 +1,160 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of actual releases of jobs.
+ *
+ * Each release is written as a fixed-size record into a memory-mapped ring
+ * file, so recording takes no allocation and no system call. When the ring
+ * is full, the oldest records are overwritten. The records survive a crash
+ * of the JVM, so the journal can be used for post-mortem analysis - see
+ * {@link JobReleaseJournalSummary}.
+ *
+ * Layout of the file (all values big-endian):
+ * header [64 bytes]:
+ *  - magic number [int], version [int], record size [int], padding [int]
+ *  - capacity of the ring in records [long]
+ *  - base nano time [long] and base epoch time [in nanoseconds, long],
+ *    which map release times to the wall-clock time
+ *  - number of records written so far [long]
+ * record [48 bytes]:
+ *  - index of the job [long]
+ *  - arrival time of the job [in minutes, double]
+ *  - intended release time [in nanoseconds, long]
+ *  - actual release time [in nanoseconds, long]
+ *  - time blocked on the full shared queue [in nanoseconds, long]
+ *  - size of the shared queue(s) after the release [int], padding [int]
+ *
+ * Release times are values of <code>System.nanoTime()</code>.
+ *
+ * @author Michal Konopa
+ */
+public final class JobReleaseJournal implements Closeable {
+    static final int MAGIC = 0x4A524A4C;
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 48;
+
+    // offsets of header fields
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 8;
+    static final int CAPACITY_OFFSET = 16;
+    static final int BASE_NANO_TIME_OFFSET = 24;
+    static final int BASE_EPOCH_TIME_OFFSET = 32;
+    static final int WRITTEN_RECORDS_NUM_OFFSET = 40;
+
+    // offsets of record fields
+    static final int INDEX_OFFSET = 0;
+    static final int ARRIVAL_TIME_OFFSET = 8;
+    static final int INTENDED_RELEASE_TIME_OFFSET = 16;
+    static final int ACTUAL_RELEASE_TIME_OFFSET = 24;
+    static final int BLOCKED_TIME_OFFSET = 32;
+    static final int QUEUE_SIZE_OFFSET = 40;
+
+    // maximal capacity, for which the whole file can be mapped at once
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private long writtenRecordsNum = 0;
+
+
+    /**
+     * Creates new journal in specified file. Existing file is overwritten.
+     *
+     * @param file journal file
+     * @param capacity maximal number of records kept in the journal
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if the capacity is invalid
+     */
+    public JobReleaseJournal(Path file, int capacity) throws IOException {
+        if ( capacity < 1 || capacity > MAX_CAPACITY ) {
+            throw new IllegalArgumentException("Invalid capacity of journal: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.fileChannel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+
+        long fileSize = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        buffer.putLong(BASE_NANO_TIME_OFFSET, System.nanoTime());
+        buffer.putLong(BASE_EPOCH_TIME_OFFSET, System.currentTimeMillis() * 1_000_000);
+        buffer.putLong(WRITTEN_RECORDS_NUM_OFFSET, 0);
+    }
+
+    /**
+     * Records release of a job. Must be called from a single thread.
+     *
+     * @param index index of the job
+     * @param arrivalTime arrival time of the job
+     * @param intendedReleaseTime intended release time [in nanoseconds]
+     * @param actualReleaseTime actual release time [in nanoseconds]
+     * @param blockedTime time blocked on the full shared queue [in nanoseconds]
+     * @param queueSize size of the shared queue(s) after the release
+     */
+    void record(
+            long index,
+            double arrivalTime,
+            long intendedReleaseTime,
+            long actualReleaseTime,
+            long blockedTime,
+            int queueSize
+    ) {
+        int recordOffset = HEADER_SIZE + (int) (writtenRecordsNum % capacity) * RECORD_SIZE;
+
+        buffer.putLong(recordOffset + INDEX_OFFSET, index);
+        buffer.putDouble(recordOffset + ARRIVAL_TIME_OFFSET, arrivalTime);
+        buffer.putLong(recordOffset + INTENDED_RELEASE_TIME_OFFSET, intendedReleaseTime);
+        buffer.putLong(recordOffset + ACTUAL_RELEASE_TIME_OFFSET, actualReleaseTime);
+        buffer.putLong(recordOffset + BLOCKED_TIME_OFFSET, blockedTime);
+        buffer.putInt(recordOffset + QUEUE_SIZE_OFFSET, queueSize);
+
+        // the record is complete, before it is counted
+        buffer.putLong(WRITTEN_RECORDS_NUM_OFFSET, ++writtenRecordsNum);
+    }
+
+    /**
+     * @return the number of records written so far
+     */
+    public long getWrittenRecordsNum() {
+        return writtenRecordsNum;
+    }
+
+    /**
+     * Forces the records written so far onto the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        fileChannel.close();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Summary statistics of journal of job releases.
+ *
+ * Reads all the records kept in the journal file written by
+ * {@link JobReleaseJournal} and computes statistics of lateness of
+ * the releases, time blocked on the full shared queue, size of the shared
+ * queue and the release rate.
+ *
+ * @author Michal Konopa
+ */
+final class JobReleaseJournalSummary {
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final LatencyHistogram latenessHistogram = new LatencyHistogram();
+    private final LatencyHistogram blockedTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram queueSizeHistogram = new LatencyHistogram();
+
+    private long writtenRecordsNum = 0;
+    private long keptRecordsNum = 0;
+    private long firstIndex = 0;
+    private long lastIndex = 0;
+    private long firstReleaseTime = 0;
+    private long lastReleaseTime = 0;
+    private long baseNanoTime = 0;
+    private long baseEpochTime = 0;
+
+
+    private JobReleaseJournalSummary() {
+    }
+
+    /**
+     * Computes summary of the journal in specified file.
+     *
+     * @param file journal file
+     * @return summary of the journal
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    static JobReleaseJournalSummary summarize(Path file) throws IOException {
+        JobReleaseJournalSummary summary = new JobReleaseJournalSummary();
+
+        try ( FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ) ) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            summary.read(buffer);
+        }
+
+        return summary;
+    }
+
+    // reads all the records kept in the journal
+    private void read(MappedByteBuffer buffer) throws IOException {
+        if ( buffer.capacity() < JobReleaseJournal.HEADER_SIZE
+                || buffer.getInt(JobReleaseJournal.MAGIC_OFFSET) != JobReleaseJournal.MAGIC ) {
+            throw new IOException("Not a journal of job releases.");
+        }
+
+        int version = buffer.getInt(JobReleaseJournal.VERSION_OFFSET);
+        if ( version != JobReleaseJournal.VERSION ) {
+            throw new IOException("Unsupported version of journal: " + version);
+        }
+
+        int recordSize = buffer.getInt(JobReleaseJournal.RECORD_SIZE_OFFSET);
+        long capacity = buffer.getLong(JobReleaseJournal.CAPACITY_OFFSET);
+        baseNanoTime = buffer.getLong(JobReleaseJournal.BASE_NANO_TIME_OFFSET);
+        baseEpochTime = buffer.getLong(JobReleaseJournal.BASE_EPOCH_TIME_OFFSET);
+        writtenRecordsNum = buffer.getLong(JobReleaseJournal.WRITTEN_RECORDS_NUM_OFFSET);
+
+        if ( JobReleaseJournal.HEADER_SIZE + capacity * recordSize > buffer.capacity() ) {
+            throw new IOException("Truncated journal of job releases.");
+        }
+
+        // records are read from the oldest one kept in the ring
+        keptRecordsNum = Math.min(writtenRecordsNum, capacity);
+        for ( long recordId = writtenRecordsNum - keptRecordsNum; recordId < writtenRecordsNum; recordId++ ) {
+            int recordOffset = JobReleaseJournal.HEADER_SIZE + (int) (recordId % capacity) * recordSize;
+
+            long index = buffer.getLong(recordOffset + JobReleaseJournal.INDEX_OFFSET);
+            long intendedReleaseTime = buffer.getLong(recordOffset + JobReleaseJournal.INTENDED_RELEASE_TIME_OFFSET);
+            long actualReleaseTime = buffer.getLong(recordOffset + JobReleaseJournal.ACTUAL_RELEASE_TIME_OFFSET);
+            long blockedTime = buffer.getLong(recordOffset + JobReleaseJournal.BLOCKED_TIME_OFFSET);
+            int queueSize = buffer.getInt(recordOffset + JobReleaseJournal.QUEUE_SIZE_OFFSET);
+
+            if ( recordId == writtenRecordsNum - keptRecordsNum ) {
+                firstIndex = index;
+                firstReleaseTime = actualReleaseTime;
+            }
+            lastIndex = index;
+            lastReleaseTime = actualReleaseTime;
+
+            latenessHistogram.record(actualReleaseTime - intendedReleaseTime);
+            blockedTimeHistogram.record(blockedTime);
+            queueSizeHistogram.record(queueSize);
+        }
+    }
+
+    // converts specified release time into wall-clock time
+    private Instant toInstant(long releaseTime) {
+        long epochTime = baseEpochTime + (releaseTime - baseNanoTime);
+        return Instant.ofEpochSecond(0, epochTime);
+    }
+
+    @Override
+    public String toString() {
+        if ( keptRecordsNum == 0 ) {
+            return "Journal contains no releases.";
+        }
+
+        double duration = (lastReleaseTime - firstReleaseTime) / NANOS_PER_SECOND;
+        double releaseRate = (duration > 0) ? (keptRecordsNum - 1) / duration : 0;
+
+        return String.format(
+                "Releases written: %d, kept: %d, job indices: %d - %d%n"
+                + "first release: %s, last release: %s, duration [s]: %.3f, rate [jobs/s]: %.1f%n"
+                + "lateness [ms] mean: %.3f, p50: %.3f, p99: %.3f, p99.9: %.3f, max: %.3f%n"
+                + "blocked time [ms] total: %.3f, p99: %.3f, max: %.3f%n"
+                + "queue size mean: %.1f, p99: %d, max: %d",
+                writtenRecordsNum, keptRecordsNum, firstIndex, lastIndex,
+                toInstant(firstReleaseTime), toInstant(lastReleaseTime), duration, releaseRate,
+                latenessHistogram.getMean() / NANOS_PER_MILLI,
+                latenessHistogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                latenessHistogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                latenessHistogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                latenessHistogram.getMax() / NANOS_PER_MILLI,
+                blockedTimeHistogram.getSum() / NANOS_PER_MILLI,
+                blockedTimeHistogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                blockedTimeHistogram.getMax() / NANOS_PER_MILLI,
+                queueSizeHistogram.getMean(),
+                queueSizeHistogram.getValueAtPercentile(99),
+                queueSizeHistogram.getMax()
+        );
+    }
+}
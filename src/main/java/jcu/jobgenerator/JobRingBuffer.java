@@ -0,0 +1,460 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded lock-free ring buffer of jobs.
+ *
+ * Can be used as the shared queue between job producer and job consumer(s)
+ * instead of <code>LinkedBlockingQueue</code>. All the slots are allocated
+ * in advance and no lock is taken when a job is put into the buffer or taken
+ * from it. Each slot carries its own sequence number, which tells producers
+ * and consumers, whether the slot is free or whether it holds a published job.
+ * Head and tail counters are padded to separate cache lines, so producers and
+ * consumers do not invalidate each other's cache lines.
+ *
+ * When the buffer is full (or empty), the blocking operations wait according
+ * to the selected wait strategy.
+ *
+ * @author Michal Konopa
+ */
+public final class JobRingBuffer extends AbstractQueue<Job> implements BlockingQueue<Job> {
+
+    /**
+     * Number of threads accessing the buffer.
+     *
+     * SingleProducerSingleConsumer - at most one thread puts the jobs and at
+     * most one thread takes the jobs at the same time. Counters are advanced
+     * by plain ordered writes.
+     * MultiProducerMultiConsumer - any number of threads can put and take the
+     * jobs. Counters are advanced by CAS operations.
+     */
+    public static enum Mode {
+        SingleProducerSingleConsumer, MultiProducerMultiConsumer
+    };
+
+    /**
+     * Strategy of waiting for a free slot or for a published job.
+     *
+     * Blocking - waiting thread is parked on a condition and woken up by
+     * the opposite side. Lowest CPU usage, highest latency.
+     * Yielding - waiting thread spins for a while and then yields the CPU.
+     * BusySpin - waiting thread spins all the time. Lowest latency, needs
+     * a dedicated CPU core for each waiting thread.
+     */
+    public static enum WaitStrategy {
+        Blocking, Yielding, BusySpin
+    };
+
+    // number of spins before the yielding strategy starts to yield
+    private static final int SPIN_TRIES = 100;
+
+    // padding of counters to whole cache lines
+    static class LhsPadding {
+        protected long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class Value extends LhsPadding {
+        protected volatile long value;
+
+        static final VarHandle VALUE;
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+            } catch (ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+    }
+
+    static class RhsPadding extends Value {
+        protected long p09, p10, p11, p12, p13, p14, p15;
+    }
+
+    // counter padded against false sharing
+    static final class Sequence extends RhsPadding {
+
+        long get() {
+            return value;
+        }
+
+        void setOrdered(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+
+        boolean compareAndSet(long expectedValue, long newValue) {
+            return VALUE.compareAndSet(this, expectedValue, newValue);
+        }
+    }
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Job[].class);
+
+    private final Mode mode;
+    private final WaitStrategy waitStrategy;
+
+    private final int capacity;
+    private final int mask;
+
+    // pre-allocated slots
+    private final Job[] slots;
+
+    // sequence number of each slot
+    private final AtomicLongArray slotSequences;
+
+    // position of the next put
+    private final Sequence tail = new Sequence();
+
+    // position of the next take
+    private final Sequence head = new Sequence();
+
+    // used only by the blocking wait strategy
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final AtomicInteger waitersNum = new AtomicInteger();
+
+
+    /**
+     * Creates new ring buffer with specified capacity, mode and wait strategy.
+     *
+     * @param capacity minimal capacity of the buffer - it will be rounded up
+     * to the nearest power of 2, but at least to 2
+     * @param mode number of threads accessing the buffer
+     * @param waitStrategy strategy of waiting on full or empty buffer
+     * @throws IllegalArgumentException if capacity is less than 1 or greater
+     * than 2^30
+     */
+    public JobRingBuffer(int capacity, Mode mode, WaitStrategy waitStrategy) {
+        if ( capacity < 1 || capacity > (1 << 30) ) {
+            throw new IllegalArgumentException("Invalid capacity of ring buffer: " + capacity);
+        }
+
+        // with a single slot, the sequence of the published slot equals the sequence of the next free slot
+        this.capacity = (capacity <= 2) ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.mode = Objects.requireNonNull(mode);
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.slots = new Job[this.capacity];
+        this.slotSequences = new AtomicLongArray(this.capacity);
+        for ( int slotId = 0; slotId < this.capacity; slotId++ ) {
+            slotSequences.set(slotId, slotId);
+        }
+    }
+
+    /**
+     * Creates new multi producer multi consumer ring buffer with specified
+     * capacity and blocking wait strategy.
+     *
+     * @param capacity minimal capacity of the buffer
+     */
+    public JobRingBuffer(int capacity) {
+        this(capacity, Mode.MultiProducerMultiConsumer, WaitStrategy.Blocking);
+    }
+
+    // wakes up threads waiting on the condition - blocking strategy only
+    private void signalWaiters() {
+        if ( waitStrategy != WaitStrategy.Blocking ) {
+            return;
+        }
+
+        // publication of the slot must be visible before reading the number of waiters
+        VarHandle.fullFence();
+        if ( waitersNum.get() == 0 ) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // indicates, whether there is a job ready to be taken
+    private boolean isJobAvailable() {
+        long position = head.get();
+        return slotSequences.get((int) position & mask) == position + 1;
+    }
+
+    // indicates, whether there is a free slot ready to be written into
+    private boolean isSlotAvailable() {
+        long position = tail.get();
+        return slotSequences.get((int) position & mask) == position;
+    }
+
+    /*
+     * Waits according to the wait strategy until the awaited state may have
+     * changed or until the deadline passes.
+     */
+    private void await(int attempt, boolean forJob, long deadline) throws InterruptedException {
+        if ( Thread.interrupted() ) {
+            throw new InterruptedException();
+        }
+
+        switch (waitStrategy) {
+            case BusySpin -> {
+                Thread.onSpinWait();
+            }
+            case Yielding -> {
+                if ( attempt < SPIN_TRIES ) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case Blocking -> {
+                lock.lockInterruptibly();
+                try {
+                    waitersNum.incrementAndGet();
+                    try {
+                        boolean isReady = forJob ? isJobAvailable() : isSlotAvailable();
+                        if ( !isReady ) {
+                            if ( deadline == Long.MAX_VALUE ) {
+                                stateChanged.await();
+                            } else {
+                                stateChanged.awaitNanos(deadline - System.nanoTime());
+                            }
+                        }
+                    } finally {
+                        waitersNum.decrementAndGet();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            default ->
+                throw new IllegalStateException("Unsupported wait strategy: " + waitStrategy);
+        }
+    }
+
+    /**
+     * Puts specified job into the buffer if there is a free slot.
+     *
+     * @param job job to put
+     * @return <code>true</code> if the job was put into the buffer,
+     * <code>false</code> if the buffer is full
+     */
+    @Override
+    public boolean offer(Job job) {
+        Objects.requireNonNull(job);
+
+        long position = tail.get();
+        while ( true ) {
+            int slotId = (int) position & mask;
+            long difference = slotSequences.get(slotId) - position;
+
+            if ( difference == 0 ) {
+                if ( mode == Mode.SingleProducerSingleConsumer ) {
+                    tail.setOrdered(position + 1);
+                    break;
+                }
+                if ( tail.compareAndSet(position, position + 1) ) {
+                    break;
+                }
+                position = tail.get();
+            } else if ( difference < 0 ) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        int slotId = (int) position & mask;
+        slots[slotId] = job;
+        slotSequences.lazySet(slotId, position + 1);
+
+        signalWaiters();
+        return true;
+    }
+
+    /**
+     * Takes the oldest job from the buffer.
+     *
+     * @return the oldest job or <code>null</code> if the buffer is empty
+     */
+    @Override
+    public Job poll() {
+        long position = head.get();
+        while ( true ) {
+            int slotId = (int) position & mask;
+            long difference = slotSequences.get(slotId) - (position + 1);
+
+            if ( difference == 0 ) {
+                if ( mode == Mode.SingleProducerSingleConsumer ) {
+                    head.setOrdered(position + 1);
+                    break;
+                }
+                if ( head.compareAndSet(position, position + 1) ) {
+                    break;
+                }
+                position = head.get();
+            } else if ( difference < 0 ) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+
+        int slotId = (int) position & mask;
+        Job job = slots[slotId];
+        slots[slotId] = null;
+        slotSequences.lazySet(slotId, position + capacity);
+
+        signalWaiters();
+        return job;
+    }
+
+    @Override
+    public Job peek() {
+        while ( true ) {
+            long position = head.get();
+            int slotId = (int) position & mask;
+            long difference = slotSequences.get(slotId) - (position + 1);
+
+            if ( difference < 0 ) {
+                return null;
+            }
+            if ( difference == 0 ) {
+                Job job = (Job) SLOTS.getAcquire(slots, slotId);
+                if ( job != null && head.get() == position ) {
+                    return job;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void put(Job job) throws InterruptedException {
+        int attempt = 0;
+        while ( !offer(job) ) {
+            await(attempt++, false, Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public boolean offer(Job job, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while ( !offer(job) ) {
+            if ( System.nanoTime() - deadline >= 0 ) {
+                return false;
+            }
+            await(attempt++, false, deadline);
+        }
+        return true;
+    }
+
+    @Override
+    public Job take() throws InterruptedException {
+        int attempt = 0;
+        Job job;
+        while ( (job = poll()) == null ) {
+            await(attempt++, true, Long.MAX_VALUE);
+        }
+        return job;
+    }
+
+    @Override
+    public Job poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        Job job;
+        while ( (job = poll()) == null ) {
+            if ( System.nanoTime() - deadline >= 0 ) {
+                return null;
+            }
+            await(attempt++, true, deadline);
+        }
+        return job;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Job> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Job> collection, int maxElements) {
+        if ( collection == this ) {
+            throw new IllegalArgumentException("Cannot drain ring buffer into itself.");
+        }
+
+        int drainedNum = 0;
+        Job job;
+        while ( drainedNum < maxElements && (job = poll()) != null ) {
+            collection.add(job);
+            drainedNum++;
+        }
+        return drainedNum;
+    }
+
+    /**
+     * Returns the number of jobs in the buffer. In case of concurrent access
+     * the returned value is only an estimate.
+     *
+     * @return number of jobs in the buffer
+     */
+    @Override
+    public int size() {
+        long headPosition = head.get();
+        long tailPosition = tail.get();
+        return (int) Math.max(0, Math.min(capacity, tailPosition - headPosition));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !isJobAvailable();
+    }
+
+    /**
+     * Returns iterator over snapshot of jobs present in the buffer. Jobs
+     * concurrently taken from the buffer may still be present in the snapshot.
+     * The iterator does not support removal.
+     *
+     * @return iterator over snapshot of jobs in the buffer
+     */
+    @Override
+    public Iterator<Job> iterator() {
+        List<Job> snapshot = new ArrayList<>();
+        long tailPosition = tail.get();
+        for ( long position = head.get(); position < tailPosition; position++ ) {
+            int slotId = (int) position & mask;
+            if ( slotSequences.get(slotId) == position + 1 ) {
+                Job job = (Job) SLOTS.getAcquire(slots, slotId);
+                if ( job != null ) {
+                    snapshot.add(job);
+                }
+            }
+        }
+        return snapshot.iterator();
+    }
+
+    /**
+     * @return the capacity of the buffer
+     */
+    int getCapacity() {
+        return capacity;
+    }
+}
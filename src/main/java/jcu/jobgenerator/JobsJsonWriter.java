@@ -4,34 +4,147 @@
  */
 package jcu.jobgenerator;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
+import java.util.Iterator;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 /**
  * Writes set of jobs into JSON file.
  * 
+ * Jobs can be also appended to an existing JSON file, e.g. to extend a trace
+ * by a generator restored from its saved state.
+ * 
  * @author Michal Konopa
  */
 final class JobsJsonWriter {
+    // returns JSON representation of specified job
+    static JSONObject toJson(Job job) {
+        JSONObject jobJson = new JSONObject();
+        jobJson.put("priority", job.getPriority());
+        jobJson.put("isStoppable", job.isStopable());
+        jobJson.put("deadline", job.getDeadline());
+        jobJson.put("timeslices", job.getTimeslices());
+        jobJson.put("cudaCoresNumber", job.getCudaCoresNumber());
+        jobJson.put("arrivalTime", job.getArrivalTime());
+        return jobJson;
+    }
+    
     // writes specified tasks into the "jobs.json" file in the current directory
     static void writeJobs(Collection<Job> jobs) throws IOException {
         JSONArray taskArrJson = new JSONArray();
         try (FileWriter jobFileWriter = new FileWriter("jobs.json")) {
             for ( var job : jobs ) {
-                JSONObject jobJson = new JSONObject();
-                jobJson.put("priority", job.getPriority());
-                jobJson.put("isStoppable", job.isStopable());
-                jobJson.put("deadline", job.getDeadline());
-                jobJson.put("timeslices", job.getTimeslices());
-                jobJson.put("cudaCoresNumber", job.getCudaCoresNumber());
-                jobJson.put("arrivalTime", job.getArrivalTime());
-                
-                taskArrJson.put(jobJson);
+                taskArrJson.put(toJson(job));
             }
             taskArrJson.write(jobFileWriter);
         }
     }
+    
+    // writes jobs of specified iterator as elements of JSON array followed by its closing bracket
+    private static void writeJobElements(Iterator<Job> jobs, Writer jobFileWriter, boolean isFirst) throws IOException {
+        while ( jobs.hasNext() ) {
+            if ( !isFirst ) {
+                jobFileWriter.write(',');
+            }
+            toJson(jobs.next()).write(jobFileWriter);
+            isFirst = false;
+        }
+        jobFileWriter.write(']');
+    }
+    
+    // writes jobs of specified iterator into specified file one by one, so they need not be held in memory
+    static void writeJobs(Iterator<Job> jobs, Path jobsFile) throws IOException {
+        try ( Writer jobFileWriter = Files.newBufferedWriter(jobsFile, StandardCharsets.UTF_8) ) {
+            jobFileWriter.write('[');
+            writeJobElements(jobs, jobFileWriter, true);
+        }
+    }
+    
+    // returns position of the last byte before specified position, which is not a whitespace, -1 if there is none
+    private static long findLastNonWhitespace(FileChannel channel, long position) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(1);
+        while ( --position >= 0 ) {
+            byteBuffer.clear();
+            channel.read(byteBuffer, position);
+            if ( !Character.isWhitespace(byteBuffer.get(0)) ) {
+                return position;
+            }
+        }
+        return -1;
+    }
+    
+    // returns byte of specified file at specified position
+    private static byte readByte(FileChannel channel, long position) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(1);
+        channel.read(byteBuffer, position);
+        return byteBuffer.get(0);
+    }
+    
+    // restores the original end of the file (the closing bracket and whitespaces after it) at specified position
+    private static void restoreEnd(FileChannel channel, long position, ByteBuffer end) throws IOException {
+        channel.truncate(position);
+        end.rewind();
+        while ( end.hasRemaining() ) {
+            channel.write(end, position + end.position());
+        }
+    }
+    
+    /*
+     * Appends jobs of specified iterator to the JSON array of specified file.
+     * Only the closing bracket of the array is rewritten, so the jobs already
+     * in the file are neither read nor copied. If the appending fails, the file
+     * is truncated back to its original content, so it stays valid JSON.
+     */
+    static void appendJobs(Iterator<Job> jobs, Path jobsFile) throws IOException {
+        try ( FileChannel channel = FileChannel.open(jobsFile, StandardOpenOption.READ, StandardOpenOption.WRITE) ) {
+            long closingBracketPosition = findLastNonWhitespace(channel, channel.size());
+            if ( closingBracketPosition < 0 || readByte(channel, closingBracketPosition) != ']' ) {
+                throw new IOException("Jobs file does not end with JSON array: " + jobsFile);
+            }
+            long lastElementPosition = findLastNonWhitespace(channel, closingBracketPosition);
+            boolean isEmpty = lastElementPosition >= 0 && readByte(channel, lastElementPosition) == '[';
+            
+            // only whitespaces follow the bracket, so the original end is short
+            ByteBuffer originalEnd = ByteBuffer.allocate((int) (channel.size() - closingBracketPosition));
+            channel.read(originalEnd, closingBracketPosition);
+            
+            try {
+                channel.truncate(closingBracketPosition);
+                channel.position(closingBracketPosition);
+                Writer jobFileWriter = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+                writeJobElements(jobs, jobFileWriter, isEmpty);
+                jobFileWriter.flush();
+            } catch (IOException | RuntimeException ex) {
+                try {
+                    restoreEnd(channel, closingBracketPosition, originalEnd);
+                } catch (IOException restoreEx) {
+                    ex.addSuppressed(restoreEx);
+                }
+                throw ex;
+            }
+        }
+    }
+    
+    // writes specified summary of jobs into the "jobs.summary.json" file in the current directory
+    static void writeSummary(JobAttributeSummary summary) throws IOException {
+        writeSummary(summary, Paths.get("jobs.json"));
+    }
+    
+    // writes specified summary of jobs into the summary file next to specified jobs file
+    static void writeSummary(JobAttributeSummary summary, Path jobsFile) throws IOException {
+        summary.write(JobAttributeSummary.getSummaryFile(jobsFile));
+    }
 }
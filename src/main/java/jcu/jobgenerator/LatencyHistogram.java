@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies [in nanoseconds] with log-linear buckets.
+ *
+ * The bucket layout is the same as in the HDR histogram: values are split
+ * into buckets by the power of 2 and each bucket is split into linear
+ * sub-buckets. With 2^8 sub-buckets, i.e. 2^7 sub-buckets above the half of
+ * each bucket, the relative error of reported values is below 0.8%.
+ * Recording is allocation free. Values are recorded by a single thread only,
+ * but they can be read by any thread at any time.
+ *
+ * @author Michal Konopa
+ */
+final class LatencyHistogram {
+    // number of bits of sub-bucket index
+    private static final int SUB_BUCKET_BITS = 8;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    // number of buckets covering all positive long values
+    private static final int BUCKETS_NUM = 64 - SUB_BUCKET_BITS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((BUCKETS_NUM + 1) * SUB_BUCKET_HALF_COUNT);
+
+    private volatile long totalCount = 0;
+    private volatile long sum = 0;
+    private volatile long max = 0;
+
+
+    // returns index into counts for specified non-negative value
+    private static int getIndex(long value) {
+        int bucketIndex = (64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK)) - SUB_BUCKET_BITS;
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << (SUB_BUCKET_BITS - 1)) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    // returns the highest value, which is equivalent to the values at specified index
+    private static long getHighestEquivalentValue(int index) {
+        int bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        long subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if ( bucketIndex < 0 ) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return (subBucketIndex << bucketIndex) + (1L << bucketIndex) - 1;
+    }
+
+    /**
+     * Records specified value. Negative values are recorded as 0.
+     *
+     * @param value value to record
+     */
+    void record(long value) {
+        long nonNegativeValue = Math.max(0, value);
+        int index = getIndex(nonNegativeValue);
+
+        counts.lazySet(index, counts.get(index) + 1);
+        sum += nonNegativeValue;
+        if ( nonNegativeValue > max ) {
+            max = nonNegativeValue;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Adds all values recorded in specified histogram into this histogram.
+     *
+     * @param histogram histogram to add
+     */
+    void add(LatencyHistogram histogram) {
+        for ( int index = 0; index < counts.length(); index++ ) {
+            long count = histogram.counts.get(index);
+            if ( count != 0 ) {
+                counts.lazySet(index, counts.get(index) + count);
+            }
+        }
+        sum += histogram.sum;
+        max = Math.max(max, histogram.max);
+        totalCount += histogram.totalCount;
+    }
+
+    /**
+     * Returns value at specified percentile. The returned value is within 0.8%
+     * of the exact value.
+     *
+     * @param percentile percentile in the range of [0, 100]
+     * @return value at specified percentile or 0 if there is no recorded value
+     */
+    long getValueAtPercentile(double percentile) {
+        long count = totalCount;
+        if ( count == 0 ) {
+            return 0;
+        }
+
+        long requiredCount = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+        long cumulativeCount = 0;
+        for ( int index = 0; index < counts.length(); index++ ) {
+            cumulativeCount += counts.get(index);
+            if ( cumulativeCount >= requiredCount ) {
+                return Math.min(getHighestEquivalentValue(index), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the maximal recorded value
+     */
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of recorded values
+     */
+    double getMean() {
+        long count = totalCount;
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return the sum of recorded values
+     */
+    long getSum() {
+        return sum;
+    }
+}
@@ -4,9 +4,19 @@
 
 package jcu.jobgenerator;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
+import org.json.JSONObject;
 
 /**
  * Generator of jobs running in cloud environment.
@@ -22,6 +32,9 @@ import org.apache.logging.log4j.LogManager;
  * JSON file residing in generator's directory. Generated jobs are written into
  * the output JSON file inside the current directory. 
  * 
+ * Besides generation of jobs, the launcher provides auxiliary tools selected
+ * by the command given as the first parameter.
+ * 
  * @author Michal Konopa
  */
 public final class Launcher {
@@ -29,6 +42,30 @@ public final class Launcher {
     // logger
     private static final Logger logger = LogManager.getLogger(Launcher.class);
     
+    // commands of auxiliary tools
+    private static final String JOURNAL_SUMMARY_COMMAND = "journal-summary";
+    private static final String SERVE_FEED_COMMAND = "serve-feed";
+    private static final String SERVE_LIVE_FEED_COMMAND = "serve-live-feed";
+    private static final String SIMULATE_COMMAND = "simulate";
+    private static final String OFFERED_LOAD_COMMAND = "offered-load";
+    private static final String SUMMARIZE_COMMAND = "summarize";
+    private static final String MERGE_SUMMARIES_COMMAND = "merge-summaries";
+    private static final String FIT_CONFIG_COMMAND = "fit-config";
+    private static final String SWEEP_COMMAND = "sweep";
+    private static final String EXTEND_COMMAND = "extend";
+    private static final String SERVE_GENERATOR_COMMAND = "serve-generator";
+    private static final String REQUEST_COMMAND = "request";
+    
+    // capacity of the shared queue between producer and feed server
+    private static final int FEED_QUEUE_CAPACITY = 1024;
+    
+    // default step of the time grid and length of timeslice of offered load [in minutes]
+    private static final double DEFAULT_GRID_STEP = 1;
+    private static final double DEFAULT_TIMESLICE_LENGTH = 1;
+    
+    // default seed of fitted configuration
+    private static final long DEFAULT_FIT_SEED = 1;
+    
     // prints help info about the program 
     private static void printHelp() {
         final String helpString = """
@@ -38,35 +75,342 @@ public final class Launcher {
                            is set in the input configuration file.
             usage: job-generator[version] <configuration JSON file>
             output: job.json in the current directory   
+                    jobs.summary.json with statistics of the jobs attributes
+                    jobs.state.json with state of the generator
+            
+            TOOLS
+            usage: job-generator[version] journal-summary <journal file>
+                           prints summary statistics of the journal of job
+                           releases written by the job producer
+            usage: job-generator[version] serve-feed <jobs JSON file> <port | socket path>
+                           replays the jobs according to their arrival times
+                           and streams them to subscribers connected to the
+                           loopback TCP port or the Unix domain socket
+            usage: job-generator[version] serve-live-feed <configuration JSON file> <port | socket path>
+                           generates jobs according to the configuration and
+                           streams them to subscribers like serve-feed, job
+                           arrival settings and the optional "timeScale"
+                           of the configuration are applied, whenever
+                           the file changes, and can be changed by JMX too
+            usage: job-generator[version] simulate <jobs JSON file> <cluster JSON file>
+                           simulates processing of the jobs by the cluster
+                           of GPU nodes and prints wait times, makespan,
+                           utilization and deadline misses
+            usage: job-generator[version] offered-load <jobs JSON file> <output CSV file> [<grid step> [<timeslice length>]]
+                           writes time series of running jobs, CUDA cores
+                           and RAM demanded by the jobs, steps and lengths
+                           are in minutes (default 1)
+            usage: job-generator[version] summarize <jobs JSON file>
+                           writes summary of the jobs attributes next to
+                           the jobs file and prints it
+            usage: job-generator[version] merge-summaries <output file> <summary file>...
+                           merges summaries of shards of a workload
+            usage: job-generator[version] fit-config <jobs JSON file> <output configuration file> [<seed>]
+                           fits configuration generating jobs similar
+                           to the jobs in the file
+            usage: job-generator[version] sweep <sweep JSON file> <output directory> [<threads number>]
+                           generates jobs of each combination of values of
+                           parameters of the base configuration into its
+                           own directory, the combinations are generated
+                           concurrently (default number of processors)
+            usage: job-generator[version] extend <jobs JSON file> <number of jobs>
+                           appends further jobs to the generated file, which
+                           continue its sequence of jobs according to the
+                           state of the generator saved next to the file,
+                           updates the summary and the state
+            usage: job-generator[version] serve-generator <port | socket path> [<workers number>]
+                           stays resident and generates jobs on requests
+                           received at the loopback TCP port or the Unix
+                           domain socket, connections are served concurrently
+                           (default number of processors)
+            usage: job-generator[version] request <port | socket path> <configuration JSON file> [<jobs JSON file>]
+                           lets the resident generator generate jobs into
+                           the file (default jobs.json in the current
+                           directory) and the summary next to it, relative
+                           paths inside the configuration are resolved by
+                           the generator
             """;
         
         System.out.println(helpString);
     }
     
     
+    // generates jobs according to the configuration file
+    private static void generate(String[] args) throws Exception {
+        if ( args.length != 1 ) {
+            printHelp();
+            return;
+        }
+        
+        ConfigSettings configSettings = ConfigSettingsFileReader.read(args[0]);
+
+        JobGenerator generator = new JobGenerator(configSettings);
+        Collection<Job> tasks = new ArrayList<>(configSettings.getNumberOfJobs());
+        generator.forEachRemaining(tasks::add);
+        logger.info("Jobs successfully generated.");
+
+        JobsJsonWriter.writeJobs(tasks);
+        JobsJsonWriter.writeSummary(generator.getSummary());
+        generator.getState().write(Paths.get("jobs.json"));
+        logger.info("Jobs written into the output file.");
+    }
+    
+    // prints summary of the journal of job releases
+    private static void printJournalSummary(String[] args) throws Exception {
+        if ( args.length != 2 ) {
+            printHelp();
+            return;
+        }
+        
+        System.out.println(JobReleaseJournalSummary.summarize(Paths.get(args[1])));
+    }
+    
+    // returns loopback address for port number, Unix domain socket address otherwise
+    private static SocketAddress parseSocketAddress(String address) {
+        if ( address.matches("\\d+") ) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        }
+        return UnixDomainSocketAddress.of(address);
+    }
+    
+    // replays jobs from the file to subscribers of the job feed
+    private static void serveFeed(String[] args) throws Exception {
+        if ( args.length != 3 ) {
+            printHelp();
+            return;
+        }
+        
+        JobRingBuffer queue = new JobRingBuffer(FEED_QUEUE_CAPACITY);
+        try (
+                DatasetJsonStreamReader jobs = DatasetJsonParser.streamJsonDataset(args[1]);
+                JobFeedServer feedServer = new JobFeedServer(queue, parseSocketAddress(args[2]))
+        ) {
+            Thread feedServerThread = new Thread(feedServer, "job-feed-server");
+            feedServerThread.start();
+            logger.info("Job feed served at: " + feedServer.getAddress());
+            
+            new JobProducer(jobs, queue).run();
+            
+            feedServer.finish();
+            feedServerThread.join();
+        }
+    }
+    
+    // streams generated jobs to subscribers of the job feed, arrivals follow changes of the configuration file
+    private static void serveLiveFeed(String[] args) throws Exception {
+        if ( args.length != 3 ) {
+            printHelp();
+            return;
+        }
+        
+        Path configFile = Paths.get(args[1]);
+        ConfigSettings configSettings = ConfigSettingsFileReader.read(args[1]);
+        JobGenerator generator = new JobGenerator(configSettings);
+        JobRingBuffer queue = new JobRingBuffer(FEED_QUEUE_CAPACITY);
+        JobProducer producer = new JobProducer(generator, queue);
+        
+        ArrivalControl arrivalControl = new ArrivalControl(generator, producer);
+        arrivalControl.apply(new JSONObject(Files.readString(configFile)));
+        arrivalControl.registerMBean(args[1]);
+        producer.getMetrics().registerMBean(args[1]);
+        try (
+                JobFeedServer feedServer = new JobFeedServer(queue, parseSocketAddress(args[2]));
+                ArrivalConfigWatcher configWatcher = new ArrivalConfigWatcher(configFile, arrivalControl)
+        ) {
+            Thread feedServerThread = new Thread(feedServer, "job-feed-server");
+            feedServerThread.start();
+            Thread configWatcherThread = new Thread(configWatcher, "arrival-config-watcher");
+            configWatcherThread.setDaemon(true);
+            configWatcherThread.start();
+            logger.info("Job feed served at: " + feedServer.getAddress());
+            
+            producer.run();
+            
+            feedServer.finish();
+            feedServerThread.join();
+        } finally {
+            producer.getMetrics().unregisterMBean();
+            arrivalControl.unregisterMBean();
+        }
+    }
+    
+    // simulates processing of jobs from the file by the cluster
+    private static void simulate(String[] args) throws Exception {
+        if ( args.length != 3 ) {
+            printHelp();
+            return;
+        }
+        
+        ClusterSimulator simulator = new ClusterSimulator(ClusterSettingsFileReader.read(args[2]));
+        try ( DatasetJsonStreamReader jobs = DatasetJsonParser.streamJsonDataset(args[1]) ) {
+            simulator.simulate(jobs);
+        }
+        
+        System.out.println(simulator.getSummary());
+    }
+    
+    // writes time series of load offered by jobs from the file
+    private static void analyzeOfferedLoad(String[] args) throws Exception {
+        if ( args.length < 3 || args.length > 5 ) {
+            printHelp();
+            return;
+        }
+        
+        double gridStep = (args.length > 3) ? Double.parseDouble(args[3]) : DEFAULT_GRID_STEP;
+        double timesliceLength = (args.length > 4) ? Double.parseDouble(args[4]) : DEFAULT_TIMESLICE_LENGTH;
+        
+        OfferedLoadAnalyzer analyzer = new OfferedLoadAnalyzer(
+                gridStep, timesliceLength, Runtime.getRuntime().availableProcessors()
+        );
+        analyzer.analyze(Paths.get(args[1]), Paths.get(args[2]));
+        logger.info("Offered load written into the output file.");
+    }
+    
+    // writes summary of attributes of jobs from the file next to the file
+    private static void summarize(String[] args) throws Exception {
+        if ( args.length != 2 ) {
+            printHelp();
+            return;
+        }
+        
+        try ( DatasetJsonStreamReader jobs = DatasetJsonParser.streamJsonDataset(args[1]) ) {
+            jobs.forEachRemaining(job -> {});
+            jobs.getSummary().write(JobAttributeSummary.getSummaryFile(Paths.get(args[1])));
+            System.out.println(jobs.getSummary());
+        }
+    }
+    
+    // merges summaries of shards of a workload into the output file
+    private static void mergeSummaries(String[] args) throws Exception {
+        if ( args.length < 3 ) {
+            printHelp();
+            return;
+        }
+        
+        JobAttributeSummary summary = new JobAttributeSummary();
+        for ( int argId = 2; argId < args.length; argId++ ) {
+            summary.merge(JobAttributeSummary.read(Paths.get(args[argId])));
+        }
+        summary.write(Paths.get(args[1]));
+        System.out.println(summary);
+    }
+    
+    // fits configuration to jobs from the file and writes it into the output file
+    private static void fitConfig(String[] args) throws Exception {
+        if ( args.length < 3 || args.length > 4 ) {
+            printHelp();
+            return;
+        }
+        
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : DEFAULT_FIT_SEED;
+        ConfigSettingsFitter fitter = new ConfigSettingsFitter(Runtime.getRuntime().availableProcessors());
+        ConfigSettingsFileWriter.write(fitter.fit(Paths.get(args[1]), seed), Paths.get(args[2]));
+        logger.info("Fitted configuration written into the output file.");
+    }
+    
+    // generates jobs of all points of the sweep into the output directory
+    private static void sweep(String[] args) throws Exception {
+        if ( args.length < 3 || args.length > 4 ) {
+            printHelp();
+            return;
+        }
+        
+        int threadsNum = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        ConfigSweep sweep = new ConfigSweep(SweepSettingsFileReader.read(args[1]), threadsNum);
+        sweep.run(Paths.get(args[2]));
+        logger.info("Jobs of " + sweep.getPointsNum() + " sweep points written into the output directory.");
+    }
+    
+    // appends jobs continuing the generated file according to the state of the generator saved next to it
+    private static void extend(String[] args) throws Exception {
+        if ( args.length != 3 ) {
+            printHelp();
+            return;
+        }
+        
+        Path jobsFile = Paths.get(args[1]);
+        JobGenerator generator = new JobGenerator(GeneratorState.read(jobsFile), Long.parseLong(args[2]));
+        
+        // the state is written last, an interrupted extension is then detected by the size of the jobs file
+        JobsJsonWriter.appendJobs(generator, jobsFile);
+        JobsJsonWriter.writeSummary(generator.getSummary(), jobsFile);
+        generator.getState().write(jobsFile);
+        logger.info("Jobs appended to the file. Total number of jobs: " + generator.getSummary().getJobsNum());
+    }
+    
+    // serves requests for generation of jobs, until the process is terminated
+    private static void serveGenerator(String[] args) throws Exception {
+        if ( args.length < 2 || args.length > 3 ) {
+            printHelp();
+            return;
+        }
+        
+        int workersNum = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GeneratorServer generatorServer = new GeneratorServer(parseSocketAddress(args[1]), workersNum);
+        
+        // closing on termination removes the Unix domain socket file
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                generatorServer.close();
+            } catch (IOException ex) {
+                logger.error("Error while closing generator server.", ex);
+            }
+        }));
+        
+        logger.info("Generator served at: " + generatorServer.getAddress());
+        generatorServer.run();
+    }
+    
+    // requests the resident generator to generate jobs according to the configuration file
+    private static void request(String[] args) throws Exception {
+        if ( args.length < 3 || args.length > 4 ) {
+            printHelp();
+            return;
+        }
+        
+        JSONObject configJson = new JSONObject(Files.readString(Paths.get(args[2])));
+        Path jobsFile = Paths.get((args.length > 3) ? args[3] : "jobs.json").toAbsolutePath();
+        try ( GeneratorClient client = new GeneratorClient(parseSocketAddress(args[1])) ) {
+            client.generate(configJson, jobsFile);
+        }
+        logger.info("Jobs written into the output file.");
+    }
+    
+    
     /**
      * Launches the generator.
      * 
      * Properties of the generated jobs will be set according to the configuration
-     * JSON file as specified by the only parameter. If there is no parameter or 
-     * multiple parametres supplied, help will be printed onto the standard output.
+     * JSON file as specified by the only parameter. If the first parameter is 
+     * a command of an auxiliary tool, the tool is launched instead. If there 
+     * is no parameter or the parameters do not match, help will be printed 
+     * onto the standard output.
      * 
-     * @param args name of the configuration file
+     * @param args name of the configuration file or command of a tool 
+     * followed by its parameters
      */
     public static void main(String[] args) {
-        if ( args.length != 1 ) {
+        if ( args.length == 0 ) {
             printHelp();
             return;
         }
         
         try {
-            ConfigSettings configSettings = ConfigSettingsFileReader.read(args[0]);
-            
-            Collection<Job> tasks = JobGenerator.generate(configSettings);
-            logger.info("Jobs successfully generated.");
-            
-            JobsJsonWriter.writeJobs(tasks);
-            logger.info("Jobs written into the output file.");
+            switch ( args[0] ) {
+                case JOURNAL_SUMMARY_COMMAND -> printJournalSummary(args);
+                case SERVE_FEED_COMMAND -> serveFeed(args);
+                case SERVE_LIVE_FEED_COMMAND -> serveLiveFeed(args);
+                case SIMULATE_COMMAND -> simulate(args);
+                case OFFERED_LOAD_COMMAND -> analyzeOfferedLoad(args);
+                case SUMMARIZE_COMMAND -> summarize(args);
+                case MERGE_SUMMARIES_COMMAND -> mergeSummaries(args);
+                case FIT_CONFIG_COMMAND -> fitConfig(args);
+                case SWEEP_COMMAND -> sweep(args);
+                case EXTEND_COMMAND -> extend(args);
+                case SERVE_GENERATOR_COMMAND -> serveGenerator(args);
+                case REQUEST_COMMAND -> request(args);
+                default -> generate(args);
+            }
         } catch (Exception ex) {
              logger.error(ex);
         }
@@ -0,0 +1,279 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzer of the load offered by a trace of jobs.
+ *
+ * Each job demands its CUDA cores from its arrival for the whole duration of
+ * its timeslices and the RAM of each timeslice during that timeslice - as if
+ * it was started immediately on a cluster of unlimited capacity. The demands
+ * of all the jobs are summed on a time grid and written as a CSV time series
+ * of the mean running jobs number, CUDA cores and RAM in each grid interval.
+ * Only the rows, where some of the values changes, are written.
+ *
+ * The trace is split into chunks, which are streamed in parallel. Each chunk
+ * expands its jobs into difference arrays over the grid, which are finally
+ * summed. So the memory needed depends only on the time span of the trace
+ * and the grid step, not on the number of jobs.
+ *
+ * @author Michal Konopa
+ */
+final class OfferedLoadAnalyzer {
+    // header of the output CSV file
+    private static final String CSV_HEADER = "time,runningJobs,cudaCores,ram";
+
+    // initial length of the difference arrays of each chunk
+    private static final int INITIAL_LENGTH = 1024;
+
+    // index of each kind of demand in the difference arrays
+    private static final int JOBS = 0;
+    private static final int CORES = 1;
+    private static final int RAM = 2;
+    private static final int DEMANDS_NUM = 3;
+
+    /**
+     * Demands of jobs of one chunk of the trace on the time grid.
+     *
+     * For each kind of demand, the value in grid interval i is the sum of
+     * the range differences up to index i plus the partial contributions
+     * of the demands starting or ending inside interval i.
+     */
+    private static final class LoadDeltas {
+        // index of grid interval corresponding to index 0 of the arrays
+        private long firstInterval = -1;
+
+        private double[][] rangeDeltas = new double[DEMANDS_NUM][INITIAL_LENGTH];
+        private double[][] partialDemands = new double[DEMANDS_NUM][INITIAL_LENGTH];
+
+        // number of used items of the arrays
+        private int length = 0;
+
+        // makes the arrays long enough for specified index
+        private void ensureLength(int index) {
+            if ( index < length ) {
+                return;
+            }
+            if ( index >= rangeDeltas[0].length ) {
+                int newLength = Math.max(index + 1, rangeDeltas[0].length * 2);
+                for ( int demandId = 0; demandId < DEMANDS_NUM; demandId++ ) {
+                    rangeDeltas[demandId] = Arrays.copyOf(rangeDeltas[demandId], newLength);
+                    partialDemands[demandId] = Arrays.copyOf(partialDemands[demandId], newLength);
+                }
+            }
+            length = index + 1;
+        }
+
+        // adds demand of specified value during [startTime, endTime) interval of grid units
+        private void addDemand(int demandId, double value, double startTime, double endTime) {
+            long startInterval = (long) Math.floor(startTime);
+            long endInterval = (long) Math.floor(endTime);
+            if ( firstInterval == -1 ) {
+                firstInterval = startInterval;
+            }
+            if ( startInterval < firstInterval ) {
+                throw new IllegalArgumentException(
+                        "Jobs of the trace are not sorted by arrival time at time: " + startTime
+                );
+            }
+
+            int startIndex = Math.toIntExact(startInterval - firstInterval);
+            int endIndex = Math.toIntExact(endInterval - firstInterval);
+            ensureLength(endIndex + 1);
+
+            if ( startIndex == endIndex ) {
+                partialDemands[demandId][startIndex] += value * (endTime - startTime);
+                return;
+            }
+
+            partialDemands[demandId][startIndex] += value * (startInterval + 1 - startTime);
+            partialDemands[demandId][endIndex] += value * (endTime - endInterval);
+            rangeDeltas[demandId][startIndex + 1] += value;
+            rangeDeltas[demandId][endIndex] -= value;
+        }
+
+        // adds demands of specified job
+        private void addJob(Job job, double gridStep, double timesliceLength) {
+            double startTime = job.getArrivalTime() / gridStep;
+            double timesliceSteps = timesliceLength / gridStep;
+            int[] timeslices = job.getTimeslices();
+            if ( timeslices.length == 0 ) {
+                return;
+            }
+
+            double endTime = startTime + timeslices.length * timesliceSteps;
+            addDemand(JOBS, 1, startTime, endTime);
+            addDemand(CORES, job.getCudaCoresNumber(), startTime, endTime);
+
+            // adjacent timeslices with the same RAM are merged into one demand
+            int timesliceId = 0;
+            while ( timesliceId < timeslices.length ) {
+                int nextTimesliceId = timesliceId + 1;
+                while ( nextTimesliceId < timeslices.length
+                        && timeslices[nextTimesliceId] == timeslices[timesliceId] ) {
+                    nextTimesliceId++;
+                }
+                addDemand(
+                        RAM, timeslices[timesliceId],
+                        startTime + timesliceId * timesliceSteps,
+                        startTime + nextTimesliceId * timesliceSteps
+                );
+                timesliceId = nextTimesliceId;
+            }
+        }
+    }
+
+
+    private final double gridStep;
+    private final double timesliceLength;
+    private final int threadsNum;
+
+
+    /**
+     * Creates new analyzer of offered load.
+     *
+     * @param gridStep step of the time grid [in minutes]
+     * @param timesliceLength length of one timeslice of jobs [in minutes]
+     * @param threadsNum number of threads reading chunks of the trace
+     */
+    OfferedLoadAnalyzer(double gridStep, double timesliceLength, int threadsNum) {
+        if ( !(gridStep > 0) ) {
+            throw new IllegalArgumentException("Invalid grid step: " + gridStep);
+        }
+        if ( !(timesliceLength > 0) ) {
+            throw new IllegalArgumentException("Invalid timeslice length: " + timesliceLength);
+        }
+        if ( threadsNum < 1 ) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threadsNum);
+        }
+        this.gridStep = gridStep;
+        this.timesliceLength = timesliceLength;
+        this.threadsNum = threadsNum;
+    }
+
+    // reads demands of jobs of specified chunk of the trace
+    private LoadDeltas analyzeChunk(Path traceFile, long startPosition, long endPosition)
+            throws IOException {
+        LoadDeltas deltas = new LoadDeltas();
+        try ( DatasetJsonStreamReader jobs
+                = new DatasetJsonStreamReader(traceFile, startPosition, endPosition) ) {
+            while ( jobs.hasNext() ) {
+                deltas.addJob(jobs.next(), gridStep, timesliceLength);
+            }
+        }
+        return deltas;
+    }
+
+    // sums demands of all the chunks
+    private static LoadDeltas merge(List<LoadDeltas> chunksDeltas) {
+        LoadDeltas mergedDeltas = new LoadDeltas();
+        for ( LoadDeltas deltas : chunksDeltas ) {
+            if ( deltas.firstInterval == -1 ) {
+                continue;
+            }
+            if ( mergedDeltas.firstInterval == -1 ) {
+                mergedDeltas.firstInterval = deltas.firstInterval;
+            }
+
+            // chunks follow each other, so no chunk starts before the first one
+            int offset = Math.toIntExact(deltas.firstInterval - mergedDeltas.firstInterval);
+            mergedDeltas.ensureLength(offset + deltas.length - 1);
+            for ( int demandId = 0; demandId < DEMANDS_NUM; demandId++ ) {
+                for ( int index = 0; index < deltas.length; index++ ) {
+                    mergedDeltas.rangeDeltas[demandId][offset + index] += deltas.rangeDeltas[demandId][index];
+                    mergedDeltas.partialDemands[demandId][offset + index] += deltas.partialDemands[demandId][index];
+                }
+            }
+        }
+        return mergedDeltas;
+    }
+
+    // writes time series of the demands into the output file
+    private void writeTimeSeries(LoadDeltas deltas, Path outputFile) throws IOException {
+        try ( BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8) ) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            if ( deltas.firstInterval == -1 ) {
+                return;
+            }
+
+            double[] rangeDemands = new double[DEMANDS_NUM];
+            String lastValuesStr = null;
+            for ( int index = 0; index < deltas.length; index++ ) {
+                double[] demands = new double[DEMANDS_NUM];
+                for ( int demandId = 0; demandId < DEMANDS_NUM; demandId++ ) {
+                    rangeDemands[demandId] += deltas.rangeDeltas[demandId][index];
+                    demands[demandId] = rangeDemands[demandId] + deltas.partialDemands[demandId][index];
+                }
+
+                // rounding suppresses changes caused only by summation errors
+                String valuesStr = String.format(
+                        Locale.ROOT, "%.3f,%.3f,%.3f", demands[JOBS], demands[CORES], demands[RAM]
+                );
+                if ( !valuesStr.equals(lastValuesStr) ) {
+                    double time = (deltas.firstInterval + index) * gridStep;
+                    writer.write(String.format(Locale.ROOT, "%.6f,", time));
+                    writer.write(valuesStr);
+                    writer.newLine();
+                    lastValuesStr = valuesStr;
+                }
+            }
+        }
+    }
+
+    /**
+     * Analyzes load offered by the jobs of specified trace and writes its
+     * time series into specified CSV file.
+     *
+     * @param traceFile file with the trace of jobs sorted by arrival time
+     * @param outputFile output CSV file
+     * @throws IOException if the trace cannot be read or the output written
+     * @throws InterruptedException if interrupted while waiting for the chunks
+     */
+    void analyze(Path traceFile, Path outputFile) throws IOException, InterruptedException {
+        long[] boundaries = DatasetJsonStreamReader.split(traceFile, threadsNum);
+
+        List<LoadDeltas> chunksDeltas = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsNum);
+        try {
+            List<Future<LoadDeltas>> futures = new ArrayList<>();
+            for ( int chunkId = 0; chunkId < boundaries.length - 1; chunkId++ ) {
+                long startPosition = boundaries[chunkId];
+                long endPosition = boundaries[chunkId + 1];
+                futures.add(executor.submit(() -> analyzeChunk(traceFile, startPosition, endPosition)));
+            }
+
+            for ( Future<LoadDeltas> future : futures ) {
+                chunksDeltas.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            if ( ex.getCause() instanceof IOException ioException ) {
+                throw ioException;
+            }
+            if ( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Analysis of trace chunk failed.", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        writeTimeSeries(merge(chunksDeltas), outputFile);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Blocking queue of jobs, which serves the jobs in the order of their
+ * priorities.
+ *
+ * Priorities of jobs lie in a small bounded range, so each priority has its
+ * own FIFO bucket and non-empty buckets are marked in a bitmap. Both insertion
+ * and removal take O(1) time. Jobs of the same priority are served in the
+ * order of their insertion. Priorities out of the range of the queue are
+ * placed into the border buckets.
+ *
+ * Can be used as the shared queue of job producer, so consumers get released
+ * jobs already ordered by priority.
+ *
+ * @author Michal Konopa
+ */
+public final class PriorityBucketJobQueue extends AbstractOrderedJobQueue {
+
+    /**
+     * Order of serving the priorities.
+     *
+     * HighestFirst - jobs with the highest priority value are served first
+     * LowestFirst - jobs with the lowest priority value are served first
+     */
+    public static enum Order {
+        HighestFirst, LowestFirst
+    };
+
+    // maximal number of priorities - given by the size of the bitmap
+    private static final int MAX_PRIORITIES_NUM = Long.SIZE;
+
+    private final int minPriority;
+    private final Order order;
+
+    // FIFO bucket for each priority
+    private final ArrayDeque<Job>[] buckets;
+
+    // bit i is set, if the bucket i is not empty
+    private long nonEmptyBuckets = 0;
+
+
+    /**
+     * Creates new queue for priorities in specified range.
+     *
+     * @param minPriority minimal priority
+     * @param maxPriority maximal priority
+     * @param order order of serving the priorities
+     * @param capacity capacity of the queue
+     * @throws IllegalArgumentException if the range of priorities is empty or
+     * contains more than 64 priorities
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PriorityBucketJobQueue(int minPriority, int maxPriority, Order order, int capacity) {
+        super(capacity);
+
+        long prioritiesNum = (long) maxPriority - minPriority + 1;
+        if ( prioritiesNum < 1 || prioritiesNum > MAX_PRIORITIES_NUM ) {
+            throw new IllegalArgumentException(
+                    "Invalid range of priorities: [" + minPriority + ", " + maxPriority + "]"
+            );
+        }
+
+        this.minPriority = minPriority;
+        this.order = Objects.requireNonNull(order);
+        this.buckets = new ArrayDeque[(int) prioritiesNum];
+        for ( int bucketId = 0; bucketId < buckets.length; bucketId++ ) {
+            buckets[bucketId] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Creates new unbounded queue for priorities in specified range.
+     *
+     * @param minPriority minimal priority
+     * @param maxPriority maximal priority
+     * @param order order of serving the priorities
+     */
+    public PriorityBucketJobQueue(int minPriority, int maxPriority, Order order) {
+        this(minPriority, maxPriority, order, Integer.MAX_VALUE);
+    }
+
+    // returns index of the bucket for specified priority
+    private int getBucketId(int priority) {
+        long bucketId = (long) priority - minPriority;
+        return (int) Math.min(Math.max(0, bucketId), buckets.length - 1);
+    }
+
+    // returns index of the first non-empty bucket
+    private int getFirstBucketId() {
+        return (order == Order.HighestFirst)
+                ? (Long.SIZE - 1 - Long.numberOfLeadingZeros(nonEmptyBuckets))
+                : Long.numberOfTrailingZeros(nonEmptyBuckets);
+    }
+
+    @Override
+    void insert(Job job) {
+        int bucketId = getBucketId(job.getPriority());
+        buckets[bucketId].addLast(job);
+        nonEmptyBuckets |= (1L << bucketId);
+    }
+
+    @Override
+    Job extract() {
+        int bucketId = getFirstBucketId();
+        ArrayDeque<Job> bucket = buckets[bucketId];
+        Job job = bucket.pollFirst();
+        if ( bucket.isEmpty() ) {
+            nonEmptyBuckets &= ~(1L << bucketId);
+        }
+        return job;
+    }
+
+    @Override
+    Job first() {
+        return buckets[getFirstBucketId()].peekFirst();
+    }
+
+    @Override
+    List<Job> snapshot() {
+        List<Job> jobs = new ArrayList<>();
+        for ( ArrayDeque<Job> bucket : buckets ) {
+            jobs.addAll(bucket);
+        }
+        return jobs;
+    }
+
+    @Override
+    void removeAll() {
+        for ( ArrayDeque<Job> bucket : buckets ) {
+            bucket.clear();
+        }
+        nonEmptyBuckets = 0;
+    }
+}
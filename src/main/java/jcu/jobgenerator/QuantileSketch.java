@@ -0,0 +1,280 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Streaming sketch of quantiles of non-negative values.
+ *
+ * Values are counted in buckets with logarithmically growing bounds, as in
+ * the DDSketch, so each reported quantile lies within the relative error
+ * RELATIVE_ACCURACY from the exact one. All the sketches share the same
+ * bucket bounds, so merging of sketches is a plain addition of counts and
+ * the merged sketch is exactly the same as the sketch of all the values.
+ * The number of buckets grows only with the logarithm of the range of
+ * the values. Count, minimum, maximum and mean are kept exactly.
+ *
+ * @author Michal Konopa
+ */
+final class QuantileSketch {
+    /**
+     * Relative accuracy of reported quantiles.
+     */
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    // ratio of upper and lower bound of each bucket
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // values lower than this one are counted as zeros
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    // precomputed bucket indexes of small integer values
+    private static final int[] SMALL_INT_INDEXES = new int[4096];
+
+    static {
+        for ( int value = 1; value < SMALL_INT_INDEXES.length; value++ ) {
+            SMALL_INT_INDEXES[value] = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        }
+    }
+
+    // quantiles written into JSON representation
+    private static final double[] REPORTED_QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+    private static final String[] REPORTED_QUANTILES_NAMES = { "p50", "p90", "p99", "p999" };
+
+    // constants for fields names in JSON document
+    private static final String JNAME_COUNT = "count";
+    private static final String JNAME_MIN = "min";
+    private static final String JNAME_MAX = "max";
+    private static final String JNAME_MEAN = "mean";
+    private static final String JNAME_SUM = "sum";
+    private static final String JNAME_RELATIVE_ACCURACY = "relativeAccuracy";
+    private static final String JNAME_ZERO_COUNT = "zeroCount";
+    private static final String JNAME_FIRST_INDEX = "firstIndex";
+    private static final String JNAME_COUNTS = "counts";
+
+    // counts of buckets, counts[0] belongs to the bucket of firstIndex
+    private long[] counts = new long[0];
+    private int firstIndex = 0;
+
+    // number of values lower than MIN_INDEXABLE_VALUE
+    private long zeroCount = 0;
+
+    private long count = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum = 0;
+
+
+    // returns index of bucket of specified value
+    private static int getIndex(double value) {
+        int intValue = (int) value;
+        if ( intValue == value && intValue < SMALL_INT_INDEXES.length ) {
+            return SMALL_INT_INDEXES[intValue];
+        }
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // returns representative value of bucket of specified index
+    private static double getValue(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    // makes the counts array cover specified range of indexes
+    private void ensureRange(int lowIndex, int highIndex) {
+        if ( counts.length == 0 ) {
+            counts = new long[highIndex - lowIndex + 1];
+            firstIndex = lowIndex;
+            return;
+        }
+
+        int newFirstIndex = Math.min(firstIndex, lowIndex);
+        int newLastIndex = Math.max(firstIndex + counts.length - 1, highIndex);
+        if ( newFirstIndex == firstIndex && newLastIndex == firstIndex + counts.length - 1 ) {
+            return;
+        }
+
+        long[] newCounts = new long[newLastIndex - newFirstIndex + 1];
+        System.arraycopy(counts, 0, newCounts, firstIndex - newFirstIndex, counts.length);
+        counts = newCounts;
+        firstIndex = newFirstIndex;
+    }
+
+    /**
+     * Adds specified value.
+     *
+     * @param value value to add
+     * @throws IllegalArgumentException if the value is negative or not a number
+     */
+    void add(double value) {
+        if ( !(value >= 0) ) {
+            throw new IllegalArgumentException("Unsupported value of quantile sketch: " + value);
+        }
+
+        if ( value < MIN_INDEXABLE_VALUE ) {
+            zeroCount++;
+        } else {
+            int index = getIndex(value);
+            ensureRange(index, index);
+            counts[index - firstIndex]++;
+        }
+
+        count++;
+        sum += value;
+        if ( value < min ) {
+            min = value;
+        }
+        if ( value > max ) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds all values of specified sketch into this sketch.
+     *
+     * @param sketch sketch to add
+     */
+    void merge(QuantileSketch sketch) {
+        if ( sketch.counts.length > 0 ) {
+            ensureRange(sketch.firstIndex, sketch.firstIndex + sketch.counts.length - 1);
+            int offset = sketch.firstIndex - firstIndex;
+            for ( int countId = 0; countId < sketch.counts.length; countId++ ) {
+                counts[offset + countId] += sketch.counts[countId];
+            }
+        }
+
+        zeroCount += sketch.zeroCount;
+        count += sketch.count;
+        sum += sketch.sum;
+        min = Math.min(min, sketch.min);
+        max = Math.max(max, sketch.max);
+    }
+
+    /**
+     * Returns the value at specified quantile.
+     *
+     * @param quantile quantile in [0, 1] range
+     * @return the value at the quantile, NaN if no value was added
+     */
+    double getValueAtQuantile(double quantile) {
+        if ( quantile < 0 || quantile > 1 ) {
+            throw new IllegalArgumentException("Invalid quantile: " + quantile);
+        }
+        if ( count == 0 ) {
+            return Double.NaN;
+        }
+
+        long rank = (long) (quantile * (count - 1));
+        if ( rank < zeroCount ) {
+            return min;
+        }
+
+        long cumulativeCount = zeroCount;
+        for ( int countId = 0; countId < counts.length; countId++ ) {
+            cumulativeCount += counts[countId];
+            if ( cumulativeCount > rank ) {
+                double value = getValue(firstIndex + countId);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of added values
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the minimal added value, NaN if no value was added
+     */
+    double getMin() {
+        return (count == 0) ? Double.NaN : min;
+    }
+
+    /**
+     * @return the maximal added value, NaN if no value was added
+     */
+    double getMax() {
+        return (count == 0) ? Double.NaN : max;
+    }
+
+    /**
+     * @return the mean of added values, NaN if no value was added
+     */
+    double getMean() {
+        return (count == 0) ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Returns JSON representation of the sketch. Besides the buckets, it
+     * contains the exact statistics and the main quantiles for readers.
+     *
+     * @return JSON representation of the sketch
+     */
+    JSONObject toJson() {
+        JSONObject sketchJson = new JSONObject();
+        sketchJson.put(JNAME_COUNT, count);
+        if ( count > 0 ) {
+            sketchJson.put(JNAME_MIN, min);
+            sketchJson.put(JNAME_MAX, max);
+            sketchJson.put(JNAME_MEAN, getMean());
+            for ( int quantileId = 0; quantileId < REPORTED_QUANTILES.length; quantileId++ ) {
+                sketchJson.put(
+                        REPORTED_QUANTILES_NAMES[quantileId],
+                        getValueAtQuantile(REPORTED_QUANTILES[quantileId])
+                );
+            }
+        }
+        sketchJson.put(JNAME_SUM, sum);
+        sketchJson.put(JNAME_RELATIVE_ACCURACY, RELATIVE_ACCURACY);
+        sketchJson.put(JNAME_ZERO_COUNT, zeroCount);
+        sketchJson.put(JNAME_FIRST_INDEX, firstIndex);
+        sketchJson.put(JNAME_COUNTS, new JSONArray(counts));
+        return sketchJson;
+    }
+
+    /**
+     * Creates sketch from its JSON representation.
+     *
+     * @param sketchJson JSON representation of the sketch
+     * @return the sketch
+     * @throws IllegalArgumentException if the sketch was created with
+     * different relative accuracy
+     */
+    static QuantileSketch fromJson(JSONObject sketchJson) {
+        double relativeAccuracy = sketchJson.getDouble(JNAME_RELATIVE_ACCURACY);
+        if ( relativeAccuracy != RELATIVE_ACCURACY ) {
+            throw new IllegalArgumentException("Unsupported relative accuracy of sketch: " + relativeAccuracy);
+        }
+
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.count = sketchJson.getLong(JNAME_COUNT);
+        sketch.sum = sketchJson.getDouble(JNAME_SUM);
+        if ( sketch.count > 0 ) {
+            sketch.min = sketchJson.getDouble(JNAME_MIN);
+            sketch.max = sketchJson.getDouble(JNAME_MAX);
+        }
+        sketch.zeroCount = sketchJson.getLong(JNAME_ZERO_COUNT);
+        sketch.firstIndex = sketchJson.getInt(JNAME_FIRST_INDEX);
+
+        JSONArray countsJson = sketchJson.getJSONArray(JNAME_COUNTS);
+        sketch.counts = new long[countsJson.length()];
+        for ( int countId = 0; countId < sketch.counts.length; countId++ ) {
+            sketch.counts[countId] = countsJson.getLong(countId);
+        }
+        return sketch;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", min=" + getMin() + ", max=" + getMax() + ", mean=" + getMean()
+                + ", p50=" + getValueAtQuantile(0.5) + ", p99=" + getValueAtQuantile(0.99);
+    }
+}
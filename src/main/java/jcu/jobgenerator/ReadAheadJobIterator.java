@@ -0,0 +1,157 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Iterator reading jobs from a source iterator in advance.
+ *
+ * Jobs are read from the source by a background thread into a bounded
+ * buffer, so the consumer of this iterator (usually job producer) is kept fed
+ * even if generation or parsing of individual jobs takes variable time. At
+ * most the capacity of the buffer of jobs is held in memory.
+ *
+ * Any failure of the source, including errors like OutOfMemoryError, is
+ * passed on to the consumer by the next call of hasNext(). Closing
+ * the iterator releases the consumer waiting for the next job.
+ *
+ * @author Michal Konopa
+ */
+final class ReadAheadJobIterator implements Iterator<Job>, Closeable {
+    // marks the end of the source in the buffer
+    private static final Job END_OF_SOURCE = new Job(0, false, Job.NO_DEADLINE, new int[0], 0, 0);
+
+    // jobs read in advance
+    private final BlockingQueue<Job> buffer;
+
+    // reads the jobs from the source
+    private final Thread readerThread;
+
+    // failure thrown by the source
+    private volatile Throwable sourceFailure = null;
+
+    private volatile boolean isClosed = false;
+
+    private Job nextJob = null;
+    private boolean isEnd = false;
+
+
+    /**
+     * Creates new iterator reading jobs from specified source into buffer of
+     * specified capacity. Reading starts immediately.
+     *
+     * @param source source of jobs
+     * @param capacity capacity of the buffer
+     */
+    ReadAheadJobIterator(Iterator<Job> source, int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.readerThread = new Thread(() -> readAhead(source), "job-read-ahead");
+        this.readerThread.setDaemon(true);
+        this.readerThread.start();
+    }
+
+    // reads all the jobs from the source into the buffer
+    private void readAhead(Iterator<Job> source) {
+        try {
+            while ( source.hasNext() ) {
+                buffer.put(source.next());
+            }
+        } catch (InterruptedException ex) {
+            // iterator closed, the consumer is released by closing
+            return;
+        } catch (Throwable ex) {
+            // without the end of the source in the buffer, the consumer would wait forever
+            sourceFailure = ex;
+        }
+
+        try {
+            buffer.put(END_OF_SOURCE);
+        } catch (InterruptedException ex) {
+            // iterator closed
+        }
+    }
+
+    // throws failure of the source to the consumer
+    private void throwSourceFailure() {
+        Throwable failure = sourceFailure;
+        if ( failure instanceof RuntimeException runtimeException ) {
+            throw runtimeException;
+        }
+        if ( failure instanceof Error error ) {
+            throw error;
+        }
+        throw new IllegalStateException("Reading of jobs from the source failed.", failure);
+    }
+
+    /**
+     * Returns <code>true</code> if there is next job. Waits for the job to be
+     * read from the source, if necessary. If the waiting thread is interrupted
+     * or the iterator is closed, <code>false</code> is returned and
+     * the interrupt status is kept.
+     *
+     * @return <code>true</code> if there is next job
+     */
+    @Override
+    public boolean hasNext() {
+        if ( nextJob != null ) {
+            return true;
+        }
+        if ( isEnd || isClosed ) {
+            return false;
+        }
+
+        Job job;
+        try {
+            job = buffer.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if ( isClosed ) {
+            return false;
+        }
+        if ( job == END_OF_SOURCE ) {
+            isEnd = true;
+            if ( sourceFailure != null ) {
+                throwSourceFailure();
+            }
+            return false;
+        }
+
+        nextJob = job;
+        return true;
+    }
+
+    @Override
+    public Job next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException("No more jobs in the source.");
+        }
+
+        Job job = nextJob;
+        nextJob = null;
+        return job;
+    }
+
+    /**
+     * Stops reading from the source and releases the consumer waiting for
+     * the next job. Jobs read in advance are discarded.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        readerThread.interrupt();
+
+        // the reader may be stuck in the source, so the end is put by closing
+        buffer.clear();
+        buffer.offer(END_OF_SOURCE);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.json.JSONObject;
+
+/**
+ * Checkpoint of a replay of jobs.
+ *
+ * Holds the position in the trace just after the last released job,
+ * the logical replay clock (arrival time of the last released job) and
+ * the index of the last released job. The replay can be resumed from the
+ * checkpoint by opening the trace at the stored position and starting
+ * the producer with {@link JobProducer#resumeFrom(ReplayCheckpoint)}.
+ *
+ * Checkpoints are stored as small JSON files.
+ *
+ * @author Michal Konopa
+ */
+public final class ReplayCheckpoint {
+    // names of JSON fields
+    private static final String JNAME_TRACE_POSITION = "tracePosition";
+    private static final String JNAME_REPLAY_CLOCK = "replayClock";
+    private static final String JNAME_LAST_RELEASED_INDEX = "lastReleasedIndex";
+
+    private final long tracePosition;
+    private final double replayClock;
+    private final long lastReleasedIndex;
+
+
+    /**
+     * Creates new checkpoint.
+     *
+     * @param tracePosition position in the trace just after the last released job
+     * @param replayClock arrival time of the last released job
+     * @param lastReleasedIndex index of the last released job
+     */
+    public ReplayCheckpoint(long tracePosition, double replayClock, long lastReleasedIndex) {
+        this.tracePosition = tracePosition;
+        this.replayClock = replayClock;
+        this.lastReleasedIndex = lastReleasedIndex;
+    }
+
+    /**
+     * Reads checkpoint from specified file.
+     *
+     * @param file checkpoint file
+     * @return checkpoint stored in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static ReplayCheckpoint read(Path file) throws IOException {
+        JSONObject jsonCheckpoint = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+        return new ReplayCheckpoint(
+                jsonCheckpoint.getLong(JNAME_TRACE_POSITION),
+                jsonCheckpoint.getDouble(JNAME_REPLAY_CLOCK),
+                jsonCheckpoint.getLong(JNAME_LAST_RELEASED_INDEX)
+        );
+    }
+
+    /**
+     * Writes the checkpoint into specified file. The checkpoint is first
+     * written into a temporary file, which then replaces the target file,
+     * so the target file always contains a complete checkpoint.
+     *
+     * @param file checkpoint file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        JSONObject jsonCheckpoint = new JSONObject();
+        jsonCheckpoint.put(JNAME_TRACE_POSITION, tracePosition);
+        jsonCheckpoint.put(JNAME_REPLAY_CLOCK, replayClock);
+        jsonCheckpoint.put(JNAME_LAST_RELEASED_INDEX, lastReleasedIndex);
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tempFile, jsonCheckpoint.toString(), StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return the position in the trace just after the last released job
+     */
+    public long getTracePosition() {
+        return tracePosition;
+    }
+
+    /**
+     * @return the arrival time of the last released job
+     */
+    public double getReplayClock() {
+        return replayClock;
+    }
+
+    /**
+     * @return the index of the last released job
+     */
+    public long getLastReleasedIndex() {
+        return lastReleasedIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayCheckpoint{" + "tracePosition=" + tracePosition
+                + ", replayClock=" + replayClock
+                + ", lastReleasedIndex=" + lastReleasedIndex + '}';
+    }
+}
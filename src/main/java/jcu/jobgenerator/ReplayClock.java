@@ -0,0 +1,74 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Clock shared by job producer and job consumers.
+ *
+ * All time-related operations of the participants of a replay (reading
+ * the time, waiting for a time and waiting on the shared queue) go through
+ * the clock. The clock can be either the wall clock - see
+ * {@link SystemReplayClock}, or a virtual clock, which advances instantly
+ * whenever all the participants are idle - see {@link VirtualReplayClock}.
+ *
+ * Participants must be registered before any of them starts and unregistered,
+ * when they finish.
+ *
+ * @author Michal Konopa
+ */
+public interface ReplayClock {
+
+    /**
+     * @return the current time [in nanoseconds]
+     */
+    long nanoTime();
+
+    /**
+     * Waits until specified time.
+     *
+     * @param time time [in nanoseconds] to wait for
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void sleepUntil(long time) throws InterruptedException;
+
+    /**
+     * Places job into specified queue, waiting for space if necessary.
+     *
+     * @param queue target queue
+     * @param job job to place
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(BlockingQueue<Job> queue, Job job) throws InterruptedException;
+
+    /**
+     * Places job into specified queue, if there is space in the queue.
+     *
+     * @param queue target queue
+     * @param job job to place
+     * @return true, if the job was placed into the queue
+     */
+    boolean offer(BlockingQueue<Job> queue, Job job);
+
+    /**
+     * Takes job from specified queue, waiting for a job if necessary.
+     *
+     * @param queue source queue
+     * @return the taken job
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Job take(BlockingQueue<Job> queue) throws InterruptedException;
+
+    /**
+     * Registers new participant of the replay.
+     */
+    void register();
+
+    /**
+     * Unregisters participant of the replay.
+     */
+    void unregister();
+}
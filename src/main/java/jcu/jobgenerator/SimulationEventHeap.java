@@ -0,0 +1,141 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap of events of discrete-event simulation.
+ *
+ * Each event has its time and a payload identifying the event. Events are
+ * kept in primitive arrays, so adding and removing an event allocates no
+ * objects. Events with the same time are removed in the order of their
+ * adding.
+ *
+ * @author Michal Konopa
+ */
+final class SimulationEventHeap {
+    // initial capacity of the heap
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private double[] times = new double[INITIAL_CAPACITY];
+    private long[] sequenceNumbers = new long[INITIAL_CAPACITY];
+    private long[] payloads = new long[INITIAL_CAPACITY];
+
+    private int size = 0;
+    private long nextSequenceNumber = 0;
+
+
+    // indicates, whether the event at index1 precedes the event at index2
+    private boolean precedes(int index1, int index2) {
+        if ( times[index1] != times[index2] ) {
+            return times[index1] < times[index2];
+        }
+        return sequenceNumbers[index1] < sequenceNumbers[index2];
+    }
+
+    private void swap(int index1, int index2) {
+        double time = times[index1];
+        times[index1] = times[index2];
+        times[index2] = time;
+
+        long sequenceNumber = sequenceNumbers[index1];
+        sequenceNumbers[index1] = sequenceNumbers[index2];
+        sequenceNumbers[index2] = sequenceNumber;
+
+        long payload = payloads[index1];
+        payloads[index1] = payloads[index2];
+        payloads[index2] = payload;
+    }
+
+    private void siftUp(int index) {
+        while ( index > 0 ) {
+            int parentIndex = (index - 1) >>> 1;
+            if ( !precedes(index, parentIndex) ) {
+                return;
+            }
+            swap(index, parentIndex);
+            index = parentIndex;
+        }
+    }
+
+    private void siftDown(int index) {
+        while ( true ) {
+            int firstIndex = index;
+            int leftIndex = 2 * index + 1;
+            int rightIndex = leftIndex + 1;
+
+            if ( leftIndex < size && precedes(leftIndex, firstIndex) ) {
+                firstIndex = leftIndex;
+            }
+            if ( rightIndex < size && precedes(rightIndex, firstIndex) ) {
+                firstIndex = rightIndex;
+            }
+            if ( firstIndex == index ) {
+                return;
+            }
+            swap(index, firstIndex);
+            index = firstIndex;
+        }
+    }
+
+    /**
+     * Adds new event.
+     *
+     * @param time time of the event
+     * @param payload payload of the event
+     */
+    void add(double time, long payload) {
+        if ( size == times.length ) {
+            times = Arrays.copyOf(times, size * 2);
+            sequenceNumbers = Arrays.copyOf(sequenceNumbers, size * 2);
+            payloads = Arrays.copyOf(payloads, size * 2);
+        }
+
+        times[size] = time;
+        sequenceNumbers[size] = nextSequenceNumber++;
+        payloads[size] = payload;
+        siftUp(size++);
+    }
+
+    /**
+     * @return true, if there is no event in the heap
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the time of the earliest event
+     * @throws NoSuchElementException if the heap is empty
+     */
+    double peekTime() {
+        if ( size == 0 ) {
+            throw new NoSuchElementException("No event in the heap.");
+        }
+        return times[0];
+    }
+
+    /**
+     * Removes the earliest event and returns its payload.
+     *
+     * @return the payload of the earliest event
+     * @throws NoSuchElementException if the heap is empty
+     */
+    long poll() {
+        if ( size == 0 ) {
+            throw new NoSuchElementException("No event in the heap.");
+        }
+
+        long payload = payloads[0];
+        size--;
+        if ( size > 0 ) {
+            swap(0, size);
+            siftDown(0);
+        }
+        return payload;
+    }
+}
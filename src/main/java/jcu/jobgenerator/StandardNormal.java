@@ -0,0 +1,130 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+/**
+ * Distribution function and quantile function of standard normal
+ * distribution.
+ *
+ * Distribution function is computed by the Hart's rational approximation
+ * and by continued fraction of the Mills ratio in the far tails, with
+ * relative accuracy close to double precision.
+ * Quantile function starts from the Acklam's rational approximation and
+ * refines it by one step of the Halley's method.
+ *
+ * @author Michal Konopa
+ */
+final class StandardNormal {
+    private static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+
+    // values beyond this bound have the probability of the lower tail below the least double
+    private static final double MAX_TAIL_VALUE = 37;
+
+    // coefficients of the Hart's approximation of the distribution function
+    private static final double[] HART_NUMERATOR = {
+        3.52624965998911e-02, 0.700383064443688, 6.37396220353165, 33.912866078383,
+        112.079291497871, 221.213596169931, 220.206867912376
+    };
+    private static final double[] HART_DENOMINATOR = {
+        8.83883476483184e-02, 1.75566716318264, 16.064177579207, 86.7807322029461,
+        296.564248779674, 637.333633378831, 793.826512519948, 440.413735824752
+    };
+
+    // the Hart's rational function is used below this bound, continued fraction of the Mills ratio above it
+    private static final double HART_RATIONAL_MAX_VALUE = 7.07106781186547;
+    private static final int CONTINUED_FRACTION_TERMS_NUM = 24;
+
+    // coefficients of the Acklam's approximation of the quantile function
+    private static final double[] ACKLAM_A = {
+        -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00
+    };
+    private static final double[] ACKLAM_B = {
+        -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01
+    };
+    private static final double[] ACKLAM_C = {
+        -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00
+    };
+    private static final double[] ACKLAM_D = {
+        7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+        3.754408661907416e+00
+    };
+
+    // probability, below which the tail approximation of the quantile function is used
+    private static final double ACKLAM_LOW_PROBABILITY = 0.02425;
+
+
+    // evaluates polynomial of specified coefficients from the highest degree
+    private static double polynomial(double[] coefficients, double x) {
+        double value = coefficients[0];
+        for ( int i = 1; i < coefficients.length; i++ ) {
+            value = value * x + coefficients[i];
+        }
+        return value;
+    }
+
+    /**
+     * Returns value of the distribution function, i.e. probability of values
+     * lower than specified one.
+     *
+     * @param x the value
+     * @return the probability
+     */
+    static double cdf(double x) {
+        double absX = Math.abs(x);
+        double lowerTailProbability;
+        if ( absX > MAX_TAIL_VALUE ) {
+            lowerTailProbability = 0;
+        } else {
+            double density = Math.exp(-absX * absX / 2);
+            if ( absX < HART_RATIONAL_MAX_VALUE ) {
+                lowerTailProbability = density * polynomial(HART_NUMERATOR, absX) / polynomial(HART_DENOMINATOR, absX);
+            } else {
+                double fraction = absX;
+                for ( int k = CONTINUED_FRACTION_TERMS_NUM; k > 0; k-- ) {
+                    fraction = absX + k / fraction;
+                }
+                lowerTailProbability = density / fraction / SQRT_2PI;
+            }
+        }
+        return (x > 0) ? 1 - lowerTailProbability : lowerTailProbability;
+    }
+
+    /**
+     * Returns value of the quantile function, i.e. the value, whose
+     * probability of lower values is specified.
+     *
+     * @param probability the probability
+     * @return the value, infinite for the probability of 0 or 1
+     */
+    static double quantile(double probability) {
+        if ( !(probability > 0) ) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if ( !(probability < 1) ) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double x;
+        if ( probability < ACKLAM_LOW_PROBABILITY ) {
+            double q = Math.sqrt(-2 * Math.log(probability));
+            x = polynomial(ACKLAM_C, q) / (polynomial(ACKLAM_D, q) * q + 1);
+        } else if ( probability <= 1 - ACKLAM_LOW_PROBABILITY ) {
+            double q = probability - 0.5;
+            double r = q * q;
+            x = polynomial(ACKLAM_A, r) * q / (polynomial(ACKLAM_B, r) * r + 1);
+        } else {
+            double q = Math.sqrt(-2 * Math.log1p(-probability));
+            x = -polynomial(ACKLAM_C, q) / (polynomial(ACKLAM_D, q) * q + 1);
+        }
+
+        // refinement to full precision
+        double error = cdf(x) - probability;
+        double step = error * SQRT_2PI * Math.exp(x * x / 2);
+        return x - step / (1 + x * step / 2);
+    }
+}
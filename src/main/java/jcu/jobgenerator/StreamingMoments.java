@@ -0,0 +1,159 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+/**
+ * Streaming moments of values up to the fourth one.
+ *
+ * Moments are updated by the numerically stable one-pass formulas of Welford
+ * and Pebay. Moments of separate parts of the values can be merged, so
+ * the values can be processed in parallel. Minimum and maximum are kept too.
+ *
+ * @author Michal Konopa
+ */
+final class StreamingMoments {
+    private long count = 0;
+    private double mean = 0;
+
+    // sums of powers of differences from the mean
+    private double m2 = 0;
+    private double m3 = 0;
+    private double m4 = 0;
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+
+    /**
+     * Adds specified value.
+     *
+     * @param value value to add
+     */
+    void add(double value) {
+        long previousCount = count;
+        count++;
+
+        double delta = value - mean;
+        double deltaN = delta / count;
+        double deltaN2 = deltaN * deltaN;
+        double term = delta * deltaN * previousCount;
+
+        mean += deltaN;
+        m4 += term * deltaN2 * ((double) count * count - 3 * count + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term * deltaN * (count - 2) - 3 * deltaN * m2;
+        m2 += term;
+
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of specified moments into these moments.
+     *
+     * @param moments moments to add
+     */
+    void merge(StreamingMoments moments) {
+        if ( moments.count == 0 ) {
+            return;
+        }
+        if ( count == 0 ) {
+            count = moments.count;
+            mean = moments.mean;
+            m2 = moments.m2;
+            m3 = moments.m3;
+            m4 = moments.m4;
+            min = moments.min;
+            max = moments.max;
+            return;
+        }
+
+        double countA = count;
+        double countB = moments.count;
+        double totalCount = countA + countB;
+        double delta = moments.mean - mean;
+        double delta2 = delta * delta;
+
+        double newM2 = m2 + moments.m2 + delta2 * countA * countB / totalCount;
+        double newM3 = m3 + moments.m3
+                + delta2 * delta * countA * countB * (countA - countB) / (totalCount * totalCount)
+                + 3 * delta * (countA * moments.m2 - countB * m2) / totalCount;
+        double newM4 = m4 + moments.m4
+                + delta2 * delta2 * countA * countB * (countA * countA - countA * countB + countB * countB)
+                    / (totalCount * totalCount * totalCount)
+                + 6 * delta2 * (countA * countA * moments.m2 + countB * countB * m2) / (totalCount * totalCount)
+                + 4 * delta * (countA * moments.m3 - countB * m3) / totalCount;
+
+        count += moments.count;
+        mean += delta * countB / totalCount;
+        m2 = newM2;
+        m3 = newM3;
+        m4 = newM4;
+        min = Math.min(min, moments.min);
+        max = Math.max(max, moments.max);
+    }
+
+    /**
+     * @return the number of added values
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean, NaN if no value was added
+     */
+    double getMean() {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the population variance, NaN if no value was added
+     */
+    double getVariance() {
+        return (count == 0) ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * @return the population standard deviation, NaN if no value was added
+     */
+    double getSd() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return the skewness, NaN if the values do not vary
+     */
+    double getSkewness() {
+        if ( m2 == 0 ) {
+            return Double.NaN;
+        }
+        return Math.sqrt(count) * m3 / Math.pow(m2, 1.5);
+    }
+
+    /**
+     * @return the excess kurtosis (0 for normal distribution), NaN if
+     * the values do not vary
+     */
+    double getExcessKurtosis() {
+        if ( m2 == 0 ) {
+            return Double.NaN;
+        }
+        return count * m4 / (m2 * m2) - 3;
+    }
+
+    /**
+     * @return the minimal added value
+     */
+    double getMin() {
+        return (count == 0) ? Double.NaN : min;
+    }
+
+    /**
+     * @return the maximal added value
+     */
+    double getMax() {
+        return (count == 0) ? Double.NaN : max;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * Settings of a sweep over values of parameters of configuration.
+ *
+ * Configuration of each point of the sweep is the base configuration with
+ * parameters set to one combination of their values. The sweep consists of
+ * all the combinations.
+ *
+ * @author Michal Konopa
+ */
+final class SweepSettings {
+
+    /**
+     * Swept parameter of configuration.
+     */
+    static final class ParameterSettings {
+
+        private final String path;
+        private final List<Object> values;
+
+        /**
+         * Creates new settings of swept parameter.
+         *
+         * @param path path of the parameter in JSON configuration - names of
+         * members and indexes of array elements separated by dots
+         * @param values JSON values of the parameter
+         * @throws IllegalArgumentException if the path or the values are empty
+         */
+        ParameterSettings(String path, List<Object> values) {
+            if ( path.isEmpty() ) {
+                throw new IllegalArgumentException("Path of swept parameter must not be empty.");
+            }
+            if ( values.isEmpty() ) {
+                throw new IllegalArgumentException("No values of swept parameter: " + path);
+            }
+            this.path = path;
+            this.values = List.copyOf(values);
+        }
+
+        /**
+         * @return the path of the parameter in JSON configuration
+         */
+        String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the JSON values of the parameter
+         */
+        List<Object> getValues() {
+            return values;
+        }
+    }
+
+
+    private final JSONObject baseConfigJson;
+    private final List<ParameterSettings> parametersSettings;
+
+
+    /**
+     * Creates new settings of sweep.
+     *
+     * @param baseConfigJson JSON object of the base configuration
+     * @param parametersSettings settings of swept parameters
+     */
+    SweepSettings(JSONObject baseConfigJson, List<ParameterSettings> parametersSettings) {
+        this.baseConfigJson = new JSONObject(baseConfigJson.toString());
+        this.parametersSettings = List.copyOf(parametersSettings);
+    }
+
+    /**
+     * @return copy of the JSON object of the base configuration
+     */
+    JSONObject getBaseConfigJson() {
+        return new JSONObject(baseConfigJson.toString());
+    }
+
+    /**
+     * @return the settings of swept parameters
+     */
+    List<ParameterSettings> getParametersSettings() {
+        return parametersSettings;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reader of the file with settings of sweep over values of configuration
+ * parameters.
+ *
+ * Values of each parameter are given either as a list, or as a range of
+ * numbers from the first value to the last one with specified step.
+ *
+ * @author Michal Konopa
+ */
+final class SweepSettingsFileReader {
+    // constants for fields names in JSON document
+    private static final String JNAME_BASE_CONFIG = "baseConfig";
+    private static final String JNAME_PARAMETERS = "parameters";
+    private static final String JNAME_PATH = "path";
+    private static final String JNAME_VALUES = "values";
+    private static final String JNAME_FROM = "from";
+    private static final String JNAME_TO = "to";
+    private static final String JNAME_STEP = "step";
+
+
+    // returns numbers of specified range - computed in decimal, so the steps do not accumulate rounding errors,
+    // integral numbers are returned as integers
+    private static List<Object> rangeValues(String path, BigDecimal from, BigDecimal to, BigDecimal step) {
+        if ( step.signum() <= 0 ) {
+            throw new IllegalArgumentException("Step of swept parameter must be positive: " + path);
+        }
+
+        List<Object> values = new ArrayList<>();
+        for ( BigDecimal value = from; value.compareTo(to) <= 0; value = value.add(step) ) {
+            BigDecimal strippedValue = value.stripTrailingZeros();
+            values.add((strippedValue.scale() <= 0) ? (Object) strippedValue.longValueExact() : strippedValue.doubleValue());
+        }
+        return values;
+    }
+
+    // reads settings of swept parameters from specified JSON object
+    private static List<SweepSettings.ParameterSettings> parseParametersSettings(JSONObject sweepJson) {
+        JSONArray parametersJson = sweepJson.getJSONArray(JNAME_PARAMETERS);
+        List<SweepSettings.ParameterSettings> parametersSettings = new ArrayList<>();
+
+        for ( int parameterId = 0; parameterId < parametersJson.length(); parameterId++ ) {
+            JSONObject parameterJson = parametersJson.getJSONObject(parameterId);
+            String path = parameterJson.getString(JNAME_PATH);
+
+            List<Object> values;
+            if ( parameterJson.has(JNAME_VALUES) ) {
+                values = new ArrayList<>();
+                for ( Object value : parameterJson.getJSONArray(JNAME_VALUES) ) {
+                    values.add(value);
+                }
+            } else {
+                values = rangeValues(
+                        path,
+                        parameterJson.getBigDecimal(JNAME_FROM),
+                        parameterJson.getBigDecimal(JNAME_TO),
+                        parameterJson.getBigDecimal(JNAME_STEP)
+                );
+            }
+            parametersSettings.add(new SweepSettings.ParameterSettings(path, values));
+        }
+
+        return parametersSettings;
+    }
+
+    /**
+     * Reads sweep settings JSON file of specified name, parses it and returns
+     * object of corresponding sweep settings. The base configuration is read
+     * from the file referenced by the settings.
+     *
+     * @param fileName name of the sweep settings file
+     * @return object of sweep settings read from the file
+     */
+    static SweepSettings read(String fileName) throws IOException {
+        String fileContentStr = Files.readString(Paths.get(fileName));
+        JSONObject sweepJson = new JSONObject(fileContentStr);
+
+        String baseConfigStr = Files.readString(Paths.get(sweepJson.getString(JNAME_BASE_CONFIG)));
+        return new SweepSettings(new JSONObject(baseConfigStr), parseParametersSettings(sweepJson));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replay clock following the wall clock.
+ *
+ * Time is given by <code>System.nanoTime()</code> and all the waiting is
+ * real. Registration of participants is not needed.
+ *
+ * @author Michal Konopa
+ */
+public final class SystemReplayClock implements ReplayClock {
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void sleepUntil(long time) throws InterruptedException {
+        long remainingTime;
+        while ( (remainingTime = time - System.nanoTime()) > 0 ) {
+            TimeUnit.NANOSECONDS.sleep(remainingTime);
+        }
+    }
+
+    @Override
+    public void put(BlockingQueue<Job> queue, Job job) throws InterruptedException {
+        queue.put(job);
+    }
+
+    @Override
+    public boolean offer(BlockingQueue<Job> queue, Job job) {
+        return queue.offer(job);
+    }
+
+    @Override
+    public Job take(BlockingQueue<Job> queue) throws InterruptedException {
+        return queue.take();
+    }
+
+    @Override
+    public void register() {
+    }
+
+    @Override
+    public void unregister() {
+    }
+}
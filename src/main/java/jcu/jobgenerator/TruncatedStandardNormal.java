@@ -0,0 +1,119 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.Random;
+
+/**
+ * Exact sampler of standard normal distribution truncated to an interval.
+ *
+ * Implements the method of Robert (Simulation of truncated normal variables,
+ * 1995). Depending on the position and the width of the interval, the values
+ * are proposed by standard normal, uniform or translated exponential
+ * distribution, whichever accepts more of them. The acceptance rate stays
+ * bounded away from 0 for any interval, even far in a tail of
+ * the distribution.
+ *
+ * @author Michal Konopa
+ */
+final class TruncatedStandardNormal {
+    private static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+    private static final double TWO_SQRT_E = 2 * Math.sqrt(Math.E);
+
+
+    /**
+     * Draws random value of standard normal distribution truncated to
+     * specified interval.
+     *
+     * @param randomizer random generator to use
+     * @param lowerBound lower bound of the interval, may be negative infinity
+     * @param upperBound upper bound of the interval, may be positive infinity
+     * @return drawn value
+     * @throws IllegalArgumentException if the interval is empty
+     */
+    static double sample(Random randomizer, double lowerBound, double upperBound) {
+        if ( !(lowerBound < upperBound) ) {
+            if ( lowerBound == upperBound ) {
+                return lowerBound;
+            }
+            throw new IllegalArgumentException("Invalid interval: [" + lowerBound + ", " + upperBound + "]");
+        }
+
+        // intervals in the left tail are mirrored into the right one
+        if ( upperBound <= 0 ) {
+            return -sampleRightTail(randomizer, -upperBound, -lowerBound);
+        }
+        if ( lowerBound >= 0 ) {
+            return sampleRightTail(randomizer, lowerBound, upperBound);
+        }
+
+        // the interval contains the mean
+        if ( upperBound - lowerBound < SQRT_2PI ) {
+            while ( true ) {
+                double value = lowerBound + randomizer.nextDouble() * (upperBound - lowerBound);
+                if ( randomizer.nextDouble() < Math.exp(-value * value / 2) ) {
+                    return value;
+                }
+            }
+        }
+        while ( true ) {
+            double value = randomizer.nextGaussian();
+            if ( value >= lowerBound && value <= upperBound ) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns value of the quantile function of standard normal distribution
+     * truncated to specified interval.
+     *
+     * @param probability probability of lower values within the interval
+     * @param lowerBound lower bound of the interval, may be negative infinity
+     * @param upperBound upper bound of the interval, may be positive infinity
+     * @return the value within the interval
+     */
+    static double quantile(double probability, double lowerBound, double upperBound) {
+        // intervals in the right tail are mirrored into the left one, where the probabilities are precise
+        if ( lowerBound > 0 ) {
+            return -quantile(1 - probability, -upperBound, -lowerBound);
+        }
+
+        double lowerProbability = StandardNormal.cdf(lowerBound);
+        double upperProbability = StandardNormal.cdf(upperBound);
+        double value = StandardNormal.quantile(lowerProbability + probability * (upperProbability - lowerProbability));
+        return Math.max(lowerBound, Math.min(upperBound, value));
+    }
+
+    // draws value truncated to interval, whose lower bound is not negative
+    private static double sampleRightTail(Random randomizer, double lowerBound, double upperBound) {
+        double rootTerm = Math.sqrt(lowerBound * lowerBound + 4);
+
+        // uniform proposal is more efficient for narrow intervals
+        double maxUniformWidth = TWO_SQRT_E / (lowerBound + rootTerm)
+                * Math.exp((lowerBound * lowerBound - lowerBound * rootTerm) / 4);
+        if ( upperBound - lowerBound <= maxUniformWidth ) {
+            while ( true ) {
+                double value = lowerBound + randomizer.nextDouble() * (upperBound - lowerBound);
+                if ( randomizer.nextDouble() < Math.exp((lowerBound * lowerBound - value * value) / 2) ) {
+                    return value;
+                }
+            }
+        }
+
+        // exponential proposal with the optimal rate
+        double rate = (lowerBound + rootTerm) / 2;
+        while ( true ) {
+            double value = lowerBound - Math.log(1.0 - randomizer.nextDouble()) / rate;
+            if ( value > upperBound ) {
+                continue;
+            }
+            double difference = value - rate;
+            if ( randomizer.nextDouble() < Math.exp(-difference * difference / 2) ) {
+                return value;
+            }
+        }
+    }
+}
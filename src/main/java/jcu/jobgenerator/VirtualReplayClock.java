@@ -0,0 +1,218 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package jcu.jobgenerator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Virtual replay clock for discrete-event simulation.
+ *
+ * Time never passes by itself. Each registered participant is either active,
+ * or idle - waiting for a time, waiting for a job in an empty queue or
+ * waiting for space in a full queue. When all the participants are idle,
+ * the time instantly advances to the earliest time some participant waits
+ * for. So a trace spanning months can be replayed in seconds, while
+ * the participants still see correct ordering and timestamps of the jobs.
+ *
+ * Participant woken by the clock (or by a job or space in a queue) becomes
+ * active immediately, so the time cannot advance before it reacts. All
+ * the operations on the shared queues must go through the clock.
+ *
+ * If all the participants wait on queues and none of them waits for a time,
+ * the time cannot advance - consumers should be stopped by the application
+ * (e.g. by a terminating job), when the producer finishes.
+ *
+ * @author Michal Konopa
+ */
+public final class VirtualReplayClock implements ReplayClock {
+
+    // participants waiting on a queue
+    private static final class QueueWaiters {
+        // number of idle participants waiting for a job and for space
+        private int takersNum = 0;
+        private int puttersNum = 0;
+
+        // incremented, whenever the waiting participants are woken up
+        private long takersEpoch = 0;
+        private long puttersEpoch = 0;
+    }
+
+
+    private long now;
+
+    private int participantsNum = 0;
+    private int idleParticipantsNum = 0;
+
+    // times waited for by idle participants
+    private final PriorityQueue<Long> wakeUpTimes = new PriorityQueue<>();
+
+    private final Map<BlockingQueue<Job>, QueueWaiters> queuesWaiters = new IdentityHashMap<>();
+
+
+    /**
+     * Creates new virtual clock starting at specified time.
+     *
+     * @param startTime start time [in nanoseconds]
+     */
+    public VirtualReplayClock(long startTime) {
+        this.now = startTime;
+    }
+
+    /**
+     * Creates new virtual clock starting at time 0.
+     */
+    public VirtualReplayClock() {
+        this(0);
+    }
+
+    // returns waiters of specified queue
+    private QueueWaiters getWaiters(BlockingQueue<Job> queue) {
+        return queuesWaiters.computeIfAbsent(queue, key -> new QueueWaiters());
+    }
+
+    // advances the time, if all the participants are idle - must be called under the lock
+    private void advanceIfIdle() {
+        if ( idleParticipantsNum < participantsNum || wakeUpTimes.isEmpty() ) {
+            return;
+        }
+
+        now = wakeUpTimes.peek();
+        while ( !wakeUpTimes.isEmpty() && wakeUpTimes.peek() <= now ) {
+            wakeUpTimes.poll();
+            idleParticipantsNum--;
+        }
+        notifyAll();
+    }
+
+    // wakes up participants waiting for a job in specified queue
+    private void wakeUpTakers(QueueWaiters waiters) {
+        if ( waiters.takersNum == 0 ) {
+            return;
+        }
+        idleParticipantsNum -= waiters.takersNum;
+        waiters.takersNum = 0;
+        waiters.takersEpoch++;
+        notifyAll();
+    }
+
+    // wakes up participants waiting for space in specified queue
+    private void wakeUpPutters(QueueWaiters waiters) {
+        if ( waiters.puttersNum == 0 ) {
+            return;
+        }
+        idleParticipantsNum -= waiters.puttersNum;
+        waiters.puttersNum = 0;
+        waiters.puttersEpoch++;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return now;
+    }
+
+    @Override
+    public synchronized void sleepUntil(long time) throws InterruptedException {
+        if ( time <= now ) {
+            return;
+        }
+
+        wakeUpTimes.add(time);
+        idleParticipantsNum++;
+        advanceIfIdle();
+
+        try {
+            while ( now < time ) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            // participant was not woken up by the clock
+            if ( now < time ) {
+                wakeUpTimes.remove(time);
+                idleParticipantsNum--;
+                advanceIfIdle();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public synchronized void put(BlockingQueue<Job> queue, Job job) throws InterruptedException {
+        QueueWaiters waiters = getWaiters(queue);
+        while ( !queue.offer(job) ) {
+            long epoch = waiters.puttersEpoch;
+            waiters.puttersNum++;
+            idleParticipantsNum++;
+            advanceIfIdle();
+
+            try {
+                while ( epoch == waiters.puttersEpoch ) {
+                    wait();
+                }
+            } catch (InterruptedException ex) {
+                if ( epoch == waiters.puttersEpoch ) {
+                    waiters.puttersNum--;
+                    idleParticipantsNum--;
+                    advanceIfIdle();
+                }
+                throw ex;
+            }
+        }
+        wakeUpTakers(waiters);
+    }
+
+    @Override
+    public synchronized boolean offer(BlockingQueue<Job> queue, Job job) {
+        if ( !queue.offer(job) ) {
+            return false;
+        }
+        wakeUpTakers(getWaiters(queue));
+        return true;
+    }
+
+    @Override
+    public synchronized Job take(BlockingQueue<Job> queue) throws InterruptedException {
+        QueueWaiters waiters = getWaiters(queue);
+        Job job;
+        while ( (job = queue.poll()) == null ) {
+            long epoch = waiters.takersEpoch;
+            waiters.takersNum++;
+            idleParticipantsNum++;
+            advanceIfIdle();
+
+            try {
+                while ( epoch == waiters.takersEpoch ) {
+                    wait();
+                }
+            } catch (InterruptedException ex) {
+                if ( epoch == waiters.takersEpoch ) {
+                    waiters.takersNum--;
+                    idleParticipantsNum--;
+                    advanceIfIdle();
+                }
+                throw ex;
+            }
+        }
+        wakeUpPutters(waiters);
+        return job;
+    }
+
+    @Override
+    public synchronized void register() {
+        participantsNum++;
+    }
+
+    @Override
+    public synchronized void unregister() {
+        if ( participantsNum == 0 ) {
+            throw new IllegalStateException("No participant registered.");
+        }
+        participantsNum--;
+        advanceIfIdle();
+    }
+}